@@ -0,0 +1,9 @@
+export type AssetPreset = "thumb" | "card" | "large";
+
+/**
+ * Asks the server for a resized copy of a locally stored image. External URLs are returned unchanged.
+ */
+export function assetPreviewUrl(url: string | undefined, preset: AssetPreset): string | undefined {
+    if (!url || !url.startsWith("/api/assets/") || url.includes("?")) return url;
+    return `${url}?preset=${preset}`;
+}
@@ -6,7 +6,7 @@ import type {
   ModuleDefinition,
   ProviderLookupResponse,
 } from "../../../../../api/types";
-import { lookupProviders } from "../../../../providers/api";
+import { lookupProvidersStream } from "../../../../providers/api";
 import BarcodeScanner from "../BarcodeScanner";
 import { Button } from "../../../../../../components/ui/button";
 import { Alert, AlertDescription } from "../../../../../../components/ui/alert";
@@ -67,12 +67,33 @@ export default function LookupMetadataStep({
     setLoading(true);
     setError(null);
     try {
-      const response = await lookupProviders({
-        moduleId,
-        identifiers,
-        providers,
-        query: hasQuery ? attributes.query.trim() : undefined,
-      });
+      // Show provider answers as they stream in; the final event replaces the partial view.
+      const partial: ProviderLookupResponse = {
+        results: [],
+        mergedAttributes: {},
+        providerResults: [],
+      };
+      const response = await lookupProvidersStream(
+        {
+          moduleId,
+          identifiers,
+          providers,
+          query: hasQuery ? attributes.query.trim() : undefined,
+        },
+        {
+          onResult: (r) => {
+            partial.results = [...partial.results, r];
+            partial.providerResults = partial.results;
+            setResult({ ...partial });
+          },
+          onMerged: (merged) => {
+            partial.mergedAttributes = merged;
+            partial.merged = merged;
+            partial.fieldValues = merged;
+            setResult({ ...partial });
+          },
+        }
+      );
       setResult(response);
       onComplete(response);
     } catch (err: any) {
@@ -1,13 +1,14 @@
 "use client"
 
 import type {Item} from "../../../api/types"
+import {assetPreviewUrl} from "../assetUrl"
 import {Card, CardContent} from "../../../../components/ui/card"
 import {Badge} from "../../../../components/ui/badge"
 import {Avatar, AvatarFallback} from "../../../../components/ui/avatar"
 
 export default function ItemCard({ item }: { item: Item }) {
     const firstIdentifier = item.identifiers?.[0]
-    const imageUrl = item.attributes?.providerImageUrl as string | undefined
+    const imageUrl = assetPreviewUrl(item.attributes?.providerImageUrl as string | undefined, "card")
     const title = (item.attributes?.title as string | undefined) || item.id
 
     return (
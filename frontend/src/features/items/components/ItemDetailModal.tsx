@@ -204,6 +204,17 @@ export default function ItemDetailModal({
                 </div>
               )}
 
+              {item?.imageStatus === "PENDING" && (
+                <p className="text-xs text-muted-foreground">
+                  Image is being saved in the background.
+                </p>
+              )}
+              {item?.imageStatus === "FAILED" && (
+                <p className="text-xs text-destructive">
+                  The image could not be downloaded; the original link is shown instead.
+                </p>
+              )}
+
               <div className="space-y-4">
                 <h4 className="font-bold uppercase text-sm text-muted-foreground">
                   Details
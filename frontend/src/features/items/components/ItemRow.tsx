@@ -1,6 +1,7 @@
 "use client"
 
 import type {Item, ModuleDefinition, ModuleStateDef} from "../../../api/types"
+import {assetPreviewUrl} from "../assetUrl"
 import StateDropdown from "./StateDropdown"
 import {TableCell, TableRow} from "../../../../components/ui/table"
 import {Checkbox} from "../../../../components/ui/checkbox"
@@ -43,7 +44,7 @@ export default function ItemRow({
             (item.attributes || {})[identifierField.key],
         )}`
         : null
-    const imageUrl = item.attributes?.providerImageUrl as string | undefined
+    const imageUrl = assetPreviewUrl(item.attributes?.providerImageUrl as string | undefined, "thumb")
     const displayTitle =
         (item.attributes?.title as string) || (item.attributes?.name as string) || identifierDisplay || item.id
     const fieldsToShow = (moduleDefinition?.fields || [])
@@ -11,6 +11,8 @@ export type Item = {
     moduleId: string;
     stateKey: string;
     attributes: Record<string, any>;
+    /** Set while the image is fetched in the background (PENDING) or when that gave up (FAILED). */
+    imageStatus?: "PENDING" | "FAILED" | null;
     identifiers?: ItemIdentifier[];
     createdAt?: string;
     updatedAt?: string;
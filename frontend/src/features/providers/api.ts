@@ -1,4 +1,5 @@
-import { apiFetch } from "../../api/client";
+import { apiFetch, emitAuthRequired } from "../../api/client";
+import { ApiError } from "../../api/errors";
 import {
   clearCached,
   getCached,
@@ -20,6 +21,8 @@ type RawLookupResponse = {
   best?: ProviderLookupResult | null;
   mergedAttributes: Record<string, any>;
   assets?: ProviderLookupResponse["assets"];
+  timedOutProviders?: string[];
+  skippedProviders?: Record<string, string>;
 };
 
 function normalizeIdentifiers(
@@ -41,6 +44,7 @@ export async function lookupProviders(
     identifiers: normalizeIdentifiers(payload.identifiers),
     providers: payload.providers,
     query: payload.query,
+    full: payload.full,
   };
 
   const raw = await apiFetch<RawLookupResponse>("/providers/lookup", {
@@ -48,6 +52,10 @@ export async function lookupProviders(
     body: request,
   });
 
+  return toLookupResponse(raw);
+}
+
+function toLookupResponse(raw: RawLookupResponse): ProviderLookupResponse {
   return {
     ...raw,
     providerResults: raw.results,
@@ -55,6 +63,100 @@ export async function lookupProviders(
     fieldValues: raw.mergedAttributes,
   };
 }
+
+export type LookupStreamHandlers = {
+  onResult?: (result: ProviderLookupResult) => void;
+  onMerged?: (mergedAttributes: Record<string, any>) => void;
+  signal?: AbortSignal;
+};
+
+function readCsrfToken(): string | null {
+  const match = document.cookie.match(/(?:^|; )XSRF-TOKEN=([^;]+)/);
+  return match ? decodeURIComponent(match[1]) : null;
+}
+
+/**
+ * Streams a lookup over Server-Sent Events: each provider result and the merged attributes so far are
+ * reported as they arrive, and the promise resolves with the final response.
+ */
+export async function lookupProvidersStream(
+  payload: ProviderLookupRequest,
+  handlers: LookupStreamHandlers = {}
+): Promise<ProviderLookupResponse> {
+  const csrf = readCsrfToken();
+  const res = await fetch("/api/providers/lookup/stream", {
+    method: "POST",
+    credentials: "include",
+    signal: handlers.signal,
+    headers: {
+      "Content-Type": "application/json",
+      Accept: "text/event-stream",
+      ...(csrf ? { "X-XSRF-TOKEN": csrf } : {}),
+    },
+    body: JSON.stringify({
+      moduleId: payload.moduleId,
+      identifiers: normalizeIdentifiers(payload.identifiers),
+      providers: payload.providers,
+      query: payload.query,
+      full: payload.full,
+    }),
+  });
+
+  if (res.status === 401 || res.status === 403) {
+    emitAuthRequired();
+  }
+  if (!res.ok || !res.body) {
+    const text = await res.text().catch(() => "");
+    let body: any = text || null;
+    try {
+      body = text ? JSON.parse(text) : null;
+    } catch {
+      // keep the raw text
+    }
+    throw new ApiError(
+      res.status,
+      body?.message || res.statusText || "Lookup failed",
+      body
+    );
+  }
+
+  const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+  let buffer = "";
+  let final: ProviderLookupResponse | null = null;
+
+  const dispatch = (block: string) => {
+    let event = "message";
+    const data: string[] = [];
+    for (const line of block.split("\n")) {
+      if (line.startsWith("event:")) event = line.slice(6).trim();
+      else if (line.startsWith("data:")) data.push(line.slice(5).replace(/^ /, ""));
+    }
+    if (!data.length) return;
+    const parsed = JSON.parse(data.join("\n"));
+    if (event === "result") handlers.onResult?.(parsed);
+    else if (event === "merged") handlers.onMerged?.(parsed);
+    else if (event === "complete") final = toLookupResponse(parsed);
+  };
+
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) break;
+    buffer += value.replace(/\r\n/g, "\n");
+    let boundary = buffer.indexOf("\n\n");
+    while (boundary >= 0) {
+      dispatch(buffer.slice(0, boundary));
+      buffer = buffer.slice(boundary + 2);
+      boundary = buffer.indexOf("\n\n");
+    }
+  }
+  if (buffer.trim()) dispatch(buffer);
+
+  if (!final) {
+    throw new ApiError(502, "Lookup stream ended before the final response");
+  }
+  return final;
+}
+
 const PROVIDERS_CACHE_KEY = "providers:list";
 
 export async function listProviders({ forceRefresh = false } = {}): Promise<
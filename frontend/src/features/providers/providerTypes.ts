@@ -17,6 +17,7 @@ export type ProviderLookupRequest = {
   identifiers: Array<ProviderLookupIdentifier | ItemIdentifier>;
   providers?: string[];
   query?: string;
+  full?: boolean;
 };
 
 export type ProviderLookupResult = {
@@ -33,6 +34,8 @@ export type ProviderLookupResponse = {
   best?: ProviderLookupResult | null;
   mergedAttributes: Record<string, any>;
   assets?: ProviderAsset[];
+  timedOutProviders?: string[];
+  skippedProviders?: Record<string, string>;
   providerResults?: ProviderLookupResult[];
   merged?: Record<string, any>;
   fieldValues?: Record<string, any>;
@@ -2,31 +2,58 @@ package org.rostislav.curiokeep.collections;
 
 import org.rostislav.curiokeep.collections.api.dto.Role;
 import org.rostislav.curiokeep.collections.entities.CollectionMemberEntity;
+import org.rostislav.curiokeep.collections.entities.CollectionMemberId;
+import org.rostislav.curiokeep.security.AccessCache;
+import org.rostislav.curiokeep.security.AccessCacheProps;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.UUID;
 
+/**
+ * Collection role checks. Roles are cached per (collection, user) for a short TTL; every code path that
+ * changes memberships must call one of the {@code evict*} methods.
+ */
 @Service
 public class CollectionAccessService {
 
     private final CollectionMemberRepository members;
+    private final AccessCache<CollectionMemberId, Role> roles;
 
-    public CollectionAccessService(CollectionMemberRepository members) {
+    public CollectionAccessService(CollectionMemberRepository members, AccessCacheProps cacheProps) {
         this.members = members;
+        this.roles = new AccessCache<>(cacheProps);
     }
 
     public CollectionMemberEntity requireRole(UUID collectionId, UUID userId, Role minRole) {
-        CollectionMemberEntity memberEntity = members.findByIdCollectionIdAndIdUserId(collectionId, userId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN));
+        CollectionMemberId id = new CollectionMemberId(collectionId, userId);
+        Role role = roles.get(id, key -> members.findByIdCollectionIdAndIdUserId(collectionId, userId)
+                .map(CollectionMemberEntity::getRole)
+                .orElse(null));
 
-        if (!allows(memberEntity.getRole(), minRole)) {
+        if (role == null || !allows(role, minRole)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN);
         }
+
+        CollectionMemberEntity memberEntity = new CollectionMemberEntity();
+        memberEntity.setId(id);
+        memberEntity.setRole(role);
         return memberEntity;
     }
 
+    public void evict(UUID collectionId, UUID userId) {
+        roles.evict(new CollectionMemberId(collectionId, userId));
+    }
+
+    public void evictCollection(UUID collectionId) {
+        roles.evictIf((id, role) -> id.getCollectionId().equals(collectionId));
+    }
+
+    public void evictUser(UUID userId) {
+        roles.evictIf((id, role) -> id.getUserId().equals(userId));
+    }
+
     private boolean allows(Role have, Role need) {
         return have.ordinal() <= need.ordinal();
     }
@@ -87,6 +87,7 @@ public class CollectionMemberManagementService {
 
         target.setRole(req.role());
         members.save(target);
+        access.evict(collectionId, targetUserId);
 
         AppUserEntity user = users.findById(targetUserId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
@@ -114,6 +115,7 @@ public class CollectionMemberManagementService {
         }
 
         members.delete(target);
+        access.evict(collectionId, targetUserId);
         log.info("Member removed: collectionId={} targetUserId={} byUserId={}", collectionId, targetUserId, acting.getId());
     }
 
@@ -8,7 +8,6 @@ import org.rostislav.curiokeep.collections.entities.CollectionModuleId;
 import org.rostislav.curiokeep.modules.ModuleDefinitionRepository;
 import org.rostislav.curiokeep.modules.entities.ModuleDefinitionEntity;
 import org.rostislav.curiokeep.user.CurrentUserService;
-import org.rostislav.curiokeep.user.entities.AppUserEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -43,9 +42,9 @@ public class CollectionModuleService {
 
     @Transactional(readOnly = true)
     public List<CollectionModuleResponse> listEnabled(UUID collectionId) {
-        AppUserEntity u = currentUser.requireCurrentUser();
+        UUID userId = currentUser.requireCurrentUserId();
 
-        access.requireRole(collectionId, u.getId(), Role.VIEWER);
+        access.requireRole(collectionId, userId, Role.VIEWER);
 
         List<CollectionModuleEntity> enabled = collectionModules.findAllByIdCollectionId(collectionId);
         if (enabled.isEmpty()) return List.of();
@@ -77,16 +76,16 @@ public class CollectionModuleService {
 
     @Transactional
     public EnableModuleResponse enable(UUID collectionId, String moduleKeyRaw) {
-        AppUserEntity u = currentUser.requireCurrentUser();
+        UUID userId = currentUser.requireCurrentUserId();
 
-        access.requireRole(collectionId, u.getId(), Role.ADMIN);
+        access.requireRole(collectionId, userId, Role.ADMIN);
 
         String moduleKey = normalizeModuleKey(moduleKeyRaw);
 
         ModuleDefinitionEntity def = moduleDefinitions.findByModuleKey(moduleKey)
                 .orElseThrow(() -> {
                     log.info("Module not found for enabling: collectionId={} moduleKey={} byUserId={}",
-                            collectionId, moduleKey, u.getId());
+                            collectionId, moduleKey, userId);
                     return new ResponseStatusException(HttpStatus.NOT_FOUND, "MODULE_NOT_FOUND");
                 });
 
@@ -99,30 +98,30 @@ public class CollectionModuleService {
         collectionModules.save(cm);
 
         log.info("Module enabled for collection: collectionId={} moduleKey={} byUserId={}",
-                collectionId, moduleKey, u.getId());
+                collectionId, moduleKey, userId);
 
         return new EnableModuleResponse(true);
     }
 
     @Transactional
     public EnableModuleResponse disable(UUID collectionId, String moduleKeyRaw) {
-        AppUserEntity u = currentUser.requireCurrentUser();
+        UUID userId = currentUser.requireCurrentUserId();
 
-        access.requireRole(collectionId, u.getId(), Role.ADMIN);
+        access.requireRole(collectionId, userId, Role.ADMIN);
 
         String moduleKey = normalizeModuleKey(moduleKeyRaw);
 
         ModuleDefinitionEntity def = moduleDefinitions.findByModuleKey(moduleKey)
                 .orElseThrow(() -> {
                     log.info("Module not found for disabling: collectionId={} moduleKey={} byUserId={}",
-                            collectionId, moduleKey, u.getId());
+                            collectionId, moduleKey, userId);
                     return new ResponseStatusException(HttpStatus.NOT_FOUND, "MODULE_NOT_FOUND");
                 });
 
         collectionModules.deleteByIdCollectionIdAndIdModuleId(collectionId, def.getId());
 
         log.info("Module disabled for collection: collectionId={} moduleKey={} byUserId={}",
-                collectionId, moduleKey, u.getId());
+                collectionId, moduleKey, userId);
 
         return new EnableModuleResponse(false);
     }
@@ -125,6 +125,7 @@ public class CollectionService {
                 });
 
         members.deleteAllByIdCollectionId(id);
+        access.evictCollection(id);
         collections.delete(collection);
 
         log.info("Collection deleted: collectionId={} byUserId={}", id, user.getId());
@@ -139,6 +139,7 @@ public class CollectionInviteService {
             member.setRole(invite.getRole());
         }
         members.save(member);
+        access.evict(invite.getCollectionId(), user.getId());
 
         invite.setAcceptedByUserId(user.getId());
         invite.setAcceptedAt(OffsetDateTime.now());
@@ -1,14 +1,16 @@
 package org.rostislav.curiokeep.config;
 
 import org.apache.hc.core5.http.HttpHeaders;
+import org.rostislav.curiokeep.providers.cache.ProviderCallTrace;
+import org.rostislav.curiokeep.providers.limits.ProviderGovernor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.client.RestClient;
 
-import java.time.Duration;
 import java.util.Optional;
 
 @Configuration
@@ -17,19 +19,30 @@ public class HttpClientConfig {
     private static final String BASE_USER_AGENT = "CurioKeep/1.0 (+https://github.com/RoastSlav/CurioKeep)";
 
     @Bean
+    @Primary
     RestClient restClient(RestClient.Builder builder) {
         return builder.build();
     }
 
+    /** Client for downloading provider images, on a pool separate from metadata calls. */
     @Bean
-    RestClient.Builder restClientBuilder() {
-        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
-        factory.setConnectionRequestTimeout(Duration.ofSeconds(5));
-        factory.setReadTimeout(Duration.ofSeconds(10));
+    RestClient assetRestClient(HttpConnectionPools pools) {
+        return RestClient.builder()
+                .defaultHeader(HttpHeaders.USER_AGENT, BASE_USER_AGENT)
+                .requestFactory(pools.assetRequestFactory())
+                .build();
+    }
+
+    @Bean
+    RestClient.Builder restClientBuilder(ProviderGovernor providerGovernor, HttpConnectionPools pools) {
+        HttpComponentsClientHttpRequestFactory factory = pools.providerRequestFactory();
 
         Optional<String> email = resolveCurrentUserEmail();
 
-        return RestClient.builder().defaultHeader(HttpHeaders.USER_AGENT, BASE_USER_AGENT + (email.isPresent() ? " (user=" + email.get() + ")" : "")).requestFactory(factory);
+        return RestClient.builder().defaultHeader(HttpHeaders.USER_AGENT, BASE_USER_AGENT + (email.isPresent() ? " (user=" + email.get() + ")" : ""))
+                .requestInterceptor(providerGovernor.interceptor())
+                .requestInterceptor(ProviderCallTrace.interceptor())
+                .requestFactory(factory);
     }
 
     private Optional<String> resolveCurrentUserEmail() {
@@ -0,0 +1,79 @@
+package org.rostislav.curiokeep.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Outbound HTTP settings. Provider API calls and asset (image) downloads use separate connection pools so
+ * slow image hosts cannot exhaust the connections metadata lookups need. {@code routes} tunes individual
+ * providers by host: their own per-host connection cap and timeouts.
+ */
+@ConfigurationProperties(prefix = "curiokeep.http")
+public record HttpClientProps(
+        Pool providers,
+        Pool assets,
+        Map<String, Route> routes
+) {
+    public HttpClientProps {
+        providers = (providers == null ? Pool.EMPTY : providers).orElse(Pool.PROVIDER_DEFAULTS);
+        assets = (assets == null ? Pool.EMPTY : assets).orElse(Pool.ASSET_DEFAULTS);
+        routes = routes == null ? Map.of() : Map.copyOf(routes);
+    }
+
+    public static HttpClientProps defaults() {
+        return new HttpClientProps(null, null, null);
+    }
+
+    /** Route settings indexed by lower-case host name. */
+    public Map<String, Route> routesByHost() {
+        Map<String, Route> byHost = new HashMap<>();
+        routes.values().forEach(r -> r.hosts().forEach(h -> byHost.put(h.toLowerCase(Locale.ROOT), r)));
+        return byHost;
+    }
+
+    public record Pool(
+            Integer maxTotal,
+            Integer maxPerRoute,
+            Duration connectTimeout,
+            Duration readTimeout,
+            Duration connectionRequestTimeout,
+            Duration keepAlive,
+            Duration idleTimeout,
+            Duration timeToLive
+    ) {
+        static final Pool EMPTY = new Pool(null, null, null, null, null, null, null, null);
+        static final Pool PROVIDER_DEFAULTS = new Pool(100, 10, Duration.ofSeconds(5), Duration.ofSeconds(10),
+                Duration.ofSeconds(5), Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofMinutes(5));
+        static final Pool ASSET_DEFAULTS = new Pool(20, 4, Duration.ofSeconds(5), Duration.ofSeconds(20),
+                Duration.ofSeconds(10), Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofMinutes(5));
+
+        Pool orElse(Pool d) {
+            return new Pool(
+                    maxTotal == null ? d.maxTotal() : maxTotal,
+                    maxPerRoute == null ? d.maxPerRoute() : maxPerRoute,
+                    connectTimeout == null ? d.connectTimeout() : connectTimeout,
+                    readTimeout == null ? d.readTimeout() : readTimeout,
+                    connectionRequestTimeout == null ? d.connectionRequestTimeout() : connectionRequestTimeout,
+                    keepAlive == null ? d.keepAlive() : keepAlive,
+                    idleTimeout == null ? d.idleTimeout() : idleTimeout,
+                    timeToLive == null ? d.timeToLive() : timeToLive);
+        }
+    }
+
+    /** Overrides for the hosts of one provider; unset values fall back to the provider pool. */
+    public record Route(
+            List<String> hosts,
+            Integer maxConnections,
+            Duration connectTimeout,
+            Duration readTimeout
+    ) {
+        public Route {
+            hosts = hosts == null ? List.of() : List.copyOf(hosts);
+        }
+    }
+}
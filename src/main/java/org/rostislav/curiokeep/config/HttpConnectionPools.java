@@ -0,0 +1,163 @@
+package org.rostislav.curiokeep.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.function.Resolver;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Owns the pooled Apache HttpClient connection managers behind the application's {@code RestClient}s.
+ * Connections are kept alive and reused across lookups (amortizing TLS handshakes), idle ones are evicted
+ * in the background, and responses are transparently decompressed. Pool usage is published as
+ * {@code curiokeep.http.pool.*} gauges tagged by pool.
+ */
+@Component
+public class HttpConnectionPools {
+
+    private final HttpClientProps props;
+    private final Map<String, HttpClientProps.Route> routesByHost;
+    private final PoolingHttpClientConnectionManager providers;
+    private final PoolingHttpClientConnectionManager assets;
+
+    public HttpConnectionPools(HttpClientProps props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.routesByHost = props.routesByHost();
+        this.providers = connectionManager(props.providers(), routesByHost);
+        this.assets = connectionManager(props.assets(), Map.of());
+        registerGauges(meterRegistry, "providers", providers);
+        registerGauges(meterRegistry, "assets", assets);
+    }
+
+    /** Request factory for provider API calls, applying per-route read timeouts. */
+    public HttpComponentsClientHttpRequestFactory providerRequestFactory() {
+        RequestConfig defaults = requestConfig(props.providers());
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(
+                httpClient(providers, props.providers(), defaults));
+        factory.setHttpContextFactory((method, uri) -> routeContext(uri, defaults));
+        return factory;
+    }
+
+    /** Context carrying the route's read timeout for a request to {@code uri}, or null to use the defaults. */
+    HttpClientContext routeContext(URI uri, RequestConfig defaults) {
+        HttpClientProps.Route route = uri.getHost() == null ? null : routesByHost.get(uri.getHost().toLowerCase(Locale.ROOT));
+        if (route == null || route.readTimeout() == null) return null;
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(RequestConfig.copy(defaults).setResponseTimeout(timeout(route.readTimeout())).build());
+        return context;
+    }
+
+    /** Request factory for image downloads, backed by its own pool. */
+    public HttpComponentsClientHttpRequestFactory assetRequestFactory() {
+        return new HttpComponentsClientHttpRequestFactory(httpClient(assets, props.assets(), requestConfig(props.assets())));
+    }
+
+    PoolingHttpClientConnectionManager providerPool() {
+        return providers;
+    }
+
+    PoolingHttpClientConnectionManager assetPool() {
+        return assets;
+    }
+
+    @PreDestroy
+    void close() {
+        providers.close();
+        assets.close();
+    }
+
+    private static PoolingHttpClientConnectionManager connectionManager(HttpClientProps.Pool pool,
+                                                                        Map<String, HttpClientProps.Route> routes) {
+        PoolingHttpClientConnectionManager cm = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(pool.maxTotal())
+                .setMaxConnPerRoute(pool.maxPerRoute())
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setConnectionConfigResolver(connectionConfigs(pool, routes))
+                .build();
+
+        routes.forEach((host, r) -> {
+            if (r.maxConnections() != null) {
+                cm.setMaxPerRoute(new HttpRoute(new HttpHost("https", host, 443), null, true), r.maxConnections());
+            }
+        });
+        return cm;
+    }
+
+    /** Connect and socket timeouts per route: the host's overrides where configured, the pool's otherwise. */
+    static Resolver<HttpRoute, ConnectionConfig> connectionConfigs(HttpClientProps.Pool pool,
+                                                                   Map<String, HttpClientProps.Route> routes) {
+        ConnectionConfig defaults = ConnectionConfig.custom()
+                .setConnectTimeout(timeout(pool.connectTimeout()))
+                .setSocketTimeout(timeout(pool.readTimeout()))
+                .setTimeToLive(TimeValue.of(pool.timeToLive()))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+        return route -> {
+            HttpClientProps.Route r = routes.get(route.getTargetHost().getHostName().toLowerCase(Locale.ROOT));
+            if (r == null) return defaults;
+            return ConnectionConfig.copy(defaults)
+                    .setConnectTimeout(timeout(r.connectTimeout() == null ? pool.connectTimeout() : r.connectTimeout()))
+                    .setSocketTimeout(timeout(r.readTimeout() == null ? pool.readTimeout() : r.readTimeout()))
+                    .build();
+        };
+    }
+
+    private static CloseableHttpClient httpClient(PoolingHttpClientConnectionManager cm, HttpClientProps.Pool pool,
+                                                  RequestConfig defaults) {
+        // Content compression stays enabled (the default): gzip/deflate are negotiated and decoded transparently.
+        return HttpClients.custom()
+                .setConnectionManager(cm)
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(defaults)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(pool.idleTimeout()))
+                .build();
+    }
+
+    static RequestConfig requestConfig(HttpClientProps.Pool pool) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(timeout(pool.connectionRequestTimeout()))
+                .setResponseTimeout(timeout(pool.readTimeout()))
+                .setDefaultKeepAlive(pool.keepAlive().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static Timeout timeout(Duration d) {
+        return Timeout.of(d);
+    }
+
+    private static void registerGauges(MeterRegistry registry, String pool, PoolingHttpClientConnectionManager cm) {
+        gauge(registry, "curiokeep.http.pool.leased", pool, cm, PoolStats::getLeased);
+        gauge(registry, "curiokeep.http.pool.pending", pool, cm, PoolStats::getPending);
+        gauge(registry, "curiokeep.http.pool.available", pool, cm, PoolStats::getAvailable);
+        gauge(registry, "curiokeep.http.pool.max", pool, cm, PoolStats::getMax);
+    }
+
+    private static void gauge(MeterRegistry registry, String name, String pool, PoolingHttpClientConnectionManager cm,
+                              ToDoubleFunction<PoolStats> stat) {
+        Gauge.builder(name, cm, m -> stat.applyAsDouble(m.getTotalStats())).tag("pool", pool).register(registry);
+    }
+}
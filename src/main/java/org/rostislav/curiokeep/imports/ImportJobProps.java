@@ -0,0 +1,25 @@
+package org.rostislav.curiokeep.imports;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning for background imports. {@code batchSize} rows are looked up and inserted per transaction,
+ * at most {@code concurrency} of them in flight at once (which also bounds concurrent calls to any
+ * single provider), and a job may hold at most {@code maxRows} identifiers.
+ */
+@ConfigurationProperties(prefix = "curiokeep.imports")
+public record ImportJobProps(
+        Integer batchSize,
+        Integer concurrency,
+        Integer maxRows
+) {
+    public ImportJobProps {
+        batchSize = batchSize == null || batchSize < 1 ? 25 : batchSize;
+        concurrency = concurrency == null || concurrency < 1 ? 4 : concurrency;
+        maxRows = maxRows == null || maxRows < 1 ? 10_000 : maxRows;
+    }
+
+    public static ImportJobProps defaults() {
+        return new ImportJobProps(null, null, null);
+    }
+}
@@ -0,0 +1,18 @@
+package org.rostislav.curiokeep.imports;
+
+import org.rostislav.curiokeep.imports.entities.ImportJobEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ImportJobRepository extends JpaRepository<ImportJobEntity, UUID> {
+    Optional<ImportJobEntity> findByIdAndCollectionId(UUID id, UUID collectionId);
+
+    Page<ImportJobEntity> findAllByCollectionIdOrderByCreatedAtDesc(UUID collectionId, Pageable pageable);
+
+    Optional<ImportJobEntity> findFirstByStatusInOrderByCreatedAtAsc(Collection<ImportJobEntity.Status> statuses);
+}
@@ -0,0 +1,18 @@
+package org.rostislav.curiokeep.imports;
+
+import org.rostislav.curiokeep.imports.entities.ImportJobRowEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ImportJobRowRepository extends JpaRepository<ImportJobRowEntity, UUID> {
+    Page<ImportJobRowEntity> findAllByJobIdOrderByRowIndexAsc(UUID jobId, Pageable pageable);
+
+    Page<ImportJobRowEntity> findAllByJobIdAndStatusOrderByRowIndexAsc(UUID jobId, ImportJobRowEntity.Status status, Pageable pageable);
+
+    List<ImportJobRowEntity> findByJobIdAndStatusOrderByRowIndexAsc(UUID jobId, ImportJobRowEntity.Status status, Limit limit);
+}
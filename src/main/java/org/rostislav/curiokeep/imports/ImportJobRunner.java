@@ -0,0 +1,264 @@
+package org.rostislav.curiokeep.imports;
+
+import jakarta.annotation.PreDestroy;
+import org.rostislav.curiokeep.collections.CollectionAccessService;
+import org.rostislav.curiokeep.collections.api.dto.Role;
+import org.rostislav.curiokeep.imports.entities.ImportJobEntity;
+import org.rostislav.curiokeep.imports.entities.ImportJobRowEntity;
+import org.rostislav.curiokeep.items.ItemService;
+import org.rostislav.curiokeep.items.entities.ItemEntity;
+import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
+import org.rostislav.curiokeep.modules.CompiledModule;
+import org.rostislav.curiokeep.modules.ModuleQueryService;
+import org.rostislav.curiokeep.modules.ModuleService;
+import org.rostislav.curiokeep.modules.entities.ModuleDefinitionEntity;
+import org.rostislav.curiokeep.providers.AssetType;
+import org.rostislav.curiokeep.providers.ProviderAsset;
+import org.rostislav.curiokeep.providers.ProviderLookupService;
+import org.rostislav.curiokeep.providers.api.dto.LookupResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains queued import jobs in the background, one job at a time. Each job is processed in chunks of
+ * {@code batchSize} rows: rows are looked up, mapped and have their cover cached concurrently (bounded by
+ * {@code concurrency}) after the chunk's identifiers have been batch-fetched from providers that support it,
+ * then the chunk is inserted in a single transaction. Progress lives in the job tables,
+ * so a job interrupted by a restart continues with its remaining PENDING rows.
+ */
+@Component
+public class ImportJobRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobRunner.class);
+
+    private final ImportJobService jobs;
+    private final ImportJobRowRepository rows;
+    private final ModuleService moduleService;
+    private final ModuleQueryService moduleQuery;
+    private final ProviderLookupService lookup;
+    private final ItemService itemService;
+    private final CollectionAccessService access;
+    private final ImportJobProps props;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    public ImportJobRunner(ImportJobService jobs,
+                           ImportJobRowRepository rows,
+                           ModuleService moduleService,
+                           ModuleQueryService moduleQuery,
+                           ProviderLookupService lookup,
+                           ItemService itemService,
+                           CollectionAccessService access,
+                           ImportJobProps props) {
+        this.jobs = jobs;
+        this.rows = rows;
+        this.moduleService = moduleService;
+        this.moduleQuery = moduleQuery;
+        this.lookup = lookup;
+        this.itemService = itemService;
+        this.access = access;
+        this.props = props;
+    }
+
+    @TransactionalEventListener
+    void onSubmitted(ImportJobSubmittedEvent event) {
+        wake();
+    }
+
+    @Scheduled(initialDelay = 30, fixedDelay = 30, timeUnit = TimeUnit.SECONDS)
+    void poll() {
+        wake();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public void wake() {
+        if (draining.compareAndSet(false, true)) {
+            executor.submit(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Optional<ImportJobEntity> next;
+            while (!Thread.currentThread().isInterrupted() && (next = jobs.claimNext()).isPresent()) {
+                run(next.get());
+            }
+        } catch (DataAccessException ex) {
+            log.debug("Import runner could not read jobs: {}", ex.getMessage());
+        } catch (Exception ex) {
+            log.error("Import runner stopped unexpectedly", ex);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private void run(ImportJobEntity job) {
+        try {
+            access.requireRole(job.getCollectionId(), job.getCreatedBy(), Role.EDITOR);
+        } catch (ResponseStatusException ex) {
+            jobs.finish(job.getId(), ImportJobEntity.Status.FAILED, "ACCESS_REVOKED");
+            return;
+        }
+
+        JobContext ctx;
+        try {
+            ModuleDefinitionEntity module = moduleService.getById(job.getModuleId());
+            CompiledModule compiled = moduleQuery.getCompiled(module);
+            ctx = new JobContext(job, module, compiled, jobs.readProviders(job));
+        } catch (NoSuchElementException ex) {
+            jobs.finish(job.getId(), ImportJobEntity.Status.FAILED, "MODULE_NOT_FOUND");
+            return;
+        } catch (ResponseStatusException ex) {
+            jobs.finish(job.getId(), ImportJobEntity.Status.FAILED, ex.getReason());
+            return;
+        }
+
+        log.info("Import job running: jobId={} collectionId={} remainingFrom={}",
+                job.getId(), job.getCollectionId(), job.getProcessedRows());
+
+        while (!Thread.currentThread().isInterrupted()) {
+            if (!jobs.isRunning(job.getId())) {
+                return;
+            }
+            List<ImportJobRowEntity> chunk = rows.findByJobIdAndStatusOrderByRowIndexAsc(
+                    job.getId(), ImportJobRowEntity.Status.PENDING, Limit.of(props.batchSize()));
+            if (chunk.isEmpty()) {
+                jobs.finish(job.getId(), ImportJobEntity.Status.COMPLETED, null);
+                return;
+            }
+
+            List<ImportRowOutcome> outcomes = processChunk(ctx, chunk);
+            if (outcomes == null) {
+                return;
+            }
+            try {
+                jobs.recordChunk(job.getId(), outcomes);
+            } catch (RuntimeException ex) {
+                log.warn("Import chunk could not be saved: jobId={} rows={} error={}", job.getId(), chunk.size(), ex.getMessage());
+                jobs.failRows(job.getId(), chunk.stream().map(ImportJobRowEntity::getId).toList(), "SAVE_FAILED");
+            }
+        }
+    }
+
+    private List<ImportRowOutcome> processChunk(JobContext ctx, List<ImportJobRowEntity> chunk) {
+        prefetch(ctx, chunk);
+
+        Semaphore permits = new Semaphore(props.concurrency());
+        List<Future<ImportRowOutcome>> futures = new ArrayList<>(chunk.size());
+        for (ImportJobRowEntity row : chunk) {
+            futures.add(executor.submit(() -> {
+                permits.acquire();
+                try {
+                    return processRow(ctx, row);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        List<ImportRowOutcome> outcomes = new ArrayList<>(chunk.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                outcomes.add(futures.get(i).get());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                return null;
+            } catch (ExecutionException ex) {
+                outcomes.add(ImportRowOutcome.failed(chunk.get(i).getId(), "LOOKUP_FAILED"));
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Resolves the whole chunk through the providers' multi-ID endpoints up front, so the per-row lookups
+     * below mostly hit the response cache instead of making one request per row.
+     */
+    private void prefetch(JobContext ctx, List<ImportJobRowEntity> chunk) {
+        List<ItemIdentifierEntity> ids = new ArrayList<>(chunk.size());
+        for (ImportJobRowEntity row : chunk) {
+            ItemIdentifierEntity id = new ItemIdentifierEntity();
+            id.setIdType(row.getIdType());
+            id.setIdValue(row.getIdValue());
+            ids.add(id);
+        }
+        try {
+            lookup.prefetch(ctx.module(), ids, ctx.providers());
+        } catch (RuntimeException ex) {
+            log.debug("Import prefetch failed: jobId={} error={}", ctx.job().getId(), ex.getMessage());
+        }
+    }
+
+    private ImportRowOutcome processRow(JobContext ctx, ImportJobRowEntity row) {
+        try {
+            ItemIdentifierEntity id = new ItemIdentifierEntity();
+            id.setIdType(row.getIdType());
+            id.setIdValue(row.getIdValue());
+
+            LookupResponse res = lookup.lookup(ctx.module(), List.of(id), ctx.providers(), null);
+            Map<String, Object> attrs = new LinkedHashMap<>(res.mergedAttributes() == null ? Map.of() : res.mergedAttributes());
+            if (attrs.isEmpty()) {
+                return ImportRowOutcome.failed(row.getId(), "NO_PROVIDER_MATCH");
+            }
+
+            String imageUrl = coverUrl(res.assets(), attrs);
+            String title = attrs.get("title") instanceof String s && !s.isBlank() ? s.trim() : null;
+
+            ItemEntity item = itemService.prepareImported(
+                    ctx.job().getCollectionId(), ctx.job().getModuleId(), ctx.compiled(), ctx.job().getCreatedBy(),
+                    ctx.job().getStateKey(), title, attrs, imageUrl != null);
+            return ImportRowOutcome.imported(row.getId(), item, imageUrl);
+        } catch (ResponseStatusException ex) {
+            return ImportRowOutcome.failed(row.getId(), ex.getReason() == null ? ex.getStatusCode().toString() : ex.getReason());
+        } catch (RuntimeException ex) {
+            log.warn("Import row failed: jobId={} row={} {}={} error={}",
+                    ctx.job().getId(), row.getRowIndex(), row.getIdType(), row.getIdValue(), ex.getMessage());
+            return ImportRowOutcome.failed(row.getId(), "LOOKUP_FAILED");
+        }
+    }
+
+    /**
+     * Picks the best cover and points the item at its external URL. The download is queued when the chunk is
+     * saved, the same as for items created in the editor, so a slow image host does not hold up the import.
+     */
+    private String coverUrl(List<ProviderAsset> assets, Map<String, Object> attrs) {
+        if (assets == null || assets.isEmpty()) return null;
+        ProviderAsset asset = assets.stream()
+                .filter(a -> a.type() == AssetType.COVER)
+                .findFirst()
+                .orElse(assets.getFirst());
+        if (asset.url() == null) return null;
+
+        String url = asset.url().toString();
+        attrs.put("providerImageUrl", url);
+        return url;
+    }
+
+    private record JobContext(ImportJobEntity job, ModuleDefinitionEntity module, CompiledModule compiled, List<String> providers) {}
+}
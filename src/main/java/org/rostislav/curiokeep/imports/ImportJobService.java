@@ -0,0 +1,281 @@
+package org.rostislav.curiokeep.imports;
+
+import org.rostislav.curiokeep.collections.CollectionAccessService;
+import org.rostislav.curiokeep.collections.api.dto.Role;
+import org.rostislav.curiokeep.imports.api.dto.CreateImportJobRequest;
+import org.rostislav.curiokeep.imports.api.dto.ImportJobResponse;
+import org.rostislav.curiokeep.imports.api.dto.ImportJobRowResponse;
+import org.rostislav.curiokeep.imports.entities.ImportJobEntity;
+import org.rostislav.curiokeep.imports.entities.ImportJobRowEntity;
+import org.rostislav.curiokeep.items.ItemService;
+import org.rostislav.curiokeep.items.api.dto.ItemIdentifierDto;
+import org.rostislav.curiokeep.modules.ModuleQueryService;
+import org.rostislav.curiokeep.user.CurrentUserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+    private static final EnumSet<ImportJobEntity.Status> RUNNABLE =
+            EnumSet.of(ImportJobEntity.Status.QUEUED, ImportJobEntity.Status.RUNNING);
+
+    private final ImportJobRepository jobs;
+    private final ImportJobRowRepository rows;
+    private final CurrentUserService currentUser;
+    private final CollectionAccessService access;
+    private final ModuleQueryService modules;
+    private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+    private final ImportJobProps props;
+    private final ApplicationEventPublisher events;
+
+    public ImportJobService(ImportJobRepository jobs,
+                            ImportJobRowRepository rows,
+                            CurrentUserService currentUser,
+                            CollectionAccessService access,
+                            ModuleQueryService modules,
+                            ItemService itemService,
+                            ObjectMapper objectMapper,
+                            ImportJobProps props,
+                            ApplicationEventPublisher events) {
+        this.jobs = jobs;
+        this.rows = rows;
+        this.currentUser = currentUser;
+        this.access = access;
+        this.modules = modules;
+        this.itemService = itemService;
+        this.objectMapper = objectMapper;
+        this.props = props;
+        this.events = events;
+    }
+
+    @Transactional
+    public ImportJobResponse submit(UUID collectionId, CreateImportJobRequest req) {
+        UUID userId = checkUserRole(collectionId, Role.EDITOR);
+
+        if (modules.getEntityById(req.moduleId()).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "MODULE_NOT_FOUND");
+        }
+        List<ItemIdentifierDto> ids = req.identifiers() == null ? List.of() : req.identifiers();
+        if (ids.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "IDENTIFIERS_REQUIRED");
+        }
+        if (ids.size() > props.maxRows()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "TOO_MANY_IDENTIFIERS");
+        }
+
+        ImportJobEntity job = new ImportJobEntity();
+        job.setCollectionId(collectionId);
+        job.setModuleId(req.moduleId());
+        job.setCreatedBy(userId);
+        job.setStateKey(req.stateKey() == null || req.stateKey().isBlank() ? null : req.stateKey().trim());
+        job.setProviders(writeProviders(req.providers()));
+        job.setTotalRows(ids.size());
+        jobs.save(job);
+
+        List<ImportJobRowEntity> jobRows = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            ItemIdentifierDto dto = ids.get(i);
+            ImportJobRowEntity row = new ImportJobRowEntity();
+            row.setJobId(job.getId());
+            row.setRowIndex(i);
+            row.setIdType(dto.idType());
+            row.setIdValue(dto.idValue().trim());
+            jobRows.add(row);
+        }
+        rows.saveAll(jobRows);
+
+        events.publishEvent(new ImportJobSubmittedEvent(job.getId()));
+
+        log.info("Import job queued: jobId={} collectionId={} moduleId={} rows={} byUserId={}",
+                job.getId(), collectionId, job.getModuleId(), ids.size(), userId);
+
+        return ImportJobResponse.from(job);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ImportJobResponse> list(UUID collectionId, Pageable pageable) {
+        checkUserRole(collectionId, Role.VIEWER);
+        return jobs.findAllByCollectionIdOrderByCreatedAtDesc(collectionId, pageable).map(ImportJobResponse::from);
+    }
+
+    @Transactional(readOnly = true)
+    public ImportJobResponse get(UUID collectionId, UUID jobId) {
+        checkUserRole(collectionId, Role.VIEWER);
+        return ImportJobResponse.from(requireJob(collectionId, jobId));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ImportJobRowResponse> rows(UUID collectionId, UUID jobId, ImportJobRowEntity.Status status, Pageable pageable) {
+        checkUserRole(collectionId, Role.VIEWER);
+        ImportJobEntity job = requireJob(collectionId, jobId);
+
+        Page<ImportJobRowEntity> page = status == null
+                ? rows.findAllByJobIdOrderByRowIndexAsc(job.getId(), pageable)
+                : rows.findAllByJobIdAndStatusOrderByRowIndexAsc(job.getId(), status, pageable);
+        return page.map(ImportJobRowResponse::from);
+    }
+
+    @Transactional
+    public ImportJobResponse cancel(UUID collectionId, UUID jobId) {
+        UUID userId = checkUserRole(collectionId, Role.EDITOR);
+        ImportJobEntity job = requireJob(collectionId, jobId);
+
+        if (!job.isTerminal()) {
+            job.setStatus(ImportJobEntity.Status.CANCELLED);
+            job.setFinishedAt(OffsetDateTime.now());
+            jobs.save(job);
+            log.info("Import job cancelled: jobId={} collectionId={} byUserId={}", jobId, collectionId, userId);
+        }
+        return ImportJobResponse.from(job);
+    }
+
+    /**
+     * Picks the oldest unfinished job and marks it running. Jobs left RUNNING by a previous
+     * process are picked up again, so an import resumes after a restart.
+     */
+    @Transactional
+    public Optional<ImportJobEntity> claimNext() {
+        return jobs.findFirstByStatusInOrderByCreatedAtAsc(RUNNABLE).map(job -> {
+            if (job.getStatus() == ImportJobEntity.Status.QUEUED) {
+                job.setStatus(ImportJobEntity.Status.RUNNING);
+                job.setStartedAt(OffsetDateTime.now());
+                jobs.save(job);
+            }
+            return job;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isRunning(UUID jobId) {
+        return jobs.findById(jobId).map(j -> j.getStatus() == ImportJobEntity.Status.RUNNING).orElse(false);
+    }
+
+    /**
+     * Persists a processed chunk in one transaction: the new items, their identifiers and cover downloads,
+     * the row outcomes and the job counters.
+     */
+    @Transactional
+    public void recordChunk(UUID jobId, List<ImportRowOutcome> outcomes) {
+        ImportJobEntity job = jobs.findById(jobId).orElseThrow();
+        Map<UUID, ImportJobRowEntity> byId = rows.findAllById(outcomes.stream().map(ImportRowOutcome::rowId).toList())
+                .stream()
+                .collect(Collectors.toMap(ImportJobRowEntity::getId, Function.identity()));
+
+        List<ItemService.ImportedItem> batch = new ArrayList<>();
+        for (ImportRowOutcome o : outcomes) {
+            ImportJobRowEntity row = byId.get(o.rowId());
+            if (o.item() != null && row != null) {
+                batch.add(new ItemService.ImportedItem(o.item(),
+                        List.of(new ItemIdentifierDto(row.getIdType(), row.getIdValue())), o.imageUrl()));
+            }
+        }
+        itemService.saveImported(batch);
+
+        int succeeded = 0;
+        int failed = 0;
+        for (ImportRowOutcome o : outcomes) {
+            ImportJobRowEntity row = byId.get(o.rowId());
+            if (row == null) continue;
+            if (o.item() != null) {
+                row.setStatus(ImportJobRowEntity.Status.IMPORTED);
+                row.setItemId(o.item().getId());
+                row.setTitle(o.item().getTitle());
+                succeeded++;
+            } else {
+                row.setStatus(ImportJobRowEntity.Status.FAILED);
+                row.setError(o.error());
+                failed++;
+            }
+        }
+
+        job.setProcessedRows(job.getProcessedRows() + succeeded + failed);
+        job.setSucceededRows(job.getSucceededRows() + succeeded);
+        job.setFailedRows(job.getFailedRows() + failed);
+        jobs.save(job);
+    }
+
+    /**
+     * Marks rows as failed without creating items, used when a chunk could not be persisted.
+     */
+    @Transactional
+    public void failRows(UUID jobId, List<UUID> rowIds, String error) {
+        ImportJobEntity job = jobs.findById(jobId).orElseThrow();
+        List<ImportJobRowEntity> failedRows = rows.findAllById(rowIds);
+        failedRows.forEach(row -> {
+            row.setStatus(ImportJobRowEntity.Status.FAILED);
+            row.setError(error);
+        });
+        job.setProcessedRows(job.getProcessedRows() + failedRows.size());
+        job.setFailedRows(job.getFailedRows() + failedRows.size());
+        jobs.save(job);
+    }
+
+    @Transactional
+    public void finish(UUID jobId, ImportJobEntity.Status status, String error) {
+        jobs.findById(jobId).filter(j -> !j.isTerminal()).ifPresent(job -> {
+            job.setStatus(status);
+            job.setError(error);
+            job.setFinishedAt(OffsetDateTime.now());
+            jobs.save(job);
+            log.info("Import job finished: jobId={} status={} succeeded={} failed={}",
+                    jobId, status, job.getSucceededRows(), job.getFailedRows());
+        });
+    }
+
+    public List<String> readProviders(ImportJobEntity job) {
+        try {
+            List<String> providers = objectMapper.readValue(
+                    job.getProviders() == null ? "[]" : job.getProviders(), new TypeReference<>() {});
+            return providers == null ? List.of() : providers;
+        } catch (Exception ex) {
+            log.warn("Import job {} has unreadable provider filter, using all providers", job.getId());
+            return List.of();
+        }
+    }
+
+    private String writeProviders(List<String> providers) {
+        List<String> cleaned = providers == null ? List.of() : providers.stream()
+                .filter(p -> p != null && !p.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+        try {
+            return objectMapper.writeValueAsString(cleaned);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "PROVIDERS_SERIALIZATION_FAILED", e);
+        }
+    }
+
+    private ImportJobEntity requireJob(UUID collectionId, UUID jobId) {
+        return jobs.findByIdAndCollectionId(jobId, collectionId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "IMPORT_JOB_NOT_FOUND"));
+    }
+
+    private UUID checkUserRole(UUID collectionId, Role minimumRole) {
+        UUID userId = currentUser.requireCurrentUserId();
+        access.requireRole(collectionId, userId, minimumRole);
+        return userId;
+    }
+}
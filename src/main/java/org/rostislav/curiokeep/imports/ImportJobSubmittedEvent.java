@@ -0,0 +1,9 @@
+package org.rostislav.curiokeep.imports;
+
+import java.util.UUID;
+
+/**
+ * Published when a job has been queued so the runner can start without waiting for its next poll.
+ */
+public record ImportJobSubmittedEvent(UUID jobId) {
+}
@@ -0,0 +1,20 @@
+package org.rostislav.curiokeep.imports;
+
+import org.rostislav.curiokeep.items.entities.ItemEntity;
+
+import java.util.UUID;
+
+/**
+ * Result of processing one import row: either a prepared (not yet persisted) item, with the cover to queue
+ * for it once saved, or an error code.
+ */
+record ImportRowOutcome(UUID rowId, ItemEntity item, String imageUrl, String error) {
+
+    static ImportRowOutcome imported(UUID rowId, ItemEntity item, String imageUrl) {
+        return new ImportRowOutcome(rowId, item, imageUrl, null);
+    }
+
+    static ImportRowOutcome failed(UUID rowId, String error) {
+        return new ImportRowOutcome(rowId, null, null, error);
+    }
+}
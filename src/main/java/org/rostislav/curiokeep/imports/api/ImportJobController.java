@@ -0,0 +1,114 @@
+package org.rostislav.curiokeep.imports.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.rostislav.curiokeep.api.dto.ApiError;
+import org.rostislav.curiokeep.imports.ImportJobService;
+import org.rostislav.curiokeep.imports.api.dto.CreateImportJobRequest;
+import org.rostislav.curiokeep.imports.api.dto.ImportJobResponse;
+import org.rostislav.curiokeep.imports.api.dto.ImportJobRowResponse;
+import org.rostislav.curiokeep.imports.entities.ImportJobRowEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@Tag(name = "Imports", description = "Background bulk import of items from identifiers (ISBN/UPC/EAN/etc).")
+@SecurityRequirement(name = "sessionAuth")
+@RestController
+@RequestMapping("/api/collections/{collectionId}/imports")
+public class ImportJobController {
+
+    private final ImportJobService service;
+
+    public ImportJobController(ImportJobService service) {
+        this.service = service;
+    }
+
+    @Operation(summary = "Submit import job", description = "Queues identifiers for background lookup and item creation. Returns immediately; poll the job for progress.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Job queued",
+                    content = @Content(schema = @Schema(implementation = ImportJobResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "403", description = "No access to collection",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportJobResponse submit(@PathVariable UUID collectionId, @RequestBody @Valid CreateImportJobRequest req) {
+        return service.submit(collectionId, req);
+    }
+
+    @Operation(summary = "List import jobs", description = "Lists import jobs of the collection, newest first.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Jobs returned"),
+            @ApiResponse(responseCode = "403", description = "No access to collection",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping
+    public Page<ImportJobResponse> list(
+            @PathVariable UUID collectionId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "25") int size
+    ) {
+        return service.list(collectionId, PageRequest.of(page, size));
+    }
+
+    @Operation(summary = "Get import job", description = "Returns the job status and progress counters.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Job returned",
+                    content = @Content(schema = @Schema(implementation = ImportJobResponse.class))),
+            @ApiResponse(responseCode = "403", description = "No access to collection",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/{jobId}")
+    public ImportJobResponse get(@PathVariable UUID collectionId, @PathVariable UUID jobId) {
+        return service.get(collectionId, jobId);
+    }
+
+    @Operation(summary = "List import rows", description = "Returns per-identifier results and errors, optionally filtered by row status.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rows returned"),
+            @ApiResponse(responseCode = "403", description = "No access to collection",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/{jobId}/rows")
+    public Page<ImportJobRowResponse> rows(
+            @PathVariable UUID collectionId,
+            @PathVariable UUID jobId,
+            @RequestParam(required = false) ImportJobRowEntity.Status status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        return service.rows(collectionId, jobId, status, PageRequest.of(page, size));
+    }
+
+    @Operation(summary = "Cancel import job", description = "Stops processing of remaining rows. Items already created are kept.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Job cancelled",
+                    content = @Content(schema = @Schema(implementation = ImportJobResponse.class))),
+            @ApiResponse(responseCode = "403", description = "No access to collection",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping("/{jobId}/cancel")
+    public ImportJobResponse cancel(@PathVariable UUID collectionId, @PathVariable UUID jobId) {
+        return service.cancel(collectionId, jobId);
+    }
+}
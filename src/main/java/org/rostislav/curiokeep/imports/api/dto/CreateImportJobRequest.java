@@ -0,0 +1,26 @@
+package org.rostislav.curiokeep.imports.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.rostislav.curiokeep.items.api.dto.ItemIdentifierDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CreateImportJobRequest(
+
+        @Schema(description = "Module id every imported item is created for")
+        @NotNull UUID moduleId,
+
+        @Schema(description = "State key applied to every imported item; defaults to the module's first state", example = "OWNED")
+        String stateKey,
+
+        @Schema(description = "Optional provider keys to restrict lookups to")
+        List<String> providers,
+
+        @Schema(description = "Identifiers to import; each one becomes a row and, when a provider matches, an item")
+        @NotEmpty List<@Valid ItemIdentifierDto> identifiers
+) {
+}
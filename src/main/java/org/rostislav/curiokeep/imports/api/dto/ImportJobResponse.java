@@ -0,0 +1,42 @@
+package org.rostislav.curiokeep.imports.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.rostislav.curiokeep.imports.entities.ImportJobEntity;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Schema(name = "ImportJobResponse", description = "Bulk import job and its progress counters")
+public record ImportJobResponse(
+        @Schema(description = "Job id") UUID id,
+        @Schema(description = "Target collection id") UUID collectionId,
+        @Schema(description = "Module id items are created for") UUID moduleId,
+        @Schema(description = "QUEUED, RUNNING, COMPLETED, FAILED or CANCELLED", example = "RUNNING") ImportJobEntity.Status status,
+        @Schema(description = "Number of submitted identifiers") int total,
+        @Schema(description = "Rows processed so far") int processed,
+        @Schema(description = "Rows that produced an item") int succeeded,
+        @Schema(description = "Rows that failed") int failed,
+        @Schema(description = "Job-level failure reason", nullable = true) String error,
+        @Schema(description = "User that submitted the job") UUID createdBy,
+        @Schema(description = "Submission timestamp (UTC)") OffsetDateTime createdAt,
+        @Schema(description = "When processing started (UTC)", nullable = true) OffsetDateTime startedAt,
+        @Schema(description = "When the job reached a final status (UTC)", nullable = true) OffsetDateTime finishedAt
+) {
+    public static ImportJobResponse from(ImportJobEntity e) {
+        return new ImportJobResponse(
+                e.getId(),
+                e.getCollectionId(),
+                e.getModuleId(),
+                e.getStatus(),
+                e.getTotalRows(),
+                e.getProcessedRows(),
+                e.getSucceededRows(),
+                e.getFailedRows(),
+                e.getError(),
+                e.getCreatedBy(),
+                e.getCreatedAt(),
+                e.getStartedAt(),
+                e.getFinishedAt()
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package org.rostislav.curiokeep.imports.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.rostislav.curiokeep.imports.entities.ImportJobRowEntity;
+import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
+
+import java.util.UUID;
+
+@Schema(name = "ImportJobRowResponse", description = "Outcome of a single identifier inside an import job")
+public record ImportJobRowResponse(
+        @Schema(description = "Position of the identifier in the submitted list") int rowIndex,
+        @Schema(description = "Identifier type", example = "ISBN13") ItemIdentifierEntity.IdType idType,
+        @Schema(description = "Identifier value", example = "9780441172719") String idValue,
+        @Schema(description = "PENDING, IMPORTED or FAILED", example = "IMPORTED") ImportJobRowEntity.Status status,
+        @Schema(description = "Created item id", nullable = true) UUID itemId,
+        @Schema(description = "Title of the created item", nullable = true) String title,
+        @Schema(description = "Failure reason code", nullable = true, example = "NO_PROVIDER_MATCH") String error
+) {
+    public static ImportJobRowResponse from(ImportJobRowEntity e) {
+        return new ImportJobRowResponse(
+                e.getRowIndex(),
+                e.getIdType(),
+                e.getIdValue(),
+                e.getStatus(),
+                e.getItemId(),
+                e.getTitle(),
+                e.getError()
+        );
+    }
+}
@@ -0,0 +1,214 @@
+package org.rostislav.curiokeep.imports.entities;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "import_job")
+public class ImportJobEntity {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id", columnDefinition = "uuid")
+    private UUID id;
+
+    @Column(name = "collection_id", nullable = false, columnDefinition = "uuid")
+    private UUID collectionId;
+
+    @Column(name = "module_id", nullable = false, columnDefinition = "uuid")
+    private UUID moduleId;
+
+    @Column(name = "created_by", nullable = false, columnDefinition = "uuid")
+    private UUID createdBy;
+
+    @Column(name = "state_key")
+    private String stateKey;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "providers", nullable = false, columnDefinition = "jsonb")
+    private String providers = "[]";
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status = Status.QUEUED;
+
+    @Column(name = "total_rows", nullable = false)
+    private int totalRows;
+
+    @Column(name = "processed_rows", nullable = false)
+    private int processedRows;
+
+    @Column(name = "succeeded_rows", nullable = false)
+    private int succeededRows;
+
+    @Column(name = "failed_rows", nullable = false)
+    private int failedRows;
+
+    @Column(name = "error")
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Column(name = "started_at")
+    private OffsetDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private OffsetDateTime finishedAt;
+
+    @PrePersist
+    void prePersist() {
+        var now = OffsetDateTime.now();
+        if (createdAt == null) createdAt = now;
+        if (updatedAt == null) updatedAt = now;
+    }
+
+    @PreUpdate
+    void preUpdate() {
+        updatedAt = OffsetDateTime.now();
+    }
+
+    public boolean isTerminal() {
+        return status == Status.COMPLETED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    // getters/setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getCollectionId() {
+        return collectionId;
+    }
+
+    public void setCollectionId(UUID collectionId) {
+        this.collectionId = collectionId;
+    }
+
+    public UUID getModuleId() {
+        return moduleId;
+    }
+
+    public void setModuleId(UUID moduleId) {
+        this.moduleId = moduleId;
+    }
+
+    public UUID getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(UUID createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public String getStateKey() {
+        return stateKey;
+    }
+
+    public void setStateKey(String stateKey) {
+        this.stateKey = stateKey;
+    }
+
+    public String getProviders() {
+        return providers;
+    }
+
+    public void setProviders(String providers) {
+        this.providers = providers;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getProcessedRows() {
+        return processedRows;
+    }
+
+    public void setProcessedRows(int processedRows) {
+        this.processedRows = processedRows;
+    }
+
+    public int getSucceededRows() {
+        return succeededRows;
+    }
+
+    public void setSucceededRows(int succeededRows) {
+        this.succeededRows = succeededRows;
+    }
+
+    public int getFailedRows() {
+        return failedRows;
+    }
+
+    public void setFailedRows(int failedRows) {
+        this.failedRows = failedRows;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public OffsetDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(OffsetDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public OffsetDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(OffsetDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+}
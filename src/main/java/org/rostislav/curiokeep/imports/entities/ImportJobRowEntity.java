@@ -0,0 +1,137 @@
+package org.rostislav.curiokeep.imports.entities;
+
+import jakarta.persistence.*;
+import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "import_job_row")
+public class ImportJobRowEntity {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id", columnDefinition = "uuid")
+    private UUID id;
+
+    @Column(name = "job_id", nullable = false, columnDefinition = "uuid")
+    private UUID jobId;
+
+    @Column(name = "row_index", nullable = false)
+    private int rowIndex;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "id_type", nullable = false)
+    private ItemIdentifierEntity.IdType idType;
+
+    @Column(name = "id_value", nullable = false)
+    private String idValue;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status = Status.PENDING;
+
+    @Column(name = "item_id", columnDefinition = "uuid")
+    private UUID itemId;
+
+    @Column(name = "title")
+    private String title;
+
+    @Column(name = "error")
+    private String error;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = OffsetDateTime.now();
+    }
+
+    // getters/setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(UUID jobId) {
+        this.jobId = jobId;
+    }
+
+    public int getRowIndex() {
+        return rowIndex;
+    }
+
+    public void setRowIndex(int rowIndex) {
+        this.rowIndex = rowIndex;
+    }
+
+    public ItemIdentifierEntity.IdType getIdType() {
+        return idType;
+    }
+
+    public void setIdType(ItemIdentifierEntity.IdType idType) {
+        this.idType = idType;
+    }
+
+    public String getIdValue() {
+        return idValue;
+    }
+
+    public void setIdValue(String idValue) {
+        this.idValue = idValue;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public UUID getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(UUID itemId) {
+        this.itemId = itemId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public enum Status {
+        PENDING, IMPORTED, FAILED
+    }
+}
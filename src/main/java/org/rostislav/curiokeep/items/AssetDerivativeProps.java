@@ -0,0 +1,41 @@
+package org.rostislav.curiokeep.items;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resized copies of stored images, served by {@code /api/assets/{file}?preset=} or {@code ?w=}. Requested widths
+ * snap up to the nearest {@code presets} width so the number of variants per image stays bounded. At most
+ * {@code workers} derivatives are rendered at once with {@code queueSize} more waiting; beyond that, and after
+ * {@code waitTimeout}, the original is served instead. Presets listed in {@code eager} are rendered as soon as
+ * an image is stored.
+ */
+@ConfigurationProperties(prefix = "curiokeep.assets.derivatives")
+public record AssetDerivativeProps(
+        Boolean enabled,
+        Map<String, Integer> presets,
+        List<String> eager,
+        Integer workers,
+        Integer queueSize,
+        Float quality,
+        Duration waitTimeout
+) {
+    public AssetDerivativeProps {
+        enabled = enabled == null || enabled;
+        presets = presets == null || presets.isEmpty()
+                ? Map.of("thumb", 200, "card", 400, "large", 1024)
+                : Map.copyOf(presets);
+        eager = eager == null ? List.of() : List.copyOf(eager);
+        workers = workers == null || workers < 1 ? Math.max(1, Runtime.getRuntime().availableProcessors() / 2) : workers;
+        queueSize = queueSize == null || queueSize < 0 ? 64 : queueSize;
+        quality = quality == null || quality <= 0 || quality > 1 ? 0.82f : quality;
+        waitTimeout = waitTimeout == null || waitTimeout.isNegative() ? Duration.ofSeconds(20) : waitTimeout;
+    }
+
+    public static AssetDerivativeProps defaults() {
+        return new AssetDerivativeProps(null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,298 @@
+package org.rostislav.curiokeep.items;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders resized copies of stored images on first request and keeps them next to the original as
+ * {@code <original>.w<width>.<jpg|png>}. The names are unique per original and width, so derivatives are as
+ * immutable as the originals. Concurrent requests for the same derivative share one render.
+ */
+@Service
+public class AssetDerivativeService {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetDerivativeService.class);
+    private static final Pattern DERIVATIVE = Pattern.compile("(.+)\\.w\\d+\\.(jpg|png)");
+    private static final long MAX_PIXELS = 50_000_000L;
+    private static final int MAX_PASSTHROUGH = 4096;
+
+    private final ItemImageService images;
+    private final AssetDerivativeProps props;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, CompletableFuture<AssetFile>> inFlight = new ConcurrentHashMap<>();
+    // Derivatives that would not be smaller than their original (or cannot be decoded); the original is served.
+    private final Map<String, Boolean> passthrough = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_PASSTHROUGH;
+        }
+    };
+    private final Timer renderTimer;
+
+    public AssetDerivativeService(ItemImageService images, AssetDerivativeProps props, MeterRegistry meterRegistry) {
+        this.images = images;
+        this.props = props;
+        this.workers = new ThreadPoolExecutor(props.workers(), props.workers(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, props.queueSize())),
+                Thread.ofPlatform().name("asset-derivative-", 0).daemon(true).factory());
+        this.renderTimer = Timer.builder("curiokeep.assets.derivative.render").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Width to render for a request, or {@code null} to serve the original. Explicit widths snap up to the
+     * nearest preset; anything wider than every preset gets the widest one.
+     */
+    public Integer widthFor(Integer width, String preset) {
+        if (!props.enabled()) return null;
+        if (preset != null && !preset.isBlank()) {
+            return props.presets().get(preset.trim());
+        }
+        if (width == null || width < 1) return null;
+        Integer snapped = null;
+        int widest = 0;
+        for (int candidate : props.presets().values()) {
+            widest = Math.max(widest, candidate);
+            if (candidate >= width && (snapped == null || candidate < snapped)) snapped = candidate;
+        }
+        return snapped != null ? snapped : widest;
+    }
+
+    /**
+     * Returns the derivative of {@code fileName} at {@code width}, rendering it when missing. Without a
+     * derivative the original is served: for good when there will never be one (unknown file, unsupported
+     * format, already small enough), or as a {@link Rendition#pending() pending} stand-in when the render timed
+     * out, failed or the pool is saturated.
+     */
+    public Rendition derivative(String fileName, int width) {
+        AssetFile original = images.describe(fileName);
+        if (original == null) return Rendition.ORIGINAL;
+        String name = derivativeName(original, width);
+        if (name == null) return Rendition.ORIGINAL;
+
+        AssetFile existing = images.describe(name);
+        if (existing != null) return new Rendition(existing, false);
+        synchronized (passthrough) {
+            if (passthrough.containsKey(name)) return Rendition.ORIGINAL;
+        }
+
+        CompletableFuture<AssetFile> render = start(original, name, width);
+        if (render == null) return Rendition.PENDING;
+        try {
+            AssetFile rendered = render.get(props.waitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            return rendered == null ? Rendition.ORIGINAL : new Rendition(rendered, false);
+        } catch (TimeoutException ex) {
+            log.debug("Derivative {} still rendering, serving the original", name);
+            return Rendition.PENDING;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Rendition.PENDING;
+        } catch (ExecutionException ex) {
+            log.warn("Failed to render derivative {}: {}", name, ex.getCause().getMessage());
+            return Rendition.PENDING;
+        }
+    }
+
+    /**
+     * Outcome of {@link #derivative}: the derivative to serve, or {@code null} to serve the original. When
+     * {@code pending} is set the original only stands in until the derivative exists, so it must not be cached
+     * under the derivative's URL.
+     */
+    public record Rendition(AssetFile derivative, boolean pending) {
+        static final Rendition ORIGINAL = new Rendition(null, false);
+        static final Rendition PENDING = new Rendition(null, true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onStored(AssetStoredEvent event) {
+        if (!props.enabled() || props.eager().isEmpty()) return;
+        AssetFile original = images.describe(event.fileName());
+        if (original == null) return;
+        for (String preset : props.eager()) {
+            Integer width = props.presets().get(preset);
+            String name = width == null ? null : derivativeName(original, width);
+            if (name != null && images.describe(name) == null) start(original, name, width);
+        }
+    }
+
+    /**
+     * The original a derivative file was rendered from, or {@code null} when {@code fileName} is not a derivative.
+     */
+    public static String originalOf(String fileName) {
+        Matcher m = DERIVATIVE.matcher(fileName);
+        return m.matches() ? m.group(1) : null;
+    }
+
+    private CompletableFuture<AssetFile> start(AssetFile original, String name, int width) {
+        CompletableFuture<AssetFile> created = new CompletableFuture<>();
+        CompletableFuture<AssetFile> leader = inFlight.putIfAbsent(name, created);
+        if (leader != null) return leader;
+        try {
+            workers.execute(() -> {
+                try {
+                    created.complete(renderTimer.recordCallable(() -> render(original, name, width)));
+                } catch (Throwable ex) {
+                    created.completeExceptionally(ex);
+                } finally {
+                    inFlight.remove(name, created);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(name, created);
+            log.debug("Derivative pool saturated, serving the original for {}", name);
+            return null;
+        }
+        return created;
+    }
+
+    private AssetFile render(AssetFile original, String name, int width) throws IOException {
+        BufferedImage source;
+        try {
+            source = decode(original.path(), width);
+        } catch (IOException | RuntimeException ex) {
+            // Corrupt, truncated or unsupported variants (CMYK JPEG): will not decode on the next request either
+            log.debug("Cannot decode {}, serving it as is: {}", original.fileName(), ex.getMessage());
+            source = null;
+        }
+        if (source == null) {
+            synchronized (passthrough) {
+                passthrough.put(name, Boolean.TRUE);
+            }
+            return null;
+        }
+
+        int height = Math.max(1, (int) Math.round(source.getHeight() * (width / (double) source.getWidth())));
+        boolean png = name.endsWith(".png");
+        BufferedImage scaled = scale(source, width, height, png);
+
+        Path dest = original.path().resolveSibling(name);
+        Path tmp = Files.createTempFile(dest.getParent(), name, ".tmp");
+        try {
+            write(scaled, tmp, png);
+            Files.move(tmp, dest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return images.describe(name);
+    }
+
+    /**
+     * Decodes the image, letting the reader skip pixels when the source is more than twice the target width so
+     * a large cover is never fully materialized for a small thumbnail. Returns {@code null} when the image is
+     * no wider than the target, above {@value #MAX_PIXELS} pixels, or in a format ImageIO cannot read.
+     */
+    private static BufferedImage decode(Path path, int width) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int srcWidth = reader.getWidth(0);
+                int srcHeight = reader.getHeight(0);
+                if (srcWidth <= width || (long) srcWidth * srcHeight > MAX_PIXELS) return null;
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = srcWidth / (width * 2);
+                if (step > 1) param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** Halves the image until it is within 2x of the target, then scales bilinearly, to avoid aliasing. */
+    private static BufferedImage scale(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage next = new BufferedImage(w, h, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    private void write(BufferedImage image, Path target, boolean png) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(png ? "png" : "jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (!png) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(props.quality());
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * JPEG originals get JPEG derivatives; formats that may carry transparency keep it as PNG. Formats ImageIO
+     * cannot decode (WebP) have no derivatives.
+     */
+    private static String derivativeName(AssetFile original, int width) {
+        MediaType type = original.mediaType();
+        String ext;
+        if (MediaType.IMAGE_JPEG.includes(type) || "bmp".equals(type.getSubtype())) {
+            ext = "jpg";
+        } else if (MediaType.IMAGE_PNG.includes(type) || MediaType.IMAGE_GIF.includes(type)) {
+            ext = "png";
+        } else {
+            return null;
+        }
+        return original.fileName() + ".w" + width + "." + ext;
+    }
+}
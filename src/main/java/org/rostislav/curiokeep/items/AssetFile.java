@@ -0,0 +1,19 @@
+package org.rostislav.curiokeep.items;
+
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Metadata of a stored asset. Asset files are written once under a unique name and never modified,
+ * so this is safe to keep in memory until the file is deleted.
+ */
+public record AssetFile(String fileName, Path path, long length, Instant lastModified, MediaType mediaType) {
+
+    /** Strong validator: the name is unique per stored content, the length guards against truncated writes. */
+    public String etag() {
+        int dot = fileName.lastIndexOf('.');
+        return "\"" + (dot > 0 ? fileName.substring(0, dot) : fileName) + "-" + Long.toHexString(length) + "\"";
+    }
+}
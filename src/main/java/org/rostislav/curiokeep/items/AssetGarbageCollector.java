@@ -0,0 +1,244 @@
+package org.rostislav.curiokeep.items;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.rostislav.curiokeep.items.api.dto.AssetGcReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Mark-and-sweep collector for the assets directory. The mark phase streams every asset name items refer to
+ * from Postgres; the sweep walks the directory and removes files outside that set once they are older than the
+ * grace period. Each removal is re-checked against the {@code asset} table, so a file an item picked up after
+ * the mark phase is kept.
+ */
+@Component
+public class AssetGarbageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetGarbageCollector.class);
+    static final String QUARANTINE_DIR = ".quarantine";
+
+    private final AssetStore assets;
+    private final ItemImageService images;
+    private final AssetGcProps props;
+    private final Path baseDir;
+    private final Path quarantineDir;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter reclaimedBytes;
+    private final Counter deleted;
+    private final Counter quarantined;
+
+    public AssetGarbageCollector(AssetStore assets,
+                                 ItemImageService images,
+                                 AssetGcProps props,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${curiokeep.assets.dir:./data/assets}") String baseDir) {
+        this.assets = assets;
+        this.images = images;
+        this.props = props;
+        this.baseDir = Path.of(baseDir);
+        this.quarantineDir = this.baseDir.resolve(QUARANTINE_DIR);
+        this.reclaimedBytes = Counter.builder("curiokeep.assets.gc.reclaimed")
+                .baseUnit("bytes")
+                .description("Bytes freed by the asset garbage collector")
+                .register(meterRegistry);
+        this.deleted = Counter.builder("curiokeep.assets.gc.files").tag("action", "deleted").register(meterRegistry);
+        this.quarantined = Counter.builder("curiokeep.assets.gc.files").tag("action", "quarantined").register(meterRegistry);
+    }
+
+    @Scheduled(initialDelay = 30, fixedDelay = 360, timeUnit = TimeUnit.MINUTES)
+    void sweep() {
+        if (!props.enabled() || running.get()) return;
+        try {
+            AssetGcReport report = collect(props.dryRun());
+            log.info("Asset GC{}: referenced={} scanned={} orphans={} ({}b) removed={} reclaimed={}b purged={}",
+                    report.dryRun() ? " (dry run)" : "", report.referenced(), report.scannedFiles(),
+                    report.orphanFiles(), report.orphanBytes(), report.removedFiles(), report.reclaimedBytes(),
+                    report.purgedQuarantineFiles());
+        } catch (DataAccessException ex) {
+            log.debug("Asset GC could not read references: {}", ex.getMessage());
+        } catch (ResponseStatusException ignored) {
+            // a manual run is in progress
+        } catch (Exception ex) {
+            log.warn("Asset GC failed", ex);
+        }
+    }
+
+    /**
+     * Runs one collection. With {@code dryRun} nothing is moved or deleted and the report lists what would be.
+     */
+    public AssetGcReport collect(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "ASSET_GC_RUNNING");
+        }
+        try {
+            return run(dryRun);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private AssetGcReport run(boolean dryRun) {
+        Instant startedAt = Instant.now();
+        Set<String> referenced = new HashSet<>();
+        assets.forEachReferenced(name -> {
+            if (name != null && !name.isBlank()) referenced.add(name);
+        });
+
+        Sweep sweep = new Sweep(dryRun, startedAt.minus(props.gracePeriod()));
+        if (Files.isDirectory(baseDir)) {
+            try (Stream<Path> files = Files.walk(baseDir)) {
+                files.filter(p -> !p.startsWith(quarantineDir))
+                        .filter(Files::isRegularFile)
+                        .forEach(p -> sweep.visit(p, referenced));
+            } catch (IOException | UncheckedIOException ex) {
+                log.warn("Asset GC could not walk {}: {}", baseDir, ex.getMessage());
+            }
+            sweep.flush();
+        }
+        if (!dryRun) sweep.purgeQuarantine(startedAt.minus(props.quarantineRetention()));
+
+        return new AssetGcReport(dryRun, referenced.size(), sweep.scanned, sweep.orphans, sweep.orphanBytes,
+                sweep.removed, sweep.reclaimed, sweep.purged, startedAt,
+                Duration.between(startedAt, Instant.now()).toMillis());
+    }
+
+    private final class Sweep {
+        private final boolean dryRun;
+        private final Instant cutoff;
+        private final List<Path> batch = new ArrayList<>();
+        private long scanned;
+        private long orphans;
+        private long orphanBytes;
+        private long removed;
+        private long reclaimed;
+        private long purged;
+
+        private Sweep(boolean dryRun, Instant cutoff) {
+            this.dryRun = dryRun;
+            this.cutoff = cutoff;
+        }
+
+        void visit(Path file, Set<String> referenced) {
+            scanned++;
+            String name = file.getFileName().toString();
+            String original = AssetDerivativeService.originalOf(name);
+            if (referenced.contains(name) || (original != null && referenced.contains(original))) return;
+            BasicFileAttributes attrs = attributes(file);
+            if (attrs == null || !attrs.lastModifiedTime().toInstant().isBefore(cutoff)) return;
+
+            orphans++;
+            orphanBytes += attrs.size();
+            if (dryRun) {
+                log.debug("Asset GC dry run: would remove {} ({}b)", baseDir.relativize(file), attrs.size());
+                return;
+            }
+            batch.add(file);
+            if (batch.size() >= props.batchSize()) {
+                flush();
+                pause();
+            }
+        }
+
+        void flush() {
+            for (Path file : batch) {
+                remove(file);
+            }
+            batch.clear();
+        }
+
+        private void remove(Path file) {
+            String name = file.getFileName().toString();
+            BasicFileAttributes attrs = attributes(file);
+            // Touched since the walk saw it: a store just reused this content.
+            if (attrs == null || !attrs.lastModifiedTime().toInstant().isBefore(cutoff)) return;
+            try {
+                if (!assets.release(name)) return;
+                images.evict(name);
+                if (props.quarantine()) {
+                    Files.createDirectories(quarantineDir);
+                    Path target = quarantineDir.resolve(name);
+                    Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+                    // Retention counts from the move, not from when the file was written.
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                    quarantined.increment();
+                } else {
+                    Files.deleteIfExists(file);
+                    reclaimed += attrs.size();
+                    reclaimedBytes.increment(attrs.size());
+                    deleted.increment();
+                }
+                removed++;
+            } catch (IOException | DataAccessException ex) {
+                log.warn("Asset GC could not remove {}: {}", name, ex.getMessage());
+            }
+        }
+
+        void purgeQuarantine(Instant expiredBefore) {
+            if (!Files.isDirectory(quarantineDir)) return;
+            try (Stream<Path> files = Files.list(quarantineDir)) {
+                files.forEach(file -> {
+                    BasicFileAttributes attrs = attributes(file);
+                    if (attrs == null || !attrs.isRegularFile()
+                            || !attrs.lastModifiedTime().toInstant().isBefore(expiredBefore)) return;
+                    try {
+                        Files.deleteIfExists(file);
+                        reclaimed += attrs.size();
+                        reclaimedBytes.increment(attrs.size());
+                        deleted.increment();
+                        purged++;
+                    } catch (IOException ex) {
+                        log.warn("Asset GC could not purge {}: {}", file.getFileName(), ex.getMessage());
+                    }
+                });
+            } catch (IOException | UncheckedIOException ex) {
+                log.warn("Asset GC could not list quarantine: {}", ex.getMessage());
+            }
+        }
+
+        private void pause() {
+            if (props.batchPause().isZero()) return;
+            try {
+                Thread.sleep(props.batchPause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static BasicFileAttributes attributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            log.debug("Asset GC could not stat {}: {}", file, ex.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.rostislav.curiokeep.items;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Background sweep of asset files no item references. Files younger than {@code gracePeriod} are never
+ * touched (uploads whose item is not committed yet). Orphans are moved to a quarantine folder and deleted
+ * after {@code quarantineRetention}, or deleted right away when {@code quarantine} is off. They are handled
+ * {@code batchSize} at a time with {@code batchPause} between batches. {@code dryRun} only reports.
+ */
+@ConfigurationProperties(prefix = "curiokeep.assets.gc")
+public record AssetGcProps(
+        Boolean enabled,
+        Boolean dryRun,
+        Boolean quarantine,
+        Duration gracePeriod,
+        Duration quarantineRetention,
+        Integer batchSize,
+        Duration batchPause
+) {
+    public AssetGcProps {
+        enabled = enabled == null || enabled;
+        dryRun = dryRun != null && dryRun;
+        quarantine = quarantine == null || quarantine;
+        gracePeriod = gracePeriod == null || gracePeriod.isNegative() ? Duration.ofHours(6) : gracePeriod;
+        quarantineRetention = quarantineRetention == null || quarantineRetention.isNegative()
+                ? Duration.ofDays(7) : quarantineRetention;
+        batchSize = batchSize == null || batchSize < 1 ? 200 : batchSize;
+        batchPause = batchPause == null || batchPause.isNegative() ? Duration.ofMillis(500) : batchPause;
+    }
+
+    public static AssetGcProps defaults() {
+        return new AssetGcProps(null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,90 @@
+package org.rostislav.curiokeep.items;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Index of the content-addressed asset files ({@code asset} table). Reference counts are maintained by a
+ * trigger on {@code item.image_name}, so this class only registers, looks up and releases files, and feeds the
+ * asset garbage collector the names items refer to.
+ */
+@Repository
+public class AssetStore {
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public AssetStore(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public Optional<String> findFileName(String hash) {
+        return Optional.ofNullable(jdbc.query(
+                "SELECT file_name FROM asset WHERE hash = :h",
+                new MapSqlParameterSource("h", hash),
+                rs -> rs.next() ? rs.getString("file_name") : null
+        ));
+    }
+
+    /**
+     * Records a stored file and returns the name registered for its hash, which is the existing one when
+     * the same content was registered first by a concurrent store.
+     */
+    public String register(String hash, String fileName, String contentType, long sizeBytes) {
+        jdbc.update(
+                """
+                INSERT INTO asset (hash, file_name, content_type, size_bytes)
+                VALUES (:h, :f, :ct, :size)
+                ON CONFLICT (hash) DO NOTHING
+                """,
+                new MapSqlParameterSource()
+                        .addValue("h", hash)
+                        .addValue("f", fileName)
+                        .addValue("ct", contentType)
+                        .addValue("size", sizeBytes)
+        );
+        return findFileName(hash).orElse(fileName);
+    }
+
+    /**
+     * Streams every asset name items refer to: the {@code image_name} column and {@code /api/assets/} URLs
+     * embedded in attributes. Names may repeat. Runs in a read-only transaction so the driver fetches rows
+     * through a cursor instead of loading the whole result.
+     */
+    @Transactional(readOnly = true)
+    public void forEachReferenced(Consumer<String> sink) {
+        jdbc.getJdbcOperations().query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                            """
+                            SELECT image_name AS name FROM item WHERE image_name IS NOT NULL
+                            UNION ALL
+                            SELECT m[1] FROM item, regexp_matches(attributes::text, '/api/assets/([A-Za-z0-9._-]+)', 'g') AS m
+                            WHERE attributes::text LIKE '%/api/assets/%'
+                            """);
+                    ps.setFetchSize(STREAM_FETCH_SIZE);
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> sink.accept(rs.getString(1)));
+    }
+
+    /**
+     * Drops the row of a file about to be removed, unless an item picked the file up since it was marked.
+     * Returns false when the file is referenced and must be kept; files without a row are always removable.
+     */
+    @Transactional
+    public boolean release(String fileName) {
+        MapSqlParameterSource params = new MapSqlParameterSource("f", fileName);
+        if (jdbc.update("DELETE FROM asset WHERE file_name = :f AND ref_count <= 0", params) > 0) return true;
+        return !Boolean.TRUE.equals(jdbc.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM asset WHERE file_name = :f)", params, Boolean.class));
+    }
+}
@@ -0,0 +1,7 @@
+package org.rostislav.curiokeep.items;
+
+/**
+ * Published when a new asset file has been written, so derivatives can be prepared ahead of the first request.
+ */
+public record AssetStoredEvent(String fileName) {
+}
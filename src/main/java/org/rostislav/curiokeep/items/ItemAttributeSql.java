@@ -0,0 +1,39 @@
+package org.rostislav.curiokeep.items;
+
+import org.rostislav.curiokeep.modules.contract.FieldContract;
+import org.rostislav.curiokeep.modules.contract.FieldType;
+
+import java.util.regex.Pattern;
+
+/**
+ * SQL expressions over {@code item.attributes}. Query and index DDL share these so Postgres can match the
+ * expression indexes. Field keys are inlined as literals (an index is never used for a bound key), which
+ * is why only keys passing {@link #isSafeKey} are accepted.
+ */
+final class ItemAttributeSql {
+
+    private static final Pattern SAFE_KEY = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private ItemAttributeSql() {
+    }
+
+    static boolean isSafeKey(String key) {
+        return key != null && SAFE_KEY.matcher(key).matches();
+    }
+
+    /** Raw text value, used for DATE comparisons (ISO-8601 strings order correctly). */
+    static String textExpr(String alias, String key) {
+        return "(" + alias + "attributes ->> '" + key + "')";
+    }
+
+    static String numericExpr(String alias, String key) {
+        return "ck_try_numeric(" + alias + "attributes ->> '" + key + "')";
+    }
+
+    /** Sort expression for a field: numeric for NUMBER, raw text for DATE, case-insensitive text otherwise. */
+    static String sortExpr(String alias, FieldContract field) {
+        if (field.type() == FieldType.NUMBER) return numericExpr(alias, field.key());
+        if (field.type() == FieldType.DATE) return textExpr(alias, field.key());
+        return "lower(" + alias + "attributes ->> '" + field.key() + "')";
+    }
+}
@@ -0,0 +1,38 @@
+package org.rostislav.curiokeep.items;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last row of a keyset page: the ordering it belongs to, the sort key of that row
+ * (as text, {@code null} for rows without a value) and its id. Sent to clients as an opaque base64url token.
+ */
+record ItemCursor(String sort, String key, UUID id) {
+
+    String encode(ObjectMapper objectMapper) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(objectMapper.writeValueAsBytes(this));
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "CURSOR_ENCODING_FAILED", e);
+        }
+    }
+
+    static ItemCursor decode(String token, ObjectMapper objectMapper) {
+        try {
+            ItemCursor cursor = objectMapper.readValue(
+                    new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8), ItemCursor.class);
+            if (cursor.sort() == null || cursor.id() == null) {
+                throw new IllegalArgumentException("incomplete cursor");
+            }
+            return cursor;
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_CURSOR");
+        }
+    }
+}
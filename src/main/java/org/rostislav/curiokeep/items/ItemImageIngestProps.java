@@ -0,0 +1,40 @@
+package org.rostislav.curiokeep.items;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Background download of item images. Due jobs are claimed {@code batchSize} at a time and held for
+ * {@code lease} (a worker that dies releases them when it expires), at most {@code concurrency} downloads run
+ * at once. A failed download is retried after {@code initialBackoff}, doubling up to {@code maxBackoff}, and
+ * the item is marked FAILED after {@code maxAttempts}.
+ */
+@ConfigurationProperties(prefix = "curiokeep.assets.ingest")
+public record ItemImageIngestProps(
+        Integer concurrency,
+        Integer batchSize,
+        Integer maxAttempts,
+        Duration initialBackoff,
+        Duration maxBackoff,
+        Duration lease
+) {
+    public ItemImageIngestProps {
+        concurrency = concurrency == null || concurrency < 1 ? 4 : concurrency;
+        batchSize = batchSize == null || batchSize < 1 ? 20 : batchSize;
+        maxAttempts = maxAttempts == null || maxAttempts < 1 ? 6 : maxAttempts;
+        initialBackoff = initialBackoff == null || initialBackoff.isNegative() ? Duration.ofSeconds(30) : initialBackoff;
+        maxBackoff = maxBackoff == null || maxBackoff.compareTo(initialBackoff) < 0 ? Duration.ofHours(1) : maxBackoff;
+        lease = lease == null || lease.isNegative() || lease.isZero() ? Duration.ofMinutes(5) : lease;
+    }
+
+    public static ItemImageIngestProps defaults() {
+        return new ItemImageIngestProps(null, null, null, null, null, null);
+    }
+
+    /** Delay before attempt {@code attempts + 1}. */
+    public Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(Math.max(0, attempts - 1), 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
@@ -0,0 +1,133 @@
+package org.rostislav.curiokeep.items;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Downloads queued item images outside any request or item transaction. Woken after an item write commits
+ * and on a poll for retries that came due; claims jobs in batches and downloads them concurrently.
+ */
+@Component
+public class ItemImageIngestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemImageIngestRunner.class);
+
+    private final ItemImageQueue queue;
+    private final ItemImageService images;
+    private final ItemImageIngestProps props;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Semaphore downloads;
+
+    private final Counter attached;
+    private final Counter retried;
+    private final Counter failed;
+
+    public ItemImageIngestRunner(ItemImageQueue queue,
+                                 ItemImageService images,
+                                 ItemImageIngestProps props,
+                                 MeterRegistry meterRegistry) {
+        this.queue = queue;
+        this.images = images;
+        this.props = props;
+        this.downloads = new Semaphore(props.concurrency());
+        this.attached = Counter.builder("curiokeep.assets.ingest").tag("result", "attached").register(meterRegistry);
+        this.retried = Counter.builder("curiokeep.assets.ingest").tag("result", "retry").register(meterRegistry);
+        this.failed = Counter.builder("curiokeep.assets.ingest").tag("result", "failed").register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    void onQueued(ItemImageQueuedEvent event) {
+        wake();
+    }
+
+    @Scheduled(initialDelay = 20, fixedDelay = 15, timeUnit = TimeUnit.SECONDS)
+    void poll() {
+        wake();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public void wake() {
+        if (draining.compareAndSet(false, true)) {
+            executor.submit(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            List<ItemImageQueue.Job> batch;
+            while (!Thread.currentThread().isInterrupted()
+                    && !(batch = queue.claimDue(props.batchSize(), props.lease())).isEmpty()) {
+                List<Future<?>> running = new ArrayList<>(batch.size());
+                for (ItemImageQueue.Job job : batch) {
+                    downloads.acquire();
+                    running.add(executor.submit(() -> {
+                        try {
+                            ingest(job);
+                        } finally {
+                            downloads.release();
+                        }
+                    }));
+                }
+                for (Future<?> f : running) {
+                    f.get();
+                }
+            }
+        } catch (DataAccessException ex) {
+            log.debug("Image ingest could not read jobs: {}", ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            log.error("Image ingest stopped unexpectedly", ex.getCause());
+        } catch (Exception ex) {
+            log.error("Image ingest stopped unexpectedly", ex);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    void ingest(ItemImageQueue.Job job) {
+        String fileName = images.downloadToLocal(job.sourceUrl());
+        try {
+            if (fileName != null) {
+                if (queue.attach(job, fileName)) {
+                    attached.increment();
+                    log.debug("Item image attached: itemId={} file={}", job.itemId(), fileName);
+                }
+            } else if (job.attempts() >= props.maxAttempts()) {
+                queue.fail(job, "DOWNLOAD_FAILED");
+                failed.increment();
+                log.warn("Item image download gave up: itemId={} url={} attempts={}",
+                        job.itemId(), job.sourceUrl(), job.attempts());
+            } else {
+                queue.retry(job, "DOWNLOAD_FAILED", props.backoff(job.attempts()));
+                retried.increment();
+            }
+        } catch (DataAccessException ex) {
+            // The lease expires and the job is claimed again.
+            log.warn("Image ingest could not record outcome for item {}: {}", job.itemId(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.rostislav.curiokeep.items;
+
+import org.rostislav.curiokeep.items.entities.ItemEntity;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Durable queue of item images to download ({@code item_image_job} table). Every update after the claim is
+ * conditioned on the job still carrying the URL the worker fetched, so a newer image set in the meantime wins.
+ */
+@Repository
+public class ItemImageQueue {
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ApplicationEventPublisher events;
+
+    public ItemImageQueue(NamedParameterJdbcTemplate jdbc, ApplicationEventPublisher events) {
+        this.jdbc = jdbc;
+        this.events = events;
+    }
+
+    /**
+     * Queues {@code url} for the item, replacing a pending job for another URL. Re-queuing the URL already
+     * pending keeps its attempts; re-queuing a failed one starts over. The item row must already be flushed.
+     */
+    public void enqueue(UUID itemId, String url) {
+        jdbc.update(
+                """
+                INSERT INTO item_image_job (item_id, source_url)
+                VALUES (:i, :u)
+                ON CONFLICT (item_id) DO UPDATE SET
+                    source_url = EXCLUDED.source_url,
+                    status = 'PENDING',
+                    attempts = 0,
+                    next_attempt_at = now(),
+                    last_error = NULL,
+                    updated_at = now()
+                WHERE item_image_job.source_url <> EXCLUDED.source_url OR item_image_job.status = 'FAILED'
+                """,
+                new MapSqlParameterSource().addValue("i", itemId).addValue("u", url)
+        );
+        events.publishEvent(new ItemImageQueuedEvent(itemId));
+    }
+
+    public void cancel(UUID itemId) {
+        jdbc.update("DELETE FROM item_image_job WHERE item_id = :i", new MapSqlParameterSource("i", itemId));
+    }
+
+    /**
+     * Claims up to {@code limit} due jobs, counting the attempt and hiding them from other workers for
+     * {@code lease}.
+     */
+    @Transactional
+    public List<Job> claimDue(int limit, Duration lease) {
+        return jdbc.query(
+                """
+                UPDATE item_image_job SET
+                    attempts = attempts + 1,
+                    next_attempt_at = now() + make_interval(secs => :lease),
+                    updated_at = now()
+                WHERE item_id IN (
+                    SELECT item_id FROM item_image_job
+                    WHERE status = 'PENDING' AND next_attempt_at <= now()
+                    ORDER BY next_attempt_at
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING item_id, source_url, attempts
+                """,
+                new MapSqlParameterSource()
+                        .addValue("limit", limit)
+                        .addValue("lease", (double) lease.toSeconds()),
+                (rs, n) -> new Job(rs.getObject("item_id", UUID.class), rs.getString("source_url"), rs.getInt("attempts"))
+        );
+    }
+
+    /**
+     * Points the item at its downloaded image and drops the job. Returns false when the item has since been
+     * given another image or deleted.
+     */
+    @Transactional
+    public boolean attach(Job job, String fileName) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("i", job.itemId())
+                .addValue("u", job.sourceUrl())
+                .addValue("f", fileName)
+                .addValue("path", "/api/assets/" + fileName);
+        int updated = jdbc.update(
+                """
+                UPDATE item SET
+                    image_name = :f,
+                    image_status = NULL,
+                    attributes = jsonb_set(attributes, '{providerImageUrl}', to_jsonb(CAST(:path AS text))),
+                    updated_at = now()
+                WHERE id = :i
+                  AND EXISTS (SELECT 1 FROM item_image_job j WHERE j.item_id = :i AND j.source_url = :u)
+                """,
+                params);
+        jdbc.update("DELETE FROM item_image_job WHERE item_id = :i AND source_url = :u", params);
+        return updated > 0;
+    }
+
+    /** Schedules the next attempt after {@code retryIn}. */
+    @Transactional
+    public void retry(Job job, String error, Duration retryIn) {
+        jdbc.update(
+                """
+                UPDATE item_image_job SET
+                    next_attempt_at = now() + make_interval(secs => :delay),
+                    last_error = :e,
+                    updated_at = now()
+                WHERE item_id = :i AND source_url = :u
+                """,
+                params(job, error).addValue("delay", (double) retryIn.toSeconds()));
+    }
+
+    /** Gives up on the job; the item keeps its external URL and is marked FAILED. */
+    @Transactional
+    public void fail(Job job, String error) {
+        MapSqlParameterSource params = params(job, error).addValue("s", ItemEntity.ImageStatus.FAILED.name());
+        int updated = jdbc.update(
+                """
+                UPDATE item_image_job SET status = 'FAILED', last_error = :e, updated_at = now()
+                WHERE item_id = :i AND source_url = :u
+                """,
+                params);
+        if (updated > 0) {
+            jdbc.update("UPDATE item SET image_status = :s WHERE id = :i", params);
+        }
+    }
+
+    private static MapSqlParameterSource params(Job job, String error) {
+        return new MapSqlParameterSource()
+                .addValue("i", job.itemId())
+                .addValue("u", job.sourceUrl())
+                .addValue("e", error);
+    }
+
+    public record Job(UUID itemId, String sourceUrl, int attempts) {}
+}
@@ -0,0 +1,9 @@
+package org.rostislav.curiokeep.items;
+
+import java.util.UUID;
+
+/**
+ * Published when an item image download has been queued so the worker can start without waiting for its next poll.
+ */
+public record ItemImageQueuedEvent(UUID itemId) {
+}
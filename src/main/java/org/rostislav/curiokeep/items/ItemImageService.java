@@ -2,34 +2,63 @@ package org.rostislav.curiokeep.items;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.client.RestClient;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
 
 @Service
 public class ItemImageService {
 
     private static final Logger log = LoggerFactory.getLogger(ItemImageService.class);
     private static final int MAX_BYTES = 5 * 1024 * 1024; // 5MB safety cap
+    private static final int SNIFF_BYTES = 512;
+    private static final int COPY_BUFFER = 8 * 1024;
+    private static final int MAX_DESCRIBED = 4096;
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9.]+");
 
     private final RestClient restClient;
+    private final AssetStore assets;
+    private final ApplicationEventPublisher events;
     private final Path baseDir;
+    private final Map<String, AssetFile> described = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AssetFile> eldest) {
+            return size() > MAX_DESCRIBED;
+        }
+    };
 
-    public ItemImageService(RestClient restClient, @Value("${curiokeep.assets.dir:./data/assets}") String baseDir) {
+    public ItemImageService(@Qualifier("assetRestClient") RestClient restClient, AssetStore assets,
+                            ApplicationEventPublisher events,
+                            @Value("${curiokeep.assets.dir:./data/assets}") String baseDir) {
         this.restClient = restClient;
+        this.assets = assets;
+        this.events = events;
         this.baseDir = Path.of(baseDir);
         try {
             Files.createDirectories(this.baseDir);
@@ -41,8 +70,7 @@ public class ItemImageService {
     public String downloadToLocal(String url) {
         if (url == null || url.isBlank()) return null;
         try {
-            byte[] bytes = fetchBytes(url);
-            return storeBytes(bytes, url, null, url);
+            return download(url);
         } catch (Exception ex) {
             log.warn("Failed to cache provider asset {}: {}", url, ex.getMessage());
             return null;
@@ -53,9 +81,13 @@ public class ItemImageService {
         return downloadToLocal(url);
     }
 
-    public String storeUploaded(byte[] bytes, String sourceName, String contentTypeHint) {
+    /**
+     * Stores an uploaded image read from {@code in}, which the caller closes. The type is taken from the
+     * content, not from the client's file name or content type.
+     */
+    public String storeUploaded(InputStream in, String sourceName) {
         try {
-            return storeBytes(bytes, sourceName == null ? "upload" : sourceName, contentTypeHint, sourceName);
+            return store(in, sourceName == null ? "upload" : sourceName);
         } catch (Exception ex) {
             log.warn("Failed to store uploaded asset {}: {}", sourceName, ex.getMessage());
             return null;
@@ -64,8 +96,8 @@ public class ItemImageService {
 
     public String storeUpload(MultipartFile file) {
         if (file == null || file.isEmpty()) return null;
-        try {
-            return storeUploaded(file.getBytes(), file.getOriginalFilename(), file.getContentType());
+        try (InputStream in = file.getInputStream()) {
+            return storeUploaded(in, file.getOriginalFilename());
         } catch (IOException e) {
             log.warn("Failed to read uploaded asset {}: {}", file.getOriginalFilename(), e.getMessage());
             return null;
@@ -75,48 +107,129 @@ public class ItemImageService {
     public Resource load(String fileName) {
         if (fileName == null || fileName.isBlank()) return null;
         if (fileName.contains("..") || fileName.contains("/")) return null;
-        Path path = baseDir.resolve(fileName);
+        Path path = pathOf(fileName);
         if (!Files.exists(path)) return null;
         return new FileSystemResource(path);
     }
 
+    /**
+     * Size, modification time and media type of a stored asset, or {@code null} if it does not exist.
+     * Results are kept in memory so serving an asset does not stat or sniff the file again.
+     */
+    public AssetFile describe(String fileName) {
+        if (fileName == null || fileName.isBlank()) return null;
+        if (fileName.contains("..") || fileName.contains("/")) return null;
+        synchronized (described) {
+            AssetFile known = described.get(fileName);
+            if (known != null) return known;
+        }
+        Path path = pathOf(fileName);
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            AssetFile file = new AssetFile(fileName, path, attrs.size(), attrs.lastModifiedTime().toInstant(),
+                    mediaTypeOf(path));
+            remember(file);
+            return file;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Failed to read asset metadata {}: {}", fileName, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Drops remembered metadata of a file removed or moved by someone else (the asset garbage collector). */
+    void evict(String fileName) {
+        synchronized (described) {
+            described.remove(fileName);
+        }
+    }
+
     public void delete(String fileName) {
         if (fileName == null || fileName.isBlank()) return;
         if (fileName.contains("..") || fileName.contains("/")) return;
+        synchronized (described) {
+            described.remove(fileName);
+        }
         try {
-            Files.deleteIfExists(baseDir.resolve(fileName));
+            Files.deleteIfExists(pathOf(fileName));
         } catch (IOException e) {
             log.warn("Failed to delete asset {}: {}", fileName, e.getMessage());
         }
     }
 
-    private byte[] fetchBytes(String url) throws IOException {
-        byte[] body = restClient.get()
-            .uri(URI.create(url))
-            .retrieve()
-            .toEntity(byte[].class)
-            .getBody();
-        return body == null ? new byte[0] : body;
+    private String download(String url) {
+        return restClient.get()
+                .uri(URI.create(url))
+                .exchange((request, response) -> {
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        log.warn("Skipped storing asset: {} status={}", url, response.getStatusCode());
+                        return null;
+                    }
+                    long length = response.getHeaders().getContentLength();
+                    if (length > MAX_BYTES) {
+                        log.warn("Skipped storing asset (too large): {} length={}b", url, length);
+                        return null;
+                    }
+                    try (InputStream body = response.getBody()) {
+                        return store(body, url);
+                    }
+                });
     }
 
-    private String probeContentType(byte[] data, String nameHint) {
-        try {
-            Path tmp = Files.createTempFile("asset-probe", extensionFromName(nameHint) == null ? "" : ("." + extensionFromName(nameHint)));
-            Files.write(tmp, data);
-            String type = Files.probeContentType(tmp);
-            Files.deleteIfExists(tmp);
-            return type;
-        } catch (IOException ignored) {
-            return null;
+    private void remember(AssetFile file) {
+        synchronized (described) {
+            described.put(file.fileName(), file);
         }
     }
 
-    private String buildFileName(String url, String ext) throws NoSuchAlgorithmException {
-        MessageDigest md5 = MessageDigest.getInstance("MD5");
-        md5.update(url.getBytes());
-        md5.update(Long.toString(Instant.now().toEpochMilli()).getBytes());
-        String hash = HexFormat.of().formatHex(md5.digest());
-        return hash + "." + ext;
+    private MediaType mediaTypeOf(Path path) throws IOException {
+        String contentType = switch (String.valueOf(extensionFromName(path.getFileName().toString()))) {
+            case "jpg", "jpeg" -> MediaType.IMAGE_JPEG_VALUE;
+            case "png" -> MediaType.IMAGE_PNG_VALUE;
+            case "gif" -> MediaType.IMAGE_GIF_VALUE;
+            case "webp" -> "image/webp";
+            case "bmp" -> "image/bmp";
+            default -> Files.probeContentType(path);
+        };
+        return contentType != null ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    /** Image type from the leading bytes of the content, or {@code null} for anything not a supported image. */
+    static String sniffContentType(byte[] head) {
+        if (startsWith(head, 0, 0xFF, 0xD8, 0xFF)) return MediaType.IMAGE_JPEG_VALUE;
+        if (startsWith(head, 0, 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n')) return MediaType.IMAGE_PNG_VALUE;
+        if (startsWith(head, 0, 'G', 'I', 'F', '8') && head.length > 5
+                && (head[4] == '7' || head[4] == '9') && head[5] == 'a') return MediaType.IMAGE_GIF_VALUE;
+        if (startsWith(head, 0, 'R', 'I', 'F', 'F') && startsWith(head, 8, 'W', 'E', 'B', 'P')) return "image/webp";
+        if (startsWith(head, 0, 'B', 'M') && head.length >= 26) return "image/bmp";
+        return null;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, int... magic) {
+        if (data.length < offset + magic.length) return false;
+        for (int i = 0; i < magic.length; i++) {
+            if ((data[offset + i] & 0xFF) != magic[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Content-addressed files are sharded by the first two bytes of their hash ({@code ab/cd/abcd....jpg}) so no
+     * single directory grows unbounded; derivatives ({@code <name>.w200.jpg}) sit next to their original. Names
+     * from before the content-addressed store live flat in the base dir.
+     */
+    private Path pathOf(String fileName) {
+        if (!CONTENT_ADDRESSED.matcher(fileName).matches()) return baseDir.resolve(fileName);
+        return baseDir.resolve(fileName.substring(0, 2)).resolve(fileName.substring(2, 4)).resolve(fileName);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private String extensionFromContentType(String contentType) {
@@ -142,35 +255,71 @@ public class ItemImageService {
         return ext;
     }
 
-    private String storeBytes(byte[] bytes, String seed, String contentTypeHint, String nameHint)
-            throws IOException, NoSuchAlgorithmException {
-        if (bytes == null || bytes.length == 0) return null;
-        if (bytes.length > MAX_BYTES) {
-            log.warn("Skipped storing asset (too large): {} length={}b", seed, bytes.length);
+    /**
+     * Streams {@code in} into a temp file in the assets directory, hashing as it goes, and moves it into its
+     * content-addressed place. The type is sniffed from the first {@value #SNIFF_BYTES} bytes and the copy stops
+     * as soon as the content exceeds {@value #MAX_BYTES} bytes, so only small fixed buffers are held in memory.
+     */
+    private String store(InputStream in, String seed) throws IOException {
+        byte[] head = in.readNBytes(SNIFF_BYTES);
+        if (head.length == 0) return null;
+        String contentType = sniffContentType(head);
+        if (contentType == null) {
+            log.warn("Skipped storing asset (non-image): {}", seed);
             return null;
         }
 
-        String contentType = contentTypeHint;
-        if (contentType == null || contentType.isBlank()) {
-            contentType = probeContentType(bytes, nameHint);
-        }
+        MessageDigest digest = sha256();
+        // Same volume as the final location, so the move below is a rename.
+        Path tmp = Files.createTempFile(baseDir, "ingest-", ".tmp");
+        try {
+            long size = head.length;
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                digest.update(head);
+                out.write(head);
+                byte[] buffer = new byte[COPY_BUFFER];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    size += n;
+                    if (size > MAX_BYTES) {
+                        log.warn("Skipped storing asset (too large): {} over {}b", seed, MAX_BYTES);
+                        return null;
+                    }
+                    digest.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                }
+            }
 
-        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("image/")) {
-            log.warn("Skipped storing asset (non-image): {} contentType={} length={}b", seed, contentType, bytes.length);
-            return null;
-        }
+            // Identical content is stored once, whichever item, URL or upload it came from.
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Optional<String> existing = assets.findFileName(hash);
+            if (existing.isPresent() && Files.exists(pathOf(existing.get()))) {
+                // Restarts the garbage collector's grace period for a file that may have been orphaned until now.
+                Files.setLastModifiedTime(pathOf(existing.get()), FileTime.from(Instant.now()));
+                // Remembers the new modification time, which assets are served with as Last-Modified.
+                evict(existing.get());
+                describe(existing.get());
+                return existing.get();
+            }
 
-        String ext = extensionFromContentType(contentType);
-        if (ext == null) {
-            ext = extensionFromName(nameHint);
-        }
-        if (ext == null) {
-            ext = "bin";
+            String fileName = existing.orElse(hash + "." + extensionFromContentType(contentType));
+            Path dest = pathOf(fileName);
+            Files.createDirectories(dest.getParent());
+            Files.move(tmp, dest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (existing.isEmpty()) {
+                String registered = assets.register(hash, fileName, contentType, size);
+                if (!registered.equals(fileName)) {
+                    // A concurrent store of the same content registered first under another extension.
+                    Files.deleteIfExists(dest);
+                    fileName = registered;
+                    dest = pathOf(registered);
+                }
+            }
+            remember(new AssetFile(fileName, dest, size, Files.getLastModifiedTime(dest).toInstant(), mediaTypeOf(dest)));
+            events.publishEvent(new AssetStoredEvent(fileName));
+            return fileName;
+        } finally {
+            Files.deleteIfExists(tmp);
         }
-
-        String fileName = buildFileName(seed, ext);
-        Path dest = baseDir.resolve(fileName);
-        Files.write(dest, bytes);
-        return fileName;
     }
 }
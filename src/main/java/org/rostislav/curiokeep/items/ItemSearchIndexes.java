@@ -0,0 +1,130 @@
+package org.rostislav.curiokeep.items;
+
+import jakarta.annotation.PreDestroy;
+import org.rostislav.curiokeep.modules.ModuleLoadedEvent;
+import org.rostislav.curiokeep.modules.contract.FieldContract;
+import org.rostislav.curiokeep.modules.contract.FieldType;
+import org.rostislav.curiokeep.modules.contract.ModuleContract;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.rostislav.curiokeep.modules.ModuleUtil.sha256Hex;
+
+/**
+ * Keeps the database side of item search in line with module definitions: one expression index per
+ * sortable field (shared by modules using the same key and type) and the full-text vectors of a module's items.
+ * Runs after the module load commits, one module at a time, so neither the index builds nor the vector refresh
+ * hold locks in the load transaction.
+ */
+@Component
+public class ItemSearchIndexes {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemSearchIndexes.class);
+    private static final int REFRESH_BATCH = 500;
+    private static final UUID NIL = new UUID(0, 0);
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("item-search-indexes").factory());
+
+    public ItemSearchIndexes(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onModuleLoaded(ModuleLoadedEvent event) {
+        executor.submit(() -> {
+            try {
+                ensureSortIndexes(event.module());
+                if (event.searchFieldsChanged()) {
+                    int refreshed = refreshSearchVectors(event.moduleId());
+                    log.info("Refreshed search vectors for module {}: items={}", event.module().key(), refreshed);
+                }
+            } catch (DataAccessException ex) {
+                log.warn("Search index maintenance failed for module {}: {}", event.module().key(), ex.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Builds missing sort indexes with {@code CREATE INDEX CONCURRENTLY}, so item writes continue during the
+     * build. Must run outside a transaction. An index left invalid by an interrupted build is dropped and rebuilt.
+     */
+    public void ensureSortIndexes(ModuleContract module) {
+        for (FieldContract f : module.fields()) {
+            if (!f.sortable()) continue;
+            if (!ItemAttributeSql.isSafeKey(f.key())) {
+                log.warn("Skipping sort index for module {} field '{}': unsupported key", module.key(), f.key());
+                continue;
+            }
+            String name = indexName(f);
+            Boolean valid = jdbc.query(
+                    """
+                    SELECT i.indisvalid FROM pg_class c JOIN pg_index i ON i.indexrelid = c.oid
+                    WHERE c.relname = :n AND c.relnamespace = current_schema()::regnamespace
+                    """,
+                    new MapSqlParameterSource("n", name),
+                    rs -> rs.next() ? rs.getBoolean(1) : null);
+            if (Boolean.TRUE.equals(valid)) continue;
+            if (valid != null) {
+                jdbc.getJdbcTemplate().execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+            }
+            jdbc.getJdbcTemplate().execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name
+                    + " ON item (collection_id, module_id, " + ItemAttributeSql.sortExpr("", f) + ", id)");
+        }
+    }
+
+    /**
+     * Recomputes search vectors after a module's searchable fields changed, {@value #REFRESH_BATCH} items per
+     * statement so each batch commits on its own and row locks stay short.
+     */
+    public int refreshSearchVectors(UUID moduleId) {
+        int total = 0;
+        UUID after = NIL;
+        while (!Thread.currentThread().isInterrupted()) {
+            Batch batch = jdbc.queryForObject(
+                    """
+                    WITH batch AS (
+                        SELECT id FROM item WHERE module_id = :mid AND id > :after ORDER BY id LIMIT :n
+                    ), touched AS (
+                        UPDATE item SET attributes = item.attributes FROM batch WHERE item.id = batch.id
+                        RETURNING item.id
+                    )
+                    SELECT (SELECT count(*) FROM touched) AS n, (SELECT id FROM batch ORDER BY id DESC LIMIT 1) AS last
+                    """,
+                    new MapSqlParameterSource()
+                            .addValue("mid", moduleId)
+                            .addValue("after", after)
+                            .addValue("n", REFRESH_BATCH),
+                    (rs, i) -> new Batch(rs.getInt("n"), rs.getObject("last", UUID.class)));
+            if (batch == null || batch.last() == null) break;
+            total += batch.count();
+            after = batch.last();
+        }
+        return total;
+    }
+
+    private record Batch(int count, UUID last) {}
+
+    private static String indexName(FieldContract f) {
+        String suffix = f.type() == FieldType.NUMBER ? "_num" : f.type() == FieldType.DATE ? "_raw" : "";
+        String name = "idx_item_sort_" + f.key() + suffix;
+        // Unquoted identifiers fold to lower case and stop at 63 bytes; hash keys that would not survive that
+        boolean plain = name.length() <= 63 && f.key().matches("[a-z0-9_]+");
+        return plain ? name : "idx_item_sort_" + sha256Hex(f.key() + suffix).substring(0, 32);
+    }
+}
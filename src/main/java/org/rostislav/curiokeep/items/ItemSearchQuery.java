@@ -0,0 +1,260 @@
+package org.rostislav.curiokeep.items;
+
+import org.rostislav.curiokeep.items.api.dto.ItemFilter;
+import org.rostislav.curiokeep.items.api.dto.ItemSearchRequest;
+import org.rostislav.curiokeep.modules.CompiledModule;
+import org.rostislav.curiokeep.modules.contract.FieldContract;
+import org.rostislav.curiokeep.modules.contract.FieldType;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.rostislav.curiokeep.modules.ModuleUtil.jsonb;
+
+/**
+ * Translates an {@link ItemSearchRequest} into a WHERE clause and ORDER BY over {@code item i}, validated against
+ * the compiled module: filters only on filterable fields, sorting only on sortable ones.
+ */
+final class ItemSearchQuery {
+
+    private static final String TS_QUERY = "websearch_to_tsquery('simple', :q)";
+
+    private final List<String> conditions = new ArrayList<>();
+    private final MapSqlParameterSource params = new MapSqlParameterSource();
+    private SortSpec sort;
+
+    private ItemSearchQuery() {
+    }
+
+    String where() {
+        return String.join(" AND ", conditions);
+    }
+
+    String orderBy() {
+        return sort.expr() + " " + sort.direction().name() + ", i.id " + sort.direction().name();
+    }
+
+    /** Expression of the sort key, selected alongside rows so a cursor can resume after the last one. */
+    String sortKeyExpr() {
+        return sort.expr();
+    }
+
+    /** Identifies the ordering a cursor was issued for; a cursor is only valid for the same ordering. */
+    String sortToken() {
+        return sort.name() + ":" + sort.direction().name();
+    }
+
+    KeyType keyType() {
+        return sort.type();
+    }
+
+    /**
+     * Restricts the query to rows after the cursor position in (sort key, id) order. Postgres sorts NULL keys
+     * last ascending and first descending, so those are handled outside the row comparison, which keeps the
+     * common case a single index range scan.
+     */
+    ItemSearchQuery seekAfter(ItemCursor cursor) {
+        if (!sortToken().equals(cursor.sort())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_CURSOR");
+        }
+        String expr = sort.expr();
+        boolean asc = sort.direction() == Sort.Direction.ASC;
+        params.addValue("cursor_id", cursor.id());
+        if (cursor.key() == null) {
+            conditions.add(asc
+                    ? "(" + expr + " IS NULL AND i.id > :cursor_id)"
+                    : "((" + expr + " IS NULL AND i.id < :cursor_id) OR " + expr + " IS NOT NULL)");
+        } else {
+            params.addValue("cursor_key", sort.type().parse(cursor.key()));
+            conditions.add(asc
+                    ? "((" + expr + ", i.id) > (:cursor_key, :cursor_id) OR " + expr + " IS NULL)"
+                    : "(" + expr + ", i.id) < (:cursor_key, :cursor_id)");
+        }
+        return this;
+    }
+
+    MapSqlParameterSource params() {
+        return params;
+    }
+
+    static ItemSearchQuery build(UUID collectionId, CompiledModule module, ItemSearchRequest req, ObjectMapper objectMapper) {
+        ItemSearchQuery q = new ItemSearchQuery();
+        q.conditions.add("i.collection_id = :cid");
+        q.conditions.add("i.module_id = :mid");
+        q.params.addValue("cid", collectionId).addValue("mid", module.moduleId());
+
+        if (req.stateKey() != null && !req.stateKey().isBlank()) {
+            q.conditions.add("i.state_key = :state");
+            q.params.addValue("state", req.stateKey().trim().toUpperCase(Locale.ROOT));
+        }
+
+        boolean fullText = req.query() != null && !req.query().isBlank();
+        if (fullText) {
+            q.conditions.add("i.search_vector @@ " + TS_QUERY);
+            q.params.addValue("q", req.query().trim());
+        }
+
+        List<ItemFilter> filters = req.filters() == null ? List.of() : req.filters();
+        for (int n = 0; n < filters.size(); n++) {
+            q.addFilter("f" + n, filters.get(n), module, objectMapper);
+        }
+
+        q.sort = sortSpec(module, req.sort(), req.direction(), fullText);
+        return q;
+    }
+
+    private void addFilter(String param, ItemFilter filter, CompiledModule module, ObjectMapper objectMapper) {
+        FieldContract field = requireField(module, filter.field());
+        if (!field.filterable()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "FIELD_NOT_FILTERABLE_" + field.key());
+        }
+
+        switch (filter.op()) {
+            case EQ -> conditions.add(equality(param, field, requireValue(filter.value(), field), objectMapper));
+            case IN -> {
+                List<Object> values = filter.values() == null ? List.of() : filter.values();
+                if (values.isEmpty()) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_FILTER_VALUE_" + field.key());
+                }
+                List<String> alternatives = new ArrayList<>();
+                for (int i = 0; i < values.size(); i++) {
+                    alternatives.add(equality(param + "_" + i, field, requireValue(values.get(i), field), objectMapper));
+                }
+                conditions.add("(" + String.join(" OR ", alternatives) + ")");
+            }
+            case GT, GTE, LT, LTE -> conditions.add(range(param, field, filter.op(), requireValue(filter.value(), field)));
+        }
+    }
+
+    /** JSON containment (served by the GIN index on attributes); NUMBER compares numerically so 7 matches "7". */
+    private String equality(String param, FieldContract field, Object value, ObjectMapper objectMapper) {
+        if (field.type() == FieldType.NUMBER) {
+            params.addValue(param, toNumber(value, field));
+            return ItemAttributeSql.numericExpr("i.", field.key()) + " = :" + param;
+        }
+        Object operand = field.type() == FieldType.TAGS && !(value instanceof List<?>) ? List.of(value) : value;
+        try {
+            params.addValue(param, jsonb(objectMapper.writeValueAsString(Map.of(field.key(), operand))));
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_FILTER_VALUE_" + field.key(), e);
+        }
+        return "i.attributes @> :" + param;
+    }
+
+    private String range(String param, FieldContract field, ItemFilter.Op op, Object value) {
+        String expr;
+        if (field.type() == FieldType.NUMBER) {
+            expr = ItemAttributeSql.numericExpr("i.", field.key());
+            params.addValue(param, toNumber(value, field));
+        } else if (field.type() == FieldType.DATE) {
+            expr = ItemAttributeSql.textExpr("i.", field.key());
+            params.addValue(param, value.toString());
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "FIELD_NOT_RANGEABLE_" + field.key());
+        }
+        String operator = switch (op) {
+            case GT -> ">";
+            case GTE -> ">=";
+            case LT -> "<";
+            default -> "<=";
+        };
+        return expr + " " + operator + " :" + param;
+    }
+
+    private static SortSpec sortSpec(CompiledModule module, String sortRaw, Sort.Direction direction, boolean fullText) {
+        String sort = sortRaw == null ? "" : sortRaw.trim();
+
+        FieldContract field = sort.isEmpty() ? null : module.field(sort);
+        if (field != null && field.sortable() && ItemAttributeSql.isSafeKey(field.key())) {
+            KeyType type = field.type() == FieldType.NUMBER ? KeyType.NUMERIC : KeyType.TEXT;
+            return new SortSpec(field.key(), ItemAttributeSql.sortExpr("i.", field), or(direction, Sort.Direction.ASC), type);
+        }
+        return switch (sort) {
+            case "title" -> new SortSpec(sort, "lower(i.title)", or(direction, Sort.Direction.ASC), KeyType.TEXT);
+            case "updatedAt" -> new SortSpec(sort, "i.updated_at", or(direction, Sort.Direction.DESC), KeyType.TIMESTAMP);
+            case "createdAt" -> new SortSpec(sort, "i.created_at", or(direction, Sort.Direction.DESC), KeyType.TIMESTAMP);
+            case "" -> fullText
+                    ? new SortSpec("relevance", "ts_rank(i.search_vector, " + TS_QUERY + ")", Sort.Direction.DESC, KeyType.REAL)
+                    : new SortSpec("createdAt", "i.created_at", or(direction, Sort.Direction.DESC), KeyType.TIMESTAMP);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    (field == null ? "UNKNOWN_FIELD_" : "FIELD_NOT_SORTABLE_") + sort);
+        };
+    }
+
+    private static Sort.Direction or(Sort.Direction requested, Sort.Direction fallback) {
+        return requested == null ? fallback : requested;
+    }
+
+    private record SortSpec(String name, String expr, Sort.Direction direction, KeyType type) {}
+
+    /** SQL type of a sort key, used to bind cursor values with the type the expression compares against. */
+    enum KeyType {
+        TEXT, NUMERIC, TIMESTAMP, REAL;
+
+        Object parse(String raw) {
+            try {
+                return switch (this) {
+                    case TEXT -> raw;
+                    case NUMERIC -> new BigDecimal(raw);
+                    case TIMESTAMP -> OffsetDateTime.parse(raw);
+                    case REAL -> Float.valueOf(raw);
+                };
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_CURSOR");
+            }
+        }
+
+        String read(ResultSet rs, String column) throws SQLException {
+            return switch (this) {
+                case TEXT -> rs.getString(column);
+                case NUMERIC -> {
+                    BigDecimal v = rs.getBigDecimal(column);
+                    yield v == null ? null : v.toPlainString();
+                }
+                case TIMESTAMP -> {
+                    OffsetDateTime v = rs.getObject(column, OffsetDateTime.class);
+                    yield v == null ? null : v.toString();
+                }
+                case REAL -> {
+                    float v = rs.getFloat(column);
+                    yield rs.wasNull() ? null : Float.toString(v);
+                }
+            };
+        }
+    }
+
+    private static FieldContract requireField(CompiledModule module, String key) {
+        FieldContract field = module.field(key == null ? null : key.trim());
+        if (field == null || !ItemAttributeSql.isSafeKey(field.key())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "UNKNOWN_FIELD_" + key);
+        }
+        return field;
+    }
+
+    private static Object requireValue(Object value, FieldContract field) {
+        if (value == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_FILTER_VALUE_" + field.key());
+        }
+        return value;
+    }
+
+    private static BigDecimal toNumber(Object value, FieldContract field) {
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_FILTER_VALUE_" + field.key());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.rostislav.curiokeep.items;
+
+import org.rostislav.curiokeep.items.entities.ItemEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs {@link ItemSearchQuery} against Postgres. Kept on plain JDBC because the expressions (jsonb operators,
+ * tsvector matching) have no JPQL equivalent.
+ */
+@Repository
+class ItemSearchStore {
+
+    static final String COLUMNS = """
+            i.id, i.collection_id, i.module_id, i.state_key, i.title, i.attributes::text AS attributes,
+            i.image_name, i.image_status, i.created_by, i.created_at, i.updated_at
+            """;
+
+    static final RowMapper<ItemEntity> ITEM_ROW = (rs, n) -> {
+        ItemEntity e = new ItemEntity();
+        e.setId(rs.getObject("id", UUID.class));
+        e.setCollectionId(rs.getObject("collection_id", UUID.class));
+        e.setModuleId(rs.getObject("module_id", UUID.class));
+        e.setStateKey(rs.getString("state_key"));
+        e.setTitle(rs.getString("title"));
+        e.setAttributes(rs.getString("attributes"));
+        e.setImageName(rs.getString("image_name"));
+        String imageStatus = rs.getString("image_status");
+        e.setImageStatus(imageStatus == null ? null : ItemEntity.ImageStatus.valueOf(imageStatus));
+        e.setCreatedBy(rs.getObject("created_by", UUID.class));
+        e.setCreatedAt(rs.getObject("created_at", OffsetDateTime.class));
+        e.setUpdatedAt(rs.getObject("updated_at", OffsetDateTime.class));
+        return e;
+    };
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    ItemSearchStore(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    Page<ItemEntity> search(ItemSearchQuery query, Pageable pageable) {
+        MapSqlParameterSource params = query.params()
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+
+        List<ItemEntity> content = jdbc.query(
+                "SELECT " + COLUMNS + " FROM item i WHERE " + query.where()
+                        + " ORDER BY " + query.orderBy() + " LIMIT :limit OFFSET :offset",
+                params, ITEM_ROW);
+
+        Long total = jdbc.queryForObject("SELECT count(*) FROM item i WHERE " + query.where(), params, Long.class);
+        return new PageImpl<>(content, pageable, total == null ? 0 : total);
+    }
+
+    /**
+     * Keyset variant of {@link #search}: reads one row past the page to learn whether more follow and
+     * skips the count query entirely.
+     */
+    ScrollPage scroll(ItemSearchQuery query, int size) {
+        MapSqlParameterSource params = query.params().addValue("limit", size + 1);
+        ItemSearchQuery.KeyType keyType = query.keyType();
+        List<String> keys = new ArrayList<>(size + 1);
+
+        List<ItemEntity> rows = jdbc.query(
+                "SELECT " + COLUMNS + ", " + query.sortKeyExpr() + " AS sort_key FROM item i WHERE " + query.where()
+                        + " ORDER BY " + query.orderBy() + " LIMIT :limit",
+                params, (rs, n) -> {
+                    keys.add(keyType.read(rs, "sort_key"));
+                    return ITEM_ROW.mapRow(rs, n);
+                });
+
+        if (rows.size() <= size) {
+            return new ScrollPage(rows, null);
+        }
+        ItemEntity last = rows.get(size - 1);
+        return new ScrollPage(rows.subList(0, size), new ItemCursor(query.sortToken(), keys.get(size - 1), last.getId()));
+    }
+
+    record ScrollPage(List<ItemEntity> items, ItemCursor next) {}
+}
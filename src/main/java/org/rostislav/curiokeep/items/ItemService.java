@@ -8,15 +8,14 @@ import org.rostislav.curiokeep.collections.api.dto.Role;
 import org.rostislav.curiokeep.items.api.dto.*;
 import org.rostislav.curiokeep.items.entities.ItemEntity;
 import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
+import org.rostislav.curiokeep.modules.CompiledModule;
 import org.rostislav.curiokeep.modules.ModuleQueryService;
-import org.rostislav.curiokeep.modules.contract.FieldContract;
-import org.rostislav.curiokeep.modules.contract.ModuleContract;
 import org.rostislav.curiokeep.modules.entities.ModuleDefinitionEntity;
 import org.rostislav.curiokeep.user.CurrentUserService;
-import org.rostislav.curiokeep.user.entities.AppUserEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -25,6 +24,7 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -35,6 +35,8 @@ public class ItemService {
 
     private static final Logger log = LoggerFactory.getLogger(ItemService.class);
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final ItemRepository items;
     private final ItemIdentifierRepository identifiers;
     private final CurrentUserService currentUser;
@@ -42,6 +44,8 @@ public class ItemService {
     private final ModuleQueryService modules;
     private final ObjectMapper objectMapper;
     private final ItemImageService imageService;
+    private final ItemImageQueue imageQueue;
+    private final ItemSearchStore searchStore;
 
     public ItemService(
             ItemRepository items,
@@ -50,7 +54,9 @@ public class ItemService {
             CollectionAccessService access,
             ModuleQueryService modules,
             ObjectMapper objectMapper,
-            ItemImageService imageService
+            ItemImageService imageService,
+            ItemImageQueue imageQueue,
+            ItemSearchStore searchStore
     ) {
         this.items = items;
         this.identifiers = identifiers;
@@ -59,6 +65,8 @@ public class ItemService {
         this.modules = modules;
         this.objectMapper = objectMapper;
         this.imageService = imageService;
+        this.imageQueue = imageQueue;
+        this.searchStore = searchStore;
     }
 
     @Transactional(readOnly = true)
@@ -69,38 +77,84 @@ public class ItemService {
                 .map(e -> ItemResponse.from(e, objectMapper));
     }
 
+    @Transactional(readOnly = true)
+    public Page<ItemResponse> search(UUID collectionId, ItemSearchRequest req) {
+        checkUserRole(collectionId, Role.VIEWER);
+
+        ModuleDefinitionEntity def = modules.getEntityById(req.moduleId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "MODULE_NOT_FOUND"));
+        CompiledModule module = modules.getCompiled(def);
+
+        ItemSearchQuery query = ItemSearchQuery.build(collectionId, module, req, objectMapper);
+        Pageable pageable = PageRequest.of(
+                req.page() == null ? 0 : Math.max(0, req.page()),
+                req.size() == null ? 25 : Math.clamp(req.size(), 1, MAX_PAGE_SIZE));
+
+        return searchStore.search(query, pageable).map(e -> ItemResponse.from(e, objectMapper));
+    }
+
+    /**
+     * Keyset-paginated variant of {@link #search}. The page and count are ignored; {@code cursor} is the
+     * {@code nextCursor} of the previous page, or {@code null} for the first one.
+     */
+    @Transactional(readOnly = true)
+    public ItemCursorPage scroll(UUID collectionId, ItemSearchRequest req, String cursor) {
+        checkUserRole(collectionId, Role.VIEWER);
+
+        ModuleDefinitionEntity def = modules.getEntityById(req.moduleId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "MODULE_NOT_FOUND"));
+        CompiledModule module = modules.getCompiled(def);
+
+        ItemSearchQuery query = ItemSearchQuery.build(collectionId, module, req, objectMapper);
+        if (cursor != null && !cursor.isBlank()) {
+            query.seekAfter(ItemCursor.decode(cursor, objectMapper));
+        }
+        int size = req.size() == null ? 25 : Math.clamp(req.size(), 1, MAX_PAGE_SIZE);
+
+        ItemSearchStore.ScrollPage page = searchStore.scroll(query, size);
+        return new ItemCursorPage(
+                page.items().stream().map(e -> ItemResponse.from(e, objectMapper)).toList(),
+                page.next() == null ? null : page.next().encode(objectMapper));
+    }
+
     @Transactional
     public ItemResponse create(UUID collectionId, CreateItemRequest req) {
-        AppUserEntity u = checkUserRole(collectionId, Role.EDITOR);
+        UUID userId = checkUserRole(collectionId, Role.EDITOR);
 
         ModuleDefinitionEntity def = modules.getEntityById(req.moduleId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "MODULE_NOT_FOUND"));
 
-        ModuleContract contract = modules.getContract(def);
+        CompiledModule module = modules.getCompiled(def);
 
         Map<String, Object> attrsMap = new java.util.LinkedHashMap<>(req.attributes() == null ? Map.of() : req.attributes());
         ImageProcessResult imageResult = handleImage(attrsMap);
         JsonNode attrs = toJsonNode(attrsMap);
-        validateState(contract, req.stateKey());
-        validateAttributes(contract, attrs);
+        validateState(module, req.stateKey());
+        validateAttributes(module, attrs);
 
         ItemEntity e = new ItemEntity();
         e.setCollectionId(collectionId);
         e.setModuleId(req.moduleId());
-        e.setStateKey(normalizeState(req.stateKey(), contract));
+        e.setStateKey(normalizeState(req.stateKey(), module));
         e.setTitle(req.title());
         e.setAttributes(writeJson(attrs));
         if (imageResult.fileName() != null) {
             e.setImageName(imageResult.fileName());
         }
-        e.setCreatedBy(u.getId());
+        if (imageResult.pendingUrl() != null) {
+            e.setImageStatus(ItemEntity.ImageStatus.PENDING);
+        }
+        e.setCreatedBy(userId);
 
-        items.save(e);
+        items.saveAndFlush(e);
+        if (imageResult.pendingUrl() != null) {
+            imageQueue.enqueue(e.getId(), imageResult.pendingUrl());
+        }
 
         upsertIdentifiers(e.getId(), req.identifiers());
 
         log.info("Item created: itemId={} collectionId={} moduleId={} byUserId={}",
-                e.getId(), collectionId, e.getModuleId(), u.getId());
+                e.getId(), collectionId, e.getModuleId(), userId);
 
         return ItemResponse.from(e, objectMapper);
     }
@@ -116,7 +170,7 @@ public class ItemService {
 
     @Transactional
     public ItemResponse update(UUID collectionId, UUID itemId, UpdateItemRequest req) {
-        AppUserEntity u = checkUserRole(collectionId, Role.EDITOR);
+        UUID userId = checkUserRole(collectionId, Role.EDITOR);
 
         ItemEntity e = items.findById(itemId)
                 .filter(it -> it.getCollectionId().equals(collectionId))
@@ -125,10 +179,10 @@ public class ItemService {
         ModuleDefinitionEntity def = modules.getEntityById(e.getModuleId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "MODULE_NOT_FOUND"));
 
-        ModuleContract contract = modules.getContract(def);
+        CompiledModule module = modules.getCompiled(def);
 
         JsonNode attrs = null;
-        ImageProcessResult imageResult = new ImageProcessResult(null, false);
+        ImageProcessResult imageResult = new ImageProcessResult(null, false, null);
 
         if (req.attributes() != null) {
             Map<String, Object> attrsMap = new java.util.LinkedHashMap<>(req.attributes());
@@ -137,35 +191,41 @@ public class ItemService {
         }
 
         if (req.stateKey() != null) {
-            validateState(contract, req.stateKey());
-            e.setStateKey(normalizeState(req.stateKey(), contract));
+            validateState(module, req.stateKey());
+            e.setStateKey(normalizeState(req.stateKey(), module));
         }
         if (req.title() != null) e.setTitle(req.title());
         if (req.attributes() != null) {
-            validateAttributes(contract, attrs);
+            validateAttributes(module, attrs);
             e.setAttributes(writeJson(attrs));
         }
 
-        if (imageResult.cleared()) {
-            e.setImageName(null);
-        } else if (imageResult.fileName() != null) {
+        if (imageResult.cleared() || imageResult.fileName() != null) {
             e.setImageName(imageResult.fileName());
+            e.setImageStatus(null);
+            imageQueue.cancel(e.getId());
+        } else if (imageResult.pendingUrl() != null) {
+            e.setImageName(null);
+            e.setImageStatus(ItemEntity.ImageStatus.PENDING);
         }
 
-        items.save(e);
+        items.saveAndFlush(e);
+        if (imageResult.pendingUrl() != null) {
+            imageQueue.enqueue(e.getId(), imageResult.pendingUrl());
+        }
 
         if (req.identifiers() != null) {
             replaceIdentifiers(e.getId(), req.identifiers());
         }
 
-        log.info("Item updated: itemId={} collectionId={} byUserId={}", e.getId(), collectionId, u.getId());
+        log.info("Item updated: itemId={} collectionId={} byUserId={}", e.getId(), collectionId, userId);
 
         return ItemResponse.from(e, objectMapper);
     }
 
     @Transactional
     public ItemResponse setImageFromUrl(UUID collectionId, UUID itemId, String url) {
-        AppUserEntity u = checkUserRole(collectionId, Role.EDITOR);
+        UUID userId = checkUserRole(collectionId, Role.EDITOR);
         ItemEntity e = requireItem(collectionId, itemId);
 
         if (url == null || url.trim().isEmpty()) {
@@ -173,25 +233,20 @@ public class ItemService {
         }
 
         String trimmed = url.trim();
-        String fileName = imageService.downloadToLocal(trimmed);
-
-        if (fileName == null) {
-            log.warn("Image download failed, storing external url only: itemId={} collectionId={} url={}", e.getId(), collectionId, trimmed);
-            clearStoredImage(e);
-            replaceProviderImageAttribute(e, trimmed);
-        } else {
-            applyStoredImage(e, fileName);
-        }
-        items.save(e);
+        clearStoredImage(e);
+        replaceProviderImageAttribute(e, trimmed);
+        e.setImageStatus(ItemEntity.ImageStatus.PENDING);
+        items.saveAndFlush(e);
+        imageQueue.enqueue(e.getId(), trimmed);
 
-        log.info("Item image set from url: itemId={} collectionId={} byUserId={}", e.getId(), collectionId, u.getId());
+        log.info("Item image queued from url: itemId={} collectionId={} byUserId={}", e.getId(), collectionId, userId);
 
         return ItemResponse.from(e, objectMapper);
     }
 
     @Transactional
     public ItemResponse setImageFromUpload(UUID collectionId, UUID itemId, MultipartFile file) {
-        AppUserEntity u = checkUserRole(collectionId, Role.EDITOR);
+        UUID userId = checkUserRole(collectionId, Role.EDITOR);
         ItemEntity e = requireItem(collectionId, itemId);
 
         if (file == null || file.isEmpty()) {
@@ -199,8 +254,8 @@ public class ItemService {
         }
 
         String fileName;
-        try {
-            fileName = imageService.storeUploaded(file.getBytes(), file.getOriginalFilename(), file.getContentType());
+        try (InputStream in = file.getInputStream()) {
+            fileName = imageService.storeUploaded(in, file.getOriginalFilename());
         } catch (IOException ex) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "IMAGE_READ_FAILED", ex);
         }
@@ -212,27 +267,27 @@ public class ItemService {
         applyStoredImage(e, fileName);
         items.save(e);
 
-        log.info("Item image uploaded: itemId={} collectionId={} byUserId={}", e.getId(), collectionId, u.getId());
+        log.info("Item image uploaded: itemId={} collectionId={} byUserId={}", e.getId(), collectionId, userId);
 
         return ItemResponse.from(e, objectMapper);
     }
 
     @Transactional
     public ItemResponse clearImage(UUID collectionId, UUID itemId) {
-        AppUserEntity u = checkUserRole(collectionId, Role.EDITOR);
+        UUID userId = checkUserRole(collectionId, Role.EDITOR);
         ItemEntity e = requireItem(collectionId, itemId);
 
         clearStoredImage(e);
         items.save(e);
 
-        log.info("Item image cleared: itemId={} collectionId={} byUserId={}", e.getId(), collectionId, u.getId());
+        log.info("Item image cleared: itemId={} collectionId={} byUserId={}", e.getId(), collectionId, userId);
 
         return ItemResponse.from(e, objectMapper);
     }
 
     @Transactional
     public void delete(UUID collectionId, UUID itemId) {
-        AppUserEntity u = checkUserRole(collectionId, Role.ADMIN);
+        UUID userId = checkUserRole(collectionId, Role.ADMIN);
 
         ItemEntity e = items.findById(itemId)
                 .filter(it -> it.getCollectionId().equals(collectionId))
@@ -241,12 +296,12 @@ public class ItemService {
         identifiers.deleteAll(identifiers.findAllByItemId(e.getId()));
         items.delete(e);
 
-        log.info("Item deleted: itemId={} collectionId={} byUserId={}", e.getId(), collectionId, u.getId());
+        log.info("Item deleted: itemId={} collectionId={} byUserId={}", e.getId(), collectionId, userId);
     }
 
     @Transactional
     public ItemResponse changeState(UUID collectionId, UUID itemId, ChangeStateRequest req) {
-        AppUserEntity u = checkUserRole(collectionId, Role.EDITOR);
+        UUID userId = checkUserRole(collectionId, Role.EDITOR);
 
         ItemEntity e = items.findById(itemId)
                 .filter(it -> it.getCollectionId().equals(collectionId))
@@ -255,18 +310,67 @@ public class ItemService {
         ModuleDefinitionEntity def = modules.getEntityById(e.getModuleId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "MODULE_NOT_FOUND"));
 
-        ModuleContract contract = modules.getContract(def);
+        CompiledModule module = modules.getCompiled(def);
 
-        validateState(contract, req.stateKey());
-        e.setStateKey(normalizeState(req.stateKey(), contract));
+        validateState(module, req.stateKey());
+        e.setStateKey(normalizeState(req.stateKey(), module));
         items.save(e);
 
         log.info("Item state changed: itemId={} collectionId={} state={} byUserId={}",
-                e.getId(), collectionId, e.getStateKey(), u.getId());
+                e.getId(), collectionId, e.getStateKey(), userId);
 
         return ItemResponse.from(e, objectMapper);
     }
 
+    /**
+     * Builds and validates an item for a background import without persisting it. There is no
+     * request-bound user here, so the caller is responsible for the collection access check.
+     */
+    public ItemEntity prepareImported(UUID collectionId, UUID moduleId, CompiledModule module, UUID createdBy,
+                                      String stateKey, String title, Map<String, Object> attributes, boolean imagePending) {
+        JsonNode attrs = toJsonNode(attributes);
+        validateState(module, stateKey);
+        validateAttributes(module, attrs);
+
+        ItemEntity e = new ItemEntity();
+        e.setCollectionId(collectionId);
+        e.setModuleId(moduleId);
+        e.setStateKey(normalizeState(stateKey, module));
+        e.setTitle(title);
+        e.setAttributes(writeJson(attrs));
+        e.setImageStatus(imagePending ? ItemEntity.ImageStatus.PENDING : null);
+        e.setCreatedBy(createdBy);
+        return e;
+    }
+
+    /**
+     * Inserts a batch of items built by {@link #prepareImported} together with their identifiers, and queues
+     * their cover downloads.
+     */
+    @Transactional
+    public void saveImported(List<ImportedItem> batch) {
+        if (batch.isEmpty()) return;
+        items.saveAll(batch.stream().map(ImportedItem::item).toList());
+        items.flush();
+        for (ImportedItem imported : batch) {
+            if (imported.imageUrl() != null) imageQueue.enqueue(imported.item().getId(), imported.imageUrl());
+        }
+
+        List<ItemIdentifierEntity> ids = new java.util.ArrayList<>();
+        for (ImportedItem imported : batch) {
+            for (ItemIdentifierDto dto : imported.identifiers()) {
+                ItemIdentifierEntity id = new ItemIdentifierEntity();
+                id.setItemId(imported.item().getId());
+                id.setIdType(dto.idType());
+                id.setIdValue(dto.idValue().trim());
+                ids.add(id);
+            }
+        }
+        identifiers.saveAll(ids);
+    }
+
+    public record ImportedItem(ItemEntity item, List<ItemIdentifierDto> identifiers, String imageUrl) {}
+
     private void upsertIdentifiers(UUID itemId, List<ItemIdentifierDto> ids) {
         if (ids == null || ids.isEmpty()) return;
         for (ItemIdentifierDto dto : ids) {
@@ -278,10 +382,10 @@ public class ItemService {
         }
     }
 
-    private AppUserEntity checkUserRole(UUID collectionId, Role minimumRole) {
-        AppUserEntity u = currentUser.requireCurrentUser();
-        access.requireRole(collectionId, u.getId(), minimumRole);
-        return u;
+    private UUID checkUserRole(UUID collectionId, Role minimumRole) {
+        UUID userId = currentUser.requireCurrentUserId();
+        access.requireRole(collectionId, userId, minimumRole);
+        return userId;
     }
 
     private ItemEntity requireItem(UUID collectionId, UUID itemId) {
@@ -295,34 +399,30 @@ public class ItemService {
         upsertIdentifiers(itemId, ids);
     }
 
-    private String normalizeState(String stateKey, ModuleContract contract) {
+    private String normalizeState(String stateKey, CompiledModule module) {
         if (stateKey == null || stateKey.isBlank()) {
-            return contract.states().isEmpty() ? "OWNED" : contract.states().getFirst().key();
+            return module.defaultStateKey();
         }
         return stateKey.trim().toUpperCase(Locale.ROOT);
     }
 
-    private void validateState(ModuleContract contract, String stateKeyRaw) {
+    private void validateState(CompiledModule module, String stateKeyRaw) {
         if (stateKeyRaw == null || stateKeyRaw.isBlank()) return;
-        String key = stateKeyRaw.trim().toUpperCase(Locale.ROOT);
 
-        boolean ok = contract.states().stream().anyMatch(s -> s.key().equalsIgnoreCase(key));
-        if (!ok) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_STATE");
+        if (!module.hasState(stateKeyRaw)) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_STATE");
     }
 
-    private void validateAttributes(ModuleContract contract, JsonNode attributes) {
+    private void validateAttributes(CompiledModule module, JsonNode attributes) {
         if (attributes == null || !attributes.isObject()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ATTRIBUTES_MUST_BE_OBJECT");
         }
 
-        contract.fields().stream()
-                .filter(FieldContract::required)
-                .forEach(f -> {
-                    JsonNode v = attributes.get(f.key());
-                    if (v == null || v.isNull() || (v.isTextual() && v.asText().isBlank())) {
-                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "MISSING_REQUIRED_FIELD_" + f.key());
-                    }
-                });
+        for (String key : module.requiredFields()) {
+            JsonNode v = attributes.get(key);
+            if (v == null || v.isNull() || (v.isTextual() && v.asText().isBlank())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "MISSING_REQUIRED_FIELD_" + key);
+            }
+        }
     }
 
     private JsonNode toJsonNode(Map<String, Object> attributes) {
@@ -341,39 +441,40 @@ public class ItemService {
     private ImageProcessResult handleImage(Map<String, Object> attrs) {
         Object urlObj = attrs.get("providerImageUrl");
         if (!(urlObj instanceof String urlRaw)) {
-            return new ImageProcessResult(null, false);
+            return new ImageProcessResult(null, false, null);
         }
 
         String url = urlRaw.trim();
         if (url.isBlank()) {
             attrs.remove("providerImageUrl");
-            return new ImageProcessResult(null, true);
+            return new ImageProcessResult(null, true, null);
         }
 
         // Already cached locally
         if (url.startsWith("/api/assets/")) {
             String fileName = url.substring("/api/assets/".length());
-            return new ImageProcessResult(fileName, false);
-        }
-
-        String fileName = imageService.downloadToLocal(url);
-        if (fileName != null) {
-            attrs.put("providerImageUrl", "/api/assets/" + fileName);
-            return new ImageProcessResult(fileName, false);
+            return new ImageProcessResult(fileName, false, null);
         }
 
-        return new ImageProcessResult(null, false);
+        // External images are fetched by ItemImageIngestRunner once the item is committed; until then the
+        // attribute keeps the external URL.
+        attrs.put("providerImageUrl", url);
+        return new ImageProcessResult(null, false, url);
     }
 
-    private record ImageProcessResult(String fileName, boolean cleared) {}
+    private record ImageProcessResult(String fileName, boolean cleared, String pendingUrl) {}
 
     private void applyStoredImage(ItemEntity e, String fileName) {
         e.setImageName(fileName);
+        e.setImageStatus(null);
+        imageQueue.cancel(e.getId());
         replaceProviderImageAttribute(e, "/api/assets/" + fileName);
     }
 
     private void clearStoredImage(ItemEntity e) {
         e.setImageName(null);
+        e.setImageStatus(null);
+        imageQueue.cancel(e.getId());
         replaceProviderImageAttribute(e, null);
     }
 
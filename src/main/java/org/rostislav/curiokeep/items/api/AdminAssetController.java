@@ -0,0 +1,46 @@
+package org.rostislav.curiokeep.items.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.rostislav.curiokeep.api.dto.ApiError;
+import org.rostislav.curiokeep.items.AssetGarbageCollector;
+import org.rostislav.curiokeep.items.api.dto.AssetGcReport;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Admin - Assets", description = "Admin-only APIs for stored asset files")
+@SecurityRequirement(name = "sessionAuth")
+@RestController
+@RequestMapping("/api/admin/assets")
+@PreAuthorize("hasAuthority('APP_ADMIN')")
+public class AdminAssetController {
+
+    private final AssetGarbageCollector collector;
+
+    public AdminAssetController(AssetGarbageCollector collector) {
+        this.collector = collector;
+    }
+
+    @Operation(summary = "Collect orphaned assets",
+            description = "Removes asset files no item references. With dryRun (the default) only reports what would be removed.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Collection finished",
+                    content = @Content(schema = @Schema(implementation = AssetGcReport.class))),
+            @ApiResponse(responseCode = "403", description = "Not an admin",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "409", description = "A collection is already running",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping("/gc")
+    public AssetGcReport collect(@RequestParam(defaultValue = "true") boolean dryRun) {
+        return collector.collect(dryRun);
+    }
+}
@@ -2,21 +2,27 @@ package org.rostislav.curiokeep.items.api;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.rostislav.curiokeep.items.AssetDerivativeService;
+import org.rostislav.curiokeep.items.AssetFile;
 import org.rostislav.curiokeep.items.ItemImageService;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.io.IOException;
-import java.nio.file.Files;
+import java.time.Duration;
 
 @Tag(name = "Assets", description = "Serves cached provider assets (images)")
 @SecurityRequirement(name = "sessionAuth")
@@ -24,25 +30,73 @@ import java.nio.file.Files;
 @RequestMapping("/api/assets")
 public class AssetController {
 
+    // Tomcat serves the file itself via sendfile() when these request attributes are set and the body is left empty.
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Asset names are unique per stored content, so a response never goes stale.
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    // The original standing in for a derivative that is not rendered yet; revalidated so the derivative replaces it.
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
     private final ItemImageService images;
+    private final AssetDerivativeService derivatives;
 
-    public AssetController(ItemImageService images) {
+    public AssetController(ItemImageService images, AssetDerivativeService derivatives) {
         this.images = images;
+        this.derivatives = derivatives;
     }
 
-    @Operation(summary = "Get saved asset")
-    @ApiResponse(responseCode = "200", description = "Asset returned")
+    @Operation(summary = "Get saved asset",
+            description = "Supports conditional requests (If-None-Match / If-Modified-Since) and byte ranges. "
+                    + "With preset (thumb, card, large) or w, a resized copy is served, rendered on first request; "
+                    + "widths snap up to the nearest preset.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Asset returned"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range returned"),
+            @ApiResponse(responseCode = "304", description = "Client copy is current"),
+            @ApiResponse(responseCode = "404", description = "Asset not found")
+    })
     @GetMapping("/{fileName}")
-    public ResponseEntity<Resource> get(@PathVariable String fileName) throws IOException {
-        Resource res = images.load(fileName);
-        if (res == null || !res.exists()) {
+    public ResponseEntity<Resource> get(@PathVariable String fileName,
+                                        @RequestParam(required = false) Integer w,
+                                        @RequestParam(required = false) String preset,
+                                        ServletWebRequest webRequest) {
+        Integer width = derivatives.widthFor(w, preset);
+        AssetDerivativeService.Rendition rendition = width == null ? null : derivatives.derivative(fileName, width);
+        AssetFile asset = rendition == null ? null : rendition.derivative();
+        if (asset == null) {
+            asset = images.describe(fileName);
+        }
+        if (asset == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
-        String contentType = Files.probeContentType(res.getFile().toPath());
-        MediaType mediaType = contentType != null ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM;
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CACHE_CONTROL, "max-age=86400, public")
-                .contentType(mediaType)
-                .body(res);
+        if (webRequest.checkNotModified(asset.etag(), asset.lastModified().toEpochMilli())) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(rendition != null && rendition.pending() ? REVALIDATE : IMMUTABLE)
+                .eTag(asset.etag())
+                .lastModified(asset.lastModified())
+                .contentType(asset.mediaType());
+
+        HttpServletRequest request = webRequest.getRequest();
+        if (canSendfile(request)) {
+            request.setAttribute(SENDFILE_FILENAME, asset.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, asset.length());
+            return response.contentLength(asset.length()).build();
+        }
+        // Range requests and containers without sendfile: Spring streams the file (or the requested region).
+        return response.body(new FileSystemResource(asset.path()));
+    }
+
+    private static boolean canSendfile(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))
+                && "GET".equals(request.getMethod())
+                && request.getHeader(HttpHeaders.RANGE) == null;
     }
 }
@@ -7,17 +7,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.rostislav.curiokeep.api.dto.ApiError;
 import org.rostislav.curiokeep.items.ItemService;
 import org.rostislav.curiokeep.items.api.dto.ChangeStateRequest;
 import org.rostislav.curiokeep.items.api.dto.CreateItemRequest;
+import org.rostislav.curiokeep.items.api.dto.ItemCursorPage;
 import org.rostislav.curiokeep.items.api.dto.ItemImageUrlRequest;
 import org.rostislav.curiokeep.items.api.dto.ItemResponse;
+import org.rostislav.curiokeep.items.api.dto.ItemSearchRequest;
 import org.rostislav.curiokeep.items.api.dto.UpdateItemRequest;
 import org.rostislav.curiokeep.user.api.dto.OkResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -55,6 +59,63 @@ public class ItemController {
         return service.list(collectionId, moduleId, pageable);
     }
 
+    @Operation(summary = "Search items", description = "Full-text search, filtering on filterable fields and sorting on sortable fields of the module.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Items returned"),
+            @ApiResponse(responseCode = "400", description = "Unknown field, field not filterable/sortable or invalid filter value",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "403", description = "No access to collection",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping("/search")
+    public Page<ItemResponse> search(@PathVariable UUID collectionId, @RequestBody @Valid ItemSearchRequest req) {
+        return service.search(collectionId, req);
+    }
+
+    @Operation(summary = "Scroll items", description = "Keyset-paginated listing of a module's items. Pass nextCursor from the previous response to continue; no total count is computed.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Items returned"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort field",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "403", description = "No access to collection",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/scroll")
+    public ItemCursorPage scroll(
+            @PathVariable UUID collectionId,
+            @RequestParam UUID moduleId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Sort.Direction direction,
+            @RequestParam(defaultValue = "25") int size
+    ) {
+        ItemSearchRequest req = new ItemSearchRequest(moduleId, null, null, null, sort, direction, null, size);
+        return service.scroll(collectionId, req, cursor);
+    }
+
+    @Operation(summary = "Scroll search results", description = "Keyset-paginated variant of search. The page field of the body is ignored; pass nextCursor from the previous response to continue.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Items returned"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, unknown field, field not filterable/sortable or invalid filter value",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "403", description = "No access to collection",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping("/search/scroll")
+    public ItemCursorPage searchScroll(
+            @PathVariable UUID collectionId,
+            @RequestParam(required = false) String cursor,
+            @RequestBody @Valid ItemSearchRequest req
+    ) {
+        return service.scroll(collectionId, req, cursor);
+    }
+
     @Operation(summary = "Create item", description = "Creates a new item for a module in the collection. Attributes are validated against the module contract.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Item created",
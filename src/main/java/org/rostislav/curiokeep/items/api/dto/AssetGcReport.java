@@ -0,0 +1,20 @@
+package org.rostislav.curiokeep.items.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Outcome of one asset garbage collection run")
+public record AssetGcReport(
+        @Schema(description = "True when orphans were only reported, not removed") boolean dryRun,
+        @Schema(description = "Distinct asset names referenced by items") int referenced,
+        @Schema(description = "Files found in the assets directory") long scannedFiles,
+        @Schema(description = "Unreferenced files older than the grace period") long orphanFiles,
+        @Schema(description = "Total size of the orphaned files") long orphanBytes,
+        @Schema(description = "Orphans deleted or moved to quarantine") long removedFiles,
+        @Schema(description = "Bytes freed by deletions, including expired quarantine") long reclaimedBytes,
+        @Schema(description = "Expired files deleted from quarantine") long purgedQuarantineFiles,
+        @Schema(description = "Run start") Instant startedAt,
+        @Schema(description = "Run duration in milliseconds") long durationMs
+) {
+}
@@ -0,0 +1,15 @@
+package org.rostislav.curiokeep.items.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "ItemCursorPage", description = "One page of a keyset-paginated item listing")
+public record ItemCursorPage(
+        @Schema(description = "Items of this page, in sort order")
+        List<ItemResponse> items,
+
+        @Schema(description = "Opaque token for the next page; null when this is the last page")
+        String nextCursor
+) {
+}
@@ -0,0 +1,28 @@
+package org.rostislav.curiokeep.items.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+@Schema(
+        name = "ItemFilter",
+        description = "Condition on a filterable module field. EQ/IN match JSON values exactly (TAGS fields match any tag); "
+                + "GT/GTE/LT/LTE compare NUMBER fields numerically and DATE fields as ISO-8601 strings."
+)
+public record ItemFilter(
+        @Schema(description = "Module field key", example = "publisher")
+        @NotBlank String field,
+
+        @Schema(description = "Comparison operator", example = "EQ")
+        @NotNull Op op,
+
+        @Schema(description = "Operand for EQ and range operators", example = "Ace")
+        Object value,
+
+        @Schema(description = "Operands for IN")
+        List<Object> values
+) {
+    public enum Op {EQ, IN, GT, GTE, LT, LTE}
+}
@@ -1,12 +1,13 @@
 package org.rostislav.curiokeep.items.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.rostislav.curiokeep.items.entities.ItemEntity;
-import tools.jackson.core.type.TypeReference;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
 import tools.jackson.databind.ObjectMapper;
 
 import java.time.OffsetDateTime;
-import java.util.Map;
 import java.util.UUID;
 
 @Schema(
@@ -31,10 +32,17 @@ public record ItemResponse(
         String title,
 
         @Schema(
+                type = "object",
                 description = "Module-defined attributes JSON object. Must conform to module contract fields.",
                 example = "{\"title\":\"The Hobbit\",\"authors\":\"J.R.R. Tolkien\",\"isbn13\":\"9780261102217\"}"
         )
-        Map<String, Object> attributes,
+        @JsonRawValue
+        String attributes,
+
+        @Schema(description = "PENDING while the image is downloaded in the background, FAILED when that gave up; "
+                + "null otherwise. Until then providerImageUrl points at the external URL.",
+                example = "PENDING", nullable = true)
+        ItemEntity.ImageStatus imageStatus,
 
         @Schema(description = "User id that created the item.", example = "b1f28b3b-2d7b-4e05-9c91-2d57c29c7b55", nullable = true)
         UUID createdBy,
@@ -45,34 +53,55 @@ public record ItemResponse(
         @Schema(description = "Last update timestamp (UTC).", example = "2025-12-15T17:18:02.382311Z")
         OffsetDateTime updatedAt
 ) {
+    private static final String IMAGE_URL_KEY = "providerImageUrl";
+
+    /**
+     * Builds the response around the stored jsonb text, which is written to the client as-is. Only when the
+     * item has a cached image is the object scanned, key by key without building a tree, to add
+     * {@code providerImageUrl} unless the attributes already carry one.
+     */
     public static ItemResponse from(ItemEntity e, ObjectMapper mapper) {
-                Map<String, Object> attrs;
-                try {
-                        String json = e.getAttributes() == null ? "{}" : e.getAttributes();
-                        attrs = mapper.readValue(json, new TypeReference<>() {
-                        });
-                } catch (Exception ex) {
-                        throw new IllegalStateException("Failed to parse item attributes", ex);
-                }
+        String attrs = e.getAttributes() == null || e.getAttributes().isBlank() ? "{}" : e.getAttributes();
 
-                if (e.getImageName() != null && !e.getImageName().isBlank()) {
-                        if (attrs == null) {
-                                attrs = Map.of("providerImageUrl", "/api/assets/" + e.getImageName());
-                        } else if (!attrs.containsKey("providerImageUrl")) {
-                                attrs = new java.util.HashMap<>(attrs);
-                                attrs.put("providerImageUrl", "/api/assets/" + e.getImageName());
-                        }
-                }
+        if (e.getImageName() != null && !e.getImageName().isBlank()) {
+            attrs = withImageUrl(attrs, "/api/assets/" + e.getImageName(), mapper);
+        }
         return new ItemResponse(
                 e.getId(),
                 e.getCollectionId(),
                 e.getModuleId(),
                 e.getStateKey(),
                 e.getTitle(),
-                                attrs,
+                attrs,
+                e.getImageStatus(),
                 e.getCreatedBy(),
                 e.getCreatedAt(),
                 e.getUpdatedAt()
         );
     }
-}
\ No newline at end of file
+
+    private static String withImageUrl(String json, String url, ObjectMapper mapper) {
+        boolean empty = true;
+        try (JsonParser p = mapper.createParser(json)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Item attributes are not a JSON object");
+            }
+            while (p.nextToken() == JsonToken.PROPERTY_NAME) {
+                if (IMAGE_URL_KEY.equals(p.currentName())) {
+                    return json;
+                }
+                empty = false;
+                p.nextToken();
+                p.skipChildren();
+            }
+        } catch (RuntimeException ex) {
+            throw new IllegalStateException("Failed to parse item attributes", ex);
+        }
+
+        int end = json.lastIndexOf('}');
+        return json.substring(0, end)
+                + (empty ? "" : ",")
+                + "\"" + IMAGE_URL_KEY + "\":" + mapper.writeValueAsString(url)
+                + json.substring(end);
+    }
+}
@@ -0,0 +1,40 @@
+package org.rostislav.curiokeep.items.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(name = "ItemSearchRequest", description = "Server-side item query driven by the module's field metadata")
+public record ItemSearchRequest(
+
+        @Schema(description = "Module id of the items to search")
+        @NotNull UUID moduleId,
+
+        @Schema(description = "Full-text query over the title and searchable fields (web search syntax: quotes, OR, -word)",
+                example = "dune herbert")
+        String query,
+
+        @Schema(description = "Only items in this state", example = "OWNED")
+        String stateKey,
+
+        @Schema(description = "Conditions on filterable fields, all of which must match")
+        List<@Valid ItemFilter> filters,
+
+        @Schema(description = "Sortable field key, or createdAt/updatedAt/title. Defaults to relevance when querying, else createdAt",
+                example = "title")
+        String sort,
+
+        @Schema(description = "Sort direction, defaults to ASC for fields and DESC for createdAt/updatedAt/relevance")
+        Sort.Direction direction,
+
+        @Schema(description = "Zero-based page index", example = "0")
+        Integer page,
+
+        @Schema(description = "Page size, at most 200", example = "25")
+        Integer size
+) {
+}
@@ -35,6 +35,10 @@ public class ItemEntity {
     @Column(name = "image_name")
     private String imageName;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "image_status")
+    private ImageStatus imageStatus;
+
     @Column(name = "created_by", columnDefinition = "uuid")
     private UUID createdBy;
 
@@ -113,6 +117,14 @@ public class ItemEntity {
         this.imageName = imageName;
     }
 
+    public ImageStatus getImageStatus() {
+        return imageStatus;
+    }
+
+    public void setImageStatus(ImageStatus imageStatus) {
+        this.imageStatus = imageStatus;
+    }
+
     public UUID getCreatedBy() {
         return createdBy;
     }
@@ -136,4 +148,7 @@ public class ItemEntity {
     public void setUpdatedAt(OffsetDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
\ No newline at end of file
+
+    /** State of an image still being fetched in the background; {@code null} once attached or when there is none. */
+    public enum ImageStatus {PENDING, FAILED}
+}
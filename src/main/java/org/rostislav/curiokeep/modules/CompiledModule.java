@@ -0,0 +1,63 @@
+package org.rostislav.curiokeep.modules;
+
+import org.rostislav.curiokeep.modules.contract.FieldContract;
+import org.rostislav.curiokeep.modules.contract.ModuleContract;
+import org.rostislav.curiokeep.providers.ModuleProviderSpec;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.core.JsonPointer;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Pre-parsed view of a module definition, built once per module checksum by {@link ModuleRegistry}.
+ *
+ * @param contract           parsed contract, {@code null} when {@code definition_json} is empty or unreadable
+ * @param contractError      error code describing why {@code contract} is missing
+ * @param providerSpecs      declared providers sorted by priority
+ * @param fieldKeys          field keys in module sort order
+ * @param fields             contract fields by key
+ * @param mappingsByProvider provider key to the fields it can fill, each with its candidate paths in declared order
+ * @param stateKeys          upper-cased state keys
+ * @param defaultStateKey    state assigned when none is given
+ * @param requiredFields     keys of fields that must be present on every item
+ */
+public record CompiledModule(
+        UUID moduleId,
+        String checksum,
+        ModuleContract contract,
+        String contractError,
+        List<ModuleProviderSpec> providerSpecs,
+        List<String> fieldKeys,
+        Map<String, FieldContract> fields,
+        Map<String, List<FieldMapping>> mappingsByProvider,
+        Set<String> stateKeys,
+        String defaultStateKey,
+        List<String> requiredFields
+) {
+
+    public ModuleContract requireContract() {
+        if (contract == null) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, contractError);
+        }
+        return contract;
+    }
+
+    public FieldContract field(String key) {
+        return key == null ? null : fields.get(key);
+    }
+
+    public boolean hasState(String stateKey) {
+        return stateKey != null && stateKeys.contains(stateKey.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public List<FieldMapping> mappingsFor(String providerKey) {
+        return mappingsByProvider.getOrDefault(providerKey, List.of());
+    }
+
+    public record FieldMapping(String fieldKey, List<JsonPointer> paths) {}
+}
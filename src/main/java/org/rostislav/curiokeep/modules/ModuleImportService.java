@@ -35,19 +35,22 @@ public class ModuleImportService {
     private final ModuleXmlParser moduleXmlParser;
     private final CollectionModuleRepository collectionModuleRepository;
     private final ItemRepository itemRepository;
+    private final ModuleRegistry registry;
 
     public ModuleImportService(ModuleLoadTx moduleLoadTx,
                                ModuleDefinitionRepository moduleDefinitionRepository,
                                ModuleImportStorage moduleImportStorage,
                                ModuleXmlParser moduleXmlParser,
                                CollectionModuleRepository collectionModuleRepository,
-                               ItemRepository itemRepository) {
+                               ItemRepository itemRepository,
+                               ModuleRegistry registry) {
         this.moduleLoadTx = moduleLoadTx;
         this.moduleDefinitionRepository = moduleDefinitionRepository;
         this.moduleImportStorage = moduleImportStorage;
         this.moduleXmlParser = moduleXmlParser;
         this.collectionModuleRepository = collectionModuleRepository;
         this.itemRepository = itemRepository;
+        this.registry = registry;
     }
 
     public ModuleSummaryResponse importFromBytes(byte[] xmlBytes, String sourceName, boolean persistFile) {
@@ -153,6 +156,7 @@ public class ModuleImportService {
 
         findFileForModule(module.getModuleKey()).ifPresent(moduleImportStorage::deleteXml);
         moduleDefinitionRepository.delete(module);
+        registry.invalidate(module.getId());
     }
 
     private void cleanupSavedFile(Path savedPath) {
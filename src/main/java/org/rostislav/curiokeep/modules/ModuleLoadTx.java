@@ -5,6 +5,7 @@ import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 import org.rostislav.curiokeep.modules.contract.*;
 import org.rostislav.curiokeep.modules.xml.ModuleXml;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -18,6 +19,7 @@ import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,19 +34,25 @@ public class ModuleLoadTx {
     private final ModuleContractValidator contractValidator;
     private final NamedParameterJdbcTemplate jdbc;
     private final ObjectMapper objectMapper;
+    private final ModuleRegistry registry;
+    private final ApplicationEventPublisher events;
 
     public ModuleLoadTx(ModuleXsdValidator xsdValidator,
                         ModuleXmlParser xmlParser,
                         ModuleCompiler moduleCompiler,
                         ModuleContractValidator contractValidator,
                         NamedParameterJdbcTemplate jdbc,
-                        ObjectMapper objectMapper) {
+                        ObjectMapper objectMapper,
+                        ModuleRegistry registry,
+                        ApplicationEventPublisher events) {
         this.xsdValidator = xsdValidator;
         this.xmlParser = xmlParser;
         this.moduleCompiler = moduleCompiler;
         this.contractValidator = contractValidator;
         this.jdbc = jdbc;
                 this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.events = events;
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -155,7 +163,8 @@ public class ModuleLoadTx {
         );
 
         if (existingId != null) {
-            // No change, skip deletes/inserts entirely
+            // No change, skip deletes/inserts entirely (sort indexes are still confirmed after commit)
+            events.publishEvent(new ModuleLoadedEvent(existingId, module, false));
             return;
         }
 
@@ -166,8 +175,22 @@ public class ModuleLoadTx {
             throw new IllegalStateException("Failed to serialize module contract JSON for module " + module.key(), e);
         }
 
+        Set<String> searchableBefore = Set.copyOf(jdbc.queryForList(
+                "SELECT field_key FROM module_field WHERE module_id = :mid AND searchable",
+                new MapSqlParameterSource("mid", moduleId),
+                String.class));
+        Set<String> searchableAfter = Optional.ofNullable(module.fields()).orElse(List.of()).stream()
+                .filter(FieldContract::searchable)
+                .map(FieldContract::key)
+                .collect(Collectors.toSet());
+
         replaceModuleStates(moduleId, module);
         replaceModuleFields(moduleId, module);
+        // Index builds and search vector refreshes run after commit, outside this transaction
+        events.publishEvent(new ModuleLoadedEvent(moduleId, module, !searchableBefore.equals(searchableAfter)));
+
+        // Checksum changed: drop the compiled form so the next use rebuilds it from the new definition
+        registry.invalidate(moduleId);
     }
 
 
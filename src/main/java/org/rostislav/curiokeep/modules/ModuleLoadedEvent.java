@@ -0,0 +1,12 @@
+package org.rostislav.curiokeep.modules;
+
+import org.rostislav.curiokeep.modules.contract.ModuleContract;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link ModuleLoadTx} for every module it loads, changed or not. {@code searchFieldsChanged} is
+ * set when the module's searchable field set differs from what was stored before.
+ */
+public record ModuleLoadedEvent(UUID moduleId, ModuleContract module, boolean searchFieldsChanged) {
+}
@@ -1,6 +1,5 @@
 package org.rostislav.curiokeep.modules;
 
-import tools.jackson.databind.ObjectMapper;
 import org.rostislav.curiokeep.modules.api.dto.ModuleDetailsResponse;
 import org.rostislav.curiokeep.modules.api.dto.ModuleRawXmlResponse;
 import org.rostislav.curiokeep.modules.api.dto.ModuleSummaryResponse;
@@ -23,12 +22,12 @@ import java.util.UUID;
 public class ModuleQueryService {
 
     private static final Logger log = LoggerFactory.getLogger(ModuleQueryService.class);
-    private final ObjectMapper objectMapper;
     private final ModuleDefinitionRepository modules;
+    private final ModuleRegistry registry;
 
-    public ModuleQueryService(ModuleDefinitionRepository modules, ObjectMapper objectMapper) {
+    public ModuleQueryService(ModuleDefinitionRepository modules, ModuleRegistry registry) {
         this.modules = modules;
-        this.objectMapper = objectMapper;
+        this.registry = registry;
     }
 
     @Transactional(readOnly = true)
@@ -44,7 +43,7 @@ public class ModuleQueryService {
         ModuleDefinitionEntity e = modules.findByModuleKey(moduleKey)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "MODULE_NOT_FOUND"));
 
-        ModuleContract contract = readContract(e.getDefinitionJson());
+        ModuleContract contract = registry.get(e).requireContract();
 
         ModuleSource source = ModuleSource.valueOf(e.getSource().name());
 
@@ -66,7 +65,16 @@ public class ModuleQueryService {
     }
 
     public ModuleContract getContract(ModuleDefinitionEntity e) {
-        return readContract(e.getDefinitionJson());
+        return getCompiled(e).contract();
+    }
+
+    /**
+     * Returns the cached compiled form of the module, failing like {@link #getContract} when its definition is unusable.
+     */
+    public CompiledModule getCompiled(ModuleDefinitionEntity e) {
+        CompiledModule compiled = registry.get(e);
+        compiled.requireContract();
+        return compiled;
     }
 
     @Transactional(readOnly = true)
@@ -85,15 +93,4 @@ public class ModuleQueryService {
         if (k.isBlank()) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "moduleKey is required");
         return k;
     }
-
-    private ModuleContract readContract(String json) {
-        if (json == null || json.isBlank()) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "MODULE_DEFINITION_EMPTY");
-        }
-        try {
-            return objectMapper.readValue(json, ModuleContract.class);
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "MODULE_CONTRACT_PARSE_ERROR", e);
-        }
-    }
 }
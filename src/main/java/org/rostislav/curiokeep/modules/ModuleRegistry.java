@@ -0,0 +1,158 @@
+package org.rostislav.curiokeep.modules;
+
+import org.rostislav.curiokeep.modules.contract.FieldContract;
+import org.rostislav.curiokeep.modules.contract.ModuleContract;
+import org.rostislav.curiokeep.modules.contract.StateContract;
+import org.rostislav.curiokeep.modules.entities.ModuleDefinitionEntity;
+import org.rostislav.curiokeep.modules.entities.ModuleFieldEntity;
+import org.rostislav.curiokeep.providers.ModuleProviderSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonPointer;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory cache of {@link CompiledModule}s keyed by module id. An entry is reused only while the entity's
+ * checksum matches the one it was compiled from, so a module reloaded with new XML is recompiled on first use
+ * even if {@link #invalidate} was not reached. Entities without id or checksum are compiled on every call.
+ */
+@Component
+public class ModuleRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ModuleRegistry.class);
+
+    private final ObjectMapper objectMapper;
+    private final Map<UUID, CompiledModule> compiled = new ConcurrentHashMap<>();
+
+    public ModuleRegistry(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public CompiledModule get(ModuleDefinitionEntity module) {
+        UUID id = module.getId();
+        if (id == null || module.getChecksum() == null) {
+            return compile(module);
+        }
+        CompiledModule cached = compiled.get(id);
+        if (cached != null && Objects.equals(cached.checksum(), module.getChecksum())) {
+            return cached;
+        }
+        CompiledModule fresh = compile(module);
+        compiled.put(id, fresh);
+        return fresh;
+    }
+
+    public void invalidate(UUID moduleId) {
+        if (moduleId != null && compiled.remove(moduleId) != null) {
+            log.debug("Compiled module evicted: moduleId={}", moduleId);
+        }
+    }
+
+    public void clear() {
+        compiled.clear();
+    }
+
+    private CompiledModule compile(ModuleDefinitionEntity module) {
+        JsonNode root = null;
+        ModuleContract contract = null;
+        String contractError = null;
+
+        String json = module.getDefinitionJson();
+        if (json == null || json.isBlank()) {
+            contractError = "MODULE_DEFINITION_EMPTY";
+        } else {
+            try {
+                root = objectMapper.readTree(json);
+                contract = objectMapper.treeToValue(root, ModuleContract.class);
+            } catch (Exception e) {
+                log.warn("Module definition could not be parsed: moduleId={} error={}", module.getId(), e.getMessage());
+                contractError = "MODULE_CONTRACT_PARSE_ERROR";
+            }
+        }
+
+        List<String> fieldKeys = new ArrayList<>();
+        Map<String, Map<String, List<JsonPointer>>> byProvider = new LinkedHashMap<>();
+        for (ModuleFieldEntity field : module.getFields()) {
+            fieldKeys.add(field.getFieldKey());
+            for (JsonNode m : parseMappings(field)) {
+                String provider = text(m.get("provider"));
+                String path = text(m.get("path"));
+                if (provider == null || path == null) continue;
+                try {
+                    byProvider.computeIfAbsent(provider, k -> new LinkedHashMap<>())
+                            .computeIfAbsent(field.getFieldKey(), k -> new ArrayList<>())
+                            .add(JsonPointer.compile(path));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ignoring invalid provider mapping path '{}' on field {}", path, field.getFieldKey());
+                }
+            }
+        }
+
+        Map<String, List<CompiledModule.FieldMapping>> mappingsByProvider = new LinkedHashMap<>();
+        byProvider.forEach((provider, fields) -> mappingsByProvider.put(provider, fields.entrySet().stream()
+                .map(e -> new CompiledModule.FieldMapping(e.getKey(), List.copyOf(e.getValue())))
+                .toList()));
+
+        Set<String> stateKeys = new LinkedHashSet<>();
+        List<String> requiredFields = List.of();
+        Map<String, FieldContract> fields = new LinkedHashMap<>();
+        String defaultStateKey = "OWNED";
+        if (contract != null) {
+            for (FieldContract f : contract.fields()) {
+                fields.put(f.key(), f);
+            }
+            for (StateContract s : contract.states()) {
+                stateKeys.add(s.key().toUpperCase(Locale.ROOT));
+            }
+            if (!contract.states().isEmpty()) {
+                defaultStateKey = contract.states().getFirst().key();
+            }
+            requiredFields = contract.fields().stream()
+                    .filter(FieldContract::required)
+                    .map(FieldContract::key)
+                    .toList();
+        }
+
+        return new CompiledModule(
+                module.getId(),
+                module.getChecksum(),
+                contract,
+                contractError,
+                ModuleProviderSpec.fromDefinition(root),
+                List.copyOf(fieldKeys),
+                Map.copyOf(fields),
+                Map.copyOf(mappingsByProvider),
+                Set.copyOf(stateKeys),
+                defaultStateKey,
+                requiredFields
+        );
+    }
+
+    private Iterable<JsonNode> parseMappings(ModuleFieldEntity field) {
+        String json = field.getProviderMappings();
+        if (json == null || json.isBlank()) return List.of();
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            return node != null && node.isArray() ? node : List.of();
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+
+    private static String text(JsonNode n) {
+        return (n == null || n.isNull() || n.isMissingNode()) ? null : n.asString(null);
+    }
+}
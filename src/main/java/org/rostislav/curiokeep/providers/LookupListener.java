@@ -0,0 +1,21 @@
+package org.rostislav.curiokeep.providers;
+
+import java.util.Map;
+
+/**
+ * Observes a provider lookup while it runs. Callbacks come from the thread running the lookup, one at a time,
+ * in the order answers arrive.
+ */
+public interface LookupListener {
+
+    LookupListener NONE = new LookupListener() {
+    };
+
+    /** A provider result as it arrives, including results chained from it (e.g. ComicVine hydration). */
+    default void onResult(ProviderResult result) {
+    }
+
+    /** Merged attributes over every result received so far, emitted after each answer that added results. */
+    default void onMerged(Map<String, Object> mergedAttributes) {
+    }
+}
@@ -2,7 +2,9 @@ package org.rostislav.curiokeep.providers;
 
 import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface MetadataProvider {
@@ -13,6 +15,27 @@ public interface MetadataProvider {
 
     Optional<ProviderResult> fetch(ItemIdentifierEntity.IdType idType, String idValue);
 
+    /**
+     * Largest number of identifiers {@link #fetchBatch} resolves in one request; 1 means the provider has no
+     * multi-ID endpoint and batches are just sequential {@link #fetch} calls.
+     */
+    default int maxBatchSize() {
+        return 1;
+    }
+
+    /**
+     * Resolves several identifiers of one type, keyed by the requested value; identifiers without a match are
+     * absent from the map. Implementations should throw when the request itself fails so the failure is not
+     * mistaken for "no match" and cached for every identifier in the batch.
+     */
+    default Map<String, ProviderResult> fetchBatch(ItemIdentifierEntity.IdType idType, List<String> idValues) {
+        Map<String, ProviderResult> out = new LinkedHashMap<>();
+        for (String idValue : idValues) {
+            fetch(idType, idValue).ifPresent(r -> out.put(idValue, r));
+        }
+        return out;
+    }
+
     default ProviderDescriptor descriptor() {
         return ProviderDescriptor.basic(this);
     }
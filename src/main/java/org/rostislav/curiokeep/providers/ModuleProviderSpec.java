@@ -1,8 +1,6 @@
 package org.rostislav.curiokeep.providers;
 
-import org.rostislav.curiokeep.modules.entities.ModuleDefinitionEntity;
 import tools.jackson.databind.JsonNode;
-import tools.jackson.databind.ObjectMapper;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -10,8 +8,10 @@ import java.util.List;
 
 public record ModuleProviderSpec(String key, int priority, boolean enabled) {
 
-    public static List<ModuleProviderSpec> fromModule(ModuleDefinitionEntity module, ObjectMapper objectMapper) {
-        JsonNode root = parse(module.getDefinitionJson(), objectMapper);
+    /**
+     * Reads the provider list of a parsed module definition, sorted by priority.
+     */
+    public static List<ModuleProviderSpec> fromDefinition(JsonNode root) {
         if (root == null || root.isNull() || root.isMissingNode()) return List.of();
 
         List<ModuleProviderSpec> out = new ArrayList<>();
@@ -27,16 +27,7 @@ public record ModuleProviderSpec(String key, int priority, boolean enabled) {
         }
 
         out.sort(Comparator.comparingInt(ModuleProviderSpec::priority));
-        return out;
-    }
-
-    private static JsonNode parse(String json, ObjectMapper objectMapper) {
-        if (json == null || json.isBlank()) return null;
-        try {
-            return objectMapper.readTree(json);
-        } catch (Exception e) {
-            return null;
-        }
+        return List.copyOf(out);
     }
 
     private static String text(JsonNode n) {
@@ -0,0 +1,105 @@
+package org.rostislav.curiokeep.providers;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Passive health signal: outcome and latency of every HTTP request made on behalf of a provider, kept as
+ * exponentially weighted averages so recent requests dominate. Durations of whole provider fetches are kept
+ * separately in a rolling window so lookups can derive latency percentiles from them.
+ */
+@Component
+public class ProviderCallStats {
+
+    private static final double ALPHA = 0.2;
+    private static final int FETCH_WINDOW = 256;
+
+    private final Map<String, Stat> stats = new ConcurrentHashMap<>();
+    private final Map<String, LatencyWindow> fetchLatencies = new ConcurrentHashMap<>();
+
+    public void record(String providerKey, boolean success, long latencyNanos) {
+        stats.computeIfAbsent(providerKey, k -> new Stat()).record(success, latencyNanos, Instant.now());
+    }
+
+    public Optional<Snapshot> snapshot(String providerKey) {
+        Stat stat = stats.get(providerKey);
+        return stat == null ? Optional.empty() : Optional.of(stat.snapshot());
+    }
+
+    /**
+     * Records how long a successful provider fetch took end to end, including limiter waits and every request
+     * it made. Cache hits never reach the provider and are not recorded.
+     */
+    public void recordFetch(String providerKey, long latencyNanos) {
+        fetchLatencies.computeIfAbsent(providerKey, k -> new LatencyWindow()).record(latencyNanos);
+    }
+
+    /**
+     * The {@code percentile} (0..1) of the provider's last {@value #FETCH_WINDOW} fetch durations, or empty while
+     * fewer than {@code minSamples} fetches have been recorded.
+     */
+    public Optional<Duration> fetchLatency(String providerKey, double percentile, int minSamples) {
+        LatencyWindow window = fetchLatencies.get(providerKey);
+        return window == null ? Optional.empty() : window.percentile(percentile, minSamples);
+    }
+
+    /**
+     * @param errorRate     weighted share of failed requests, 0..1
+     * @param latencyMillis weighted request latency
+     */
+    public record Snapshot(long samples, double errorRate, long latencyMillis,
+                           Instant lastSampleAt, Instant lastSuccessAt, Instant lastFailureAt) {}
+
+    private static final class Stat {
+        private long samples;
+        private double errorRate;
+        private double latencyNanos;
+        private Instant lastSampleAt;
+        private Instant lastSuccessAt;
+        private Instant lastFailureAt;
+
+        synchronized void record(boolean success, long nanos, Instant now) {
+            double failed = success ? 0 : 1;
+            errorRate = samples == 0 ? failed : errorRate + ALPHA * (failed - errorRate);
+            latencyNanos = samples == 0 ? nanos : latencyNanos + ALPHA * (nanos - latencyNanos);
+            samples++;
+            lastSampleAt = now;
+            if (success) lastSuccessAt = now;
+            else lastFailureAt = now;
+        }
+
+        synchronized Snapshot snapshot() {
+            return new Snapshot(samples, errorRate, Math.round(latencyNanos / 1_000_000d),
+                    lastSampleAt, lastSuccessAt, lastFailureAt);
+        }
+    }
+
+    private static final class LatencyWindow {
+        private final long[] nanos = new long[FETCH_WINDOW];
+        private int size;
+        private int next;
+
+        synchronized void record(long latencyNanos) {
+            nanos[next] = latencyNanos;
+            next = (next + 1) % nanos.length;
+            size = Math.min(size + 1, nanos.length);
+        }
+
+        Optional<Duration> percentile(double percentile, int minSamples) {
+            long[] sorted;
+            synchronized (this) {
+                if (size == 0 || size < minSamples) return Optional.empty();
+                sorted = Arrays.copyOf(nanos, size);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return Optional.of(Duration.ofNanos(sorted[Math.clamp(index, 0, sorted.length - 1)]));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.rostislav.curiokeep.providers;
 
+import org.rostislav.curiokeep.providers.cache.ProviderResponseCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tools.jackson.core.JacksonException;
@@ -17,10 +18,12 @@ public class ProviderChainingService {
 
     private final ObjectMapper objectMapper;
     private final ProviderRegistry registry;
+    private final ProviderResponseCache cache;
 
-    public ProviderChainingService(ObjectMapper objectMapper, ProviderRegistry registry) {
+    public ProviderChainingService(ObjectMapper objectMapper, ProviderRegistry registry, ProviderResponseCache cache) {
         this.objectMapper = objectMapper;
         this.registry = registry;
+        this.cache = cache;
     }
 
     /**
@@ -37,7 +40,7 @@ public class ProviderChainingService {
             if (cvId != null) {
                 registry.get("comicvine").ifPresent(cv -> {
                     try {
-                        cv.fetch(org.rostislav.curiokeep.items.entities.ItemIdentifierEntity.IdType.CUSTOM, cvId)
+                        cache.fetch(cv, org.rostislav.curiokeep.items.entities.ItemIdentifierEntity.IdType.CUSTOM, cvId)
                                 .ifPresent(results::add);
                     } catch (Exception ex) {
                         log.warn("ComicVine hydrate failed for {}: {}", cvId, ex.getMessage());
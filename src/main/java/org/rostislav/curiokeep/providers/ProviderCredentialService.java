@@ -1,5 +1,6 @@
 package org.rostislav.curiokeep.providers;
 
+import org.rostislav.curiokeep.providers.cache.ProviderResponseCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -28,15 +29,18 @@ public class ProviderCredentialService implements ProviderCredentialLookup {
     private final ProviderCredentialRepository repository;
     private final ObjectMapper objectMapper;
     private final TextEncryptor encryptor;
+    private final ProviderResponseCache responseCache;
     private final ConcurrentMap<String, ProviderCredential> cache = new ConcurrentHashMap<>();
     private volatile boolean loaded = false;
 
     public ProviderCredentialService(ProviderCredentialRepository repository,
                                      ObjectMapper objectMapper,
+                                     ProviderResponseCache responseCache,
                                      @Value("${curiokeep.providers.credentials.encryption.password:changeme}") String password,
                                      @Value("${curiokeep.providers.credentials.encryption.salt:0123456789abcdef}") String salt) {
         this.repository = repository;
         this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
         TextEncryptor enc;
         try {
             if (salt != null && salt.matches("(?i)[0-9a-f]+") && (salt.length() % 2 == 0)) {
@@ -115,12 +119,15 @@ public class ProviderCredentialService implements ProviderCredentialLookup {
         ProviderCredentialEntity saved = repository.save(entity);
         ProviderCredential credential = new ProviderCredential(saved.getProviderKey(), normalized, saved.getUpdatedAt());
         cache.put(providerKey, credential);
+        // Answers cached without (or with other) credentials are no longer representative.
+        responseCache.invalidateProvider(providerKey);
         return credential;
     }
 
     public void deleteCredentials(String providerKey) {
         repository.deleteById(providerKey);
         cache.remove(providerKey);
+        responseCache.invalidateProvider(providerKey);
     }
 
     private Optional<ProviderCredential> decode(ProviderCredentialEntity entity) {
@@ -1,9 +1,9 @@
 package org.rostislav.curiokeep.providers;
 
-import org.rostislav.curiokeep.modules.entities.ModuleFieldEntity;
+import org.rostislav.curiokeep.modules.CompiledModule;
 import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonPointer;
 import tools.jackson.databind.JsonNode;
-import tools.jackson.databind.ObjectMapper;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -11,16 +11,6 @@ import java.util.Map;
 @Component
 public class ProviderFieldMapper {
 
-    private final ObjectMapper objectMapper;
-
-    public ProviderFieldMapper(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
-    }
-
-    private static String text(JsonNode n) {
-        return (n == null || n.isNull() || n.isMissingNode()) ? null : n.asText(null);
-    }
-
     private static Object toJava(JsonNode n) {
         if (n.isTextual()) return n.asText();
         if (n.isInt()) return n.asInt();
@@ -32,39 +22,22 @@ public class ProviderFieldMapper {
     }
 
     /**
-     * Maps provider JSON into module attribute map using module field providerMappings.
+     * Maps provider JSON into module attribute map using the module's precompiled provider mappings.
      * providerJson is expected to be normalized for the provider (your decision).
      */
-    public Map<String, Object> mapFields(JsonNode providerJson, Iterable<ModuleFieldEntity> moduleFields, String providerKey) {
+    public Map<String, Object> mapFields(JsonNode providerJson, CompiledModule module, String providerKey) {
         Map<String, Object> result = new HashMap<>();
 
-        for (ModuleFieldEntity field : moduleFields) {
-            JsonNode mappings = parse(field.getProviderMappings());
-            if (mappings == null || !mappings.isArray()) continue;
-
-            for (JsonNode m : mappings) {
-                String p = text(m.get("provider"));
-                String path = text(m.get("path"));
-                if (p == null || path == null) continue;
-                if (!providerKey.equals(p)) continue;
-
+        for (CompiledModule.FieldMapping mapping : module.mappingsFor(providerKey)) {
+            for (JsonPointer path : mapping.paths()) {
                 JsonNode value = providerJson.at(path);
                 if (value == null || value.isMissingNode() || value.isNull()) continue;
 
-                result.put(field.getFieldKey(), toJava(value));
+                result.put(mapping.fieldKey(), toJava(value));
                 break; // first match wins for this field
             }
         }
 
         return result;
     }
-
-    private JsonNode parse(String json) {
-        if (json == null || json.isBlank()) return null;
-        try {
-            return objectMapper.readTree(json);
-        } catch (Exception e) {
-            return null;
-        }
-    }
 }
@@ -0,0 +1,36 @@
+package org.rostislav.curiokeep.providers;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Background provider health checks. Each provider is probed every {@code interval} plus up to {@code jitter},
+ * doubling the interval after each failed probe up to {@code maxBackoff}. Outcomes of real lookups are blended
+ * in once at least {@code minSamples} were seen within {@code passiveWindow}; an error rate at or above
+ * {@code errorRateThreshold} marks the provider unavailable regardless of the last probe.
+ */
+@ConfigurationProperties(prefix = "curiokeep.providers.health")
+public record ProviderHealthProps(
+        Boolean enabled,
+        Duration interval,
+        Duration jitter,
+        Duration maxBackoff,
+        Duration passiveWindow,
+        Integer minSamples,
+        Double errorRateThreshold
+) {
+    public ProviderHealthProps {
+        enabled = enabled == null || enabled;
+        interval = interval == null ? Duration.ofMinutes(10) : interval;
+        jitter = jitter == null ? Duration.ofMinutes(1) : jitter;
+        maxBackoff = maxBackoff == null ? Duration.ofHours(1) : maxBackoff;
+        passiveWindow = passiveWindow == null ? Duration.ofMinutes(15) : passiveWindow;
+        minSamples = minSamples == null || minSamples < 1 ? 5 : minSamples;
+        errorRateThreshold = errorRateThreshold == null ? 0.5 : errorRateThreshold;
+    }
+
+    public static ProviderHealthProps defaults() {
+        return new ProviderHealthProps(null, null, null, null, null, null, null);
+    }
+}
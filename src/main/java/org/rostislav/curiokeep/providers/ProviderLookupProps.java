@@ -0,0 +1,73 @@
+package org.rostislav.curiokeep.providers;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Deadlines for the concurrent provider lookup. {@code timeout} bounds the whole lookup,
+ * {@code providerTimeout} bounds each provider unless overridden in {@code providerTimeouts}.
+ * {@code earlyStop} controls when a lookup stops issuing providers because the module is already filled,
+ * {@code hedge} when a slow wave is raced against the next one.
+ */
+@ConfigurationProperties(prefix = "curiokeep.providers.lookup")
+public record ProviderLookupProps(
+        Duration timeout,
+        Duration providerTimeout,
+        Map<String, Duration> providerTimeouts,
+        EarlyStop earlyStop,
+        Hedge hedge
+) {
+    public ProviderLookupProps {
+        timeout = timeout == null ? Duration.ofSeconds(15) : timeout;
+        providerTimeout = providerTimeout == null ? Duration.ofSeconds(10) : providerTimeout;
+        providerTimeouts = providerTimeouts == null ? Map.of() : Map.copyOf(providerTimeouts);
+        earlyStop = earlyStop == null ? EarlyStop.DEFAULT : earlyStop.orElse(EarlyStop.DEFAULT);
+        hedge = hedge == null ? Hedge.DEFAULT : hedge.orElse(Hedge.DEFAULT);
+    }
+
+    public static ProviderLookupProps defaults() {
+        return new ProviderLookupProps(null, null, null, null, null);
+    }
+
+    public Duration timeoutFor(String providerKey) {
+        Duration d = providerTimeouts.getOrDefault(providerKey, providerTimeout);
+        return d.compareTo(timeout) > 0 ? timeout : d;
+    }
+
+    /**
+     * Providers are issued in priority order, {@code waveSize} at a time. After each wave the lookup stops when
+     * results scored at least {@code minConfidence} fill every required field, at least {@code minFillRatio} of
+     * the fields the module maps from its providers, and supply an image.
+     */
+    public record EarlyStop(Boolean enabled, Integer waveSize, Double minFillRatio, Integer minConfidence) {
+        static final EarlyStop DEFAULT = new EarlyStop(true, 1, 0.75, 50);
+
+        EarlyStop orElse(EarlyStop fallback) {
+            return new EarlyStop(
+                    enabled == null ? fallback.enabled() : enabled,
+                    waveSize == null || waveSize < 1 ? fallback.waveSize() : waveSize,
+                    minFillRatio == null || minFillRatio <= 0 || minFillRatio > 1 ? fallback.minFillRatio() : minFillRatio,
+                    minConfidence == null ? fallback.minConfidence() : minConfidence);
+        }
+    }
+
+    /**
+     * When a wave has not answered within the {@code percentile} of its providers' recent fetch durations, the
+     * next wave's providers for the same identifier types are issued alongside it and whichever fills the module
+     * first wins. Providers with fewer than {@code minSamples} recorded fetches are never hedged, and no hedge
+     * fires before {@code minDelay}.
+     */
+    public record Hedge(Boolean enabled, Double percentile, Integer minSamples, Duration minDelay) {
+        static final Hedge DEFAULT = new Hedge(true, 0.9, 20, Duration.ofMillis(250));
+
+        Hedge orElse(Hedge fallback) {
+            return new Hedge(
+                    enabled == null ? fallback.enabled() : enabled,
+                    percentile == null || percentile <= 0 || percentile >= 1 ? fallback.percentile() : percentile,
+                    minSamples == null || minSamples < 1 ? fallback.minSamples() : minSamples,
+                    minDelay == null || minDelay.isNegative() ? fallback.minDelay() : minDelay);
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package org.rostislav.curiokeep.providers;
 
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
+import org.rostislav.curiokeep.modules.CompiledModule;
+import org.rostislav.curiokeep.modules.ModuleRegistry;
 import org.rostislav.curiokeep.modules.entities.ModuleDefinitionEntity;
-import org.rostislav.curiokeep.modules.entities.ModuleFieldEntity;
 import org.springframework.stereotype.Service;
 import org.rostislav.curiokeep.providers.api.dto.LookupResponse;
+import org.rostislav.curiokeep.providers.cache.ProviderResponseCache;
+import org.rostislav.curiokeep.providers.limits.ProviderCircuitBreakers;
+import org.rostislav.curiokeep.providers.limits.ProviderCircuitOpenException;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Collections;
@@ -21,6 +28,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Service
 public class ProviderLookupService {
@@ -31,12 +48,30 @@ public class ProviderLookupService {
     private final ProviderFieldMapper mapper;
     private final ObjectMapper objectMapper;
     private final ProviderChainingService chainingService;
+    private final ProviderLookupProps props;
+    private final ProviderResponseCache cache;
+    private final ModuleRegistry modules;
+    private final ProviderCircuitBreakers breakers;
+    private final ProviderCallStats callStats;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
-    public ProviderLookupService(ProviderRegistry registry, ProviderFieldMapper mapper, ObjectMapper objectMapper) {
+    public ProviderLookupService(ProviderRegistry registry,
+                                 ProviderFieldMapper mapper,
+                                 ObjectMapper objectMapper,
+                                 ProviderLookupProps props,
+                                 ProviderResponseCache cache,
+                                 ModuleRegistry modules,
+                                 ProviderCircuitBreakers breakers,
+                                 ProviderCallStats callStats) {
         this.registry = registry;
         this.mapper = mapper;
         this.objectMapper = objectMapper;
-        this.chainingService = new ProviderChainingService(objectMapper, registry);
+        this.props = props;
+        this.cache = cache;
+        this.modules = modules;
+        this.breakers = breakers;
+        this.callStats = callStats;
+        this.chainingService = new ProviderChainingService(objectMapper, registry, cache);
     }
 
     public LookupResponse lookup(ModuleDefinitionEntity module, List<ItemIdentifierEntity> identifiers) {
@@ -44,45 +79,86 @@ public class ProviderLookupService {
     }
 
     public LookupResponse lookup(ModuleDefinitionEntity module, List<ItemIdentifierEntity> identifiers, List<String> providerFilter, String query) {
+        return lookup(module, identifiers, providerFilter, query, false);
+    }
 
-        List<ModuleProviderSpec> providerSpecs = ModuleProviderSpec.fromModule(module, objectMapper)
-                .stream()
-                .filter(ModuleProviderSpec::enabled)
-                .filter(p -> providerFilter == null || providerFilter.isEmpty() || providerFilter.contains(p.key()))
-                .toList();
+    /**
+     * Looks the identifiers up with the module's providers. Unless {@code full} is set, providers are issued in
+     * priority waves and the remaining ones are skipped once the results already fill the module (see
+     * {@link ProviderLookupProps.EarlyStop}); {@code full} queries every provider, e.g. for comparison views.
+     */
+    public LookupResponse lookup(ModuleDefinitionEntity module,
+                                 List<ItemIdentifierEntity> identifiers,
+                                 List<String> providerFilter,
+                                 String query,
+                                 boolean full) {
+        return lookup(module, identifiers, providerFilter, query, full, LookupListener.NONE);
+    }
 
-        Map<String, Integer> priorityByProvider = new LinkedHashMap<>();
-        for (ModuleProviderSpec spec : providerSpecs) {
-            priorityByProvider.put(spec.key(), spec.priority());
-        }
+    /**
+     * Runs {@link #lookup(ModuleDefinitionEntity, List, List, String, boolean, LookupListener)} on a virtual thread
+     * so a caller can stream the listener's events while it completes.
+     */
+    public CompletableFuture<LookupResponse> lookupAsync(ModuleDefinitionEntity module,
+                                                         List<ItemIdentifierEntity> identifiers,
+                                                         List<String> providerFilter,
+                                                         String query,
+                                                         boolean full,
+                                                         LookupListener listener) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return CompletableFuture.supplyAsync(() -> withMdc(mdc,
+                () -> lookup(module, identifiers, providerFilter, query, full, listener)), executor);
+    }
+
+    /**
+     * As {@link #lookup(ModuleDefinitionEntity, List, List, String, boolean)}, reporting every provider answer and
+     * the merged attributes so far to {@code listener} as they arrive.
+     */
+    public LookupResponse lookup(ModuleDefinitionEntity module,
+                                 List<ItemIdentifierEntity> identifiers,
+                                 List<String> providerFilter,
+                                 String query,
+                                 boolean full,
+                                 LookupListener listener) {
 
-        List<ProviderResult> results = new ArrayList<>();
+        CompiledModule compiled = modules.get(module);
+        List<ModuleProviderSpec> providerSpecs = enabledSpecs(compiled, providerFilter);
 
         boolean comicvineEnabled = providerSpecs.stream()
             .anyMatch(p -> "comicvine".equals(p.key()) && p.enabled());
 
+        Map<String, String> skippedProviders = new LinkedHashMap<>();
+        List<ModuleProviderSpec> active = new ArrayList<>();
         for (ModuleProviderSpec spec : providerSpecs) {
-            registry.get(spec.key()).ifPresent(provider -> {
-                for (ItemIdentifierEntity id : identifiers) {
-                    if (!provider.supports(id.getIdType())) continue;
-                    try {
-                        provider.fetch(id.getIdType(), id.getIdValue()).ifPresent(pr -> {
-                            results.add(pr);
-                            chainingService.applyChains(spec, pr, comicvineEnabled, results);
-                        });
-                    } catch (Exception ex) {
-                        log.warn("Provider {} failed for {}: {}", spec.key(), id.getIdValue(), ex.getMessage());
-                    }
-                }
-            });
+            Optional<String> open = breakers.openReason(spec.key());
+            if (open.isPresent()) {
+                skippedProviders.put(spec.key(), open.get());
+            } else {
+                active.add(spec);
+            }
+        }
+
+        // Issue providers in priority waves; every provider x identifier fetch runs on its own virtual thread.
+        // Results are kept in submission order so they keep the module-declared order.
+        LookupRun run = new LookupRun(compiled, providerSpecs, active, identifiers, comicvineEnabled, skippedProviders, listener);
+        run.run(waves(active, full));
+        return merge(compiled, providerSpecs, run.results, run.timedOutProviders, skippedProviders);
+    }
+
+    private LookupResponse merge(CompiledModule compiled,
+                                 List<ModuleProviderSpec> providerSpecs,
+                                 List<ProviderResult> results,
+                                 Set<String> timedOutProviders,
+                                 Map<String, String> skippedProviders) {
+        Map<String, Integer> priorityByProvider = new LinkedHashMap<>();
+        for (ModuleProviderSpec spec : providerSpecs) {
+            priorityByProvider.put(spec.key(), spec.priority());
         }
 
         // Merge mapped attributes: higher priority should win -> apply in priority order and only fill missing
         Map<String, Object> merged = new LinkedHashMap<>();
         List<ProviderAsset> assets = new ArrayList<>();
 
-        Iterable<ModuleFieldEntity> fields = module.getFields();
-
         record Candidate(ProviderResult result, int priority, int score) {}
 
         Comparator<Candidate> candidateComparator = Comparator
@@ -114,15 +190,14 @@ public class ProviderLookupService {
         // attributes first; later providers only fill missing values. This respects
         // the module author's preferred attribute sourcing while best-provider
         // selection is still based on priority/score.
-        for (ModuleFieldEntity field : fields) {
-            String key = field.getFieldKey();
+        for (String key : compiled.fieldKeys()) {
             for (ModuleProviderSpec spec : providerSpecs) {
                 Candidate candidate = candidateByProvider.get(spec.key());
                 if (candidate == null) continue;
                 Map<String, Object> mapped = mappedCache.computeIfAbsent(candidate.result().providerKey(), providerKey -> {
                     JsonNode normNode = safeNormalizedNode(candidate.result());
                     try {
-                        return mapper.mapFields(normNode, fields, candidate.result().providerKey());
+                        return mapper.mapFields(normNode, compiled, candidate.result().providerKey());
                     } catch (Exception ex) {
                         log.warn("Field mapping failed for provider {}: {}", candidate.result().providerKey(), ex.getMessage());
                         return Collections.emptyMap();
@@ -157,7 +232,364 @@ public class ProviderLookupService {
 
         List<ProviderAsset> uniqueAssets = dedupeAssets(assets);
 
-        return new LookupResponse(results, best, merged, uniqueAssets);
+        return new LookupResponse(results, best, merged, uniqueAssets, List.copyOf(timedOutProviders), skippedProviders);
+    }
+
+    /**
+     * Warms the response cache for a bulk import: identifiers are resolved through the batch-capable providers
+     * of the module's first lookup wave in as few requests as its multi-ID endpoint allows, so the per-row lookups that follow are
+     * served from memory. Providers without a batch endpoint are left to those lookups. Failures are logged
+     * and otherwise ignored.
+     */
+    public void prefetch(ModuleDefinitionEntity module, List<ItemIdentifierEntity> identifiers, List<String> providerFilter) {
+        if (!cache.enabled() || identifiers.size() < 2) return;
+
+        long deadline = System.nanoTime() + props.timeout().toNanos();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        List<Future<?>> futures = new ArrayList<>();
+        List<ModuleProviderSpec> active = enabledSpecs(modules.get(module), providerFilter).stream()
+                .filter(spec -> breakers.openReason(spec.key()).isEmpty())
+                .toList();
+        // Later waves may never be issued, so only the providers every lookup will call are batch-fetched.
+        for (ModuleProviderSpec spec : waves(active, false).getFirst()) {
+            registry.get(spec.key()).filter(p -> p.maxBatchSize() > 1).ifPresent(provider -> {
+                for (List<ItemIdentifierEntity> group : groupForBatches(provider, identifiers)) {
+                    if (group.size() < 2) continue;
+                    futures.add(executor.submit(() -> withMdc(mdc, () ->
+                            cache.fetchBatch(provider, group.getFirst().getIdType(), idValues(group)))));
+                }
+            });
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                future.cancel(true);
+            } catch (ExecutionException ex) {
+                log.debug("Prefetch failed: {}", ex.getCause() == null ? ex.getMessage() : ex.getCause().getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                return;
+            }
+        }
+    }
+
+    private static List<ModuleProviderSpec> enabledSpecs(CompiledModule compiled, List<String> providerFilter) {
+        return compiled.providerSpecs()
+                .stream()
+                .filter(ModuleProviderSpec::enabled)
+                .filter(p -> providerFilter == null || providerFilter.isEmpty() || providerFilter.contains(p.key()))
+                .toList();
+    }
+
+    /**
+     * Splits the identifiers a provider supports into fetch groups: one group per identifier type when the
+     * provider has a multi-ID endpoint, otherwise one identifier per group.
+     */
+    private static List<List<ItemIdentifierEntity>> groupForBatches(MetadataProvider provider, List<ItemIdentifierEntity> identifiers) {
+        boolean batched = provider.maxBatchSize() > 1;
+        Map<ItemIdentifierEntity.IdType, List<ItemIdentifierEntity>> byType = new LinkedHashMap<>();
+        List<List<ItemIdentifierEntity>> groups = new ArrayList<>();
+        for (ItemIdentifierEntity id : identifiers) {
+            if (!provider.supports(id.getIdType())) continue;
+            if (batched) {
+                byType.computeIfAbsent(id.getIdType(), t -> new ArrayList<>()).add(id);
+            } else {
+                groups.add(List.of(id));
+            }
+        }
+        groups.addAll(byType.values());
+        return groups;
+    }
+
+    private static List<String> idValues(List<ItemIdentifierEntity> group) {
+        return group.stream().map(ItemIdentifierEntity::getIdValue).toList();
+    }
+
+    private List<ProviderResult> fetchGroup(ModuleProviderSpec spec, MetadataProvider provider, List<ItemIdentifierEntity> group, boolean comicvineEnabled) {
+        List<ProviderResult> out = new ArrayList<>();
+        Map<String, Optional<ProviderResult>> fetched = cache.fetchBatch(provider, group.getFirst().getIdType(), idValues(group));
+        for (ItemIdentifierEntity id : group) {
+            fetched.getOrDefault(id.getIdValue(), Optional.empty()).ifPresent(pr -> {
+                out.add(pr);
+                chainingService.applyChains(spec, pr, comicvineEnabled, out);
+            });
+        }
+        return out;
+    }
+
+    private record FetchTask(ModuleProviderSpec spec, Future<List<ProviderResult>> future, long deadline) {}
+
+    /**
+     * State of one lookup across its waves. Each wave is awaited against the per-provider deadline (from the
+     * moment the provider was issued) and the overall deadline (from the lookup start). A wave that is slower
+     * than its providers usually are is hedged with the next wave, see {@link ProviderLookupProps.Hedge}.
+     */
+    private final class LookupRun {
+        private final CompiledModule compiled;
+        private final List<ModuleProviderSpec> providerSpecs;
+        private final List<ModuleProviderSpec> active;
+        private final List<ItemIdentifierEntity> identifiers;
+        private final boolean comicvineEnabled;
+        private final Map<String, String> skippedProviders;
+        private final LookupListener listener;
+        private final Map<String, String> mdc = MDC.getCopyOfContextMap();
+        private final long startNanos = System.nanoTime();
+        private final long overallDeadline = startNanos + props.timeout().toNanos();
+        private final CompletionService<List<ProviderResult>> completions = new ExecutorCompletionService<>(executor);
+        private final List<ProviderResult> results = new ArrayList<>();
+        private final Set<String> timedOutProviders = new LinkedHashSet<>();
+
+        LookupRun(CompiledModule compiled,
+                  List<ModuleProviderSpec> providerSpecs,
+                  List<ModuleProviderSpec> active,
+                  List<ItemIdentifierEntity> identifiers,
+                  boolean comicvineEnabled,
+                  Map<String, String> skippedProviders,
+                  LookupListener listener) {
+            this.compiled = compiled;
+            this.providerSpecs = providerSpecs;
+            this.active = active;
+            this.identifiers = identifiers;
+            this.comicvineEnabled = comicvineEnabled;
+            this.skippedProviders = skippedProviders;
+            this.listener = listener;
+        }
+
+        void run(List<List<ModuleProviderSpec>> waves) {
+            int next = 0;
+            while (next < waves.size()) {
+                if (next > 0 && fieldsSatisfied(compiled, active, results)) {
+                    skip(waves.subList(next, waves.size()), "not needed, module fields already filled");
+                    return;
+                }
+                List<ModuleProviderSpec> wave = waves.get(next++);
+                List<ModuleProviderSpec> hedge = next < waves.size() ? waves.get(next) : List.of();
+                long hedgeDelay = hedgeDelayNanos(wave, hedge);
+
+                List<FetchTask> round = new ArrayList<>();
+                Map<Future<List<ProviderResult>>, FetchTask> open = new LinkedHashMap<>();
+                Map<FetchTask, List<ProviderResult>> answers = new LinkedHashMap<>();
+                long issuedAt = submit(wave, round, open);
+                long hedgeAt = hedgeDelay < 0 ? Long.MAX_VALUE : issuedAt + hedgeDelay;
+                boolean hedged = false;
+
+                while (!open.isEmpty()) {
+                    long now = System.nanoTime();
+                    if (now >= hedgeAt) {
+                        log.debug("Hedging {} with {} after {} ms", keys(wave), keys(hedge), (now - issuedAt) / 1_000_000);
+                        submit(hedge, round, open);
+                        next++;
+                        hedged = true;
+                        hedgeAt = Long.MAX_VALUE;
+                        continue;
+                    }
+                    expire(open, now);
+                    if (open.isEmpty()) break;
+
+                    long wakeAt = Math.min(hedgeAt, open.values().stream().mapToLong(FetchTask::deadline).min().orElse(now));
+                    Future<List<ProviderResult>> done;
+                    try {
+                        done = completions.poll(Math.max(0L, wakeAt - now), TimeUnit.NANOSECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        open.keySet().forEach(f -> f.cancel(true));
+                        round.forEach(t -> results.addAll(answers.getOrDefault(t, List.of())));
+                        return;
+                    }
+                    FetchTask task = done == null ? null : open.remove(done);
+                    if (task == null) continue;
+                    List<ProviderResult> answer = answer(task);
+                    answers.put(task, answer);
+                    publish(answer, round, answers);
+
+                    if (hedged && !open.isEmpty() && fieldsSatisfied(compiled, active, withEarlier(answered(round, answers)))) {
+                        // The loser is abandoned rather than interrupted: its request is already out, finishing it
+                        // warms the cache and keeps slow answers in the latency window the hedge delay comes from.
+                        for (FetchTask loser : open.values()) {
+                            loser.future().cancel(false);
+                            skippedProviders.putIfAbsent(loser.spec().key(), "abandoned, a hedged provider filled the module fields first");
+                        }
+                        open.clear();
+                    }
+                }
+                results.addAll(answered(round, answers));
+            }
+        }
+
+        private long submit(List<ModuleProviderSpec> wave, List<FetchTask> round, Map<Future<List<ProviderResult>>, FetchTask> open) {
+            long issuedAt = System.nanoTime();
+            for (ModuleProviderSpec spec : wave) {
+                registry.get(spec.key()).ifPresent(provider -> {
+                    long deadline = Math.min(overallDeadline, issuedAt + props.timeoutFor(spec.key()).toNanos());
+                    for (List<ItemIdentifierEntity> group : groupForBatches(provider, identifiers)) {
+                        Supplier<List<ProviderResult>> fetch = group.size() == 1
+                                ? () -> fetchOne(spec, provider, group.getFirst(), comicvineEnabled)
+                                : () -> fetchGroup(spec, provider, group, comicvineEnabled);
+                        FetchTask task = new FetchTask(spec, completions.submit(() -> withMdc(mdc, fetch)), deadline);
+                        round.add(task);
+                        open.put(task.future(), task);
+                    }
+                });
+            }
+            return issuedAt;
+        }
+
+        private void expire(Map<Future<List<ProviderResult>>, FetchTask> open, long now) {
+            open.values().removeIf(task -> {
+                if (task.deadline() > now) return false;
+                task.future().cancel(true);
+                timedOutProviders.add(task.spec().key());
+                log.warn("Provider {} timed out after {} ms", task.spec().key(), (now - startNanos) / 1_000_000);
+                return true;
+            });
+        }
+
+        private List<ProviderResult> answer(FetchTask task) {
+            try {
+                return task.future().get();
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof ProviderCircuitOpenException open) {
+                    skippedProviders.putIfAbsent(task.spec().key(), open.getMessage());
+                } else {
+                    log.warn("Provider {} failed: {}", task.spec().key(), ex.getCause() == null ? ex.getMessage() : ex.getCause().getMessage());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of();
+        }
+
+        private List<ProviderResult> answered(List<FetchTask> round, Map<FetchTask, List<ProviderResult>> answers) {
+            List<ProviderResult> out = new ArrayList<>();
+            round.forEach(t -> out.addAll(answers.getOrDefault(t, List.of())));
+            return out;
+        }
+
+        private void publish(List<ProviderResult> answer, List<FetchTask> round, Map<FetchTask, List<ProviderResult>> answers) {
+            if (listener == LookupListener.NONE || answer.isEmpty()) return;
+            answer.forEach(listener::onResult);
+            listener.onMerged(merge(compiled, providerSpecs, withEarlier(answered(round, answers)), Set.of(), Map.of())
+                    .mergedAttributes());
+        }
+
+        private List<ProviderResult> withEarlier(List<ProviderResult> current) {
+            List<ProviderResult> out = new ArrayList<>(results);
+            out.addAll(current);
+            return out;
+        }
+
+        /**
+         * How long {@code wave} may run before {@code hedge} is issued alongside it: the slowest configured
+         * percentile among its providers' recent fetches. Negative when the wave is not hedged, because hedging
+         * is off, there is no next wave, it serves none of the same identifier types, or a provider has too few
+         * recorded fetches to know what slow means.
+         */
+        private long hedgeDelayNanos(List<ModuleProviderSpec> wave, List<ModuleProviderSpec> hedge) {
+            ProviderLookupProps.Hedge settings = props.hedge();
+            if (!settings.enabled() || hedge.isEmpty() || !sharesIdentifierType(wave, hedge)) return -1;
+            long delay = settings.minDelay().toNanos();
+            for (ModuleProviderSpec spec : wave) {
+                Optional<Duration> slow = callStats.fetchLatency(spec.key(), settings.percentile(), settings.minSamples());
+                if (slow.isEmpty()) return -1;
+                delay = Math.max(delay, slow.get().toNanos());
+            }
+            return delay;
+        }
+
+        private boolean sharesIdentifierType(List<ModuleProviderSpec> wave, List<ModuleProviderSpec> hedge) {
+            for (ItemIdentifierEntity id : identifiers) {
+                if (supportsAny(wave, id) && supportsAny(hedge, id)) return true;
+            }
+            return false;
+        }
+
+        private boolean supportsAny(List<ModuleProviderSpec> specs, ItemIdentifierEntity id) {
+            return specs.stream().anyMatch(spec -> registry.get(spec.key())
+                    .map(p -> p.supports(id.getIdType()))
+                    .orElse(false));
+        }
+
+        private void skip(List<List<ModuleProviderSpec>> waves, String reason) {
+            waves.forEach(wave -> wave.forEach(spec -> skippedProviders.put(spec.key(), reason)));
+        }
+    }
+
+    private static List<String> keys(List<ModuleProviderSpec> specs) {
+        return specs.stream().map(ModuleProviderSpec::key).toList();
+    }
+
+    private List<List<ModuleProviderSpec>> waves(List<ModuleProviderSpec> specs, boolean full) {
+        ProviderLookupProps.EarlyStop earlyStop = props.earlyStop();
+        if (full || !earlyStop.enabled() || specs.isEmpty()) return List.of(specs);
+        List<List<ModuleProviderSpec>> waves = new ArrayList<>();
+        for (int from = 0; from < specs.size(); from += earlyStop.waveSize()) {
+            waves.add(specs.subList(from, Math.min(from + earlyStop.waveSize(), specs.size())));
+        }
+        return waves;
+    }
+
+    /**
+     * True when results with at least the configured confidence fill every required field, the configured share
+     * of the fields the providers map, and supply an image.
+     */
+    private boolean fieldsSatisfied(CompiledModule compiled, List<ModuleProviderSpec> specs, List<ProviderResult> results) {
+        Set<String> mappable = new HashSet<>();
+        for (ModuleProviderSpec spec : specs) {
+            compiled.mappingsFor(spec.key()).forEach(m -> mappable.add(m.fieldKey()));
+        }
+        if (mappable.isEmpty()) return false;
+
+        ProviderLookupProps.EarlyStop earlyStop = props.earlyStop();
+        Set<String> filled = new HashSet<>();
+        boolean image = false;
+        for (ProviderResult r : results) {
+            int score = Optional.ofNullable(r.confidence()).map(ProviderConfidence::score).orElse(0);
+            if (score < earlyStop.minConfidence()) continue;
+            try {
+                filled.addAll(mapper.mapFields(safeNormalizedNode(r), compiled, r.providerKey()).keySet());
+            } catch (Exception ex) {
+                continue;
+            }
+            image |= r.assets() != null && r.assets().stream().anyMatch(a -> a != null && a.url() != null);
+        }
+        if (!image) return false;
+        for (String required : compiled.requiredFields()) {
+            if (mappable.contains(required) && !filled.contains(required)) return false;
+        }
+        filled.retainAll(mappable);
+        return filled.size() >= Math.ceil(mappable.size() * earlyStop.minFillRatio());
+    }
+
+    private List<ProviderResult> fetchOne(ModuleProviderSpec spec, MetadataProvider provider, ItemIdentifierEntity id, boolean comicvineEnabled) {
+        List<ProviderResult> out = new ArrayList<>();
+        try {
+            cache.fetch(provider, id.getIdType(), id.getIdValue()).ifPresent(pr -> {
+                out.add(pr);
+                chainingService.applyChains(spec, pr, comicvineEnabled, out);
+            });
+        } catch (ProviderCircuitOpenException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            log.warn("Provider {} failed for {}: {}", spec.key(), id.getIdValue(), ex.getMessage());
+        }
+        return out;
+    }
+
+    private static <T> T withMdc(Map<String, String> mdc, Supplier<T> action) {
+        if (mdc != null) MDC.setContextMap(mdc);
+        try {
+            return action.get();
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
     }
 
     private JsonNode safeNormalizedNode(ProviderResult r) {
@@ -1,5 +1,6 @@
 package org.rostislav.curiokeep.providers;
 
+import org.rostislav.curiokeep.providers.limits.ProviderGovernor;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -9,10 +10,10 @@ public class ProviderRegistry {
 
     private final Map<String, MetadataProvider> providersByKey;
 
-    public ProviderRegistry(List<MetadataProvider> providers) {
+    public ProviderRegistry(List<MetadataProvider> providers, ProviderGovernor governor) {
         Map<String, MetadataProvider> map = new HashMap<>();
         for (MetadataProvider p : providers) {
-            map.put(p.key(), p);
+            map.put(p.key(), governor.govern(p));
         }
         this.providersByKey = Collections.unmodifiableMap(map);
     }
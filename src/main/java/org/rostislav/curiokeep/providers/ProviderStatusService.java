@@ -1,10 +1,13 @@
 package org.rostislav.curiokeep.providers;
 
+import jakarta.annotation.PreDestroy;
 import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
 import org.rostislav.curiokeep.providers.api.dto.ProviderStatusResponse;
+import org.rostislav.curiokeep.providers.limits.ProviderCircuitBreakers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
@@ -16,8 +19,19 @@ import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Provider readiness. Probes run in the background on a jittered schedule that backs off while a provider keeps
+ * failing; status reads only combine the last probe with the passive signal from {@link ProviderCallStats} and
+ * never wait on the network. A live check can still be forced through {@link #checkStatus}, rate limited.
+ */
 @Service
 public class ProviderStatusService {
     private static final Duration RATE_LIMIT = Duration.ofSeconds(30);
@@ -28,57 +42,181 @@ public class ProviderStatusService {
     private final ProviderKnowledgeBase knowledgeBase;
     private final RestClient restClient;
     private final ProviderCredentialService credentialService;
+    private final ProviderCallStats callStats;
+    private final ProviderHealthProps props;
+    private final ProviderCircuitBreakers breakers;
 
-    private final Map<String, ProviderStatusEntry> cache = new ConcurrentHashMap<>();
+    private final Map<String, ProbeState> probes = new ConcurrentHashMap<>();
+    private final Map<String, Instant> firstProbeAt = new ConcurrentHashMap<>();
+    private final Set<String> probing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
     public ProviderStatusService(ProviderRegistry registry,
                                  ProviderKnowledgeBase knowledgeBase,
                                  RestClient restClient,
-                                 ProviderCredentialService credentialService) {
+                                 ProviderCredentialService credentialService,
+                                 ProviderCallStats callStats,
+                                 ProviderHealthProps props,
+                                 ProviderCircuitBreakers breakers) {
         this.registry = registry;
         this.knowledgeBase = knowledgeBase;
         this.restClient = restClient;
         this.credentialService = credentialService;
+        this.callStats = callStats;
+        this.props = props;
+        this.breakers = breakers;
     }
 
     public ProviderStatusResponse getStatus(String key) {
         ProviderDescriptor descriptor = descriptorFor(key);
-        return cache.computeIfAbsent(key, ignored -> buildStatusEntry(key, descriptor)).response();
+        return toResponse(key, descriptor, probes.get(key), false, null);
     }
 
     public ProviderStatusResponse checkStatus(String key) {
+        ProviderDescriptor descriptor = descriptorFor(key);
         Instant now = Instant.now();
-        ProviderStatusEntry existing = cache.get(key);
+        ProbeState existing = probes.get(key);
         if (existing != null) {
             Duration since = Duration.between(existing.checkedAt(), now);
             if (since.compareTo(RATE_LIMIT) < 0) {
                 long retryAfter = RATE_LIMIT.minus(since).getSeconds();
-                ProviderStatusResponse rateLimited = existing.response();
-                return new ProviderStatusResponse(
-                    rateLimited.key(),
-                    rateLimited.available(),
-                    "Rate limited – try again in " + retryAfter + "s",
-                    rateLimited.supportedIdTypes(),
-                    true,
-                    (int) Math.max(1, retryAfter),
-                    rateLimited.credentialsRequired(),
-                    rateLimited.credentialsConfigured()
-                );
+                ProviderStatusResponse current = toResponse(key, descriptor, existing, true, (int) Math.max(1, retryAfter));
+                return withMessage(current, "Rate limited – try again in " + retryAfter + "s");
             }
         }
+        return toResponse(key, descriptor, probe(key, descriptor), false, null);
+    }
 
-        ProviderDescriptor descriptor = descriptorFor(key);
-        ProviderStatusEntry entry = buildStatusEntry(key, descriptor);
-        cache.put(key, entry);
-        return entry.response();
+    /**
+     * Starts the probes that are due. Each provider's first probe lands at a random point within the jitter
+     * window after startup so they do not all fire together.
+     */
+    @Scheduled(initialDelay = 15, fixedDelay = 15, timeUnit = TimeUnit.SECONDS)
+    void probeDue() {
+        if (!props.enabled()) return;
+        Instant now = Instant.now();
+        for (MetadataProvider provider : registry.all()) {
+            String key = provider.key();
+            ProbeState state = probes.get(key);
+            Instant due = state != null
+                    ? state.nextCheckAt()
+                    : firstProbeAt.computeIfAbsent(key, k -> now.plus(jitter()));
+            if (due.isAfter(now) || !probing.add(key)) continue;
+            executor.submit(() -> {
+                try {
+                    probe(key, provider.descriptor());
+                } catch (RuntimeException ex) {
+                    log.debug("Background health check failed for {}: {}", key, ex.getMessage());
+                } finally {
+                    probing.remove(key);
+                }
+            });
+        }
     }
 
-    private ProviderStatusEntry buildStatusEntry(String key, ProviderDescriptor descriptor) {
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ProbeState probe(String key, ProviderDescriptor descriptor) {
+        ProbeOutcome outcome = buildProbeOutcome(key, descriptor);
+        Instant now = Instant.now();
+        ProbeState previous = probes.get(key);
+
+        int failures = outcome.available() || !outcome.contacted() ? 0 : (previous == null ? 0 : previous.failures()) + 1;
+        Duration delay = props.interval().multipliedBy(1L << Math.min(failures, 16));
+        if (delay.compareTo(props.maxBackoff()) > 0) delay = props.maxBackoff();
+
+        ProbeState state = new ProbeState(
+                outcome,
+                now,
+                outcome.available() ? now : previous == null ? null : previous.lastSuccessAt(),
+                failures,
+                now.plus(delay).plus(jitter())
+        );
+        probes.put(key, state);
+        return state;
+    }
+
+    private ProviderStatusResponse toResponse(String key,
+                                              ProviderDescriptor descriptor,
+                                              ProbeState state,
+                                              boolean rateLimited,
+                                              Integer retryAfterSeconds) {
         List<ItemIdentifierEntity.IdType> ids = descriptor.supportedIdTypes();
+        boolean credentialsRequired = !descriptor.credentialFields().isEmpty();
+        boolean credentialsConfigured = state == null ? !credentialsRequired : state.outcome().credentialsConfigured();
+
+        boolean available = state != null && state.outcome().available();
+        String message = state == null ? "Status not checked yet" : state.outcome().message();
+        Instant lastSuccessAt = state == null ? null : state.lastSuccessAt();
+
+        // Real lookups are the better signal once there are enough recent ones: a burst of failures marks the
+        // provider unavailable, successes newer than a failed probe mark it available again.
+        Optional<ProviderCallStats.Snapshot> passive = callStats.snapshot(key)
+                .filter(s -> s.samples() >= props.minSamples())
+                .filter(s -> s.lastSampleAt().isAfter(Instant.now().minus(props.passiveWindow())));
+        Double errorRate = null;
+        Long latencyMs = null;
+        if (passive.isPresent() && (state == null || state.outcome().contacted())) {
+            ProviderCallStats.Snapshot s = passive.get();
+            errorRate = s.errorRate();
+            latencyMs = s.latencyMillis();
+            if (s.lastSuccessAt() != null && (lastSuccessAt == null || s.lastSuccessAt().isAfter(lastSuccessAt))) {
+                lastSuccessAt = s.lastSuccessAt();
+            }
+            if (s.errorRate() >= props.errorRateThreshold()) {
+                available = false;
+                message = "Recent lookups failing (" + Math.round(s.errorRate() * 100) + "% errors)";
+            } else if (!available && s.lastSuccessAt() != null
+                    && (state == null || s.lastSuccessAt().isAfter(state.checkedAt()))) {
+                available = true;
+                message = "Recent lookups succeeding";
+            }
+        }
+
+        // Lookups skip a provider with an open breaker, so it is unavailable to users whatever the probe says.
+        ProviderCircuitBreakers.Snapshot circuit = breakers.snapshot(key);
+        if (circuit.state() != ProviderCircuitBreakers.State.CLOSED) {
+            available = false;
+            message = circuit.state() == ProviderCircuitBreakers.State.OPEN
+                    ? "Lookups paused: " + circuit.reason()
+                    : "Testing recovery after: " + circuit.reason();
+        }
+
+        return new ProviderStatusResponse(
+                key,
+                available,
+                message,
+                ids == null ? Collections.emptyList() : ids,
+                rateLimited,
+                retryAfterSeconds,
+                credentialsRequired,
+                credentialsConfigured,
+                state == null ? null : state.checkedAt(),
+                state == null ? firstProbeAt.get(key) : state.nextCheckAt(),
+                lastSuccessAt,
+                errorRate,
+                latencyMs,
+                circuit.state().name(),
+                circuit.openUntil()
+        );
+    }
+
+    private static ProviderStatusResponse withMessage(ProviderStatusResponse r, String message) {
+        return new ProviderStatusResponse(r.key(), r.available(), message, r.supportedIdTypes(), r.rateLimited(),
+                r.retryAfterSeconds(), r.credentialsRequired(), r.credentialsConfigured(), r.checkedAt(),
+                r.nextCheckAt(), r.lastSuccessAt(), r.recentErrorRate(), r.recentLatencyMs(), r.circuitState(),
+                r.circuitOpenUntil());
+    }
+
+    private ProbeOutcome buildProbeOutcome(String key, ProviderDescriptor descriptor) {
         ProviderProfile profile = knowledgeBase.profileFor(key);
         String target = resolveHealthCheckTarget(key, profile);
 
-        boolean available = descriptor != null;
+        boolean available;
+        boolean contacted = false;
         String message;
         List<ProviderCredentialField> credentialFields = descriptor.credentialFields();
         boolean credentialsRequired = !credentialFields.isEmpty();
@@ -93,6 +231,7 @@ public class ProviderStatusService {
             available = false;
         } else {
             String safeTarget = normalizeTarget(key, target);
+            contacted = true;
             try {
                 restClient.get()
                     .uri(safeTarget)
@@ -117,17 +256,12 @@ public class ProviderStatusService {
             }
         }
 
-        ProviderStatusResponse response = new ProviderStatusResponse(
-                key,
-                available,
-                message,
-                ids == null ? Collections.emptyList() : ids,
-                false,
-                null
-                , credentialsRequired
-                , credentialsConfigured
-        );
-        return new ProviderStatusEntry(response, Instant.now());
+        return new ProbeOutcome(available, contacted, message, credentialsConfigured);
+    }
+
+    private Duration jitter() {
+        long max = props.jitter().toMillis();
+        return max <= 0 ? Duration.ZERO : Duration.ofMillis(ThreadLocalRandom.current().nextLong(max + 1));
     }
 
     private String normalizeTarget(String key, String target) {
@@ -168,5 +302,10 @@ public class ProviderStatusService {
                 .descriptor();
     }
 
-    private record ProviderStatusEntry(ProviderStatusResponse response, Instant checkedAt) {}
+    /**
+     * @param contacted false when the probe was skipped because credentials or a health endpoint are missing
+     */
+    private record ProbeOutcome(boolean available, boolean contacted, String message, boolean credentialsConfigured) {}
+
+    private record ProbeState(ProbeOutcome outcome, Instant checkedAt, Instant lastSuccessAt, int failures, Instant nextCheckAt) {}
 }
@@ -0,0 +1,62 @@
+package org.rostislav.curiokeep.providers.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.rostislav.curiokeep.api.dto.ApiError;
+import org.rostislav.curiokeep.providers.api.dto.ProviderCacheStatsResponse;
+import org.rostislav.curiokeep.providers.cache.ProviderResponseCache;
+import org.rostislav.curiokeep.user.api.dto.OkResponse;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Admin - Provider cache", description = "Admin-only APIs for the provider response cache")
+@SecurityRequirement(name = "sessionAuth")
+@RestController
+@RequestMapping("/api/admin/providers/cache")
+@PreAuthorize("hasAuthority('APP_ADMIN')")
+public class AdminProviderCacheController {
+
+    private final ProviderResponseCache cache;
+
+    public AdminProviderCacheController(ProviderResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Operation(summary = "Cache statistics", description = "Returns hit/miss counters and the in-memory size of the provider cache.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Statistics returned",
+                    content = @Content(schema = @Schema(implementation = ProviderCacheStatsResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Not an admin",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping
+    public ProviderCacheStatsResponse stats() {
+        return cache.stats();
+    }
+
+    @Operation(summary = "Clear cache", description = "Drops cached provider responses, optionally for a single provider.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cache cleared",
+                    content = @Content(schema = @Schema(implementation = OkResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Not an admin",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    @DeleteMapping
+    public OkResponse clear(@RequestParam(required = false) String provider) {
+        if (provider == null || provider.isBlank()) {
+            cache.clear();
+        } else {
+            cache.invalidateProvider(provider.trim());
+        }
+        return new OkResponse(true);
+    }
+}
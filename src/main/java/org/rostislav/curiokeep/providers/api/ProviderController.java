@@ -5,6 +5,7 @@ import jakarta.validation.Valid;
 import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
 import org.rostislav.curiokeep.modules.ModuleService;
 import org.rostislav.curiokeep.modules.entities.ModuleDefinitionEntity;
+import org.rostislav.curiokeep.providers.LookupListener;
 import org.rostislav.curiokeep.providers.MetadataProvider;
 import org.rostislav.curiokeep.providers.ProviderDescriptor;
 import org.rostislav.curiokeep.providers.ProviderKnowledgeBase;
@@ -13,26 +14,37 @@ import org.rostislav.curiokeep.providers.ProviderCredentialField;
 import org.rostislav.curiokeep.providers.ProviderCredentialService;
 import org.rostislav.curiokeep.providers.ProviderProfile;
 import org.rostislav.curiokeep.providers.ProviderRegistry;
+import org.rostislav.curiokeep.providers.ProviderResult;
 import org.rostislav.curiokeep.providers.ProviderStatusService;
 import org.rostislav.curiokeep.providers.api.dto.LookupResponse;
 import org.rostislav.curiokeep.providers.api.dto.ProviderInfoResponse;
 import org.rostislav.curiokeep.providers.api.dto.ProviderStatusResponse;
 import org.rostislav.curiokeep.providers.api.dto.ProviderLookupRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/providers")
 public class ProviderController {
 
+    private static final Logger log = LoggerFactory.getLogger(ProviderController.class);
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(2);
+
     private final ModuleService modules;
     private final ProviderRegistry registry;
     private final ProviderLookupService lookup;
@@ -79,6 +91,50 @@ public class ProviderController {
     @Operation(summary = "Lookup metadata from external providers (no saving)")
     public LookupResponse lookup(@RequestBody @Valid ProviderLookupRequest req) {
         ModuleDefinitionEntity module = modules.getById(req.moduleId());
+        return lookup.lookup(module, identifiers(req), providers(req), query(req), Boolean.TRUE.equals(req.full()));
+    }
+
+    @PostMapping(value = "/lookup/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Lookup metadata as Server-Sent Events",
+            description = "Emits a `result` event per provider answer, a `merged` event with the attributes merged so far "
+                    + "after each of them, and a final `complete` event carrying the full LookupResponse.")
+    public SseEmitter lookupStream(@RequestBody @Valid ProviderLookupRequest req) {
+        ModuleDefinitionEntity module = modules.getById(req.moduleId());
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+        LookupListener listener = new LookupListener() {
+            @Override
+            public void onResult(ProviderResult result) {
+                send(emitter, "result", result);
+            }
+
+            @Override
+            public void onMerged(Map<String, Object> mergedAttributes) {
+                send(emitter, "merged", mergedAttributes);
+            }
+        };
+        lookup.lookupAsync(module, identifiers(req), providers(req), query(req), Boolean.TRUE.equals(req.full()), listener)
+                .whenComplete((response, ex) -> {
+                    if (ex != null) {
+                        emitter.completeWithError(ex);
+                    } else if (send(emitter, "complete", response)) {
+                        emitter.complete();
+                    }
+                });
+        return emitter;
+    }
+
+    private static boolean send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away; the lookup finishes on its own and still warms the cache.
+            log.debug("Dropping lookup {} event: {}", name, ex.getMessage());
+            return false;
+        }
+    }
+
+    private static List<ItemIdentifierEntity> identifiers(ProviderLookupRequest req) {
         List<ItemIdentifierEntity> ids = Optional.ofNullable(req.identifiers()).orElse(List.of()).stream().map(d -> {
             ItemIdentifierEntity e = new ItemIdentifierEntity();
             e.setIdType(d.idType());
@@ -87,8 +143,7 @@ public class ProviderController {
             return e;
         }).toList();
 
-        List<String> providers = Optional.ofNullable(req.providers()).orElse(List.of());
-        String query = Optional.ofNullable(req.query()).map(String::trim).filter(s -> !s.isEmpty()).orElse(null);
+        String query = query(req);
 
         // If no identifiers but a query is provided, use it as a CUSTOM identifier for free-text lookups
         if ((ids == null || ids.isEmpty()) && query != null) {
@@ -98,8 +153,15 @@ public class ProviderController {
             qId.setItemId(null);
             ids = List.of(qId);
         }
+        return ids;
+    }
+
+    private static List<String> providers(ProviderLookupRequest req) {
+        return Optional.ofNullable(req.providers()).orElse(List.of());
+    }
 
-        return lookup.lookup(module, ids, providers, query);
+    private static String query(ProviderLookupRequest req) {
+        return Optional.ofNullable(req.query()).map(String::trim).filter(s -> !s.isEmpty()).orElse(null);
     }
 
     private ProviderInfoResponse toInfo(MetadataProvider provider) {
@@ -13,13 +13,17 @@ import java.util.Map;
  * This DTO is returned by `ProviderLookupService.lookup(...)` and contains the
  * individual provider results, the selected best result (highest confidence),
  * a merged attributes map assembled according to module provider priorities,
- * and the list of deduplicated provider assets.
+ * the list of deduplicated provider assets, the providers that missed their
+ * lookup deadline (their results are absent, the rest is a partial answer), and
+ * the providers skipped without a call because their circuit breaker is open.
  */
 @Schema(name = "LookupResponse", description = "Provider lookup result containing merged attributes and assets")
 public record LookupResponse(
         @Schema(description = "All provider results in evaluation order") List<ProviderResult> results,
         @Schema(description = "Selected best provider result (by priority/score)") ProviderResult best,
         @Schema(description = "Merged attributes populated from provider mappings") Map<String, Object> mergedAttributes,
-        @Schema(description = "Deduplicated provider assets (images, files)") List<ProviderAsset> assets
+        @Schema(description = "Deduplicated provider assets (images, files)") List<ProviderAsset> assets,
+        @Schema(description = "Provider keys that did not answer before their deadline") List<String> timedOutProviders,
+        @Schema(description = "Provider keys skipped without a call, with the reason (e.g. an open circuit breaker)") Map<String, String> skippedProviders
 ) {
 }
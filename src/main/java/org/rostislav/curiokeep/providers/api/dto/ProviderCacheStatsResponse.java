@@ -0,0 +1,15 @@
+package org.rostislav.curiokeep.providers.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Provider response cache counters since startup")
+public record ProviderCacheStatsResponse(
+        @Schema(description = "True when provider responses are cached") boolean enabled,
+        @Schema(description = "Entries currently held in memory") int memoryEntries,
+        @Schema(description = "Upper bound of in-memory entries") int maxMemoryEntries,
+        @Schema(description = "Lookups answered from memory") long memoryHits,
+        @Schema(description = "Lookups answered from the database tier") long persistentHits,
+        @Schema(description = "Lookups that went out to the provider") long misses,
+        @Schema(description = "Lookups that joined an identical fetch already in flight") long coalesced
+) {
+}
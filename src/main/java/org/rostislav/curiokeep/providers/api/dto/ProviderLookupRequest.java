@@ -11,6 +11,7 @@ public record ProviderLookupRequest(
         @NotNull @Schema(description = "Module ID whose providers should be queried") UUID moduleId,
         @NotNull @Schema(description = "Identifiers to send to the providers") List<ProviderLookupIdentifierDto> identifiers,
         @Schema(description = "Optional explicit provider keys to use (defaults to module providers)") List<String> providers,
-        @Schema(description = "Optional free-text query to use when no identifiers are present") String query
+        @Schema(description = "Optional free-text query to use when no identifiers are present") String query,
+        @Schema(description = "Query every provider even after the module's fields are filled (e.g. to compare providers)") Boolean full
 ) {
 }
\ No newline at end of file
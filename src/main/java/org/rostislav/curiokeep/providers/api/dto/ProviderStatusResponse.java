@@ -3,6 +3,7 @@ package org.rostislav.curiokeep.providers.api.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
 
+import java.time.Instant;
 import java.util.List;
 
 @Schema(description = "Readiness status for an individual provider")
@@ -14,6 +15,13 @@ public record ProviderStatusResponse(
         @Schema(description = "True when the status response is rate limited") boolean rateLimited,
         @Schema(description = "Seconds until the next allowed status check") Integer retryAfterSeconds,
         @Schema(description = "True when the provider requires stored credentials") boolean credentialsRequired,
-        @Schema(description = "True when the required credentials are stored") boolean credentialsConfigured
+        @Schema(description = "True when the required credentials are stored") boolean credentialsConfigured,
+        @Schema(description = "When the last health probe ran; null before the first probe") Instant checkedAt,
+        @Schema(description = "When the next background probe is scheduled") Instant nextCheckAt,
+        @Schema(description = "Last successful probe or lookup request") Instant lastSuccessAt,
+        @Schema(description = "Weighted error rate (0..1) of recent lookup requests; null without enough recent traffic") Double recentErrorRate,
+        @Schema(description = "Weighted latency of recent lookup requests in milliseconds") Long recentLatencyMs,
+        @Schema(description = "Circuit breaker state", allowableValues = {"CLOSED", "OPEN", "HALF_OPEN"}) String circuitState,
+        @Schema(description = "When an open circuit starts letting trial calls through") Instant circuitOpenUntil
 ) {
 }
@@ -0,0 +1,25 @@
+package org.rostislav.curiokeep.providers.cache;
+
+import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
+
+import java.util.Locale;
+
+/**
+ * Identity of a single provider fetch. Barcode-like identifiers are reduced to their
+ * alphanumeric characters so "978-0-261-10357-3" and "9780261103573" share an entry.
+ */
+public record ProviderCacheKey(String providerKey, ItemIdentifierEntity.IdType idType, String idValue) {
+
+    public static ProviderCacheKey of(String providerKey, ItemIdentifierEntity.IdType idType, String idValue) {
+        return new ProviderCacheKey(providerKey, idType, normalize(idType, idValue));
+    }
+
+    private static String normalize(ItemIdentifierEntity.IdType idType, String raw) {
+        if (raw == null) return "";
+        String v = raw.trim();
+        if (idType == ItemIdentifierEntity.IdType.CUSTOM) {
+            return v.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        }
+        return v.replaceAll("[^0-9A-Za-z]", "").toUpperCase(Locale.ROOT);
+    }
+}
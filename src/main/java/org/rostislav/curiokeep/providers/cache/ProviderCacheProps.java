@@ -0,0 +1,51 @@
+package org.rostislav.curiokeep.providers.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "curiokeep.providers.cache")
+public record ProviderCacheProps(
+        Boolean enabled,
+        Integer maxEntries,
+        Duration ttl,
+        Duration negativeTtl,
+        Map<String, Duration> providerTtls,
+        RawData rawData
+) {
+    public ProviderCacheProps {
+        enabled = enabled == null || enabled;
+        maxEntries = maxEntries == null ? 5000 : maxEntries;
+        ttl = ttl == null ? Duration.ofDays(7) : ttl;
+        negativeTtl = negativeTtl == null ? Duration.ofHours(1) : negativeTtl;
+        providerTtls = providerTtls == null ? Map.of() : Map.copyOf(providerTtls);
+        rawData = rawData == null ? RawData.DEFAULT : rawData.orElse(RawData.DEFAULT);
+    }
+
+    public static ProviderCacheProps defaults() {
+        return new ProviderCacheProps(null, null, null, null, null, null);
+    }
+
+    public Duration ttlFor(String providerKey, boolean found) {
+        if (!found) return negativeTtl;
+        return providerTtls.getOrDefault(providerKey, ttl);
+    }
+
+    /**
+     * How much of a provider's raw response is kept on its result, and so in both cache tiers and in lookup
+     * responses. {@code FULL} keeps it whole, {@code CAPPED} keeps at most {@code maxChars} characters of each
+     * raw value, {@code NONE} drops it.
+     */
+    public record RawData(Mode mode, Integer maxChars) {
+        static final RawData DEFAULT = new RawData(Mode.CAPPED, 16_384);
+
+        public enum Mode {FULL, CAPPED, NONE}
+
+        RawData orElse(RawData fallback) {
+            return new RawData(
+                    mode == null ? fallback.mode() : mode,
+                    maxChars == null || maxChars < 1 ? fallback.maxChars() : maxChars);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.rostislav.curiokeep.providers.cache;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.rostislav.curiokeep.modules.ModuleUtil.jsonb;
+
+/**
+ * Postgres tier of the provider response cache ({@code provider_cache} table).
+ */
+@Repository
+public class ProviderCacheStore {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public ProviderCacheStore(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public Optional<StoredEntry> find(ProviderCacheKey key, Instant now) {
+        return Optional.ofNullable(jdbc.query(
+                """
+                SELECT found, result::text AS result, expires_at
+                FROM provider_cache
+                WHERE provider_key = :p AND id_type = :t AND id_value = :v AND expires_at > :now
+                """,
+                keyParams(key).addValue("now", Timestamp.from(now)),
+                rs -> rs.next()
+                        ? new StoredEntry(rs.getBoolean("found"), rs.getString("result"), rs.getTimestamp("expires_at").toInstant())
+                        : null
+        ));
+    }
+
+    public void save(ProviderCacheKey key, boolean found, String resultJson, Instant expiresAt) {
+        jdbc.update(
+                """
+                INSERT INTO provider_cache (provider_key, id_type, id_value, found, result, expires_at, created_at)
+                VALUES (:p, :t, :v, :found, :result, :expires, now())
+                ON CONFLICT (provider_key, id_type, id_value) DO UPDATE SET
+                    found = EXCLUDED.found,
+                    result = EXCLUDED.result,
+                    expires_at = EXCLUDED.expires_at,
+                    created_at = now()
+                """,
+                keyParams(key)
+                        .addValue("found", found)
+                        .addValue("result", jsonb(resultJson))
+                        .addValue("expires", Timestamp.from(expiresAt))
+        );
+    }
+
+    public int deleteExpired(Instant now) {
+        return jdbc.update("DELETE FROM provider_cache WHERE expires_at <= :now",
+                new MapSqlParameterSource("now", Timestamp.from(now)));
+    }
+
+    public int deleteProvider(String providerKey) {
+        return jdbc.update("DELETE FROM provider_cache WHERE provider_key = :p",
+                new MapSqlParameterSource("p", providerKey));
+    }
+
+    public int deleteAll() {
+        return jdbc.update("DELETE FROM provider_cache", new MapSqlParameterSource());
+    }
+
+    private MapSqlParameterSource keyParams(ProviderCacheKey key) {
+        return new MapSqlParameterSource()
+                .addValue("p", key.providerKey())
+                .addValue("t", key.idType().name())
+                .addValue("v", key.idValue());
+    }
+
+    public record StoredEntry(boolean found, String resultJson, Instant expiresAt) {}
+}
@@ -0,0 +1,76 @@
+package org.rostislav.curiokeep.providers.cache;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Records the HTTP requests a provider call makes on the current thread. Providers turn errors into empty
+ * answers, so an empty answer is only a real "no match" when the call reached the provider and every request
+ * got an answer; {@link ProviderResponseCache} caches negatives only then.
+ * <p>
+ * Requests are seen through {@link #interceptor()}, installed on the providers' {@code RestClient}. The provider
+ * governor reports calls it judged failed with {@link #markFailed()}.
+ */
+public final class ProviderCallTrace implements AutoCloseable {
+
+    private static final ThreadLocal<ProviderCallTrace> CURRENT = new ThreadLocal<>();
+
+    private final ProviderCallTrace previous;
+    private int requests;
+    private boolean failed;
+
+    private ProviderCallTrace(ProviderCallTrace previous) {
+        this.previous = previous;
+    }
+
+    /** Starts tracing the current thread until {@link #close()}. */
+    static ProviderCallTrace start() {
+        ProviderCallTrace trace = new ProviderCallTrace(CURRENT.get());
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /** Whether an empty answer from the traced call can be cached as "no match". */
+    boolean conclusive() {
+        return requests > 0 && !failed;
+    }
+
+    @Override
+    public void close() {
+        if (previous == null) CURRENT.remove();
+        else CURRENT.set(previous);
+    }
+
+    /** Marks the call traced on this thread, if any, as failed. */
+    public static void markFailed() {
+        ProviderCallTrace trace = CURRENT.get();
+        if (trace != null) trace.failed = true;
+    }
+
+    public static ClientHttpRequestInterceptor interceptor() {
+        return (request, body, execution) -> {
+            ProviderCallTrace trace = CURRENT.get();
+            if (trace == null) {
+                return execution.execute(request, body);
+            }
+            trace.requests++;
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException | RuntimeException ex) {
+                trace.failed = true;
+                throw ex;
+            }
+            trace.failed |= !answered(response.getStatusCode());
+            return response;
+        };
+    }
+
+    /** Success, or the provider saying it has nothing under that identifier. */
+    private static boolean answered(HttpStatusCode status) {
+        return status.is2xxSuccessful() || status.is3xxRedirection() || status.value() == 404 || status.value() == 410;
+    }
+}
@@ -0,0 +1,342 @@
+package org.rostislav.curiokeep.providers.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
+import org.rostislav.curiokeep.providers.MetadataProvider;
+import org.rostislav.curiokeep.providers.ProviderResult;
+import org.rostislav.curiokeep.providers.api.dto.ProviderCacheStatsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache in front of {@link MetadataProvider#fetch}: a bounded in-memory LRU backed by the
+ * {@code provider_cache} table. Empty provider answers are cached as negative entries with a shorter TTL, but
+ * only when the call reached the provider and every request was answered ({@link ProviderCallTrace}); an empty
+ * answer caused by an outage, an error status or missing credentials is not cached.
+ * Failures of the persistent tier are logged and treated as misses so lookups never depend on it.
+ * <p>
+ * Concurrent misses for the same key are coalesced: the first caller fetches from the provider and the
+ * others wait for and share its answer (or its failure) instead of repeating the outbound call.
+ * <p>
+ * Fresh provider answers pass through {@link RawDataPolicy} first, so raw responses are capped or dropped
+ * before they reach either tier.
+ */
+@Component
+public class ProviderResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProviderResponseCache.class);
+
+    private final ProviderCacheStore store;
+    private final ObjectMapper objectMapper;
+    private final ProviderCacheProps props;
+    private final RawDataPolicy rawDataPolicy;
+    private final Map<ProviderCacheKey, Entry> memory;
+    private final Map<ProviderCacheKey, CompletableFuture<Optional<ProviderResult>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter memoryHits;
+    private final Counter persistentHits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    public ProviderResponseCache(ProviderCacheStore store,
+                                 ObjectMapper objectMapper,
+                                 ProviderCacheProps props,
+                                 MeterRegistry meterRegistry) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.props = props;
+        this.rawDataPolicy = new RawDataPolicy(objectMapper, props.rawData());
+        int maxEntries = props.maxEntries();
+        this.memory = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ProviderCacheKey, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.memoryHits = Counter.builder("curiokeep.provider.cache").tag("result", "hit").tag("tier", "memory").register(meterRegistry);
+        this.persistentHits = Counter.builder("curiokeep.provider.cache").tag("result", "hit").tag("tier", "db").register(meterRegistry);
+        this.misses = Counter.builder("curiokeep.provider.cache").tag("result", "miss").register(meterRegistry);
+        this.coalesced = Counter.builder("curiokeep.provider.cache").tag("result", "coalesced").register(meterRegistry);
+        Gauge.builder("curiokeep.provider.cache.size", this, ProviderResponseCache::memorySize).register(meterRegistry);
+    }
+
+    public Optional<ProviderResult> fetch(MetadataProvider provider, ItemIdentifierEntity.IdType idType, String idValue) {
+        ProviderCacheKey key = ProviderCacheKey.of(provider.key(), idType, idValue);
+        if (!props.enabled()) {
+            return singleFlight(key, () -> provider.fetch(idType, idValue).map(rawDataPolicy::apply));
+        }
+
+        Entry cached = cached(key, Instant.now());
+        if (cached != null) {
+            return Optional.ofNullable(cached.result());
+        }
+
+        return singleFlight(key, () -> {
+            // Another caller may have finished the same fetch while this one checked the tiers.
+            Entry fresh = memoryGet(key, Instant.now());
+            if (fresh != null) {
+                memoryHits.increment();
+                return Optional.ofNullable(fresh.result());
+            }
+            misses.increment();
+            try (ProviderCallTrace trace = ProviderCallTrace.start()) {
+                Optional<ProviderResult> fetched = provider.fetch(idType, idValue).map(rawDataPolicy::apply);
+                if (fetched.isPresent() || trace.conclusive()) {
+                    put(key, fetched.orElse(null), Instant.now());
+                }
+                return fetched;
+            }
+        });
+    }
+
+    /**
+     * Resolves many identifiers of one type, sending the uncached ones to {@link MetadataProvider#fetchBatch} in
+     * slices of at most {@link MetadataProvider#maxBatchSize()}. The answer is keyed by the requested value;
+     * identifiers whose batch failed are left out so callers can tell them apart from "no match".
+     */
+    public Map<String, Optional<ProviderResult>> fetchBatch(MetadataProvider provider,
+                                                            ItemIdentifierEntity.IdType idType,
+                                                            List<String> idValues) {
+        Instant now = Instant.now();
+        Map<ProviderCacheKey, Optional<ProviderResult>> resolved = new HashMap<>();
+        Map<ProviderCacheKey, String> pending = new LinkedHashMap<>();
+        for (String idValue : idValues) {
+            ProviderCacheKey key = ProviderCacheKey.of(provider.key(), idType, idValue);
+            if (resolved.containsKey(key) || pending.containsKey(key)) continue;
+            Entry cached = props.enabled() ? cached(key, now) : null;
+            if (cached != null) {
+                resolved.put(key, Optional.ofNullable(cached.result()));
+            } else {
+                pending.put(key, idValue);
+            }
+        }
+
+        // Lead the keys nobody else is fetching; join the fetches already in flight for the rest.
+        Map<ProviderCacheKey, CompletableFuture<Optional<ProviderResult>>> led = new LinkedHashMap<>();
+        Map<ProviderCacheKey, CompletableFuture<Optional<ProviderResult>>> joined = new LinkedHashMap<>();
+        for (ProviderCacheKey key : pending.keySet()) {
+            CompletableFuture<Optional<ProviderResult>> mine = new CompletableFuture<>();
+            CompletableFuture<Optional<ProviderResult>> leader = inFlight.putIfAbsent(key, mine);
+            if (leader == null) {
+                led.put(key, mine);
+            } else {
+                coalesced.increment();
+                joined.put(key, leader);
+            }
+        }
+
+        List<ProviderCacheKey> toFetch = List.copyOf(led.keySet());
+        int size = Math.max(1, provider.maxBatchSize());
+        try {
+            for (int from = 0; from < toFetch.size(); from += size) {
+                List<ProviderCacheKey> slice = toFetch.subList(from, Math.min(from + size, toFetch.size()));
+                try (ProviderCallTrace trace = ProviderCallTrace.start()) {
+                    misses.increment(slice.size());
+                    Map<String, ProviderResult> fetched = provider.fetchBatch(idType, slice.stream().map(pending::get).toList());
+                    Instant fetchedAt = Instant.now();
+                    boolean conclusive = trace.conclusive();
+                    for (ProviderCacheKey key : slice) {
+                        Optional<ProviderResult> result = Optional.ofNullable(fetched.get(pending.get(key))).map(rawDataPolicy::apply);
+                        if (props.enabled() && (result.isPresent() || conclusive)) put(key, result.orElse(null), fetchedAt);
+                        resolved.put(key, result);
+                        led.get(key).complete(result);
+                    }
+                } catch (RuntimeException ex) {
+                    log.warn("Batch fetch from {} failed for {} identifier(s): {}", provider.key(), slice.size(), ex.getMessage());
+                    slice.forEach(key -> led.get(key).completeExceptionally(ex));
+                }
+            }
+        } finally {
+            led.forEach((key, future) -> {
+                future.completeExceptionally(new IllegalStateException("Batch fetch abandoned"));
+                inFlight.remove(key, future);
+            });
+        }
+
+        joined.forEach((key, leader) -> {
+            try {
+                resolved.put(key, await(leader));
+            } catch (RuntimeException ex) {
+                log.debug("Joined fetch from {} failed for {}: {}", provider.key(), key, ex.getMessage());
+            }
+        });
+
+        Map<String, Optional<ProviderResult>> out = new LinkedHashMap<>();
+        for (String idValue : idValues) {
+            Optional<ProviderResult> result = resolved.get(ProviderCacheKey.of(provider.key(), idType, idValue));
+            if (result != null) out.put(idValue, result);
+        }
+        return out;
+    }
+
+    public boolean enabled() {
+        return props.enabled();
+    }
+
+    private Optional<ProviderResult> singleFlight(ProviderCacheKey key, Supplier<Optional<ProviderResult>> fetch) {
+        CompletableFuture<Optional<ProviderResult>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<ProviderResult>> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader);
+        }
+        try {
+            Optional<ProviderResult> result = fetch.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static Optional<ProviderResult> await(CompletableFuture<Optional<ProviderResult>> leader) {
+        try {
+            return leader.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a concurrent provider fetch", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    public void invalidateProvider(String providerKey) {
+        synchronized (memory) {
+            memory.keySet().removeIf(k -> k.providerKey().equals(providerKey));
+        }
+        try {
+            store.deleteProvider(providerKey);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to clear persistent provider cache for {}: {}", providerKey, ex.getMessage());
+        }
+    }
+
+    public void clear() {
+        synchronized (memory) {
+            memory.clear();
+        }
+        try {
+            store.deleteAll();
+        } catch (DataAccessException ex) {
+            log.warn("Failed to clear persistent provider cache: {}", ex.getMessage());
+        }
+    }
+
+    public ProviderCacheStatsResponse stats() {
+        return new ProviderCacheStatsResponse(
+                props.enabled(),
+                memorySize(),
+                props.maxEntries(),
+                (long) memoryHits.count(),
+                (long) persistentHits.count(),
+                (long) misses.count(),
+                (long) coalesced.count()
+        );
+    }
+
+    @Scheduled(initialDelay = 10, fixedDelay = 60, timeUnit = TimeUnit.MINUTES)
+    void purgeExpired() {
+        if (!props.enabled()) return;
+        Instant now = Instant.now();
+        synchronized (memory) {
+            memory.values().removeIf(e -> !e.expiresAt().isAfter(now));
+        }
+        try {
+            int removed = store.deleteExpired(now);
+            if (removed > 0) log.debug("Purged {} expired provider cache row(s)", removed);
+        } catch (DataAccessException ex) {
+            log.debug("Provider cache purge failed: {}", ex.getMessage());
+        }
+    }
+
+    private void put(ProviderCacheKey key, ProviderResult result, Instant now) {
+        boolean found = result != null;
+        Entry entry = new Entry(result, now.plus(props.ttlFor(key.providerKey(), found)));
+        memoryPut(key, entry);
+        try {
+            store.save(key, found, found ? objectMapper.writeValueAsString(result) : null, entry.expiresAt());
+        } catch (DataAccessException ex) {
+            log.debug("Provider cache write failed for {}: {}", key, ex.getMessage());
+        } catch (Exception ex) {
+            log.warn("Provider result for {} could not be serialized for caching: {}", key, ex.getMessage());
+        }
+    }
+
+    private Entry cached(ProviderCacheKey key, Instant now) {
+        Entry cached = memoryGet(key, now);
+        if (cached != null) {
+            memoryHits.increment();
+            return cached;
+        }
+        cached = persistentGet(key, now);
+        if (cached != null) {
+            persistentHits.increment();
+            memoryPut(key, cached);
+        }
+        return cached;
+    }
+
+    private Entry memoryGet(ProviderCacheKey key, Instant now) {
+        synchronized (memory) {
+            Entry e = memory.get(key);
+            if (e == null) return null;
+            if (!e.expiresAt().isAfter(now)) {
+                memory.remove(key);
+                return null;
+            }
+            return e;
+        }
+    }
+
+    private void memoryPut(ProviderCacheKey key, Entry entry) {
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+    }
+
+    private Entry persistentGet(ProviderCacheKey key, Instant now) {
+        try {
+            return store.find(key, now)
+                    .map(stored -> new Entry(
+                            stored.found() ? objectMapper.readValue(stored.resultJson(), ProviderResult.class) : null,
+                            stored.expiresAt()))
+                    .orElse(null);
+        } catch (DataAccessException ex) {
+            log.debug("Provider cache read failed for {}: {}", key, ex.getMessage());
+            return null;
+        } catch (Exception ex) {
+            log.warn("Discarding unreadable provider cache entry {}: {}", key, ex.getMessage());
+            return null;
+        }
+    }
+
+    private int memorySize() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    private record Entry(ProviderResult result, Instant expiresAt) {}
+}
@@ -0,0 +1,99 @@
+package org.rostislav.curiokeep.providers.cache;
+
+import org.rostislav.curiokeep.providers.ProviderResult;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Applies {@link ProviderCacheProps.RawData} to provider results as they come back from the provider, before
+ * they are cached. Parsed JSON kept by a provider is written out as text, and under {@code CAPPED} writing
+ * stops buffering at the cap so an oversized document is never turned into a full string.
+ */
+final class RawDataPolicy {
+
+    private final ObjectMapper objectMapper;
+    private final ProviderCacheProps.RawData rawData;
+
+    RawDataPolicy(ObjectMapper objectMapper, ProviderCacheProps.RawData rawData) {
+        this.objectMapper = objectMapper;
+        this.rawData = rawData;
+    }
+
+    /**
+     * Returns the result with its raw data reduced per policy, or the same instance when nothing changes.
+     */
+    ProviderResult apply(ProviderResult result) {
+        if (result == null || result.rawData() == null || result.rawData().isEmpty()) return result;
+        if (rawData.mode() == ProviderCacheProps.RawData.Mode.NONE) {
+            return withRaw(result, Map.of());
+        }
+
+        boolean capped = rawData.mode() == ProviderCacheProps.RawData.Mode.CAPPED;
+        boolean changed = false;
+        boolean truncated = false;
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> e : result.rawData().entrySet()) {
+            Object value = e.getValue();
+            if (value instanceof JsonNode node) {
+                CappedWriter writer = new CappedWriter(capped ? rawData.maxChars() : Integer.MAX_VALUE);
+                objectMapper.writeValue(writer, node);
+                value = writer.toString();
+                truncated |= writer.truncated;
+                changed = true;
+            } else if (capped && value instanceof String s && s.length() > rawData.maxChars()) {
+                value = s.substring(0, rawData.maxChars());
+                truncated = true;
+                changed = true;
+            }
+            out.put(e.getKey(), value);
+        }
+        if (truncated) out.put("truncated", true);
+        return changed ? withRaw(result, out) : result;
+    }
+
+    private static ProviderResult withRaw(ProviderResult result, Map<String, Object> raw) {
+        return new ProviderResult(result.providerKey(), raw, result.normalizedFields(), result.assets(), result.confidence());
+    }
+
+    /** Keeps the first {@code max} characters written and drops the rest. */
+    private static final class CappedWriter extends Writer {
+        private final StringBuilder buffer = new StringBuilder();
+        private final int max;
+        private boolean truncated;
+
+        private CappedWriter(int max) {
+            this.max = max;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            int room = max - buffer.length();
+            if (len > room) truncated = true;
+            if (room > 0) buffer.append(cbuf, off, Math.min(len, room));
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            int room = max - buffer.length();
+            if (len > room) truncated = true;
+            if (room > 0) buffer.append(str, off, off + Math.min(len, room));
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+}
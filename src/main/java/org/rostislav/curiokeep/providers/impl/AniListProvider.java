@@ -9,7 +9,6 @@ import org.rostislav.curiokeep.providers.ProviderResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import tools.jackson.databind.JsonNode;
@@ -58,22 +57,19 @@ public class AniListProvider implements MetadataProvider {
             payload.put("query", QUERY);
             payload.set("variables", variables);
 
-                ResponseEntity<String> response = http.post()
+            JsonNode body = http.post()
                     .uri("https://graphql.anilist.co")
                     .contentType(MediaType.APPLICATION_JSON)
                     .body(payload.toString())
-                    .retrieve()
-                    .toEntity(String.class);
-
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                log.warn("anilist lookup failed status={} id={}", response.getStatusCode(), id);
-                return Optional.empty();
-            }
-
-            String body = response.getBody();
-            if (body == null || body.isBlank()) return Optional.empty();
-
-            JsonNode root = objectMapper.readTree(body).path("data").path("Media");
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            log.warn("anilist lookup failed status={} id={}", response.getStatusCode(), id);
+                            return null;
+                        }
+                        return ProviderJson.read(objectMapper, response);
+                    });
+            if (body == null) return Optional.empty();
+            JsonNode root = body.path("data").path("Media");
             if (root.isMissingNode() || root.isNull()) return Optional.empty();
 
             ObjectNode normalized = objectMapper.createObjectNode();
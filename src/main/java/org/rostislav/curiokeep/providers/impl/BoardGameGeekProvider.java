@@ -4,19 +4,20 @@ import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
 import org.rostislav.curiokeep.providers.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
 import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.node.ObjectNode;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.StringReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -28,6 +29,7 @@ public class BoardGameGeekProvider implements MetadataProvider {
     private static final List<ProviderCredentialField> CREDENTIAL_FIELDS = List.of(
             ProviderCredentialField.secret("token", "Bearer token", "BoardGameGeek API bearer token")
     );
+    private static final XMLInputFactory XML_INPUT = secureInputFactory();
 
     private final RestClient http;
     private final ObjectMapper objectMapper;
@@ -77,60 +79,55 @@ public class BoardGameGeekProvider implements MetadataProvider {
         }
 
         try {
-                ResponseEntity<String> response = http.get()
+            Thing item = http.get()
                     .uri("https://boardgamegeek.com/xmlapi2/thing?id={id}&stats=1", trimmed)
                     .header("Authorization", "Bearer " + bearerToken)
-                    .retrieve()
-                    .toEntity(String.class);
-
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                log.warn("bgg lookup failed: status={} id={}", response.getStatusCode(), trimmed);
-                return Optional.empty();
-            }
-
-            String body = response.getBody();
-            if (body == null || body.isBlank()) return Optional.empty();
-
-            Element item = extractItem(body);
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            log.warn("bgg lookup failed: status={} id={}", response.getStatusCode(), trimmed);
+                            return null;
+                        }
+                        try (InputStream in = response.getBody()) {
+                            return readFirstItem(in);
+                        }
+                    });
             if (item == null) return Optional.empty();
 
             ObjectNode normalized = objectMapper.createObjectNode();
 
-            String title = primaryName(item);
-            if (title != null) normalized.put("title", title);
+            if (item.title != null) normalized.put("title", item.title);
 
-            Integer year = attrInt(item, "yearpublished", "value");
+            Integer year = parseInt(item.values.get("yearpublished"));
             if (year != null) normalized.put("published_year", year);
 
-            Integer minPlayers = attrInt(item, "minplayers", "value");
+            Integer minPlayers = parseInt(item.values.get("minplayers"));
             if (minPlayers != null) normalized.put("min_players", minPlayers);
 
-            Integer maxPlayers = attrInt(item, "maxplayers", "value");
+            Integer maxPlayers = parseInt(item.values.get("maxplayers"));
             if (maxPlayers != null) normalized.put("max_players", maxPlayers);
 
-            Integer playTime = attrInt(item, "playingtime", "value");
+            Integer playTime = parseInt(item.values.get("playingtime"));
             if (playTime != null) normalized.put("playing_time", playTime);
 
-            Integer minAge = attrInt(item, "minage", "value");
+            Integer minAge = parseInt(item.values.get("minage"));
             if (minAge != null) normalized.put("min_age", minAge);
 
-            String publisher = firstLink(item, "boardgamepublisher");
-            if (publisher != null) normalized.put("publisher", publisher);
+            if (item.publisher != null) normalized.put("publisher", item.publisher);
 
             normalized.put("bgg_id", trimmed);
             normalized.put("canonical_url", "https://boardgamegeek.com/boardgame/" + trimmed);
 
             List<ProviderAsset> assets = new ArrayList<>();
-            String image = textContent(item, "image");
+            String image = item.texts.get("image");
             if (image != null) assets.add(new ProviderAsset(AssetType.COVER, URI.create(image), null, null));
-            String thumb = textContent(item, "thumbnail");
+            String thumb = item.texts.get("thumbnail");
             if (thumb != null) assets.add(new ProviderAsset(AssetType.THUMBNAIL, URI.create(thumb), null, null));
 
             ProviderConfidence confidence = new ProviderConfidence(70, "BoardGameGeek thing lookup");
 
             return Optional.of(new ProviderResult(
                     key(),
-                    Map.of("xml", body),
+                    Map.of("json", objectMapper.valueToTree(item.values)),
                     Map.of("json", normalized.toString()),
                     assets,
                     confidence
@@ -141,66 +138,91 @@ public class BoardGameGeekProvider implements MetadataProvider {
         }
     }
 
-    private Element extractItem(String xml) {
+    /**
+     * Pulls the first {@code <item>} out of a thing response with StAX, stopping at its end tag. The response
+     * carries ratings, ranks and polls after the fields used here, none of which are ever materialized.
+     */
+    private static Thing readFirstItem(InputStream in) {
+        XMLStreamReader reader = null;
         try {
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            dbf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            dbf.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            dbf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            dbf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            Document doc = dbf.newDocumentBuilder().parse(new org.xml.sax.InputSource(new StringReader(xml)));
-            NodeList items = doc.getElementsByTagName("item");
-            if (items.getLength() == 0) return null;
-            return (Element) items.item(0);
-        } catch (Exception e) {
+            reader = XML_INPUT.createXMLStreamReader(in);
+            Thing thing = null;
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String tag = reader.getLocalName();
+                    if (thing == null) {
+                        if ("item".equals(tag)) thing = new Thing();
+                        continue;
+                    }
+                    depth++;
+                    switch (tag) {
+                        case "name" -> {
+                            String type = attribute(reader, "type");
+                            if (thing.title == null && (type == null || "primary".equalsIgnoreCase(type))) {
+                                thing.title = attribute(reader, "value");
+                            }
+                        }
+                        case "link" -> {
+                            if (thing.publisher == null && "boardgamepublisher".equals(attribute(reader, "type"))) {
+                                thing.publisher = attribute(reader, "value");
+                            }
+                        }
+                        case "image", "thumbnail" -> {
+                            String text = reader.getElementText().trim();
+                            depth--;
+                            if (!text.isEmpty()) thing.texts.putIfAbsent(tag, text);
+                        }
+                        default -> {
+                            String value = attribute(reader, "value");
+                            if (value != null) thing.values.putIfAbsent(tag, value);
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && thing != null) {
+                    if (depth == 0) return thing;
+                    depth--;
+                }
+            }
+            return thing;
+        } catch (XMLStreamException e) {
             log.warn("bgg parse failed: {}", e.getMessage());
             return null;
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // the underlying stream is closed by the caller
+                }
+            }
         }
     }
 
-    private String primaryName(Element item) {
-        NodeList names = item.getElementsByTagName("name");
-        for (int i = 0; i < names.getLength(); i++) {
-            Element el = (Element) names.item(i);
-            String type = el.getAttribute("type");
-            if ("primary".equalsIgnoreCase(type) || type.isBlank()) {
-                String v = el.getAttribute("value");
-                if (v != null && !v.isBlank()) return v;
-            }
-        }
-        return null;
+    private static String attribute(XMLStreamReader reader, String name) {
+        String v = reader.getAttributeValue(null, name);
+        return v == null || v.isBlank() ? null : v;
     }
 
-    private Integer attrInt(Element parent, String tag, String attr) {
-        NodeList list = parent.getElementsByTagName(tag);
-        if (list.getLength() == 0) return null;
-        Element el = (Element) list.item(0);
-        String v = el.getAttribute(attr);
+    private static Integer parseInt(String v) {
         try {
-            return (v == null || v.isBlank()) ? null : Integer.parseInt(v);
+            return v == null ? null : Integer.parseInt(v);
         } catch (NumberFormatException ex) {
             return null;
         }
     }
 
-    private String firstLink(Element parent, String type) {
-        NodeList links = parent.getElementsByTagName("link");
-        for (int i = 0; i < links.getLength(); i++) {
-            Element link = (Element) links.item(i);
-            if (type.equals(link.getAttribute("type"))) {
-                String v = link.getAttribute("value");
-                if (v != null && !v.isBlank()) return v;
-            }
-        }
-        return null;
+    private static XMLInputFactory secureInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
     }
 
-    private String textContent(Element parent, String tag) {
-        NodeList list = parent.getElementsByTagName(tag);
-        if (list.getLength() == 0) return null;
-        String v = list.item(0).getTextContent();
-        if (v == null) return null;
-        v = v.trim();
-        return v.isEmpty() ? null : v;
+    private static final class Thing {
+        String title;
+        String publisher;
+        final Map<String, String> values = new LinkedHashMap<>();
+        final Map<String, String> texts = new HashMap<>();
     }
 }
@@ -11,7 +11,6 @@ import org.rostislav.curiokeep.providers.ProviderCredentialLookup;
 import org.rostislav.curiokeep.providers.ProviderResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import tools.jackson.databind.JsonNode;
@@ -19,7 +18,6 @@ import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.node.ObjectNode;
 
 import java.net.URI;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -32,7 +30,6 @@ public class ComicVineProvider implements MetadataProvider {
 
     private static final String HOST = "comicvine.gamespot.com";
     private static final String BASE_PATH = "/api";
-    private static final Duration MIN_DELAY = Duration.ofMillis(150); // gentle throttle
 
     private static final List<ProviderCredentialField> CREDENTIAL_FIELDS = List.of(
             ProviderCredentialField.secret("apiKey", "Comic Vine API key", "Comic Vine API key from your account")
@@ -41,7 +38,6 @@ public class ComicVineProvider implements MetadataProvider {
     private final RestClient http;
     private final ObjectMapper objectMapper;
     private final ProviderCredentialLookup credentialLookup;
-    private long lastCallNanos = 0L;
 
     public ComicVineProvider(RestClient http, ObjectMapper objectMapper, ProviderCredentialLookup credentialLookup) {
         this.http = http;
@@ -81,8 +77,6 @@ public class ComicVineProvider implements MetadataProvider {
         if (normalizedId == null) return Optional.empty();
 
         try {
-            throttle();
-
             // ComicVine is only called with its own IDs or free-text title/issue queries.
             String issueId = extractIssueId(normalizedId);
             if (issueId != null) {
@@ -97,22 +91,8 @@ public class ComicVineProvider implements MetadataProvider {
         }
     }
 
-    private void throttle() {
-        long now = System.nanoTime();
-        long minGapNanos = MIN_DELAY.toNanos();
-        if (lastCallNanos > 0 && now - lastCallNanos < minGapNanos) {
-            long sleep = minGapNanos - (now - lastCallNanos);
-            try {
-                Thread.sleep(Duration.ofNanos(sleep));
-            } catch (InterruptedException ignored) {
-                Thread.currentThread().interrupt();
-            }
-        }
-        lastCallNanos = System.nanoTime();
-    }
-
     private Optional<ProviderResult> fetchIssueById(String issueId, String apiKey, int score, String reason) throws Exception {
-        ResponseEntity<String> resp = http.get()
+        JsonNode root = http.get()
                 .uri(uriBuilder -> uriBuilder
                     .scheme("https")
                     .host(HOST)
@@ -120,27 +100,23 @@ public class ComicVineProvider implements MetadataProvider {
                     .queryParam("api_key", apiKey)
                     .queryParam("format", "json")
                     .build())
-                .retrieve()
-                .toEntity(String.class);
-
-        if (!resp.getStatusCode().is2xxSuccessful()) {
-            log.warn("comicvine issue lookup failed status={} id={}", resp.getStatusCode(), issueId);
-            return Optional.empty();
-        }
-
-        String body = resp.getBody();
-        if (body == null || body.isBlank()) return Optional.empty();
-
-        JsonNode root = objectMapper.readTree(body);
+                .exchange((request, response) -> {
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        log.warn("comicvine issue lookup failed status={} id={}", response.getStatusCode(), issueId);
+                        return null;
+                    }
+                    return ProviderJson.read(objectMapper, response);
+                });
+        if (root == null) return Optional.empty();
         JsonNode result = root.get("results");
         if (result == null || result.isNull()) return Optional.empty();
 
-        ProviderResult pr = buildResult(result, body, score, reason, issueId, null);
+        ProviderResult pr = buildResult(result, root, score, reason, issueId, null);
         return Optional.ofNullable(pr);
     }
 
     private Optional<ProviderResult> searchIssues(String apiKey, String query, int score, String reason) throws Exception {
-        ResponseEntity<String> resp = http.get()
+        JsonNode root = http.get()
                 .uri(uriBuilder -> uriBuilder
                 .scheme("https")
                 .host(HOST)
@@ -150,28 +126,24 @@ public class ComicVineProvider implements MetadataProvider {
                         .queryParam("resources", "issue")
                         .queryParam("query", query)
                         .build())
-                .retrieve()
-                .toEntity(String.class);
-
-        if (!resp.getStatusCode().is2xxSuccessful()) {
-            log.warn("comicvine search failed status={} query={}", resp.getStatusCode(), query);
-            return Optional.empty();
-        }
-
-        String body = resp.getBody();
-        if (body == null || body.isBlank()) return Optional.empty();
-
-        JsonNode root = objectMapper.readTree(body);
+                .exchange((request, response) -> {
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        log.warn("comicvine search failed status={} query={}", response.getStatusCode(), query);
+                        return null;
+                    }
+                    return ProviderJson.read(objectMapper, response);
+                });
+        if (root == null) return Optional.empty();
         JsonNode results = root.get("results");
         if (results == null || !results.isArray() || results.isEmpty()) return Optional.empty();
 
         JsonNode best = results.get(0);
         String issueId = text(best.get("id"));
-        ProviderResult pr = buildResult(best, body, score, reason, issueId, null);
+        ProviderResult pr = buildResult(best, root, score, reason, issueId, null);
         return Optional.ofNullable(pr);
     }
 
-    private ProviderResult buildResult(JsonNode node, String rawBody, int score, String reason, String issueId, String volumeId) {
+    private ProviderResult buildResult(JsonNode node, JsonNode raw, int score, String reason, String issueId, String volumeId) {
         ObjectNode normalized = objectMapper.createObjectNode();
 
         // Series title comes from the volume; issue title from the issue name
@@ -231,7 +203,7 @@ public class ComicVineProvider implements MetadataProvider {
 
         return new ProviderResult(
                 key(),
-                Map.of("json", rawBody),
+                Map.of("json", raw),
                 Map.of("json", normalized.toString()),
                 assets,
                 confidence
@@ -8,7 +8,6 @@ import org.rostislav.curiokeep.providers.ProviderConfidence;
 import org.rostislav.curiokeep.providers.ProviderResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import tools.jackson.databind.JsonNode;
@@ -52,20 +51,16 @@ public class CoverArtArchiveProvider implements MetadataProvider {
         }
         String mbid = idValue.trim();
         try {
-                ResponseEntity<String> response = http.get()
+            JsonNode root = http.get()
                     .uri("https://coverartarchive.org/release/{mbid}", mbid)
-                    .retrieve()
-                    .toEntity(String.class);
-
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                log.warn("coverartarchive lookup failed: status={} mbid={}", response.getStatusCode(), mbid);
-                return Optional.empty();
-            }
-
-            String body = response.getBody();
-            if (body == null || body.isBlank()) return Optional.empty();
-
-            JsonNode root = objectMapper.readTree(body);
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            log.warn("coverartarchive lookup failed: status={} mbid={}", response.getStatusCode(), mbid);
+                            return null;
+                        }
+                        return ProviderJson.read(objectMapper, response);
+                    });
+            if (root == null) return Optional.empty();
             JsonNode images = root.path("images");
             if (!images.isArray() || images.size() == 0) return Optional.empty();
 
@@ -88,7 +83,7 @@ public class CoverArtArchiveProvider implements MetadataProvider {
                 );
 
             ProviderConfidence confidence = new ProviderConfidence(60, "Cover Art Archive by MBID");
-            return Optional.of(new ProviderResult(key(), Map.of("json", body), normalized, assets, confidence));
+            return Optional.of(new ProviderResult(key(), Map.of("json", root), normalized, assets, confidence));
         } catch (Exception e) {
             log.warn("coverartarchive lookup failed mbid={} error={}", idValue, e.getMessage());
             return Optional.empty();
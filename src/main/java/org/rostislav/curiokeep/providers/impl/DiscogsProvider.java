@@ -11,7 +11,6 @@ import org.rostislav.curiokeep.providers.ProviderCredentialLookup;
 import org.rostislav.curiokeep.providers.ProviderResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import tools.jackson.databind.JsonNode;
@@ -78,7 +77,7 @@ public class DiscogsProvider implements MetadataProvider {
         if (barcode == null) return Optional.empty();
 
         try {
-                ResponseEntity<String> response = http.get()
+            JsonNode root = http.get()
                     .uri(uriBuilder -> uriBuilder
                         .scheme("https")
                         .host("api.discogs.com")
@@ -88,18 +87,14 @@ public class DiscogsProvider implements MetadataProvider {
                         .queryParam("per_page", "1")
                         .build())
                     .header("Authorization", "Discogs token=" + token)
-                    .retrieve()
-                    .toEntity(String.class);
-
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                log.warn("discogs lookup failed: status={} barcode={}", response.getStatusCode(), barcode);
-                return Optional.empty();
-            }
-
-            String body = response.getBody();
-            if (body == null || body.isBlank()) return Optional.empty();
-
-            JsonNode root = objectMapper.readTree(body);
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            log.warn("discogs lookup failed: status={} barcode={}", response.getStatusCode(), barcode);
+                            return null;
+                        }
+                        return ProviderJson.read(objectMapper, response);
+                    });
+            if (root == null) return Optional.empty();
             JsonNode results = root.path("results");
             if (!results.isArray() || results.isEmpty()) return Optional.empty();
 
@@ -140,7 +135,7 @@ public class DiscogsProvider implements MetadataProvider {
 
         return new ProviderResult(
                 key(),
-                Map.of("json", node.toString()),
+                Map.of("json", node),
                 Map.of("json", normalized.toString()),
                 assets,
                 confidence
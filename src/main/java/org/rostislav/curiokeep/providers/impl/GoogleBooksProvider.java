@@ -8,7 +8,6 @@ import org.rostislav.curiokeep.providers.ProviderConfidence;
 import org.rostislav.curiokeep.providers.ProviderResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import tools.jackson.core.JacksonException;
@@ -71,29 +70,25 @@ public class GoogleBooksProvider implements MetadataProvider {
         String isbn = normalizeIsbn(idValue);
         if (isbn == null) return Optional.empty();
 
-        ResponseEntity<String> response = http.get()
-                .uri("https://www.googleapis.com/books/v1/volumes?q=isbn:{isbn}", isbn)
-                .retrieve()
-                .toEntity(String.class);
-
-        if (!response.getStatusCode().is2xxSuccessful()) {
-            log.warn("googlebooks lookup failed: status={} isbn={}", response.getStatusCode(), isbn);
-            return Optional.empty();
-        }
-
-        String body = response.getBody();
-        if (body == null || body.isBlank()) {
-            log.warn("googlebooks lookup empty body isbn={}", isbn);
-            return Optional.empty();
-        }
-
         JsonNode rootNode;
         try {
-            rootNode = objectMapper.readTree(body);
+            rootNode = http.get()
+                    .uri("https://www.googleapis.com/books/v1/volumes?q=isbn:{isbn}", isbn)
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            log.warn("googlebooks lookup failed: status={} isbn={}", response.getStatusCode(), isbn);
+                            return null;
+                        }
+                        return ProviderJson.read(objectMapper, response, "items");
+                    });
         } catch (JacksonException e) {
             log.warn("googlebooks lookup invalid JSON isbn={} error={}", isbn, e.getMessage());
             return Optional.empty();
         }
+        if (rootNode == null) {
+            log.warn("googlebooks lookup empty body isbn={}", isbn);
+            return Optional.empty();
+        }
 
         if (!rootNode.has("items") || !rootNode.get("items").isArray() || rootNode.get("items").isEmpty()) {
             return Optional.empty();
@@ -152,7 +147,7 @@ public class GoogleBooksProvider implements MetadataProvider {
 
         return Optional.of(new ProviderResult(
                 key(),
-                Map.of("json", item0.toString()),
+                Map.of("json", item0),
                 Map.of("json", normalized.toString()),
                 assets,
                 conf
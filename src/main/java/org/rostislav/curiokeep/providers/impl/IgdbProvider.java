@@ -12,7 +12,6 @@ import org.rostislav.curiokeep.providers.ProviderResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import tools.jackson.databind.JsonNode;
@@ -82,24 +81,20 @@ public class IgdbProvider implements MetadataProvider {
         try {
             String bodyRequest = "fields name, summary, first_release_date, cover.url, slug; where id = " + id + ";";
 
-                ResponseEntity<String> response = http.post()
+            JsonNode root = http.post()
                     .uri("https://api.igdb.com/v4/games")
                     .header("Client-ID", clientId)
                     .header("Authorization", "Bearer " + bearerToken)
                     .contentType(MediaType.TEXT_PLAIN)
                     .body(bodyRequest)
-                    .retrieve()
-                    .toEntity(String.class);
-
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                log.warn("igdb lookup failed: status={} id={}", response.getStatusCode(), id);
-                return Optional.empty();
-            }
-
-            String body = response.getBody();
-            if (body == null || body.isBlank()) return Optional.empty();
-
-            JsonNode root = objectMapper.readTree(body);
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            log.warn("igdb lookup failed: status={} id={}", response.getStatusCode(), id);
+                            return null;
+                        }
+                        return ProviderJson.read(objectMapper, response);
+                    });
+            if (root == null) return Optional.empty();
             if (!root.isArray() || root.isEmpty()) return Optional.empty();
             JsonNode node = root.get(0);
 
@@ -130,7 +125,7 @@ public class IgdbProvider implements MetadataProvider {
 
             return Optional.of(new ProviderResult(
                     key(),
-                    Map.of("json", body),
+                    Map.of("json", root),
                     Map.of("json", normalized.toString()),
                     assets,
                     confidence
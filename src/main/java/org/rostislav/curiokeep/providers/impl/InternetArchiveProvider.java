@@ -8,7 +8,6 @@ import org.rostislav.curiokeep.providers.ProviderConfidence;
 import org.rostislav.curiokeep.providers.ProviderResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import tools.jackson.databind.JsonNode;
@@ -50,20 +49,16 @@ public class InternetArchiveProvider implements MetadataProvider {
         if (id == null) return Optional.empty();
 
         try {
-                ResponseEntity<String> response = http.get()
+            JsonNode root = http.get()
                     .uri("https://archive.org/metadata/" + id)
-                    .retrieve()
-                    .toEntity(String.class);
-
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                log.warn("internetarchive lookup failed status={} id={}", response.getStatusCode(), id);
-                return Optional.empty();
-            }
-
-            String body = response.getBody();
-            if (body == null || body.isBlank()) return Optional.empty();
-
-            JsonNode root = objectMapper.readTree(body);
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            log.warn("internetarchive lookup failed status={} id={}", response.getStatusCode(), id);
+                            return null;
+                        }
+                        return ProviderJson.read(objectMapper, response);
+                    });
+            if (root == null) return Optional.empty();
             ObjectNode metadata = root.path("metadata").isObject() ? (ObjectNode) root.get("metadata") : objectMapper.createObjectNode();
 
             ObjectNode normalized = objectMapper.createObjectNode();
@@ -91,7 +86,7 @@ public class InternetArchiveProvider implements MetadataProvider {
 
             return Optional.of(new ProviderResult(
                     key(),
-                    Map.of("json", body),
+                    Map.of("json", root),
                     Map.of("json", normalized.toString()),
                     assets,
                     confidence
@@ -11,7 +11,6 @@ import org.rostislav.curiokeep.providers.ProviderCredentialLookup;
 import org.rostislav.curiokeep.providers.ProviderResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
@@ -116,35 +115,29 @@ public class MetronProvider implements MetadataProvider {
         JsonNode full = fetchIssueDetail(issueId, username, password);
         if (full == null) return Optional.empty();
 
-        String rawBody = full.toString();
-        ProviderResult pr = buildResult(full, rawBody, score, reason, issueId);
+        ProviderResult pr = buildResult(full, score, reason, issueId);
         return Optional.ofNullable(pr);
     }
 
     private JsonNode fetchIssueDetail(String issueId, String username, String password) throws Exception {
-        ResponseEntity<String> resp = http.get()
+        return http.get()
             .uri(uriBuilder -> uriBuilder
                 .scheme("https")
                 .host(HOST)
                 .path(BASE_PATH + "/" + issueId + "/")
                 .build())
             .headers(headers -> headers.setBasicAuth(username, password, java.nio.charset.StandardCharsets.UTF_8))
-            .retrieve()
-            .toEntity(String.class);
-
-        if (!resp.getStatusCode().is2xxSuccessful()) {
-            log.warn("metron issue lookup failed status={} id={}", resp.getStatusCode(), issueId);
-            return null;
-        }
-
-        String body = resp.getBody();
-        if (body == null || body.isBlank()) return null;
-
-        return objectMapper.readTree(body);
+            .exchange((request, response) -> {
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    log.warn("metron issue lookup failed status={} id={}", response.getStatusCode(), issueId);
+                    return null;
+                }
+                return ProviderJson.read(objectMapper, response);
+            });
     }
 
     private Optional<ProviderResult> searchIssuesAndHydrate(String param, String value, String username, String password, int score, String reason) throws Exception {
-        ResponseEntity<String> resp = http.get()
+        JsonNode root = http.get()
             .uri(uriBuilder -> uriBuilder
                 .scheme("https")
                 .host(HOST)
@@ -152,18 +145,14 @@ public class MetronProvider implements MetadataProvider {
                 .queryParam(param, value)
                 .build())
             .headers(headers -> headers.setBasicAuth(username, password, java.nio.charset.StandardCharsets.UTF_8))
-            .retrieve()
-            .toEntity(String.class);
-
-        if (!resp.getStatusCode().is2xxSuccessful()) {
-            log.warn("metron search failed status={} param={} value={}", resp.getStatusCode(), param, value);
-            return Optional.empty();
-        }
-
-        String body = resp.getBody();
-        if (body == null || body.isBlank()) return Optional.empty();
-
-        JsonNode root = objectMapper.readTree(body);
+            .exchange((request, response) -> {
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    log.warn("metron search failed status={} param={} value={}", response.getStatusCode(), param, value);
+                    return null;
+                }
+                return ProviderJson.read(objectMapper, response);
+            });
+        if (root == null) return Optional.empty();
         JsonNode results = root.isArray() ? root : root.get("results");
         if (results == null || !results.isArray() || results.isEmpty()) return Optional.empty();
 
@@ -174,11 +163,11 @@ public class MetronProvider implements MetadataProvider {
         JsonNode full = fetchIssueDetail(issueId, username, password);
         if (full == null) return Optional.empty();
 
-        ProviderResult pr = buildResult(full, full.toString(), score, reason, issueId);
+        ProviderResult pr = buildResult(full, score, reason, issueId);
         return Optional.ofNullable(pr);
     }
 
-    private ProviderResult buildResult(JsonNode node, String rawBody, int score, String reason, String issueId) {
+    private ProviderResult buildResult(JsonNode node, int score, String reason, String issueId) {
         ObjectNode normalized = objectMapper.createObjectNode();
 
         // Metron response example (issue list item):
@@ -276,7 +265,7 @@ public class MetronProvider implements MetadataProvider {
 
         return new ProviderResult(
                 key(),
-                Map.of("json", rawBody),
+                Map.of("json", node),
                 Map.of("json", normalized.toString()),
                 assets,
                 confidence
@@ -8,7 +8,6 @@ import org.rostislav.curiokeep.providers.ProviderConfidence;
 import org.rostislav.curiokeep.providers.ProviderResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import tools.jackson.databind.JsonNode;
@@ -17,6 +16,7 @@ import tools.jackson.databind.node.ObjectNode;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -26,6 +26,8 @@ import java.util.Optional;
 public class MusicBrainzProvider implements MetadataProvider {
 
     private static final Logger log = LoggerFactory.getLogger(MusicBrainzProvider.class);
+    private static final int MAX_BARCODES = 25;
+    private static final int SEARCH_LIMIT = 100;
 
     private final RestClient http;
     private final ObjectMapper objectMapper;
@@ -51,7 +53,7 @@ public class MusicBrainzProvider implements MetadataProvider {
         if (barcode == null) return Optional.empty();
 
         try {
-                ResponseEntity<String> response = http.get()
+            JsonNode root = http.get()
                     .uri(uriBuilder -> uriBuilder
                         .scheme("https")
                         .host("musicbrainz.org")
@@ -61,21 +63,18 @@ public class MusicBrainzProvider implements MetadataProvider {
                         .queryParam("limit", "1")
                         .queryParam("inc", "artist-credits+release-groups+labels")
                         .build())
-                    .retrieve()
-                    .toEntity(String.class);
-
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                log.warn("musicbrainz lookup failed: status={} barcode={}", response.getStatusCode(), barcode);
-                return Optional.empty();
-            }
-
-            String body = response.getBody();
-            if (body == null || body.isBlank()) {
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            log.warn("musicbrainz lookup failed: status={} barcode={}", response.getStatusCode(), barcode);
+                            return null;
+                        }
+                        return ProviderJson.read(objectMapper, response, "releases");
+                    });
+            if (root == null) {
                 log.warn("musicbrainz lookup empty body barcode={}", barcode);
                 return Optional.empty();
             }
 
-            JsonNode root = objectMapper.readTree(body);
             JsonNode releases = root.path("releases");
             if (!releases.isArray() || releases.size() == 0) return Optional.empty();
 
@@ -90,6 +89,63 @@ public class MusicBrainzProvider implements MetadataProvider {
         }
     }
 
+    @Override
+    public int maxBatchSize() {
+        return MAX_BARCODES;
+    }
+
+    /**
+     * Looks up to {@value #MAX_BARCODES} barcodes with a single Lucene {@code barcode:a OR barcode:b} search and
+     * keeps the best-scored release per barcode. When the search has more hits than one page holds, barcodes
+     * missing from that page are fetched one by one rather than reported as unknown.
+     */
+    @Override
+    public Map<String, ProviderResult> fetchBatch(ItemIdentifierEntity.IdType idType, List<String> idValues) {
+        Map<String, List<String>> requestedByBarcode = new LinkedHashMap<>();
+        for (String idValue : idValues) {
+            String barcode = normalizeBarcode(idValue);
+            if (barcode != null) requestedByBarcode.computeIfAbsent(barcode, k -> new ArrayList<>()).add(idValue);
+        }
+        if (requestedByBarcode.isEmpty()) return Map.of();
+
+        String query = String.join(" OR ", requestedByBarcode.keySet().stream().map(b -> "barcode:" + b).toList());
+        JsonNode root = http.get()
+                .uri(uriBuilder -> uriBuilder
+                        .scheme("https")
+                        .host("musicbrainz.org")
+                        .path("/ws/2/release/")
+                        .queryParam("query", query)
+                        .queryParam("fmt", "json")
+                        .queryParam("limit", SEARCH_LIMIT)
+                        .queryParam("inc", "artist-credits+release-groups+labels")
+                        .build())
+                .exchange((request, response) -> {
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        throw new IllegalStateException("musicbrainz batch lookup failed status=" + response.getStatusCode());
+                    }
+                    return ProviderJson.read(objectMapper, response, "count", "releases");
+                });
+        if (root == null) return Map.of();
+
+        JsonNode releases = root.path("releases");
+        Map<String, ProviderResult> out = new LinkedHashMap<>();
+        for (JsonNode release : releases) {
+            String barcode = normalizeBarcode(text(release.get("barcode")));
+            List<String> requested = barcode == null ? null : requestedByBarcode.get(barcode);
+            if (requested == null || out.containsKey(requested.getFirst())) continue;
+            ProviderResult result = buildResult(idType, barcode, release);
+            if (result != null) requested.forEach(idValue -> out.put(idValue, result));
+        }
+
+        if (root.path("count").asInt(0) > releases.size()) {
+            requestedByBarcode.forEach((barcode, requested) -> {
+                if (out.containsKey(requested.getFirst())) return;
+                fetch(idType, barcode).ifPresent(r -> requested.forEach(idValue -> out.put(idValue, r)));
+            });
+        }
+        return out;
+    }
+
     private ProviderResult buildResult(ItemIdentifierEntity.IdType idType, String barcode, JsonNode release) {
         ObjectNode normalized = objectMapper.createObjectNode();
 
@@ -122,7 +178,7 @@ public class MusicBrainzProvider implements MetadataProvider {
 
         return new ProviderResult(
                 key(),
-                Map.of("json", release.toString()),
+                Map.of("json", release),
                 Map.of("json", normalized.toString()),
                 assets,
                 confidence
@@ -133,16 +189,15 @@ public class MusicBrainzProvider implements MetadataProvider {
         if (mbid == null || mbid.isBlank()) return List.of();
 
         try {
-                ResponseEntity<String> response = http.get()
+            JsonNode root = http.get()
                     .uri("https://coverartarchive.org/release/{mbid}", mbid)
-                    .retrieve()
-                    .toEntity(String.class);
-
-            if (!response.getStatusCode().is2xxSuccessful()) return List.of();
-            String body = response.getBody();
-            if (body == null || body.isBlank()) return List.of();
-
-            JsonNode root = objectMapper.readTree(body);
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            return null;
+                        }
+                        return ProviderJson.read(objectMapper, response);
+                    });
+            if (root == null) return List.of();
             JsonNode images = root.path("images");
             if (!images.isArray() || images.size() == 0) return List.of();
 
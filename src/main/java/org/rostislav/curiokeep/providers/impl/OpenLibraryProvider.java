@@ -8,7 +8,6 @@ import org.rostislav.curiokeep.providers.ProviderConfidence;
 import org.rostislav.curiokeep.providers.ProviderResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import tools.jackson.core.JacksonException;
@@ -24,6 +23,7 @@ import java.util.*;
 public class OpenLibraryProvider implements MetadataProvider {
 
     private static final Logger log = LoggerFactory.getLogger(OpenLibraryProvider.class);
+    private static final int MAX_BIBKEYS = 50;
 
     private final RestClient http;
     private final ObjectMapper objectMapper;
@@ -72,103 +72,138 @@ public class OpenLibraryProvider implements MetadataProvider {
         if (isbn == null) return Optional.empty();
 
         try {
-            ResponseEntity<String> response = http.get()
+            JsonNode rawNode = http.get()
                     .uri("https://openlibrary.org/isbn/{isbn}.json", isbn)
-                    .retrieve()
-                    .toEntity(String.class);
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            log.warn("openlibrary lookup failed: status={} isbn={}", response.getStatusCode(), isbn);
+                            return null;
+                        }
+                        return ProviderJson.read(objectMapper, response);
+                    });
+            if (rawNode == null) return Optional.empty();
 
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                log.warn("openlibrary lookup failed: status={} isbn={}", response.getStatusCode(), isbn);
-                return Optional.empty();
-            }
+            return Optional.of(buildResult(idType, isbn, rawNode));
 
-            String raw = response.getBody();
-            if (raw == null || raw.isBlank()) {
-                log.warn("openlibrary lookup empty body isbn={}", isbn);
-                return Optional.empty();
-            }
+        } catch (JacksonException e) {
+            log.warn("openlibrary lookup invalid JSON isbn={} error={}", isbn, e.getMessage());
+            return Optional.empty();
+        } catch (Exception e) {
+            log.warn("openlibrary lookup failed isbn={} error={}", isbn, e.getMessage());
+            return Optional.empty();
+        }
+    }
 
-            JsonNode rawNode = objectMapper.readTree(raw);
+    @Override
+    public int maxBatchSize() {
+        return MAX_BIBKEYS;
+    }
 
-            if (rawNode.isMissingNode() || rawNode.isNull()) return Optional.empty();
+    /**
+     * Resolves up to {@value #MAX_BIBKEYS} ISBNs with one {@code api/books} request. With {@code jscmd=details}
+     * each entry carries the same edition record {@code /isbn/{isbn}.json} returns, with author names inlined.
+     */
+    @Override
+    public Map<String, ProviderResult> fetchBatch(ItemIdentifierEntity.IdType idType, List<String> idValues) {
+        Map<String, List<String>> requestedByIsbn = new LinkedHashMap<>();
+        for (String idValue : idValues) {
+            String isbn = normalizeIsbn(idValue);
+            if (isbn != null) requestedByIsbn.computeIfAbsent(isbn, k -> new ArrayList<>()).add(idValue);
+        }
+        if (requestedByIsbn.isEmpty()) return Map.of();
+
+        String bibkeys = String.join(",", requestedByIsbn.keySet().stream().map(isbn -> "ISBN:" + isbn).toList());
+        JsonNode root = http.get()
+                .uri("https://openlibrary.org/api/books?bibkeys={bibkeys}&format=json&jscmd=details", bibkeys)
+                .exchange((request, response) -> {
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        throw new IllegalStateException("openlibrary batch lookup failed status=" + response.getStatusCode());
+                    }
+                    return ProviderJson.read(objectMapper, response);
+                });
+        if (root == null) return Map.of();
+
+        Map<String, ProviderResult> out = new LinkedHashMap<>();
+        requestedByIsbn.forEach((isbn, requested) -> {
+            JsonNode details = root.path("ISBN:" + isbn).path("details");
+            if (!details.isObject()) return;
+            ProviderResult result = buildResult(idType, isbn, details);
+            requested.forEach(idValue -> out.put(idValue, result));
+        });
+        return out;
+    }
 
-            ObjectNode normalized = JsonNodeFactory.instance.objectNode();
+    private ProviderResult buildResult(ItemIdentifierEntity.IdType idType, String isbn, JsonNode rawNode) {
+        ObjectNode normalized = JsonNodeFactory.instance.objectNode();
 
-            // title
-            putText(normalized, "title", rawNode.get("title"));
-            putText(normalized, "subtitle", rawNode.get("subtitle"));
+        // title
+        putText(normalized, "title", rawNode.get("title"));
+        putText(normalized, "subtitle", rawNode.get("subtitle"));
 
-            // publish
-            putText(normalized, "publisher", rawNode.get("publishers") != null && rawNode.get("publishers").isArray() && !rawNode.get("publishers").isEmpty()
-                    ? rawNode.get("publishers").get(0)
-                    : rawNode.get("publishers"));
-            putPublishedYear(normalized, rawNode.get("publish_date"));
+        // publish
+        putText(normalized, "publisher", rawNode.get("publishers") != null && rawNode.get("publishers").isArray() && !rawNode.get("publishers").isEmpty()
+                ? rawNode.get("publishers").get(0)
+                : rawNode.get("publishers"));
+        putPublishedYear(normalized, rawNode.get("publish_date"));
 
-            // pages
-            if (rawNode.hasNonNull("number_of_pages")) normalized.put("pages", rawNode.get("number_of_pages").asInt());
+        // pages
+        if (rawNode.hasNonNull("number_of_pages")) normalized.put("pages", rawNode.get("number_of_pages").asInt());
 
-            // language (OpenLibrary returns language keys sometimes)
-            if (rawNode.has("languages") && rawNode.get("languages").isArray() && !rawNode.get("languages").isEmpty()) {
-                JsonNode langKey = rawNode.get("languages").get(0).get("key");
-                if (langKey != null && langKey.isString()) {
-                    String v = langKey.asString();
-                    normalized.put("language", v.substring(v.lastIndexOf('/') + 1));
-                }
+        // language (OpenLibrary returns language keys sometimes)
+        if (rawNode.has("languages") && rawNode.get("languages").isArray() && !rawNode.get("languages").isEmpty()) {
+            JsonNode langKey = rawNode.get("languages").get(0).get("key");
+            if (langKey != null && langKey.isString()) {
+                String v = langKey.asString();
+                normalized.put("language", v.substring(v.lastIndexOf('/') + 1));
             }
+        }
 
-            // identifiers
-            if (idType == ItemIdentifierEntity.IdType.ISBN10) normalized.put("isbn10", isbn);
-            if (idType == ItemIdentifierEntity.IdType.ISBN13) normalized.put("isbn13", isbn);
-
-            // authors: OpenLibrary often requires a second call to /authors/{id}.json
-            List<String> authors = tryResolveAuthors(rawNode);
-            if (!authors.isEmpty()) normalized.put("authors", String.join(", ", authors));
+        // identifiers
+        if (idType == ItemIdentifierEntity.IdType.ISBN10) normalized.put("isbn10", isbn);
+        if (idType == ItemIdentifierEntity.IdType.ISBN13) normalized.put("isbn13", isbn);
 
-            List<ProviderAsset> assets = List.of(
-                    new ProviderAsset(AssetType.COVER, URI.create("https://covers.openlibrary.org/b/isbn/" + isbn + "-L.jpg"), null, null),
-                    new ProviderAsset(AssetType.THUMBNAIL, URI.create("https://covers.openlibrary.org/b/isbn/" + isbn + "-M.jpg"), null, null)
-            );
+        // authors: OpenLibrary often requires a second call to /authors/{id}.json
+        List<String> authors = tryResolveAuthors(rawNode);
+        if (!authors.isEmpty()) normalized.put("authors", String.join(", ", authors));
 
-            ProviderConfidence conf = new ProviderConfidence(80, "OpenLibrary ISBN match");
+        List<ProviderAsset> assets = List.of(
+                new ProviderAsset(AssetType.COVER, URI.create("https://covers.openlibrary.org/b/isbn/" + isbn + "-L.jpg"), null, null),
+                new ProviderAsset(AssetType.THUMBNAIL, URI.create("https://covers.openlibrary.org/b/isbn/" + isbn + "-M.jpg"), null, null)
+        );
 
-            return Optional.of(new ProviderResult(
-                    key(),
-                    jsonToMap(rawNode),
-                    jsonToMap(normalized),
-                    assets,
-                    conf
-            ));
+        ProviderConfidence conf = new ProviderConfidence(80, "OpenLibrary ISBN match");
 
-        } catch (JacksonException e) {
-            log.warn("openlibrary lookup invalid JSON isbn={} error={}", isbn, e.getMessage());
-            return Optional.empty();
-        } catch (Exception e) {
-            log.warn("openlibrary lookup failed isbn={} error={}", isbn, e.getMessage());
-            return Optional.empty();
-        }
+        return new ProviderResult(
+                key(),
+                jsonToMap(rawNode),
+                jsonToMap(normalized),
+                assets,
+                conf
+        );
     }
 
     private List<String> tryResolveAuthors(JsonNode raw) {
         if (!raw.has("authors") || !raw.get("authors").isArray()) return List.of();
         List<String> result = new ArrayList<>();
         for (JsonNode a : raw.get("authors")) {
+            JsonNode nameNode = a.get("name");
+            if (nameNode != null && nameNode.isString() && !nameNode.asString().isBlank()) {
+                result.add(nameNode.asString());
+                continue;
+            }
             JsonNode keyNode = a.get("key");
             if (keyNode == null || !keyNode.isString()) continue;
             String key = keyNode.asString();
             try {
-                ResponseEntity<String> response = http.get()
+                JsonNode authorJson = http.get()
                         .uri("https://openlibrary.org{key}.json", key)
-                        .retrieve()
-                        .toEntity(String.class);
-
-                if (!response.getStatusCode().is2xxSuccessful()) {
-                    continue;
-                }
-
-                String body = response.getBody();
-                if (body == null || body.isBlank()) continue;
-
-                JsonNode authorJson = objectMapper.readTree(body);
+                        .exchange((request, response) -> {
+                            if (!response.getStatusCode().is2xxSuccessful()) {
+                                return null;
+                            }
+                            return ProviderJson.read(objectMapper, response);
+                        });
+                if (authorJson == null) continue;
 
                 if (authorJson.hasNonNull("name")) {
                     result.add(authorJson.get("name").asString());
@@ -8,7 +8,6 @@ import org.rostislav.curiokeep.providers.ProviderConfidence;
 import org.rostislav.curiokeep.providers.ProviderResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import tools.jackson.databind.JsonNode;
@@ -50,20 +49,17 @@ public class OpenProductDataProvider implements MetadataProvider {
         if (id == null) return Optional.empty();
 
         try {
-                ResponseEntity<String> response = http.get()
+            JsonNode body = http.get()
                     .uri("https://world.openfoodfacts.org/api/v2/product/" + id)
-                    .retrieve()
-                    .toEntity(String.class);
-
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                log.warn("openproduct lookup failed status={} id={}", response.getStatusCode(), id);
-                return Optional.empty();
-            }
-
-            String body = response.getBody();
-            if (body == null || body.isBlank()) return Optional.empty();
-
-            JsonNode root = objectMapper.readTree(body).path("product");
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            log.warn("openproduct lookup failed status={} id={}", response.getStatusCode(), id);
+                            return null;
+                        }
+                        return ProviderJson.read(objectMapper, response);
+                    });
+            if (body == null) return Optional.empty();
+            JsonNode root = body.path("product");
             if (root.isMissingNode() || root.isNull()) return Optional.empty();
 
             ObjectNode normalized = objectMapper.createObjectNode();
@@ -0,0 +1,52 @@
+package org.rostislav.curiokeep.providers.impl;
+
+import org.springframework.http.client.ClientHttpResponse;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.filter.FilteringParserDelegate;
+import tools.jackson.core.filter.TokenFilter;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Reads provider JSON straight from the response stream instead of buffering the body as a String first.
+ * When top-level properties are named, everything else in the document is skipped by the parser without
+ * building nodes for it (e.g. TVMaze's embedded episode list).
+ */
+final class ProviderJson {
+
+    private ProviderJson() {
+    }
+
+    /**
+     * Parses the response body. Returns null for an empty body or a JSON {@code null}.
+     *
+     * @param keep top-level properties to keep; none keeps the whole document
+     */
+    static JsonNode read(ObjectMapper objectMapper, ClientHttpResponse response, String... keep) throws IOException {
+        try (InputStream in = response.getBody(); JsonParser parser = objectMapper.createParser(in)) {
+            JsonParser source = keep.length == 0
+                    ? parser
+                    : new FilteringParserDelegate(parser, new TopLevelProperties(Set.of(keep)),
+                            TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true);
+            JsonNode node = objectMapper.readTree(source);
+            return node == null || node.isMissingNode() || node.isNull() ? null : node;
+        }
+    }
+
+    private static final class TopLevelProperties extends TokenFilter {
+        private final Set<String> names;
+
+        TopLevelProperties(Set<String> names) {
+            this.names = names;
+        }
+
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return names.contains(name) ? TokenFilter.INCLUDE_ALL : null;
+        }
+    }
+}
@@ -8,23 +8,29 @@ import org.rostislav.curiokeep.providers.ProviderConfidence;
 import org.rostislav.curiokeep.providers.ProviderResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ArrayNode;
 import tools.jackson.databind.node.ObjectNode;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 @Component
 public class ScryfallProvider implements MetadataProvider {
 
     private static final Logger log = LoggerFactory.getLogger(ScryfallProvider.class);
+    private static final int MAX_COLLECTION_IDS = 75;
+    private static final Pattern CARD_ID = Pattern.compile("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
 
     private final RestClient http;
     private final ObjectMapper objectMapper;
@@ -50,51 +56,101 @@ public class ScryfallProvider implements MetadataProvider {
         if (id == null) return Optional.empty();
 
         try {
-                ResponseEntity<String> response = http.get()
+            JsonNode root = http.get()
                     .uri("https://api.scryfall.com/cards/" + id)
-                    .retrieve()
-                    .toEntity(String.class);
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            log.warn("scryfall lookup failed status={} id={}", response.getStatusCode(), id);
+                            return null;
+                        }
+                        return ProviderJson.read(objectMapper, response);
+                    });
+            if (root == null) return Optional.empty();
+            return Optional.of(buildResult(id, root));
+        } catch (Exception e) {
+            log.warn("scryfall lookup failed id={} error={}", idValue, e.getMessage());
+            return Optional.empty();
+        }
+    }
 
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                log.warn("scryfall lookup failed status={} id={}", response.getStatusCode(), id);
-                return Optional.empty();
-            }
+    @Override
+    public int maxBatchSize() {
+        return MAX_COLLECTION_IDS;
+    }
 
-            String body = response.getBody();
-            if (body == null || body.isBlank()) return Optional.empty();
-
-            JsonNode root = objectMapper.readTree(body);
-            ObjectNode normalized = objectMapper.createObjectNode();
-
-            putText(normalized, "title", root.get("name"));
-            putText(normalized, "description", root.get("oracle_text"));
-            Integer year = yearFromDate(root.get("released_at"));
-            if (year != null) normalized.put("published_year", year);
-            normalized.put("scryfall_id", id);
-            putText(normalized, "canonical_url", root.get("uri"));
-
-            List<ProviderAsset> assets = new ArrayList<>();
-            JsonNode images = root.get("image_uris");
-            if (images != null && images.isObject()) {
-                String large = text(images.get("large"));
-                if (large != null) assets.add(new ProviderAsset(AssetType.COVER, URI.create(large), null, null));
-                String small = text(images.get("small"));
-                if (small != null) assets.add(new ProviderAsset(AssetType.THUMBNAIL, URI.create(small), null, null));
+    /**
+     * Resolves card ids through {@code /cards/collection}, up to {@value #MAX_COLLECTION_IDS} per request.
+     * Identifiers that are not Scryfall card ids cannot be sent there and are fetched one by one.
+     */
+    @Override
+    public Map<String, ProviderResult> fetchBatch(ItemIdentifierEntity.IdType idType, List<String> idValues) {
+        Map<String, List<String>> requestedById = new LinkedHashMap<>();
+        Map<String, ProviderResult> out = new LinkedHashMap<>();
+        for (String idValue : idValues) {
+            String id = normalizeId(idValue);
+            if (id == null) continue;
+            if (CARD_ID.matcher(id).matches()) {
+                requestedById.computeIfAbsent(id.toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(idValue);
+            } else {
+                fetch(idType, idValue).ifPresent(r -> out.put(idValue, r));
             }
+        }
+        if (requestedById.isEmpty()) return out;
+
+        ObjectNode request = objectMapper.createObjectNode();
+        ArrayNode identifiers = request.putArray("identifiers");
+        requestedById.keySet().forEach(id -> identifiers.addObject().put("id", id));
+
+        JsonNode root = http.post()
+                .uri("https://api.scryfall.com/cards/collection")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request.toString())
+                .exchange((req, response) -> {
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        throw new IllegalStateException("scryfall collection lookup failed status=" + response.getStatusCode());
+                    }
+                    return ProviderJson.read(objectMapper, response, "data");
+                });
+        if (root == null) return out;
+
+        for (JsonNode card : root.path("data")) {
+            String id = text(card.get("id"));
+            List<String> requested = id == null ? null : requestedById.get(id.toLowerCase(Locale.ROOT));
+            if (requested == null) continue;
+            ProviderResult result = buildResult(id, card);
+            requested.forEach(idValue -> out.put(idValue, result));
+        }
+        return out;
+    }
 
-            ProviderConfidence confidence = new ProviderConfidence(70, "Scryfall card match");
-
-            return Optional.of(new ProviderResult(
-                    key(),
-                    Map.of("json", body),
-                    Map.of("json", normalized.toString()),
-                    assets,
-                    confidence
-            ));
-        } catch (Exception e) {
-            log.warn("scryfall lookup failed id={} error={}", idValue, e.getMessage());
-            return Optional.empty();
+    private ProviderResult buildResult(String id, JsonNode root) {
+        ObjectNode normalized = objectMapper.createObjectNode();
+
+        putText(normalized, "title", root.get("name"));
+        putText(normalized, "description", root.get("oracle_text"));
+        Integer year = yearFromDate(root.get("released_at"));
+        if (year != null) normalized.put("published_year", year);
+        normalized.put("scryfall_id", id);
+        putText(normalized, "canonical_url", root.get("uri"));
+
+        List<ProviderAsset> assets = new ArrayList<>();
+        JsonNode images = root.get("image_uris");
+        if (images != null && images.isObject()) {
+            String large = text(images.get("large"));
+            if (large != null) assets.add(new ProviderAsset(AssetType.COVER, URI.create(large), null, null));
+            String small = text(images.get("small"));
+            if (small != null) assets.add(new ProviderAsset(AssetType.THUMBNAIL, URI.create(small), null, null));
         }
+
+        ProviderConfidence confidence = new ProviderConfidence(70, "Scryfall card match");
+
+        return new ProviderResult(
+                key(),
+                Map.of("json", root),
+                Map.of("json", normalized.toString()),
+                assets,
+                confidence
+        );
     }
 
     private Integer yearFromDate(JsonNode dateNode) {
@@ -8,7 +8,6 @@ import org.rostislav.curiokeep.providers.ProviderConfidence;
 import org.rostislav.curiokeep.providers.ProviderResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import tools.jackson.databind.JsonNode;
@@ -50,25 +49,23 @@ public class TvMazeProvider implements MetadataProvider {
         if (id == null) return Optional.empty();
 
         try {
-                ResponseEntity<String> response = http.get()
+            JsonNode root = http.get()
                     .uri(uriBuilder -> uriBuilder
                         .scheme("https")
                         .host("api.tvmaze.com")
                         .path("/shows/" + id)
                         .queryParam("embed", "episodes,cast")
                         .build())
-                    .retrieve()
-                    .toEntity(String.class);
-
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                log.warn("tvmaze lookup failed status={} id={}", response.getStatusCode(), id);
-                return Optional.empty();
-            }
-
-            String body = response.getBody();
-            if (body == null || body.isBlank()) return Optional.empty();
-
-            JsonNode root = objectMapper.readTree(body);
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            log.warn("tvmaze lookup failed status={} id={}", response.getStatusCode(), id);
+                            return null;
+                        }
+                        // the embedded episode and cast lists are skipped by the parser, only show fields are kept
+                        return ProviderJson.read(objectMapper, response,
+                                "id", "name", "summary", "premiered", "language", "image");
+                    });
+            if (root == null) return Optional.empty();
             ObjectNode normalized = objectMapper.createObjectNode();
 
             putText(normalized, "title", root.get("name"));
@@ -93,7 +90,7 @@ public class TvMazeProvider implements MetadataProvider {
 
             return Optional.of(new ProviderResult(
                     key(),
-                    Map.of("json", body),
+                    Map.of("json", root),
                     Map.of("json", normalized.toString()),
                     assets,
                     confidence
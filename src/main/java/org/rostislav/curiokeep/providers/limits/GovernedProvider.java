@@ -0,0 +1,61 @@
+package org.rostislav.curiokeep.providers.limits;
+
+import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
+import org.rostislav.curiokeep.providers.MetadataProvider;
+import org.rostislav.curiokeep.providers.ProviderCredentialField;
+import org.rostislav.curiokeep.providers.ProviderDescriptor;
+import org.rostislav.curiokeep.providers.ProviderResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Runs {@link #fetch} and {@link #fetchBatch} under the provider's in-flight limit with the provider bound to the thread, so the
+ * HTTP requests it makes are charged to its token bucket.
+ */
+final class GovernedProvider implements MetadataProvider {
+
+    private final MetadataProvider delegate;
+    private final ProviderGovernor governor;
+
+    GovernedProvider(MetadataProvider delegate, ProviderGovernor governor) {
+        this.delegate = delegate;
+        this.governor = governor;
+    }
+
+    @Override
+    public String key() {
+        return delegate.key();
+    }
+
+    @Override
+    public boolean supports(ItemIdentifierEntity.IdType idType) {
+        return delegate.supports(idType);
+    }
+
+    @Override
+    public Optional<ProviderResult> fetch(ItemIdentifierEntity.IdType idType, String idValue) {
+        return governor.callAs(delegate.key(), () -> delegate.fetch(idType, idValue));
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return delegate.maxBatchSize();
+    }
+
+    @Override
+    public Map<String, ProviderResult> fetchBatch(ItemIdentifierEntity.IdType idType, List<String> idValues) {
+        return governor.callAs(delegate.key(), () -> delegate.fetchBatch(idType, idValues));
+    }
+
+    @Override
+    public ProviderDescriptor descriptor() {
+        return delegate.descriptor();
+    }
+
+    @Override
+    public List<ProviderCredentialField> credentialFields() {
+        return delegate.credentialFields();
+    }
+}
@@ -0,0 +1,39 @@
+package org.rostislav.curiokeep.providers.limits;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker per provider. The breaker looks at the last {@code windowSize} calls and opens once at least
+ * {@code minCalls} were seen and either the failure rate reaches {@code failureRateThreshold} or the share of
+ * calls whose requests took {@code slowCallDuration} or longer reaches {@code slowCallRateThreshold}. An open
+ * breaker rejects calls for {@code openDuration}, then lets {@code halfOpenCalls} trial calls through; one bad
+ * trial re-opens it, all good trials close it.
+ */
+@ConfigurationProperties(prefix = "curiokeep.providers.breaker")
+public record ProviderBreakerProps(
+        Boolean enabled,
+        Integer windowSize,
+        Integer minCalls,
+        Double failureRateThreshold,
+        Duration slowCallDuration,
+        Double slowCallRateThreshold,
+        Duration openDuration,
+        Integer halfOpenCalls
+) {
+    public ProviderBreakerProps {
+        enabled = enabled == null || enabled;
+        windowSize = windowSize == null || windowSize < 1 ? 20 : windowSize;
+        minCalls = minCalls == null || minCalls < 1 ? Math.min(10, windowSize) : Math.min(minCalls, windowSize);
+        failureRateThreshold = failureRateThreshold == null ? 0.5 : failureRateThreshold;
+        slowCallDuration = slowCallDuration == null ? Duration.ofSeconds(5) : slowCallDuration;
+        slowCallRateThreshold = slowCallRateThreshold == null ? 0.8 : slowCallRateThreshold;
+        openDuration = openDuration == null ? Duration.ofSeconds(30) : openDuration;
+        halfOpenCalls = halfOpenCalls == null || halfOpenCalls < 1 ? 3 : halfOpenCalls;
+    }
+
+    public static ProviderBreakerProps defaults() {
+        return new ProviderBreakerProps(null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,19 @@
+package org.rostislav.curiokeep.providers.limits;
+
+/**
+ * Thrown when a provider call came back empty after one of its requests failed (I/O error or a server error
+ * status), so the empty answer is not mistaken for "not found".
+ */
+public class ProviderCallFailedException extends RuntimeException {
+
+    private final String providerKey;
+
+    public ProviderCallFailedException(String providerKey, String message) {
+        super(message);
+        this.providerKey = providerKey;
+    }
+
+    public String getProviderKey() {
+        return providerKey;
+    }
+}
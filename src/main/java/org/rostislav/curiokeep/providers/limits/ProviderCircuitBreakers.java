@@ -0,0 +1,194 @@
+package org.rostislav.curiokeep.providers.limits;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Closed / open / half-open circuit breakers keyed by provider. {@link ProviderGovernor} asks for a permit
+ * before every provider call and reports how the call went; a provider whose breaker is open is rejected
+ * immediately instead of costing every lookup a connect or read timeout.
+ */
+@Component
+public class ProviderCircuitBreakers {
+
+    private static final Logger log = LoggerFactory.getLogger(ProviderCircuitBreakers.class);
+
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    /**
+     * Point-in-time view of one breaker; {@code reason} and {@code openUntil} are set while it is not closed.
+     */
+    public record Snapshot(State state, String reason, Instant openUntil) {
+        static final Snapshot CLOSED = new Snapshot(State.CLOSED, null, null);
+    }
+
+    /**
+     * How a provider call ended. {@code IGNORED} covers calls that say nothing about the provider's health,
+     * such as calls rejected by the rate limiter or answered without any request.
+     */
+    enum Outcome {SUCCESS, SLOW, FAILURE, IGNORED}
+
+    private final ProviderBreakerProps props;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+    public ProviderCircuitBreakers(ProviderBreakerProps props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean enabled() {
+        return props.enabled();
+    }
+
+    public Snapshot snapshot(String providerKey) {
+        Breaker breaker = breakers.get(providerKey);
+        return breaker == null ? Snapshot.CLOSED : breaker.snapshot();
+    }
+
+    /**
+     * The reason calls to the provider are currently being rejected, or empty when a call would be let through
+     * (including as a half-open trial).
+     */
+    public Optional<String> openReason(String providerKey) {
+        Breaker breaker = breakers.get(providerKey);
+        return breaker == null ? Optional.empty() : breaker.rejectionReason(Instant.now());
+    }
+
+    /**
+     * Admits a call or throws {@link ProviderCircuitOpenException}. Returns true when the call is a half-open
+     * trial, which must be passed back to {@link #complete}.
+     */
+    boolean acquire(String providerKey) {
+        if (!props.enabled()) return false;
+        return breaker(providerKey).acquire(Instant.now());
+    }
+
+    void complete(String providerKey, boolean trial, Outcome outcome) {
+        if (!props.enabled()) return;
+        breaker(providerKey).complete(trial, outcome, Instant.now());
+    }
+
+    Duration slowCallDuration() {
+        return props.slowCallDuration();
+    }
+
+    private Breaker breaker(String key) {
+        return breakers.computeIfAbsent(key, Breaker::new);
+    }
+
+    private final class Breaker {
+        private final String key;
+        private final Outcome[] window = new Outcome[props.windowSize()];
+        private final Counter rejected;
+
+        private State state = State.CLOSED;
+        private int size;
+        private int next;
+        private String reason;
+        private Instant openUntil;
+        private int trialsInFlight;
+        private int trialsSucceeded;
+
+        Breaker(String key) {
+            this.key = key;
+            this.rejected = Counter.builder("curiokeep.provider.breaker.rejected").tag("provider", key).register(meterRegistry);
+        }
+
+        synchronized Snapshot snapshot() {
+            return state == State.CLOSED ? Snapshot.CLOSED : new Snapshot(state, reason, openUntil);
+        }
+
+        synchronized Optional<String> rejectionReason(Instant now) {
+            if (state == State.OPEN && now.isBefore(openUntil)) return Optional.of(reason);
+            if (state == State.HALF_OPEN && trialsInFlight + trialsSucceeded >= props.halfOpenCalls()) {
+                return Optional.of(reason + " (trial calls in progress)");
+            }
+            return Optional.empty();
+        }
+
+        synchronized boolean acquire(Instant now) {
+            if (state == State.CLOSED) return false;
+            if (state == State.OPEN && !now.isBefore(openUntil)) {
+                transition(State.HALF_OPEN);
+                trialsInFlight = 0;
+                trialsSucceeded = 0;
+            }
+            Optional<String> rejection = rejectionReason(now);
+            if (rejection.isPresent()) {
+                rejected.increment();
+                throw new ProviderCircuitOpenException(key, rejection.get());
+            }
+            trialsInFlight++;
+            return true;
+        }
+
+        synchronized void complete(boolean trial, Outcome outcome, Instant now) {
+            if (trial) {
+                trialsInFlight = Math.max(0, trialsInFlight - 1);
+                if (state != State.HALF_OPEN || outcome == Outcome.IGNORED) return;
+                if (outcome != Outcome.SUCCESS) {
+                    open(now, "trial call " + (outcome == Outcome.SLOW ? "was slow" : "failed"));
+                } else if (++trialsSucceeded >= props.halfOpenCalls()) {
+                    close();
+                }
+                return;
+            }
+            if (state != State.CLOSED || outcome == Outcome.IGNORED) return;
+
+            window[next] = outcome;
+            next = (next + 1) % window.length;
+            size = Math.min(size + 1, window.length);
+            if (size < props.minCalls()) return;
+
+            int failures = 0;
+            int slow = 0;
+            for (int i = 0; i < size; i++) {
+                if (window[i] == Outcome.FAILURE) failures++;
+                else if (window[i] == Outcome.SLOW) slow++;
+            }
+            double failureRate = failures / (double) size;
+            double slowRate = slow / (double) size;
+            if (failureRate >= props.failureRateThreshold()) {
+                open(now, Math.round(failureRate * 100) + "% of recent calls failed");
+            } else if (slowRate >= props.slowCallRateThreshold()) {
+                open(now, Math.round(slowRate * 100) + "% of recent calls took over "
+                        + props.slowCallDuration().toMillis() + " ms");
+            }
+        }
+
+        private void open(Instant now, String why) {
+            reason = "circuit open, " + why;
+            openUntil = now.plus(props.openDuration());
+            transition(State.OPEN);
+            log.warn("Circuit for provider {} opened until {}: {}", key, openUntil, why);
+        }
+
+        private void close() {
+            size = 0;
+            next = 0;
+            reason = null;
+            openUntil = null;
+            transition(State.CLOSED);
+            log.info("Circuit for provider {} closed", key);
+        }
+
+        private void transition(State to) {
+            state = to;
+            Counter.builder("curiokeep.provider.breaker.transitions")
+                    .tag("provider", key)
+                    .tag("state", to.name())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
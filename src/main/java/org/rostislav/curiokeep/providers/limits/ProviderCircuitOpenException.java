@@ -0,0 +1,18 @@
+package org.rostislav.curiokeep.providers.limits;
+
+/**
+ * Thrown instead of calling a provider whose circuit breaker is open.
+ */
+public class ProviderCircuitOpenException extends RuntimeException {
+
+    private final String providerKey;
+
+    public ProviderCircuitOpenException(String providerKey, String message) {
+        super(message);
+        this.providerKey = providerKey;
+    }
+
+    public String getProviderKey() {
+        return providerKey;
+    }
+}
@@ -0,0 +1,351 @@
+package org.rostislav.curiokeep.providers.limits;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.rostislav.curiokeep.providers.MetadataProvider;
+import org.rostislav.curiokeep.providers.ProviderCallStats;
+import org.rostislav.curiokeep.providers.cache.ProviderCallTrace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Central outbound limiter for metadata providers. Each provider key gets a token bucket charged per HTTP
+ * request and a cap on concurrent lookups. Rate-limit answers from the provider ({@code 429}/{@code 503}
+ * with {@code Retry-After}, or an exhausted {@code *RateLimit-Remaining} header) pause the provider until
+ * the advertised reset.
+ * <p>
+ * Calls are also gated by the provider's {@link ProviderCircuitBreakers circuit breaker}, and every request made
+ * for a provider is reported to {@link ProviderCallStats} as a passive health signal.
+ * <p>
+ * Waiting callers sleep or park, which unmounts the virtual threads lookups and imports run on instead of
+ * holding a platform thread.
+ */
+@Component
+public class ProviderGovernor {
+
+    private static final Logger log = LoggerFactory.getLogger(ProviderGovernor.class);
+
+    private static final ThreadLocal<Call> CURRENT = new ThreadLocal<>();
+    private static final Duration DEFAULT_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(15);
+
+    private final ProviderLimitProps props;
+    private final MeterRegistry meterRegistry;
+    private final ProviderCallStats callStats;
+    private final ProviderCircuitBreakers breakers;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    public ProviderGovernor(ProviderLimitProps props,
+                            MeterRegistry meterRegistry,
+                            ProviderCallStats callStats,
+                            ProviderCircuitBreakers breakers) {
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+        this.callStats = callStats;
+        this.breakers = breakers;
+    }
+
+    public MetadataProvider govern(MetadataProvider provider) {
+        return props.enabled() || breakers.enabled() ? new GovernedProvider(provider, this) : provider;
+    }
+
+    /**
+     * Interceptor for the shared {@code RestClient}. Requests made while a provider is bound to the thread
+     * wait for a token of that provider; other requests (image downloads, health checks) pass through.
+     */
+    public ClientHttpRequestInterceptor interceptor() {
+        return (request, body, execution) -> {
+            Call call = CURRENT.get();
+            if (call == null) {
+                return execution.execute(request, body);
+            }
+            Lane lane = props.enabled() ? lane(call.providerKey) : null;
+            try {
+                if (lane != null) lane.awaitToken();
+            } catch (ProviderRateLimitedException ex) {
+                call.limited = ex;
+                throw ex;
+            }
+            long start = System.nanoTime();
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException ex) {
+                call.observe(false, System.nanoTime() - start);
+                callStats.record(call.providerKey, false, System.nanoTime() - start);
+                throw ex;
+            }
+            HttpStatusCode status = response.getStatusCode();
+            boolean healthy = !status.is5xxServerError() && status.value() != 429;
+            call.observe(healthy, System.nanoTime() - start);
+            callStats.record(call.providerKey, healthy, System.nanoTime() - start);
+            if (lane != null && lane.observe(response.getStatusCode(), response.getHeaders())
+                    && !response.getStatusCode().is2xxSuccessful()) {
+                call.limited = new ProviderRateLimitedException(call.providerKey,
+                        call.providerKey + " answered " + response.getStatusCode().value());
+            }
+            return response;
+        };
+    }
+
+    /**
+     * Runs a provider call under its circuit breaker and limits. Providers usually swallow HTTP errors and
+     * return empty, so a call that was rejected or answered with a rate-limit status is rethrown here to keep
+     * it from being cached as "not found", and the breaker is fed from the requests the call made rather than
+     * from its return value. A call whose requests failed is reported the same way: thrown when it came back
+     * empty, otherwise marked failed on the {@link ProviderCallTrace} so its missing answers are not cached.
+     * Successful calls also feed the provider's fetch latency window.
+     */
+    <T> T callAs(String providerKey, Supplier<T> action) {
+        long started = System.nanoTime();
+        boolean trial = breakers.acquire(providerKey);
+        Call call = new Call(providerKey);
+        boolean threw = false;
+        try {
+            Lane lane = props.enabled() ? lane(providerKey) : null;
+            if (lane != null) lane.enter();
+            Call previous = CURRENT.get();
+            CURRENT.set(call);
+            try {
+                T result = action.get();
+                if (call.limited != null) {
+                    throw call.limited;
+                }
+                if (call.failed) {
+                    ProviderCallTrace.markFailed();
+                    if (isEmpty(result)) {
+                        throw new ProviderCallFailedException(providerKey, providerKey + " requests failed");
+                    }
+                }
+                return result;
+            } catch (RuntimeException ex) {
+                threw = !(ex instanceof ProviderRateLimitedException);
+                throw ex;
+            } finally {
+                if (previous == null) CURRENT.remove();
+                else CURRENT.set(previous);
+                if (lane != null) lane.exit();
+            }
+        } catch (ProviderRateLimitedException ex) {
+            call.limited = ex;
+            throw ex;
+        } finally {
+            ProviderCircuitBreakers.Outcome outcome = call.outcome(threw, breakers.slowCallDuration());
+            breakers.complete(providerKey, trial, outcome);
+            if (outcome == ProviderCircuitBreakers.Outcome.SUCCESS || outcome == ProviderCircuitBreakers.Outcome.SLOW) {
+                callStats.recordFetch(providerKey, System.nanoTime() - started);
+            }
+        }
+    }
+
+    private static boolean isEmpty(Object result) {
+        return result == null
+                || (result instanceof Optional<?> o && o.isEmpty())
+                || (result instanceof Collection<?> c && c.isEmpty())
+                || (result instanceof Map<?, ?> m && m.isEmpty());
+    }
+
+    private static final class Call {
+        private final String providerKey;
+        private ProviderRateLimitedException limited;
+        private int requests;
+        private boolean failed;
+        private long requestNanos;
+
+        Call(String providerKey) {
+            this.providerKey = providerKey;
+        }
+
+        void observe(boolean healthy, long nanos) {
+            requests++;
+            requestNanos += nanos;
+            failed |= !healthy;
+        }
+
+        ProviderCircuitBreakers.Outcome outcome(boolean threw, Duration slowCallDuration) {
+            if (limited != null) return ProviderCircuitBreakers.Outcome.IGNORED;
+            if (threw || failed) return ProviderCircuitBreakers.Outcome.FAILURE;
+            if (requests == 0) return ProviderCircuitBreakers.Outcome.IGNORED;
+            return requestNanos >= slowCallDuration.toNanos()
+                    ? ProviderCircuitBreakers.Outcome.SLOW
+                    : ProviderCircuitBreakers.Outcome.SUCCESS;
+        }
+    }
+
+    private Lane lane(String key) {
+        return lanes.computeIfAbsent(key, k -> new Lane(k, props.limitFor(k)));
+    }
+
+    private final class Lane {
+        private final String key;
+        private final double ratePerNano;
+        private final int burst;
+        private final Semaphore inFlight;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Timer waitTimer;
+        private final Counter throttled;
+        private final Counter rejected;
+
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+        private long blockedUntil = refilledAt;
+
+        Lane(String key, ProviderLimitProps.Limit limit) {
+            this.key = key;
+            this.ratePerNano = limit.ratePerSecond() / 1_000_000_000d;
+            this.burst = limit.burst();
+            this.tokens = burst;
+            this.inFlight = new Semaphore(limit.maxInFlight(), true);
+            this.waitTimer = Timer.builder("curiokeep.provider.limiter.wait").tag("provider", key).register(meterRegistry);
+            this.throttled = Counter.builder("curiokeep.provider.limiter.throttled").tag("provider", key).register(meterRegistry);
+            this.rejected = Counter.builder("curiokeep.provider.limiter.rejected").tag("provider", key).register(meterRegistry);
+            Gauge.builder("curiokeep.provider.limiter.queue", waiting, AtomicInteger::get).tag("provider", key).register(meterRegistry);
+        }
+
+        void enter() {
+            long start = System.nanoTime();
+            waiting.incrementAndGet();
+            try {
+                if (!inFlight.tryAcquire(props.maxWait().toNanos(), TimeUnit.NANOSECONDS)) {
+                    rejected.increment();
+                    throw new ProviderRateLimitedException(key, "Too many concurrent " + key + " lookups");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProviderRateLimitedException(key, "Interrupted while waiting for " + key);
+            } finally {
+                waiting.decrementAndGet();
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void exit() {
+            inFlight.release();
+        }
+
+        void awaitToken() {
+            long start = System.nanoTime();
+            long wait = reserve(start);
+            if (wait <= 0) return;
+
+            if (wait > props.maxWait().toNanos()) {
+                refund();
+                rejected.increment();
+                throw new ProviderRateLimitedException(key, "Rate limit for " + key + " would delay the request by "
+                        + TimeUnit.NANOSECONDS.toMillis(wait) + " ms");
+            }
+            waiting.incrementAndGet();
+            try {
+                Thread.sleep(Duration.ofNanos(wait));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProviderRateLimitedException(key, "Interrupted while waiting for " + key);
+            } finally {
+                waiting.decrementAndGet();
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        /** Takes a token, going into debt if none is left, and returns how long the caller must wait. */
+        private synchronized long reserve(long now) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerNano);
+            refilledAt = now;
+            tokens -= 1;
+            long wait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / ratePerNano);
+            return Math.max(wait, blockedUntil - now);
+        }
+
+        private synchronized void refund() {
+            tokens = Math.min(burst, tokens + 1);
+        }
+
+        private synchronized void pause(Duration backoff) {
+            long until = System.nanoTime() + Math.min(backoff.toNanos(), MAX_BACKOFF.toNanos());
+            blockedUntil = Math.max(blockedUntil, until);
+            tokens = Math.min(tokens, 0);
+        }
+
+        /** Applies rate-limit signals of a response; returns whether the provider asked to back off. */
+        boolean observe(HttpStatusCode status, HttpHeaders headers) {
+            Duration backoff = null;
+            if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value() || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                backoff = retryAfter(headers.getFirst(HttpHeaders.RETRY_AFTER));
+                if (backoff == null && status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                    backoff = DEFAULT_BACKOFF;
+                }
+            } else if (remainingExhausted(headers)) {
+                backoff = resetIn(headers);
+            }
+            if (backoff != null && !backoff.isNegative() && !backoff.isZero()) {
+                throttled.increment();
+                pause(backoff);
+                log.info("Provider {} asked to back off for {} ms (status={})", key, backoff.toMillis(), status.value());
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static boolean remainingExhausted(HttpHeaders headers) {
+        for (String name : headers.headerNames()) {
+            if (name.toLowerCase(Locale.ROOT).endsWith("ratelimit-remaining") && "0".equals(headers.getFirst(name).trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Duration resetIn(HttpHeaders headers) {
+        for (String name : headers.headerNames()) {
+            if (!name.toLowerCase(Locale.ROOT).endsWith("ratelimit-reset")) continue;
+            try {
+                long value = Long.parseLong(headers.getFirst(name).trim());
+                // Either seconds until reset or an epoch-seconds timestamp, depending on the provider.
+                return value > 1_000_000_000L
+                        ? Duration.between(Instant.now(), Instant.ofEpochSecond(value))
+                        : Duration.ofSeconds(value);
+            } catch (NumberFormatException ignored) {
+                return DEFAULT_BACKOFF;
+            }
+        }
+        return DEFAULT_BACKOFF;
+    }
+
+    static Duration retryAfter(String value) {
+        if (value == null || value.isBlank()) return null;
+        String v = value.trim();
+        try {
+            return Duration.ofSeconds(Long.parseLong(v));
+        } catch (NumberFormatException ignored) {
+            // HTTP-date form
+        }
+        try {
+            return Duration.between(Instant.now(), ZonedDateTime.parse(v, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+        } catch (RuntimeException ignored) {
+            return null;
+        }
+    }
+}
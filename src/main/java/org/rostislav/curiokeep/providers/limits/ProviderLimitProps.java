@@ -0,0 +1,50 @@
+package org.rostislav.curiokeep.providers.limits;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Outbound request limits per provider. {@code defaultLimit} applies to every provider, entries in
+ * {@code providers} override it field by field. {@code maxWait} bounds how long a caller queues for a
+ * request slot before the call is rejected.
+ */
+@ConfigurationProperties(prefix = "curiokeep.providers.limits")
+public record ProviderLimitProps(
+        Boolean enabled,
+        Limit defaultLimit,
+        Duration maxWait,
+        Map<String, Limit> providers
+) {
+    public ProviderLimitProps {
+        enabled = enabled == null || enabled;
+        defaultLimit = defaultLimit == null ? Limit.DEFAULT : defaultLimit.orElse(Limit.DEFAULT);
+        maxWait = maxWait == null ? Duration.ofSeconds(10) : maxWait;
+        providers = providers == null ? Map.of() : Map.copyOf(providers);
+    }
+
+    public static ProviderLimitProps defaults() {
+        return new ProviderLimitProps(null, null, null, null);
+    }
+
+    public Limit limitFor(String providerKey) {
+        Limit limit = providers.get(providerKey);
+        return limit == null ? defaultLimit : limit.orElse(defaultLimit);
+    }
+
+    /**
+     * Token bucket refilled at {@code ratePerSecond} holding up to {@code burst} requests, plus a cap on
+     * concurrent lookups against the provider.
+     */
+    public record Limit(Double ratePerSecond, Integer burst, Integer maxInFlight) {
+        static final Limit DEFAULT = new Limit(5.0, 5, 4);
+
+        Limit orElse(Limit fallback) {
+            return new Limit(
+                    ratePerSecond == null || ratePerSecond <= 0 ? fallback.ratePerSecond() : ratePerSecond,
+                    burst == null || burst < 1 ? fallback.burst() : burst,
+                    maxInFlight == null || maxInFlight < 1 ? fallback.maxInFlight() : maxInFlight);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.rostislav.curiokeep.providers.limits;
+
+/**
+ * Thrown when a provider call could not get a request slot within the configured wait.
+ */
+public class ProviderRateLimitedException extends RuntimeException {
+
+    private final String providerKey;
+
+    public ProviderRateLimitedException(String providerKey, String message) {
+        super(message);
+        this.providerKey = providerKey;
+    }
+
+    public String getProviderKey() {
+        return providerKey;
+    }
+}
@@ -0,0 +1,84 @@
+package org.rostislav.curiokeep.security;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU map with a per-entry TTL for authorization lookups (principal ids, collection roles).
+ * Evictions run immediately and again after the surrounding transaction commits, so a concurrent reader
+ * cannot re-cache the pre-commit value for the full TTL.
+ */
+public final class AccessCache<K, V> {
+
+    private final AccessCacheProps props;
+    private final Map<K, Entry<V>> entries;
+
+    public AccessCache(AccessCacheProps props) {
+        this.props = props;
+        int maxEntries = props.maxEntries();
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value for {@code key}, loading and caching it on a miss. {@code null} results are
+     * cached as well, so repeated denials do not hit the database either; a loader that throws caches nothing.
+     */
+    public V get(K key, Function<K, V> loader) {
+        if (!props.enabled()) {
+            return loader.apply(key);
+        }
+        Instant now = Instant.now();
+        synchronized (entries) {
+            Entry<V> e = entries.get(key);
+            if (e != null && e.expiresAt().isAfter(now)) {
+                return e.value();
+            }
+        }
+        V value = loader.apply(key);
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, now.plus(props.ttl())));
+        }
+        return value;
+    }
+
+    public void evict(K key) {
+        evictIf((k, v) -> k.equals(key));
+    }
+
+    public void evictIf(BiPredicate<K, V> predicate) {
+        removeIf(predicate);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    removeIf(predicate);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private void removeIf(BiPredicate<K, V> predicate) {
+        synchronized (entries) {
+            entries.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue().value()));
+        }
+    }
+
+    private record Entry<V>(V value, Instant expiresAt) {}
+}
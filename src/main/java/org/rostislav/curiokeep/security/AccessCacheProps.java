@@ -0,0 +1,22 @@
+package org.rostislav.curiokeep.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "curiokeep.security.access-cache")
+public record AccessCacheProps(
+        Boolean enabled,
+        Integer maxEntries,
+        Duration ttl
+) {
+    public AccessCacheProps {
+        enabled = enabled == null || enabled;
+        maxEntries = maxEntries == null ? 10_000 : maxEntries;
+        ttl = ttl == null ? Duration.ofMinutes(5) : ttl;
+    }
+
+    public static AccessCacheProps defaults() {
+        return new AccessCacheProps(null, null, null);
+    }
+}
@@ -4,7 +4,6 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.rostislav.curiokeep.user.AppUserRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -13,17 +12,17 @@ import java.io.IOException;
 @Component
 public class SetupModeFilter extends OncePerRequestFilter {
 
-    private final AppUserRepository users;
+    private final SetupState setupState;
 
-    public SetupModeFilter(AppUserRepository users) {
-        this.users = users;
+    public SetupModeFilter(SetupState setupState) {
+        this.setupState = setupState;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
             throws ServletException, IOException {
 
-        boolean setupRequired = !users.existsByIsAdminTrue();
+        boolean setupRequired = setupState.isSetupRequired();
 
         if (!setupRequired) {
             chain.doFilter(req, res);
@@ -0,0 +1,55 @@
+package org.rostislav.curiokeep.security;
+
+import org.rostislav.curiokeep.user.AppUserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Whether first-run setup is still required, i.e. no admin user exists. Once an admin is seen the answer is
+ * latched in memory, so the check costs nothing per request; it is only re-read from the database when an
+ * admin is demoted or deleted.
+ */
+@Component
+public class SetupState {
+
+    private static final Logger log = LoggerFactory.getLogger(SetupState.class);
+
+    private final AppUserRepository users;
+    private volatile boolean adminExists;
+
+    public SetupState(AppUserRepository users) {
+        this.users = users;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void initialize() {
+        try {
+            revalidate();
+            log.info("Setup required: {}", !adminExists);
+        } catch (DataAccessException ex) {
+            log.warn("Could not determine setup state at startup: {}", ex.getMessage());
+        }
+    }
+
+    public boolean isSetupRequired() {
+        if (adminExists) return false;
+        // Until the first admin exists every check goes to the database, which only happens before setup.
+        return !revalidate();
+    }
+
+    /** Called once the first admin has been created. */
+    public void markAdminCreated() {
+        adminExists = true;
+    }
+
+    /** Re-reads the state after an admin was demoted or deleted. Returns whether an admin exists. */
+    public boolean revalidate() {
+        boolean exists = users.existsByIsAdminTrue();
+        adminExists = exists;
+        return exists;
+    }
+}
@@ -1,5 +1,7 @@
 package org.rostislav.curiokeep.user;
 
+import org.rostislav.curiokeep.security.AccessCache;
+import org.rostislav.curiokeep.security.AccessCacheProps;
 import org.rostislav.curiokeep.user.entities.AppUserEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -7,17 +9,52 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
+import java.util.UUID;
+
 @Service
 public class CurrentUserService {
 
     private static final Logger log = LoggerFactory.getLogger(CurrentUserService.class);
     private final AppUserRepository users;
+    private final AccessCache<String, UUID> userIds;
 
-    public CurrentUserService(AppUserRepository users) {
+    public CurrentUserService(AppUserRepository users, AccessCacheProps cacheProps) {
         this.users = users;
+        this.userIds = new AccessCache<>(cacheProps);
     }
 
     public AppUserEntity requireCurrentUser() {
+        String username = requireUsername();
+
+        return users.findByEmailIgnoreCase(username)
+                .orElseThrow(() -> {
+                    log.warn("Current user lookup failed: no user found for email={}", username);
+                    return new IllegalStateException("User not found");
+                });
+    }
+
+    /**
+     * Id of the authenticated user, resolved from the database once and then served from memory.
+     * Prefer this over {@link #requireCurrentUser()} when only the id is needed, e.g. for access checks.
+     */
+    public UUID requireCurrentUserId() {
+        String username = requireUsername();
+
+        return userIds.get(username.toLowerCase(Locale.ROOT), email -> users.findByEmailIgnoreCase(email)
+                .map(AppUserEntity::getId)
+                .orElseThrow(() -> {
+                    log.warn("Current user lookup failed: no user found for email={}", username);
+                    return new IllegalStateException("User not found");
+                }));
+    }
+
+    /** Drops the cached id of a user whose account was changed or deleted. */
+    public void evictUser(UUID userId) {
+        userIds.evictIf((email, id) -> id.equals(userId));
+    }
+
+    private String requireUsername() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
         if (auth == null) {
@@ -30,11 +67,6 @@ public class CurrentUserService {
             log.warn("Current user lookup failed: authentication name is null/blank");
             throw new IllegalStateException("Not authenticated");
         }
-
-        return users.findByEmailIgnoreCase(username)
-                .orElseThrow(() -> {
-                    log.warn("Current user lookup failed: no user found for email={}", username);
-                    return new IllegalStateException("User not found");
-                });
+        return username;
     }
 }
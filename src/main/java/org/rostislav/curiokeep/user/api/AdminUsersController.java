@@ -8,6 +8,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.rostislav.curiokeep.api.dto.ApiError;
+import org.rostislav.curiokeep.collections.CollectionAccessService;
+import org.rostislav.curiokeep.security.SetupState;
 import org.rostislav.curiokeep.user.AppUserRepository;
 import org.rostislav.curiokeep.user.CurrentUserService;
 import org.rostislav.curiokeep.user.UserInviteRepository;
@@ -42,11 +44,16 @@ public class AdminUsersController {
     private final AppUserRepository users;
     private final CurrentUserService currentUser;
     private final UserInviteRepository invites;
+    private final CollectionAccessService access;
+    private final SetupState setupState;
 
-    public AdminUsersController(AppUserRepository users, CurrentUserService currentUser, UserInviteRepository invites) {
+    public AdminUsersController(AppUserRepository users, CurrentUserService currentUser, UserInviteRepository invites,
+                                CollectionAccessService access, SetupState setupState) {
         this.users = users;
         this.currentUser = currentUser;
         this.invites = invites;
+        this.access = access;
+        this.setupState = setupState;
     }
 
     @Operation(summary = "List users")
@@ -79,6 +86,7 @@ public class AdminUsersController {
 
         target.setStatus(status);
         users.save(target);
+        evictCachedAccess(target.getId());
         log.info("Admin updated user status: userId={} status={}", target.getId(), status);
         return ResponseEntity.ok(new OkResponse(true));
     }
@@ -101,6 +109,10 @@ public class AdminUsersController {
 
         target.setAdmin(req.admin());
         users.save(target);
+        evictCachedAccess(target.getId());
+        if (!req.admin()) {
+            setupState.revalidate();
+        }
         log.info("Admin updated user admin flag: userId={} admin={}", target.getId(), req.admin());
         return ResponseEntity.ok(new OkResponse(true));
     }
@@ -135,6 +147,10 @@ public class AdminUsersController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User cannot be deleted because related records exist");
         }
 
+        evictCachedAccess(target.getId());
+        if (target.isAdmin()) {
+            setupState.revalidate();
+        }
         log.info("Admin deleted userId={}", target.getId());
         return ResponseEntity.ok(new OkResponse(true));
     }
@@ -160,4 +176,9 @@ public class AdminUsersController {
                 u.getUpdatedAt()
         );
     }
+
+    private void evictCachedAccess(UUID userId) {
+        currentUser.evictUser(userId);
+        access.evictUser(userId);
+    }
 }
@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.rostislav.curiokeep.api.dto.ApiError;
+import org.rostislav.curiokeep.security.SetupState;
 import org.rostislav.curiokeep.user.AppUserRepository;
 import org.rostislav.curiokeep.user.api.dto.CreateAdminRequest;
 import org.rostislav.curiokeep.user.api.dto.OkResponse;
@@ -30,10 +31,12 @@ public class SetupController {
     private static final Logger log = LoggerFactory.getLogger(SetupController.class);
     private final AppUserRepository users;
     private final PasswordEncoder encoder;
+    private final SetupState setupState;
 
-    public SetupController(AppUserRepository users, PasswordEncoder encoder) {
+    public SetupController(AppUserRepository users, PasswordEncoder encoder, SetupState setupState) {
         this.users = users;
         this.encoder = encoder;
+        this.setupState = setupState;
     }
 
     @Operation(summary = "Check if setup is required", description = "Returns true if no admin user exists yet.",
@@ -44,8 +47,7 @@ public class SetupController {
     })
     @GetMapping("/status")
     public SetupStatusResponse status() {
-        boolean setupRequired = !users.existsByIsAdminTrue();
-        return new SetupStatusResponse(setupRequired);
+        return new SetupStatusResponse(setupState.isSetupRequired());
     }
 
     @Operation(summary = "Create initial admin user",
@@ -76,6 +78,7 @@ public class SetupController {
         u.setAuthProvider("LOCAL");
 
         users.save(u);
+        setupState.markAdminCreated();
 
         return ResponseEntity.ok(Map.of("created", true));
     }
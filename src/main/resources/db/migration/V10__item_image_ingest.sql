@@ -0,0 +1,23 @@
+-- Asynchronous image ingest: item writes record the source URL here and commit at once; a background worker
+-- downloads the image and attaches it. One row per item, a newer request replaces the pending one.
+
+ALTER TABLE item ADD COLUMN IF NOT EXISTS image_status TEXT;
+
+ALTER TABLE item DROP CONSTRAINT IF EXISTS chk_item_image_status;
+ALTER TABLE item ADD CONSTRAINT chk_item_image_status CHECK (image_status IN ('PENDING','FAILED'));
+
+CREATE TABLE IF NOT EXISTS item_image_job (
+    item_id         UUID PRIMARY KEY REFERENCES item(id) ON DELETE CASCADE,
+    source_url      TEXT        NOT NULL,
+    status          TEXT        NOT NULL DEFAULT 'PENDING',
+    attempts        INT         NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    last_error      TEXT,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMPTZ NOT NULL DEFAULT now(),
+    CONSTRAINT chk_item_image_job_status CHECK (status IN ('PENDING','FAILED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_image_job_due
+    ON item_image_job(next_attempt_at)
+    WHERE status = 'PENDING';
@@ -0,0 +1,16 @@
+-- Persistent tier of the provider response cache.
+-- found = FALSE rows are negative entries ("provider has nothing for this identifier").
+
+CREATE TABLE IF NOT EXISTS provider_cache (
+    provider_key TEXT        NOT NULL,
+    id_type      TEXT        NOT NULL,
+    id_value     TEXT        NOT NULL,
+    found        BOOLEAN     NOT NULL,
+    result       JSONB,
+    expires_at   TIMESTAMPTZ NOT NULL,
+    created_at   TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (provider_key, id_type, id_value)
+);
+
+CREATE INDEX IF NOT EXISTS idx_provider_cache_expires
+    ON provider_cache(expires_at);
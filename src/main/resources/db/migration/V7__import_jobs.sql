@@ -0,0 +1,47 @@
+-- Background bulk import jobs (one row per submitted identifier)
+
+CREATE TABLE IF NOT EXISTS import_job (
+    id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    collection_id   UUID NOT NULL REFERENCES collection(id) ON DELETE CASCADE,
+    module_id       UUID NOT NULL REFERENCES module_definition(id) ON DELETE CASCADE,
+    created_by      UUID NOT NULL REFERENCES app_user(id) ON DELETE CASCADE,
+    state_key       TEXT,
+    providers       JSONB NOT NULL DEFAULT '[]'::jsonb,
+    status          TEXT NOT NULL DEFAULT 'QUEUED',
+    total_rows      INT  NOT NULL DEFAULT 0,
+    processed_rows  INT  NOT NULL DEFAULT 0,
+    succeeded_rows  INT  NOT NULL DEFAULT 0,
+    failed_rows     INT  NOT NULL DEFAULT 0,
+    error           TEXT,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMPTZ NOT NULL DEFAULT now(),
+    started_at      TIMESTAMPTZ,
+    finished_at     TIMESTAMPTZ,
+    CONSTRAINT chk_import_job_status CHECK (status IN ('QUEUED','RUNNING','COMPLETED','FAILED','CANCELLED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_import_job_collection
+    ON import_job(collection_id, created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_import_job_active
+    ON import_job(created_at)
+    WHERE status IN ('QUEUED','RUNNING');
+
+CREATE TABLE IF NOT EXISTS import_job_row (
+    id          UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    job_id      UUID NOT NULL REFERENCES import_job(id) ON DELETE CASCADE,
+    row_index   INT  NOT NULL,
+    id_type     TEXT NOT NULL,
+    id_value    TEXT NOT NULL,
+    status      TEXT NOT NULL DEFAULT 'PENDING',
+    item_id     UUID REFERENCES item(id) ON DELETE SET NULL,
+    title       TEXT,
+    error       TEXT,
+    updated_at  TIMESTAMPTZ NOT NULL DEFAULT now(),
+    UNIQUE (job_id, row_index),
+    CONSTRAINT chk_import_job_row_status CHECK (status IN ('PENDING','IMPORTED','FAILED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_import_job_row_pending
+    ON import_job_row(job_id, row_index)
+    WHERE status = 'PENDING';
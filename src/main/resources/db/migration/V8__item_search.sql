@@ -0,0 +1,56 @@
+-- Server-side item search: full-text vector, typed sort helpers and listing indexes
+
+-- Lenient numeric cast used by NUMBER filters/sorts and their expression indexes
+CREATE OR REPLACE FUNCTION ck_try_numeric(v TEXT)
+    RETURNS NUMERIC
+    LANGUAGE plpgsql
+    IMMUTABLE
+AS
+$$
+BEGIN
+    RETURN v::numeric;
+EXCEPTION
+    WHEN others THEN RETURN NULL;
+END;
+$$;
+
+ALTER TABLE item
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR;
+
+-- Title plus every field the module marks searchable
+CREATE OR REPLACE FUNCTION trg_item_search_vector()
+    RETURNS trigger AS
+$$
+BEGIN
+    NEW.search_vector := to_tsvector('simple',
+        coalesce(NEW.title, '') || ' ' ||
+        coalesce((SELECT string_agg(NEW.attributes ->> f.field_key, ' ')
+                  FROM module_field f
+                  WHERE f.module_id = NEW.module_id
+                    AND f.searchable), ''));
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS item_search_vector_update ON item;
+CREATE TRIGGER item_search_vector_update
+    BEFORE INSERT OR UPDATE OF title, attributes, module_id
+    ON item
+    FOR EACH ROW
+EXECUTE FUNCTION trg_item_search_vector();
+
+-- Backfill existing rows through the trigger
+UPDATE item SET attributes = attributes;
+
+CREATE INDEX IF NOT EXISTS gin_item_search_vector
+    ON item USING GIN (search_vector);
+
+-- Built-in sort keys; per-field sort indexes are created when modules are loaded
+CREATE INDEX IF NOT EXISTS idx_item_list_created
+    ON item(collection_id, module_id, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_item_list_updated
+    ON item(collection_id, module_id, updated_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_item_list_title
+    ON item(collection_id, module_id, lower(title), id);
@@ -0,0 +1,38 @@
+-- Content-addressed asset store: one row per distinct stored file, keyed by the SHA-256 of its bytes.
+-- Files live under <assets dir>/<hash[0:2]>/<hash[2:4]>/<file_name>; file_name is <hash>.<ext>.
+-- ref_count is the number of items whose image_name points at the file and is kept by the trigger below.
+
+CREATE TABLE IF NOT EXISTS asset (
+    hash         CHAR(64)    PRIMARY KEY,
+    file_name    TEXT        NOT NULL UNIQUE,
+    content_type TEXT        NOT NULL,
+    size_bytes   BIGINT      NOT NULL,
+    ref_count    INTEGER     NOT NULL DEFAULT 0,
+    created_at   TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_asset_unreferenced
+    ON asset(created_at)
+    WHERE ref_count <= 0;
+
+-- Also fires for items removed by the collection / module cascades
+CREATE OR REPLACE FUNCTION trg_item_asset_ref_count()
+    RETURNS trigger AS
+$$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.image_name IS NOT NULL THEN
+        UPDATE asset SET ref_count = ref_count - 1 WHERE file_name = OLD.image_name;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.image_name IS NOT NULL THEN
+        UPDATE asset SET ref_count = ref_count + 1 WHERE file_name = NEW.image_name;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS item_asset_ref_count ON item;
+CREATE TRIGGER item_asset_ref_count
+    AFTER INSERT OR DELETE OR UPDATE OF image_name
+    ON item
+    FOR EACH ROW
+EXECUTE FUNCTION trg_item_asset_ref_count();
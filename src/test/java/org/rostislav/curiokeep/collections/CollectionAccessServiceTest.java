@@ -0,0 +1,59 @@
+package org.rostislav.curiokeep.collections;
+
+import org.junit.jupiter.api.Test;
+import org.rostislav.curiokeep.collections.api.dto.Role;
+import org.rostislav.curiokeep.collections.entities.CollectionMemberEntity;
+import org.rostislav.curiokeep.collections.entities.CollectionMemberId;
+import org.rostislav.curiokeep.security.AccessCacheProps;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CollectionAccessServiceTest {
+
+    private final CollectionMemberRepository members = mock(CollectionMemberRepository.class);
+    private final CollectionAccessService access = new CollectionAccessService(members, AccessCacheProps.defaults());
+    private final UUID collectionId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void repeatedChecksAreServedFromMemory() {
+        when(members.findByIdCollectionIdAndIdUserId(collectionId, userId)).thenReturn(Optional.of(member(Role.EDITOR)));
+
+        access.requireRole(collectionId, userId, Role.VIEWER);
+        CollectionMemberEntity again = access.requireRole(collectionId, userId, Role.EDITOR);
+
+        assertThat(again.getRole()).isEqualTo(Role.EDITOR);
+        assertThatThrownBy(() -> access.requireRole(collectionId, userId, Role.ADMIN))
+                .isInstanceOf(ResponseStatusException.class);
+        verify(members, times(1)).findByIdCollectionIdAndIdUserId(collectionId, userId);
+    }
+
+    @Test
+    void evictionPicksUpMembershipChanges() {
+        when(members.findByIdCollectionIdAndIdUserId(collectionId, userId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(member(Role.ADMIN)));
+
+        assertThatThrownBy(() -> access.requireRole(collectionId, userId, Role.VIEWER))
+                .isInstanceOf(ResponseStatusException.class);
+        access.evictUser(userId);
+
+        assertThat(access.requireRole(collectionId, userId, Role.ADMIN).getRole()).isEqualTo(Role.ADMIN);
+    }
+
+    private CollectionMemberEntity member(Role role) {
+        CollectionMemberEntity m = new CollectionMemberEntity();
+        m.setId(new CollectionMemberId(collectionId, userId));
+        m.setRole(role);
+        return m;
+    }
+}
@@ -10,6 +10,7 @@ import org.rostislav.curiokeep.collections.api.dto.CollectionResponse;
 import org.rostislav.curiokeep.collections.api.dto.CreateCollectionRequest;
 import org.rostislav.curiokeep.collections.api.dto.UpdateCollectionRequest;
 import org.rostislav.curiokeep.security.SetupModeFilter;
+import org.rostislav.curiokeep.security.SetupState;
 import org.rostislav.curiokeep.user.AppUserRepository;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -44,7 +45,7 @@ class CollectionControllerTest {
     void setUp() {
         when(appUserRepository.existsByIsAdminTrue()).thenReturn(true);
         mockMvc = MockMvcBuilders.standaloneSetup(new CollectionController(collectionService))
-                .addFilters(new SetupModeFilter(appUserRepository))
+                .addFilters(new SetupModeFilter(new SetupState(appUserRepository)))
                 .build();
     }
 
@@ -10,6 +10,7 @@ import org.rostislav.curiokeep.collections.api.dto.CollectionModuleResponse;
 import org.rostislav.curiokeep.collections.api.dto.EnableModuleResponse;
 import org.rostislav.curiokeep.modules.contract.ModuleSource;
 import org.rostislav.curiokeep.security.SetupModeFilter;
+import org.rostislav.curiokeep.security.SetupState;
 import org.rostislav.curiokeep.user.AppUserRepository;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -41,7 +42,7 @@ class CollectionModuleControllerTest {
     void setUp() {
         when(appUserRepository.existsByIsAdminTrue()).thenReturn(true);
         mockMvc = MockMvcBuilders.standaloneSetup(new CollectionModuleController(collectionModuleService))
-                .addFilters(new SetupModeFilter(appUserRepository))
+                .addFilters(new SetupModeFilter(new SetupState(appUserRepository)))
                 .build();
     }
 
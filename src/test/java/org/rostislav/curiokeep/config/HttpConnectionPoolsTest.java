@@ -0,0 +1,98 @@
+package org.rostislav.curiokeep.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.routing.DefaultRoutePlanner;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpConnectionPoolsTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final HttpClientProps props = new HttpClientProps(null, null, Map.of("discogs",
+            new HttpClientProps.Route(List.of("API.discogs.com"), 3, Duration.ofSeconds(2), Duration.ofSeconds(40))));
+    private final HttpConnectionPools pools = new HttpConnectionPools(props, meters);
+
+    @AfterEach
+    void close() {
+        pools.close();
+    }
+
+    @Test
+    void configuredHostGetsItsOwnConnectionCap() throws Exception {
+        // The route the client actually plans for a request, not one built by hand
+        HttpRoute discogs = plannedRoute("api.discogs.com");
+        HttpRoute other = plannedRoute("musicbrainz.org");
+
+        assertThat(pools.providerPool().getMaxPerRoute(discogs)).isEqualTo(3);
+        assertThat(pools.providerPool().getMaxPerRoute(other)).isEqualTo(props.providers().maxPerRoute());
+        // Routes only tune the provider pool
+        assertThat(pools.assetPool().getMaxPerRoute(discogs)).isEqualTo(props.assets().maxPerRoute());
+    }
+
+    @Test
+    void configuredHostGetsItsOwnConnectTimeouts() throws Exception {
+        var configs = HttpConnectionPools.connectionConfigs(props.providers(), props.routesByHost());
+
+        ConnectionConfig discogs = configs.resolve(plannedRoute("api.discogs.com"));
+        ConnectionConfig other = configs.resolve(plannedRoute("musicbrainz.org"));
+
+        assertThat(discogs.getConnectTimeout()).isEqualTo(Timeout.ofSeconds(2));
+        assertThat(discogs.getSocketTimeout()).isEqualTo(Timeout.ofSeconds(40));
+        assertThat(other.getConnectTimeout()).isEqualTo(Timeout.of(props.providers().connectTimeout()));
+        assertThat(other.getSocketTimeout()).isEqualTo(Timeout.of(props.providers().readTimeout()));
+    }
+
+    @Test
+    void unsetRouteTimeoutsFallBackToThePool() throws Exception {
+        Map<String, HttpClientProps.Route> routes = Map.of("musicbrainz.org",
+                new HttpClientProps.Route(List.of("musicbrainz.org"), 1, null, null));
+
+        ConnectionConfig config = HttpConnectionPools.connectionConfigs(props.providers(), routes)
+                .resolve(plannedRoute("musicbrainz.org"));
+
+        assertThat(config.getConnectTimeout()).isEqualTo(Timeout.of(props.providers().connectTimeout()));
+        assertThat(config.getSocketTimeout()).isEqualTo(Timeout.of(props.providers().readTimeout()));
+    }
+
+    @Test
+    void configuredHostGetsItsOwnResponseTimeout() {
+        RequestConfig defaults = HttpConnectionPools.requestConfig(props.providers());
+
+        HttpClientContext discogs = pools.routeContext(URI.create("https://api.discogs.com/database/search"), defaults);
+
+        assertThat(discogs.getRequestConfig().getResponseTimeout()).isEqualTo(Timeout.ofSeconds(40));
+        assertThat(discogs.getRequestConfig().getConnectionRequestTimeout())
+                .isEqualTo(defaults.getConnectionRequestTimeout());
+        assertThat(pools.routeContext(URI.create("https://musicbrainz.org/ws/2/release"), defaults)).isNull();
+    }
+
+    @Test
+    void gaugesArePublishedForBothPools() {
+        for (String pool : List.of("providers", "assets")) {
+            for (String stat : List.of("leased", "pending", "available", "max")) {
+                assertThat(meters.find("curiokeep.http.pool." + stat).tag("pool", pool).gauge()).isNotNull();
+            }
+        }
+        assertThat(meters.get("curiokeep.http.pool.max").tag("pool", "providers").gauge().value())
+                .isEqualTo(props.providers().maxTotal().doubleValue());
+        assertThat(meters.get("curiokeep.http.pool.max").tag("pool", "assets").gauge().value())
+                .isEqualTo(props.assets().maxTotal().doubleValue());
+    }
+
+    private static HttpRoute plannedRoute(String host) throws Exception {
+        return new DefaultRoutePlanner(null).determineRoute(new HttpHost("https", host), null, HttpClientContext.create());
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.rostislav.curiokeep.security.SetupModeFilter;
+import org.rostislav.curiokeep.security.SetupState;
 import org.rostislav.curiokeep.user.AppUserRepository;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -27,7 +28,7 @@ class HealthControllerTest {
     void setUp() {
         when(appUserRepository.existsByIsAdminTrue()).thenReturn(true);
         mockMvc = MockMvcBuilders.standaloneSetup(new HealthController())
-                .addFilters(new SetupModeFilter(appUserRepository))
+                .addFilters(new SetupModeFilter(new SetupState(appUserRepository)))
                 .build();
     }
 
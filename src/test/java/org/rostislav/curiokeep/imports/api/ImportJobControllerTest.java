@@ -0,0 +1,129 @@
+package org.rostislav.curiokeep.imports.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.rostislav.curiokeep.imports.ImportJobService;
+import org.rostislav.curiokeep.imports.api.dto.CreateImportJobRequest;
+import org.rostislav.curiokeep.imports.api.dto.ImportJobResponse;
+import org.rostislav.curiokeep.imports.api.dto.ImportJobRowResponse;
+import org.rostislav.curiokeep.imports.entities.ImportJobEntity;
+import org.rostislav.curiokeep.imports.entities.ImportJobRowEntity;
+import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
+import org.rostislav.curiokeep.security.SetupModeFilter;
+import org.rostislav.curiokeep.security.SetupState;
+import org.rostislav.curiokeep.user.AppUserRepository;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobControllerTest {
+
+    @Mock
+    ImportJobService importJobService;
+
+    @Mock
+    AppUserRepository appUserRepository;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        when(appUserRepository.existsByIsAdminTrue()).thenReturn(true);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ImportJobController(importJobService))
+                .addFilters(new SetupModeFilter(new SetupState(appUserRepository)))
+                .build();
+    }
+
+    private ImportJobResponse sampleJob(UUID collectionId, UUID jobId, ImportJobEntity.Status status, int processed) {
+        return new ImportJobResponse(
+                jobId,
+                collectionId,
+                UUID.fromString("a1111111-1111-1111-1111-111111111111"),
+                status,
+                2,
+                processed,
+                processed,
+                0,
+                null,
+                UUID.randomUUID(),
+                OffsetDateTime.parse("2025-01-01T00:00:00Z"),
+                null,
+                null
+        );
+    }
+
+    @Test
+    void submitQueuesJob() throws Exception {
+        UUID collectionId = UUID.fromString("a2222222-2222-2222-2222-222222222222");
+        UUID jobId = UUID.fromString("a3333333-3333-3333-3333-333333333333");
+        when(importJobService.submit(eq(collectionId), any(CreateImportJobRequest.class)))
+                .thenReturn(sampleJob(collectionId, jobId, ImportJobEntity.Status.QUEUED, 0));
+
+        mockMvc.perform(post("/api/collections/" + collectionId + "/imports")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"moduleId\":\"a1111111-1111-1111-1111-111111111111\",\"identifiers\":["
+                                + "{\"idType\":\"ISBN13\",\"idValue\":\"9780441172719\"},"
+                                + "{\"idType\":\"ISBN13\",\"idValue\":\"9780553293357\"}]}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(jobId.toString()))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.total").value(2));
+    }
+
+    @Test
+    void submitRejectsEmptyIdentifierList() throws Exception {
+        UUID collectionId = UUID.fromString("a4444444-4444-4444-4444-444444444444");
+
+        mockMvc.perform(post("/api/collections/" + collectionId + "/imports")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"moduleId\":\"a1111111-1111-1111-1111-111111111111\",\"identifiers\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getReturnsProgress() throws Exception {
+        UUID collectionId = UUID.fromString("a5555555-5555-5555-5555-555555555555");
+        UUID jobId = UUID.fromString("a6666666-6666-6666-6666-666666666666");
+        when(importJobService.get(collectionId, jobId))
+                .thenReturn(sampleJob(collectionId, jobId, ImportJobEntity.Status.RUNNING, 1));
+
+        mockMvc.perform(get("/api/collections/" + collectionId + "/imports/" + jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.processed").value(1));
+    }
+
+    @Test
+    void rowsCanBeFilteredByStatus() throws Exception {
+        UUID collectionId = UUID.fromString("a7777777-7777-7777-7777-777777777777");
+        UUID jobId = UUID.fromString("a8888888-8888-8888-8888-888888888888");
+        ImportJobRowResponse row = new ImportJobRowResponse(1, ItemIdentifierEntity.IdType.ISBN13, "9780000000000",
+                ImportJobRowEntity.Status.FAILED, null, null, "NO_PROVIDER_MATCH");
+        when(importJobService.rows(eq(collectionId), eq(jobId), eq(ImportJobRowEntity.Status.FAILED), any()))
+                .thenReturn(new PageImpl<>(List.of(row), PageRequest.of(0, 100), 1));
+
+        mockMvc.perform(get("/api/collections/" + collectionId + "/imports/" + jobId + "/rows")
+                        .param("status", "FAILED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].rowIndex").value(1))
+                .andExpect(jsonPath("$.content[0].error").value("NO_PROVIDER_MATCH"));
+    }
+}
@@ -0,0 +1,88 @@
+package org.rostislav.curiokeep.items;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.RestClient;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AssetDerivativeServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final AssetStore store = mock(AssetStore.class);
+
+    @Test
+    void rendersDerivativeNextToOriginalOnce() throws Exception {
+        ItemImageService images = images();
+        String original = images.storeUploaded(new ByteArrayInputStream(jpeg(800, 1200)), "cover.jpg");
+        AssetDerivativeService derivatives = new AssetDerivativeService(images, AssetDerivativeProps.defaults(),
+                new SimpleMeterRegistry());
+
+        AssetFile thumb = derivatives.derivative(original, derivatives.widthFor(150, null)).derivative();
+
+        assertThat(thumb).isNotNull();
+        assertThat(thumb.fileName()).isEqualTo(original + ".w200.jpg");
+        assertThat(thumb.path().getParent()).isEqualTo(images.describe(original).path().getParent());
+        BufferedImage decoded = ImageIO.read(thumb.path().toFile());
+        assertThat(decoded.getWidth()).isEqualTo(200);
+        assertThat(decoded.getHeight()).isEqualTo(300);
+        assertThat(derivatives.derivative(original, 200).derivative()).isEqualTo(thumb);
+        assertThat(AssetDerivativeService.originalOf(thumb.fileName())).isEqualTo(original);
+    }
+
+    @Test
+    void servesOriginalWhenAlreadySmallEnough() throws Exception {
+        ItemImageService images = images();
+        String original = images.storeUploaded(new ByteArrayInputStream(jpeg(120, 180)), "small.jpg");
+        AssetDerivativeService derivatives = new AssetDerivativeService(images, AssetDerivativeProps.defaults(),
+                new SimpleMeterRegistry());
+
+        AssetDerivativeService.Rendition rendition = derivatives.derivative(original, 200);
+        assertThat(rendition.derivative()).isNull();
+        assertThat(rendition.pending()).isFalse();
+        assertThat(derivatives.widthFor(null, "unknown")).isNull();
+        assertThat(derivatives.widthFor(5000, null)).isEqualTo(1024);
+    }
+
+    @Test
+    void undecodableOriginalIsPassedThroughForGood() throws Exception {
+        ItemImageService images = images();
+        byte[] full = jpeg(800, 1200);
+        byte[] truncated = Arrays.copyOf(full, 40);
+        String original = images.storeUploaded(new ByteArrayInputStream(truncated), "broken.jpg");
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        AssetDerivativeService derivatives = new AssetDerivativeService(images, AssetDerivativeProps.defaults(), meters);
+
+        assertThat(derivatives.derivative(original, 200)).isEqualTo(AssetDerivativeService.Rendition.ORIGINAL);
+        assertThat(derivatives.derivative(original, 200)).isEqualTo(AssetDerivativeService.Rendition.ORIGINAL);
+        assertThat(meters.get("curiokeep.assets.derivative.render").timer().count()).isEqualTo(1);
+    }
+
+    private ItemImageService images() {
+        when(store.findFileName(anyString())).thenReturn(Optional.empty());
+        when(store.register(anyString(), anyString(), anyString(), anyLong())).thenAnswer(inv -> inv.getArgument(1));
+        return new ItemImageService(RestClient.create(), store, event -> {}, dir.toString());
+    }
+
+    private static byte[] jpeg(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+}
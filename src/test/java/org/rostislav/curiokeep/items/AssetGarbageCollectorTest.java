@@ -0,0 +1,106 @@
+package org.rostislav.curiokeep.items;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rostislav.curiokeep.items.api.dto.AssetGcReport;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AssetGarbageCollectorTest {
+
+    @TempDir
+    Path dir;
+
+    private final AssetStore store = mock(AssetStore.class);
+    private final ItemImageService images = mock(ItemImageService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void removesOldUnreferencedFilesOnly() throws Exception {
+        Path kept = old(dir.resolve("ab/cd").resolve("abcd" + "0".repeat(60) + ".jpg"), 10);
+        Path attrRef = old(dir.resolve("legacy.png"), 20);
+        Path orphan = old(dir.resolve("orphan.png"), 30);
+        Path fresh = Files.write(dir.resolve("upload.png"), new byte[40]);
+        referenced(kept.getFileName().toString(), "legacy.png");
+        when(store.release(anyString())).thenReturn(true);
+
+        AssetGcReport report = collector(false).collect(false);
+
+        assertThat(report.scannedFiles()).isEqualTo(4);
+        assertThat(report.orphanFiles()).isEqualTo(1);
+        assertThat(report.orphanBytes()).isEqualTo(30);
+        assertThat(report.reclaimedBytes()).isEqualTo(30);
+        assertThat(orphan).doesNotExist();
+        assertThat(kept).exists();
+        assertThat(attrRef).exists();
+        assertThat(fresh).exists();
+        assertThat(registry.get("curiokeep.assets.gc.reclaimed").counter().count()).isEqualTo(30);
+    }
+
+    @Test
+    void dryRunOnlyReports() throws Exception {
+        Path orphan = old(dir.resolve("orphan.png"), 30);
+        referenced();
+
+        AssetGcReport report = collector(true).collect(true);
+
+        assertThat(report.dryRun()).isTrue();
+        assertThat(report.orphanFiles()).isEqualTo(1);
+        assertThat(report.removedFiles()).isZero();
+        assertThat(orphan).exists();
+        verify(store, never()).release(anyString());
+    }
+
+    @Test
+    void quarantinesOrphansAndKeepsFilesPickedUpAgain() throws Exception {
+        Path orphan = old(dir.resolve("orphan.png"), 30);
+        Path reused = old(dir.resolve("reused.png"), 30);
+        referenced();
+        when(store.release("orphan.png")).thenReturn(true);
+        when(store.release("reused.png")).thenReturn(false);
+
+        AssetGcReport report = collector(true).collect(false);
+
+        assertThat(report.removedFiles()).isEqualTo(1);
+        assertThat(report.reclaimedBytes()).isZero();
+        assertThat(orphan).doesNotExist();
+        assertThat(dir.resolve(AssetGarbageCollector.QUARANTINE_DIR).resolve("orphan.png")).exists();
+        assertThat(reused).exists();
+    }
+
+    private AssetGarbageCollector collector(boolean quarantine) {
+        AssetGcProps props = new AssetGcProps(true, false, quarantine, Duration.ofHours(1), null, 1, Duration.ZERO);
+        return new AssetGarbageCollector(store, images, props, registry, dir.toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void referenced(String... names) {
+        doAnswer(inv -> {
+            Consumer<String> sink = inv.getArgument(0);
+            for (String name : names) sink.accept(name);
+            return null;
+        }).when(store).forEachReferenced(any(Consumer.class));
+    }
+
+    private static Path old(Path file, int size) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[size]);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+        return file;
+    }
+}
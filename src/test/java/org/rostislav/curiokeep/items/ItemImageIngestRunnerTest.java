@@ -0,0 +1,60 @@
+package org.rostislav.curiokeep.items;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemImageIngestRunnerTest {
+
+    private static final String URL = "https://img.example.com/cover.jpg";
+
+    private final ItemImageQueue queue = mock(ItemImageQueue.class);
+    private final ItemImageService images = mock(ItemImageService.class);
+    private final ItemImageIngestProps props = new ItemImageIngestProps(
+            2, 10, 3, Duration.ofSeconds(30), Duration.ofMinutes(5), null);
+    private final ItemImageIngestRunner runner =
+            new ItemImageIngestRunner(queue, images, props, new SimpleMeterRegistry());
+
+    @Test
+    void attachesDownloadedImage() {
+        ItemImageQueue.Job job = new ItemImageQueue.Job(UUID.randomUUID(), URL, 1);
+        when(images.downloadToLocal(URL)).thenReturn("abc.jpg");
+        when(queue.attach(job, "abc.jpg")).thenReturn(true);
+
+        runner.ingest(job);
+
+        verify(queue).attach(job, "abc.jpg");
+        verify(queue, never()).retry(any(), anyString(), any());
+    }
+
+    @Test
+    void backsOffThenGivesUp() {
+        ItemImageQueue.Job second = new ItemImageQueue.Job(UUID.randomUUID(), URL, 2);
+        ItemImageQueue.Job last = new ItemImageQueue.Job(second.itemId(), URL, 3);
+
+        runner.ingest(second);
+        runner.ingest(last);
+
+        verify(queue).retry(second, "DOWNLOAD_FAILED", Duration.ofSeconds(60));
+        verify(queue).fail(eq(last), anyString());
+        verify(queue, never()).attach(any(), anyString());
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        assertThat(props.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(props.backoff(4)).isEqualTo(Duration.ofMinutes(4));
+        assertThat(props.backoff(10)).isEqualTo(Duration.ofMinutes(5));
+    }
+}
@@ -0,0 +1,114 @@
+package org.rostislav.curiokeep.items;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.RestClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemImageServiceTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 0, 0, 0, 0};
+
+    @TempDir
+    Path dir;
+
+    private final AssetStore store = mock(AssetStore.class);
+
+    @Test
+    void storesContentOnceUnderShardedHashName() throws Exception {
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(PNG));
+        when(store.findFileName(hash)).thenReturn(Optional.empty());
+        when(store.register(eq(hash), anyString(), anyString(), anyLong()))
+                .thenAnswer(inv -> inv.getArgument(1));
+        ItemImageService images = new ItemImageService(RestClient.create(), store, event -> {}, dir.toString());
+
+        String first = images.storeUploaded(new ByteArrayInputStream(PNG), "cover.png");
+
+        assertThat(first).isEqualTo(hash + ".png");
+        Path stored = dir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(first);
+        assertThat(stored).exists().hasBinaryContent(PNG);
+        assertThat(images.describe(first).path()).isEqualTo(stored);
+
+        when(store.findFileName(hash)).thenReturn(Optional.of(first));
+        String second = images.storeUploaded(new ByteArrayInputStream(PNG), "copy.png");
+
+        assertThat(second).isEqualTo(first);
+        verify(store, times(1)).register(eq(hash), anyString(), anyString(), anyLong());
+        try (var files = Files.walk(dir)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+        }
+    }
+
+    @Test
+    void rejectsContentThatIsNotAnImageWhateverItsName() {
+        ItemImageService images = new ItemImageService(RestClient.create(), store, event -> {}, dir.toString());
+
+        String stored = images.storeUploaded(new ByteArrayInputStream("<svg onload=alert(1)>".getBytes()), "cover.png");
+
+        assertThat(stored).isNull();
+        assertThat(ItemImageService.sniffContentType(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0}))
+                .isEqualTo("image/jpeg");
+        verify(store, never()).register(anyString(), anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    void storingKnownContentAgainRefreshesItsModificationTime() throws Exception {
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(PNG));
+        when(store.findFileName(hash)).thenReturn(Optional.empty());
+        when(store.register(eq(hash), anyString(), anyString(), anyLong()))
+                .thenAnswer(inv -> inv.getArgument(1));
+        ItemImageService images = new ItemImageService(RestClient.create(), store, event -> {}, dir.toString());
+        String name = images.storeUploaded(new ByteArrayInputStream(PNG), "cover.png");
+        Path stored = images.describe(name).path();
+        Files.setLastModifiedTime(stored, FileTime.from(Instant.now().minus(Duration.ofDays(30))));
+        images.evict(name);
+        Instant before = images.describe(name).lastModified();
+
+        when(store.findFileName(hash)).thenReturn(Optional.of(name));
+        images.storeUploaded(new ByteArrayInputStream(PNG), "copy.png");
+
+        Instant touched = Files.getLastModifiedTime(stored).toInstant();
+        assertThat(touched).isAfter(before);
+        assertThat(images.describe(name).lastModified()).isEqualTo(touched);
+    }
+
+    @Test
+    void stopsReadingOnceTheSizeCapIsExceeded() throws Exception {
+        ItemImageService images = new ItemImageService(RestClient.create(), store, event -> {}, dir.toString());
+        AtomicLong read = new AtomicLong();
+        InputStream endless = new InputStream() {
+            @Override
+            public int read() {
+                long i = read.getAndIncrement();
+                return i < PNG.length ? PNG[(int) i] & 0xFF : 0;
+            }
+        };
+
+        assertThat(images.storeUploaded(endless, "huge.png")).isNull();
+        assertThat(read.get()).isLessThan(6L * 1024 * 1024);
+        try (var files = Files.walk(dir)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.rostislav.curiokeep.items;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PGobject;
+import org.rostislav.curiokeep.items.api.dto.ItemFilter;
+import org.rostislav.curiokeep.items.api.dto.ItemSearchRequest;
+import org.rostislav.curiokeep.modules.CompiledModule;
+import org.rostislav.curiokeep.modules.ModuleRegistry;
+import org.rostislav.curiokeep.modules.entities.ModuleDefinitionEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ItemSearchQueryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UUID collectionId = UUID.randomUUID();
+    private final CompiledModule module = compiled();
+
+    @Test
+    void buildsContainmentRangeAndFullTextConditions() {
+        ItemSearchQuery q = ItemSearchQuery.build(collectionId, module, request("dune",
+                List.of(new ItemFilter("publisher", ItemFilter.Op.EQ, "Ace", null),
+                        new ItemFilter("tags", ItemFilter.Op.EQ, "scifi", null),
+                        new ItemFilter("pages", ItemFilter.Op.GTE, "300", null)),
+                null, null), objectMapper);
+
+        assertThat(q.where())
+                .contains("i.search_vector @@ websearch_to_tsquery('simple', :q)")
+                .contains("i.attributes @> :f0")
+                .contains("i.attributes @> :f1")
+                .contains("ck_try_numeric(i.attributes ->> 'pages') >= :f2");
+        assertThat(((PGobject) q.params().getValue("f0")).getValue()).isEqualTo("{\"publisher\":\"Ace\"}");
+        assertThat(((PGobject) q.params().getValue("f1")).getValue()).isEqualTo("{\"tags\":[\"scifi\"]}");
+        assertThat(q.params().getValue("f2")).isEqualTo(new BigDecimal("300"));
+        assertThat(q.orderBy()).startsWith("ts_rank(");
+    }
+
+    @Test
+    void sortsSortableFieldsWithIdTiebreaker() {
+        ItemSearchQuery byTitle = ItemSearchQuery.build(collectionId, module, request(null, null, "title", null), objectMapper);
+        ItemSearchQuery byPages = ItemSearchQuery.build(collectionId, module, request(null, null, "pages", Sort.Direction.DESC), objectMapper);
+        ItemSearchQuery byDefault = ItemSearchQuery.build(collectionId, module, request(null, null, null, null), objectMapper);
+
+        assertThat(byTitle.orderBy()).isEqualTo("lower(i.attributes ->> 'title') ASC, i.id ASC");
+        assertThat(byPages.orderBy()).isEqualTo("ck_try_numeric(i.attributes ->> 'pages') DESC, i.id DESC");
+        assertThat(byDefault.orderBy()).isEqualTo("i.created_at DESC, i.id DESC");
+    }
+
+    @Test
+    void rejectsFieldsWithoutMatchingCapability() {
+        assertThatThrownBy(() -> ItemSearchQuery.build(collectionId, module,
+                request(null, List.of(new ItemFilter("title", ItemFilter.Op.EQ, "Dune", null)), null, null), objectMapper))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("FIELD_NOT_FILTERABLE_title");
+        assertThatThrownBy(() -> ItemSearchQuery.build(collectionId, module, request(null, null, "publisher", null), objectMapper))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("FIELD_NOT_SORTABLE_publisher");
+        assertThatThrownBy(() -> ItemSearchQuery.build(collectionId, module,
+                request(null, List.of(new ItemFilter("publisher", ItemFilter.Op.GT, "A", null)), null, null), objectMapper))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("FIELD_NOT_RANGEABLE_publisher");
+    }
+
+    @Test
+    void seeksPastCursorOnSortKeyAndId() {
+        UUID lastId = UUID.randomUUID();
+        ItemSearchQuery first = ItemSearchQuery.build(collectionId, module, request(null, null, "pages", null), objectMapper);
+        ItemCursor cursor = ItemCursor.decode(
+                new ItemCursor(first.sortToken(), "412", lastId).encode(objectMapper), objectMapper);
+
+        ItemSearchQuery next = ItemSearchQuery.build(collectionId, module, request(null, null, "pages", null), objectMapper)
+                .seekAfter(cursor);
+
+        assertThat(next.where()).contains(
+                "((ck_try_numeric(i.attributes ->> 'pages'), i.id) > (:cursor_key, :cursor_id) OR ck_try_numeric(i.attributes ->> 'pages') IS NULL)");
+        assertThat(next.params().getValue("cursor_key")).isEqualTo(new BigDecimal("412"));
+        assertThat(next.params().getValue("cursor_id")).isEqualTo(lastId);
+
+        ItemSearchQuery byCreated = ItemSearchQuery.build(collectionId, module, request(null, null, null, null), objectMapper)
+                .seekAfter(new ItemCursor("createdAt:DESC", "2024-05-01T10:00:00Z", lastId));
+        assertThat(byCreated.where()).contains("(i.created_at, i.id) < (:cursor_key, :cursor_id)");
+    }
+
+    @Test
+    void rejectsCursorsFromAnotherOrdering() {
+        ItemSearchQuery byTitle = ItemSearchQuery.build(collectionId, module, request(null, null, "title", null), objectMapper);
+
+        assertThatThrownBy(() -> byTitle.seekAfter(new ItemCursor("createdAt:DESC", null, UUID.randomUUID())))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("INVALID_CURSOR");
+        assertThatThrownBy(() -> ItemCursor.decode("not-a-cursor", objectMapper))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("INVALID_CURSOR");
+    }
+
+    private ItemSearchRequest request(String query, List<ItemFilter> filters, String sort, Sort.Direction direction) {
+        return new ItemSearchRequest(module.moduleId(), query, null, filters, sort, direction, null, null);
+    }
+
+    private CompiledModule compiled() {
+        ModuleDefinitionEntity m = new ModuleDefinitionEntity();
+        m.setId(UUID.randomUUID());
+        m.setChecksum("c1");
+        m.setDefinitionJson("""
+                {"key":"books",
+                 "states":[{"key":"OWNED","label":"Owned","order":0,"active":true,"deprecated":false}],
+                 "fields":[%s,%s,%s,%s]}
+                """.formatted(
+                field("title", "TEXT", false, true),
+                field("publisher", "TEXT", true, false),
+                field("pages", "NUMBER", true, true),
+                field("tags", "TAGS", true, false)));
+        return new ModuleRegistry(objectMapper).get(m);
+    }
+
+    private static String field(String key, String type, boolean filterable, boolean sortable) {
+        return """
+                {"key":"%s","label":"%s","type":"%s","required":false,"searchable":true,"filterable":%s,
+                 "sortable":%s,"order":0,"active":true,"deprecated":false}
+                """.formatted(key, key, type, filterable, sortable);
+    }
+}
@@ -0,0 +1,111 @@
+package org.rostislav.curiokeep.items.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.rostislav.curiokeep.items.AssetDerivativeService;
+import org.rostislav.curiokeep.items.AssetFile;
+import org.rostislav.curiokeep.items.ItemImageService;
+import org.rostislav.curiokeep.security.SetupModeFilter;
+import org.rostislav.curiokeep.security.SetupState;
+import org.rostislav.curiokeep.user.AppUserRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class AssetControllerTest {
+
+    @Mock
+    ItemImageService images;
+
+    @Mock
+    AssetDerivativeService derivatives;
+
+    @Mock
+    AppUserRepository appUserRepository;
+
+    @TempDir
+    Path dir;
+
+    MockMvc mockMvc;
+    AssetFile asset;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(appUserRepository.existsByIsAdminTrue()).thenReturn(true);
+        mockMvc = MockMvcBuilders.standaloneSetup(new AssetController(images, derivatives))
+                .addFilters(new SetupModeFilter(new SetupState(appUserRepository)))
+                .build();
+
+        Path file = Files.writeString(dir.resolve("abc123.png"), "0123456789");
+        asset = new AssetFile("abc123.png", file, 10, Instant.parse("2025-01-01T00:00:00Z"), MediaType.IMAGE_PNG);
+        lenient().when(images.describe("abc123.png")).thenReturn(asset);
+    }
+
+    @Test
+    void servesAssetWithValidators() throws Exception {
+        mockMvc.perform(get("/api/assets/abc123.png"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc123-a\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void matchingEtagReturnsNotModified() throws Exception {
+        mockMvc.perform(get("/api/assets/abc123.png").header(HttpHeaders.IF_NONE_MATCH, asset.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void rangeRequestReturnsPartialContent() throws Exception {
+        mockMvc.perform(get("/api/assets/abc123.png").header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    void servesResizedCopyForPreset() throws Exception {
+        Path thumb = Files.writeString(dir.resolve("abc123.png.w200.png"), "thumb");
+        when(derivatives.widthFor(null, "thumb")).thenReturn(200);
+        when(derivatives.derivative("abc123.png", 200)).thenReturn(new AssetDerivativeService.Rendition(
+                new AssetFile("abc123.png.w200.png", thumb, 5, Instant.parse("2025-01-02T00:00:00Z"), MediaType.IMAGE_PNG),
+                false));
+
+        mockMvc.perform(get("/api/assets/abc123.png").param("preset", "thumb"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc123.png.w200-5\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(content().string("thumb"));
+    }
+
+    @Test
+    void pendingDerivativeFallsBackToOriginalWithoutLongCaching() throws Exception {
+        when(derivatives.widthFor(null, "thumb")).thenReturn(200);
+        when(derivatives.derivative("abc123.png", 200)).thenReturn(new AssetDerivativeService.Rendition(null, true));
+
+        mockMvc.perform(get("/api/assets/abc123.png").param("preset", "thumb"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().string("0123456789"));
+    }
+}
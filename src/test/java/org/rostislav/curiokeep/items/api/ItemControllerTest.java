@@ -8,9 +8,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.rostislav.curiokeep.items.ItemService;
 import org.rostislav.curiokeep.items.api.dto.ChangeStateRequest;
 import org.rostislav.curiokeep.items.api.dto.CreateItemRequest;
+import org.rostislav.curiokeep.items.api.dto.ItemCursorPage;
 import org.rostislav.curiokeep.items.api.dto.ItemResponse;
+import org.rostislav.curiokeep.items.api.dto.ItemSearchRequest;
 import org.rostislav.curiokeep.items.api.dto.UpdateItemRequest;
 import org.rostislav.curiokeep.security.SetupModeFilter;
+import org.rostislav.curiokeep.security.SetupState;
 import org.rostislav.curiokeep.user.AppUserRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -21,10 +24,10 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -48,7 +51,7 @@ class ItemControllerTest {
     void setUp() {
         when(appUserRepository.existsByIsAdminTrue()).thenReturn(true);
         mockMvc = MockMvcBuilders.standaloneSetup(new ItemController(itemService))
-                .addFilters(new SetupModeFilter(appUserRepository))
+                .addFilters(new SetupModeFilter(new SetupState(appUserRepository)))
                 .build();
     }
 
@@ -59,7 +62,8 @@ class ItemControllerTest {
                 moduleId,
                 "OWNED",
                 "Dune",
-                Map.of("title", "Dune"),
+                "{\"title\":\"Dune\"}",
+                null,
                 UUID.fromString("01010101-0101-0101-0101-010101010101"),
                 OffsetDateTime.parse("2025-01-01T00:00:00Z"),
                 OffsetDateTime.parse("2025-01-02T00:00:00Z")
@@ -83,6 +87,41 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.content[0].title").value("Dune"));
     }
 
+    @Test
+    void searchReturnsPage() throws Exception {
+        UUID collectionId = UUID.fromString("e0000000-0000-0000-0000-000000000000");
+        UUID moduleId = UUID.fromString("e1111111-1111-1111-1111-111111111111");
+        UUID itemId = UUID.fromString("e2222222-2222-2222-2222-222222222222");
+        Page<ItemResponse> page = new PageImpl<>(List.of(sampleItem(collectionId, moduleId, itemId)), PageRequest.of(0, 25), 1);
+        when(itemService.search(any(), any(ItemSearchRequest.class))).thenReturn(page);
+
+        mockMvc.perform(post("/api/collections/" + collectionId + "/items/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"moduleId\":\"" + moduleId + "\",\"query\":\"dune\","
+                                + "\"filters\":[{\"field\":\"pages\",\"op\":\"GTE\",\"value\":300}],\"sort\":\"title\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(itemId.toString()))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void scrollReturnsNextCursor() throws Exception {
+        UUID collectionId = UUID.fromString("e3000000-0000-0000-0000-000000000000");
+        UUID moduleId = UUID.fromString("e3111111-1111-1111-1111-111111111111");
+        UUID itemId = UUID.fromString("e3222222-2222-2222-2222-222222222222");
+        when(itemService.scroll(any(), any(ItemSearchRequest.class), eq("abc")))
+                .thenReturn(new ItemCursorPage(List.of(sampleItem(collectionId, moduleId, itemId)), "def"));
+
+        mockMvc.perform(get("/api/collections/" + collectionId + "/items/scroll")
+                        .param("moduleId", moduleId.toString())
+                        .param("cursor", "abc")
+                        .param("sort", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(itemId.toString()))
+                .andExpect(jsonPath("$.items[0].attributes.title").value("Dune"))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+    }
+
     @Test
     void createReturnsItem() throws Exception {
         UUID collectionId = UUID.fromString("f0000000-0000-0000-0000-000000000000");
@@ -116,7 +155,7 @@ class ItemControllerTest {
         UUID collectionId = UUID.fromString("f6666666-6666-6666-6666-666666666666");
         UUID moduleId = UUID.fromString("f7777777-7777-7777-7777-777777777777");
         UUID itemId = UUID.fromString("f8888888-8888-8888-8888-888888888888");
-        ItemResponse updated = new ItemResponse(itemId, collectionId, moduleId, "OWNED", "Updated", Map.of("title", "Updated"), UUID.randomUUID(), OffsetDateTime.parse("2025-01-01T00:00:00Z"), OffsetDateTime.parse("2025-01-03T00:00:00Z"));
+        ItemResponse updated = new ItemResponse(itemId, collectionId, moduleId, "OWNED", "Updated", "{\"title\":\"Updated\"}", null, UUID.randomUUID(), OffsetDateTime.parse("2025-01-01T00:00:00Z"), OffsetDateTime.parse("2025-01-03T00:00:00Z"));
         when(itemService.update(any(), any(), any(UpdateItemRequest.class))).thenReturn(updated);
 
         mockMvc.perform(put("/api/collections/" + collectionId + "/items/" + itemId)
@@ -131,7 +170,7 @@ class ItemControllerTest {
         UUID collectionId = UUID.fromString("f9999999-9999-9999-9999-999999999999");
         UUID moduleId = UUID.fromString("faaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa");
         UUID itemId = UUID.fromString("fbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb");
-        ItemResponse updated = new ItemResponse(itemId, collectionId, moduleId, "WISHLIST", "Dune", Map.of("title", "Dune"), UUID.randomUUID(), OffsetDateTime.parse("2025-01-01T00:00:00Z"), OffsetDateTime.parse("2025-01-04T00:00:00Z"));
+        ItemResponse updated = new ItemResponse(itemId, collectionId, moduleId, "WISHLIST", "Dune", "{\"title\":\"Dune\"}", null, UUID.randomUUID(), OffsetDateTime.parse("2025-01-01T00:00:00Z"), OffsetDateTime.parse("2025-01-04T00:00:00Z"));
         when(itemService.changeState(any(), any(), any(ChangeStateRequest.class))).thenReturn(updated);
 
         mockMvc.perform(post("/api/collections/" + collectionId + "/items/" + itemId + "/state")
@@ -0,0 +1,44 @@
+package org.rostislav.curiokeep.items.api.dto;
+
+import org.junit.jupiter.api.Test;
+import org.rostislav.curiokeep.items.entities.ItemEntity;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void passesStoredAttributesThroughUnchanged() {
+        String stored = "{\"title\": \"Dune\", \"pages\": 412}";
+
+        ItemResponse r = ItemResponse.from(item(stored, null), objectMapper);
+
+        assertThat(r.attributes()).isSameAs(stored);
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(r));
+        assertThat(json.get("attributes").get("pages").asInt()).isEqualTo(412);
+    }
+
+    @Test
+    void addsImageUrlUnlessAlreadyPresent() {
+        ItemResponse withImage = ItemResponse.from(item("{\"authors\": {\"name\": \"Herbert\"}}", "abc.jpg"), objectMapper);
+        ItemResponse empty = ItemResponse.from(item("{}", "abc.jpg"), objectMapper);
+        ItemResponse explicit = ItemResponse.from(item("{\"providerImageUrl\": \"https://x/y.jpg\"}", "abc.jpg"), objectMapper);
+
+        JsonNode attrs = objectMapper.readTree(withImage.attributes());
+        assertThat(attrs.get("providerImageUrl").asString()).isEqualTo("/api/assets/abc.jpg");
+        assertThat(attrs.get("authors").get("name").asString()).isEqualTo("Herbert");
+        assertThat(objectMapper.readTree(empty.attributes()).get("providerImageUrl").asString()).isEqualTo("/api/assets/abc.jpg");
+        assertThat(explicit.attributes()).isEqualTo("{\"providerImageUrl\": \"https://x/y.jpg\"}");
+    }
+
+    private static ItemEntity item(String attributes, String imageName) {
+        ItemEntity e = new ItemEntity();
+        e.setAttributes(attributes);
+        e.setImageName(imageName);
+        return e;
+    }
+}
@@ -0,0 +1,80 @@
+package org.rostislav.curiokeep.modules;
+
+import org.junit.jupiter.api.Test;
+import org.rostislav.curiokeep.modules.entities.ModuleDefinitionEntity;
+import org.rostislav.curiokeep.modules.entities.ModuleFieldEntity;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ModuleRegistryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ModuleRegistry registry = new ModuleRegistry(objectMapper);
+
+    @Test
+    void compilesContractProvidersAndMappings() {
+        CompiledModule compiled = registry.get(module(UUID.randomUUID(), "c1"));
+
+        assertThat(compiled.requireContract().key()).isEqualTo("books");
+        assertThat(compiled.providerSpecs()).extracting(s -> s.key()).containsExactly("openlibrary", "googlebooks");
+        assertThat(compiled.stateKeys()).containsExactlyInAnyOrder("OWNED", "WISHLIST");
+        assertThat(compiled.hasState(" wishlist ")).isTrue();
+        assertThat(compiled.defaultStateKey()).isEqualTo("OWNED");
+        assertThat(compiled.requiredFields()).containsExactly("title");
+        assertThat(compiled.mappingsFor("openlibrary")).singleElement()
+                .satisfies(m -> {
+                    assertThat(m.fieldKey()).isEqualTo("title");
+                    assertThat(m.paths()).extracting(Object::toString).containsExactly("/title", "/full_title");
+                });
+    }
+
+    @Test
+    void reusesCompiledModuleUntilChecksumChanges() {
+        UUID id = UUID.randomUUID();
+        CompiledModule first = registry.get(module(id, "c1"));
+
+        assertThat(registry.get(module(id, "c1"))).isSameAs(first);
+        assertThat(registry.get(module(id, "c2"))).isNotSameAs(first);
+    }
+
+    @Test
+    void invalidateDropsEntry() {
+        UUID id = UUID.randomUUID();
+        CompiledModule first = registry.get(module(id, "c1"));
+
+        registry.invalidate(id);
+
+        assertThat(registry.get(module(id, "c1"))).isNotSameAs(first);
+    }
+
+    private ModuleDefinitionEntity module(UUID id, String checksum) {
+        ModuleDefinitionEntity m = new ModuleDefinitionEntity();
+        m.setId(id);
+        m.setChecksum(checksum);
+        m.setDefinitionJson("""
+                {"key":"books",
+                 "states":[{"key":"OWNED","label":"Owned","order":0,"active":true,"deprecated":false},
+                           {"key":"WISHLIST","label":"Wishlist","order":1,"active":true,"deprecated":false}],
+                 "providers":[{"key":"googlebooks","enabled":true,"priority":20},
+                              {"key":"openlibrary","enabled":true,"priority":10}],
+                 "fields":[{"key":"title","label":"Title","type":"TEXT","required":true,"searchable":true,"filterable":false,
+                            "sortable":true,"order":0,"active":true,"deprecated":false},
+                           {"key":"pages","label":"Pages","type":"NUMBER","required":false,"searchable":false,"filterable":false,
+                            "sortable":false,"order":1,"active":true,"deprecated":false}]}
+                """);
+        ModuleFieldEntity title = new ModuleFieldEntity();
+        title.setFieldKey("title");
+        title.setProviderMappings("""
+                [{"provider":"openlibrary","path":"/title"},{"provider":"openlibrary","path":"/full_title"},
+                 {"provider":"googlebooks","path":"/volumeInfo/title"}]
+                """);
+        ModuleFieldEntity pages = new ModuleFieldEntity();
+        pages.setFieldKey("pages");
+        m.setFields(List.of(title, pages));
+        return m;
+    }
+}
@@ -12,6 +12,7 @@ import org.rostislav.curiokeep.modules.api.dto.ModuleSummaryResponse;
 import org.rostislav.curiokeep.modules.contract.ModuleContract;
 import org.rostislav.curiokeep.modules.contract.ModuleSource;
 import org.rostislav.curiokeep.security.SetupModeFilter;
+import org.rostislav.curiokeep.security.SetupState;
 import org.rostislav.curiokeep.user.AppUserRepository;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -41,7 +42,7 @@ class ModuleControllerTest {
     void setUp() {
         when(appUserRepository.existsByIsAdminTrue()).thenReturn(true);
         mockMvc = MockMvcBuilders.standaloneSetup(new ModuleController(moduleQueryService))
-                .addFilters(new SetupModeFilter(appUserRepository))
+                .addFilters(new SetupModeFilter(new SetupState(appUserRepository)))
                 .build();
     }
 
@@ -13,11 +13,13 @@ import org.springframework.web.client.RestClient;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
@@ -115,6 +117,35 @@ class GameProvidersExtendedTest {
         assertThat(r.assets()).hasSize(2);
     }
 
+    @Test
+    void scryfallBatchUsesCollectionEndpoint() throws Exception {
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        RestClient client = builder.build();
+
+        String lotus = "0b0eab47-af62-4ee8-9d6a-3dd8f2d9b0b1";
+        String missing = "11111111-2222-3333-4444-555555555555";
+        String response = """
+                {"object":"list","not_found":[{"id":"%s"}],"data":[{"id":"%s","name":"Lotus","released_at":"1993-08-05"}]}
+                """.formatted(missing, lotus);
+
+        server.expect(requestTo("https://api.scryfall.com/cards/collection"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().string(containsString(lotus)))
+                .andRespond(withSuccess(response, MediaType.APPLICATION_JSON));
+
+        ScryfallProvider provider = new ScryfallProvider(client, objectMapper);
+
+        Map<String, ProviderResult> results = provider.fetchBatch(ItemIdentifierEntity.IdType.CUSTOM,
+                List.of(lotus.toUpperCase(), missing));
+
+        server.verify();
+        assertThat(results).containsOnlyKeys(lotus.toUpperCase());
+        JsonNode normalized = objectMapper.readTree((String) results.get(lotus.toUpperCase()).normalizedFields().get("json"));
+        assertThat(normalized.path("title").asText()).isEqualTo("Lotus");
+        assertThat(normalized.path("published_year").asInt()).isEqualTo(1993);
+    }
+
     @Test
     void pokeapiMapsPokemonFields() throws Exception {
         RestClient.Builder builder = RestClient.builder();
@@ -1,21 +1,37 @@
 package org.rostislav.curiokeep.providers;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
+import org.rostislav.curiokeep.modules.ModuleRegistry;
 import org.rostislav.curiokeep.modules.entities.ModuleDefinitionEntity;
 import org.rostislav.curiokeep.modules.entities.ModuleFieldEntity;
+import org.rostislav.curiokeep.providers.cache.ProviderCacheProps;
+import org.rostislav.curiokeep.providers.cache.ProviderCacheStore;
+import org.rostislav.curiokeep.providers.cache.ProviderResponseCache;
+import org.rostislav.curiokeep.providers.limits.ProviderBreakerProps;
+import org.rostislav.curiokeep.providers.limits.ProviderCircuitBreakers;
+import org.rostislav.curiokeep.providers.limits.ProviderGovernor;
+import org.rostislav.curiokeep.providers.limits.ProviderLimitProps;
 import tools.jackson.databind.ObjectMapper;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 import org.rostislav.curiokeep.providers.api.dto.LookupResponse;
 
 class ProviderLookupServiceTest {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ProviderCircuitBreakers breakers = new ProviderCircuitBreakers(ProviderBreakerProps.defaults(), new SimpleMeterRegistry());
+    private final ProviderCallStats callStats = new ProviderCallStats();
 
     @Test
     void parsesNormalizedJsonStringsAndMergesAttributes() throws Exception {
@@ -61,12 +77,17 @@ class ProviderLookupServiceTest {
     );
 
     ProviderLookupService service = new ProviderLookupService(
-        new ProviderRegistry(List.of(new StubMetadataProvider(openLibrary), new StubMetadataProvider(google))),
-        new ProviderFieldMapper(objectMapper),
-        objectMapper
+        new ProviderRegistry(List.of(new StubMetadataProvider(openLibrary), new StubMetadataProvider(google)), governor()),
+        new ProviderFieldMapper(),
+        objectMapper,
+        ProviderLookupProps.defaults(),
+        noopCache(),
+        new ModuleRegistry(objectMapper),
+        breakers,
+        callStats
     );
 
-    LookupResponse resp = service.lookup(module, List.of(id));
+    LookupResponse resp = service.lookup(module, List.of(id), null, null, true);
 
     assertThat(resp.best().providerKey()).isEqualTo("googlebooks");
     assertThat(resp.assets())
@@ -85,6 +106,261 @@ class ProviderLookupServiceTest {
         .containsEntry("isbn13", "9780261103573");
     }
 
+    @Test
+    void returnsPartialResultsWhenProviderMissesDeadline() throws Exception {
+    ModuleDefinitionEntity module = new ModuleDefinitionEntity();
+    module.setDefinitionJson("""
+        {"providers":[{"key":"openlibrary","priority":10,"enabled":true},{"key":"slowbooks","priority":20,"enabled":true}]}
+        """);
+    module.setFields(List.of(field("title", mappingMap("openlibrary", "/title"), mappingMap("slowbooks", "/title"))));
+
+    ItemIdentifierEntity id = new ItemIdentifierEntity();
+    id.setIdType(ItemIdentifierEntity.IdType.ISBN13);
+    id.setIdValue("9780261103573");
+
+    ProviderResult fast = new ProviderResult("openlibrary", Map.of(), Map.of("json", "{\"title\":\"Fast\"}"), List.of(), new ProviderConfidence(80, "fast"));
+    ProviderResult slow = new ProviderResult("slowbooks", Map.of(), Map.of("json", "{\"title\":\"Slow\"}"), List.of(), new ProviderConfidence(90, "slow"));
+    MetadataProvider slowProvider = new MetadataProvider() {
+        @Override
+        public String key() {
+        return "slowbooks";
+        }
+
+        @Override
+        public boolean supports(ItemIdentifierEntity.IdType idType) {
+        return true;
+        }
+
+        @Override
+        public Optional<ProviderResult> fetch(ItemIdentifierEntity.IdType idType, String idValue) {
+        try {
+            Thread.sleep(Duration.ofSeconds(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Optional.of(slow);
+        }
+    };
+
+    ProviderLookupService service = new ProviderLookupService(
+        new ProviderRegistry(List.of(new StubMetadataProvider(fast), slowProvider), governor()),
+        new ProviderFieldMapper(),
+        objectMapper,
+        new ProviderLookupProps(Duration.ofSeconds(2), Duration.ofSeconds(2), Map.of("slowbooks", Duration.ofMillis(200)), null, null),
+        noopCache(),
+        new ModuleRegistry(objectMapper),
+        breakers,
+        callStats
+    );
+
+    long start = System.nanoTime();
+    LookupResponse resp = service.lookup(module, List.of(id));
+    long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+    assertThat(elapsedMs).isLessThan(2000);
+    assertThat(resp.timedOutProviders()).containsExactly("slowbooks");
+    assertThat(resp.results()).extracting(ProviderResult::providerKey).containsExactly("openlibrary");
+    assertThat(resp.mergedAttributes()).containsEntry("title", "Fast");
+    }
+
+    @Test
+    void skipsProvidersWithAnOpenCircuit() throws Exception {
+    ModuleDefinitionEntity module = new ModuleDefinitionEntity();
+    module.setDefinitionJson("""
+        {"providers":[{"key":"openlibrary","priority":10,"enabled":true},{"key":"downbooks","priority":20,"enabled":true}]}
+        """);
+    module.setFields(List.of(field("title", mappingMap("openlibrary", "/title"))));
+
+    ItemIdentifierEntity id = new ItemIdentifierEntity();
+    id.setIdType(ItemIdentifierEntity.IdType.ISBN13);
+    id.setIdValue("9780261103573");
+
+    ProviderResult ok = new ProviderResult("openlibrary", Map.of(), Map.of("json", "{\"title\":\"Up\"}"), List.of(), new ProviderConfidence(80, "ok"));
+    AtomicInteger downCalls = new AtomicInteger();
+    MetadataProvider downProvider = new MetadataProvider() {
+        @Override
+        public String key() {
+        return "downbooks";
+        }
+
+        @Override
+        public boolean supports(ItemIdentifierEntity.IdType idType) {
+        return true;
+        }
+
+        @Override
+        public Optional<ProviderResult> fetch(ItemIdentifierEntity.IdType idType, String idValue) {
+        downCalls.incrementAndGet();
+        throw new IllegalStateException("connection refused");
+        }
+    };
+
+    ProviderCircuitBreakers tripOnFirstFailure = new ProviderCircuitBreakers(
+        new ProviderBreakerProps(true, 1, 1, null, null, null, Duration.ofMinutes(1), null), new SimpleMeterRegistry());
+    ProviderRegistry registry = new ProviderRegistry(List.of(new StubMetadataProvider(ok), downProvider),
+        new ProviderGovernor(ProviderLimitProps.defaults(), new SimpleMeterRegistry(), new ProviderCallStats(), tripOnFirstFailure));
+    ProviderLookupService service = new ProviderLookupService(
+        registry,
+        new ProviderFieldMapper(),
+        objectMapper,
+        ProviderLookupProps.defaults(),
+        noopCache(),
+        new ModuleRegistry(objectMapper),
+        tripOnFirstFailure,
+        callStats
+    );
+
+    LookupResponse first = service.lookup(module, List.of(id));
+    LookupResponse second = service.lookup(module, List.of(id));
+
+    assertThat(first.skippedProviders()).isEmpty();
+    assertThat(second.skippedProviders()).containsOnlyKeys("downbooks");
+    assertThat(second.skippedProviders().get("downbooks")).contains("circuit open");
+    assertThat(second.mergedAttributes()).containsEntry("title", "Up");
+    assertThat(downCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void stopsOnceModuleFieldsAreFilled() throws Exception {
+    ModuleDefinitionEntity module = new ModuleDefinitionEntity();
+    module.setDefinitionJson("""
+        {"providers":[{"key":"openlibrary","priority":10,"enabled":true},{"key":"extrabooks","priority":20,"enabled":true}]}
+        """);
+    module.setFields(List.of(
+        field("title", mappingMap("openlibrary", "/title"), mappingMap("extrabooks", "/title")),
+        field("publisher", mappingMap("openlibrary", "/publisher"), mappingMap("extrabooks", "/publisher"))));
+
+    ItemIdentifierEntity id = new ItemIdentifierEntity();
+    id.setIdType(ItemIdentifierEntity.IdType.ISBN13);
+    id.setIdValue("9780261103573");
+
+    ProviderResult complete = new ProviderResult("openlibrary", Map.of(),
+        Map.of("json", "{\"title\":\"Dune\",\"publisher\":\"Ace\"}"),
+        List.of(new ProviderAsset(AssetType.COVER, URI.create("https://covers.example/dune.jpg"), null, null)),
+        new ProviderConfidence(80, "ok"));
+    AtomicInteger extraCalls = new AtomicInteger();
+    MetadataProvider extraProvider = new MetadataProvider() {
+        @Override
+        public String key() {
+        return "extrabooks";
+        }
+
+        @Override
+        public boolean supports(ItemIdentifierEntity.IdType idType) {
+        return true;
+        }
+
+        @Override
+        public Optional<ProviderResult> fetch(ItemIdentifierEntity.IdType idType, String idValue) {
+        extraCalls.incrementAndGet();
+        return Optional.empty();
+        }
+    };
+
+    ProviderLookupService service = new ProviderLookupService(
+        new ProviderRegistry(List.of(new StubMetadataProvider(complete), extraProvider), governor()),
+        new ProviderFieldMapper(),
+        objectMapper,
+        ProviderLookupProps.defaults(),
+        noopCache(),
+        new ModuleRegistry(objectMapper),
+        breakers,
+        callStats
+    );
+
+    List<String> events = new ArrayList<>();
+    LookupResponse quick = service.lookup(module, List.of(id), null, null, false, new LookupListener() {
+        @Override
+        public void onResult(ProviderResult result) {
+        events.add("result:" + result.providerKey());
+        }
+
+        @Override
+        public void onMerged(Map<String, Object> mergedAttributes) {
+        events.add("merged:" + mergedAttributes.get("title"));
+        }
+    });
+
+    assertThat(events).containsExactly("result:openlibrary", "merged:Dune");
+
+    assertThat(quick.mergedAttributes()).containsEntry("title", "Dune").containsEntry("publisher", "Ace");
+    assertThat(quick.skippedProviders()).containsOnlyKeys("extrabooks");
+    assertThat(extraCalls.get()).isZero();
+
+    service.lookup(module, List.of(id), null, null, true);
+    assertThat(extraCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void hedgesSlowPrimaryWithNextProvider() throws Exception {
+    ModuleDefinitionEntity module = new ModuleDefinitionEntity();
+    module.setDefinitionJson("""
+        {"providers":[{"key":"slowbooks","priority":10,"enabled":true},{"key":"openlibrary","priority":20,"enabled":true}]}
+        """);
+    module.setFields(List.of(field("title", mappingMap("slowbooks", "/title"), mappingMap("openlibrary", "/title"))));
+
+    ItemIdentifierEntity id = new ItemIdentifierEntity();
+    id.setIdType(ItemIdentifierEntity.IdType.ISBN13);
+    id.setIdValue("9780261103573");
+
+    ProviderResult backup = new ProviderResult("openlibrary", Map.of(), Map.of("json", "{\"title\":\"Backup\"}"),
+        List.of(new ProviderAsset(AssetType.COVER, URI.create("https://covers.example/backup.jpg"), null, null)),
+        new ProviderConfidence(80, "ok"));
+    MetadataProvider slowProvider = new MetadataProvider() {
+        @Override
+        public String key() {
+        return "slowbooks";
+        }
+
+        @Override
+        public boolean supports(ItemIdentifierEntity.IdType idType) {
+        return true;
+        }
+
+        @Override
+        public Optional<ProviderResult> fetch(ItemIdentifierEntity.IdType idType, String idValue) {
+        try {
+            Thread.sleep(Duration.ofSeconds(3));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Optional.empty();
+        }
+    };
+    for (int i = 0; i < 20; i++) {
+        callStats.recordFetch("slowbooks", Duration.ofMillis(50).toNanos());
+    }
+
+    ProviderLookupService service = new ProviderLookupService(
+        new ProviderRegistry(List.of(slowProvider, new StubMetadataProvider(backup)), governor()),
+        new ProviderFieldMapper(),
+        objectMapper,
+        ProviderLookupProps.defaults(),
+        noopCache(),
+        new ModuleRegistry(objectMapper),
+        breakers,
+        callStats
+    );
+
+    long start = System.nanoTime();
+    LookupResponse resp = service.lookup(module, List.of(id));
+    long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+    assertThat(elapsedMs).isLessThan(2000);
+    assertThat(resp.mergedAttributes()).containsEntry("title", "Backup");
+    assertThat(resp.skippedProviders()).containsOnlyKeys("slowbooks");
+    assertThat(resp.timedOutProviders()).isEmpty();
+    }
+
+    private ProviderResponseCache noopCache() {
+    ProviderCacheProps disabled = new ProviderCacheProps(false, null, null, null, null, null);
+    return new ProviderResponseCache(mock(ProviderCacheStore.class), objectMapper, disabled, new SimpleMeterRegistry());
+    }
+
+    private ProviderGovernor governor() {
+    return new ProviderGovernor(ProviderLimitProps.defaults(), new SimpleMeterRegistry(), callStats, breakers);
+    }
+
     private ModuleFieldEntity field(String key, Map<String, String>... mappings) throws Exception {
     ModuleFieldEntity f = new ModuleFieldEntity();
     f.setFieldKey(key);
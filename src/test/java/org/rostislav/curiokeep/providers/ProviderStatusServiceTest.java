@@ -0,0 +1,74 @@
+package org.rostislav.curiokeep.providers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.rostislav.curiokeep.providers.api.dto.ProviderStatusResponse;
+import org.rostislav.curiokeep.providers.limits.ProviderBreakerProps;
+import org.rostislav.curiokeep.providers.limits.ProviderCircuitBreakers;
+import org.rostislav.curiokeep.providers.limits.ProviderGovernor;
+import org.rostislav.curiokeep.providers.limits.ProviderLimitProps;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ProviderStatusServiceTest {
+
+    private final ProviderCallStats callStats = new ProviderCallStats();
+    private final ProviderCircuitBreakers breakers = new ProviderCircuitBreakers(ProviderBreakerProps.defaults(), new SimpleMeterRegistry());
+    private final RestClient.Builder builder = RestClient.builder();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+
+    @Test
+    void statusIsServedFromMemoryBeforeTheFirstProbe() {
+        ProviderStatusService service = service();
+
+        ProviderStatusResponse status = service.getStatus("openlibrary");
+
+        server.verify();
+        assertThat(status.available()).isFalse();
+        assertThat(status.message()).isEqualTo("Status not checked yet");
+        assertThat(status.checkedAt()).isNull();
+    }
+
+    @Test
+    void failingLookupsOverrideASuccessfulProbe() {
+        server.expect(requestTo(containsString("openlibrary.org")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess());
+        ProviderStatusService service = service();
+
+        ProviderStatusResponse probed = service.checkStatus("openlibrary");
+        assertThat(probed.available()).isTrue();
+        assertThat(probed.checkedAt()).isNotNull();
+        assertThat(probed.nextCheckAt()).isAfter(probed.checkedAt());
+
+        for (int i = 0; i < 5; i++) {
+            callStats.record("openlibrary", false, 1_000_000);
+        }
+        ProviderStatusResponse status = service.getStatus("openlibrary");
+
+        server.verify();
+        assertThat(status.available()).isFalse();
+        assertThat(status.message()).startsWith("Recent lookups failing");
+        assertThat(status.recentErrorRate()).isEqualTo(1.0);
+        assertThat(status.lastSuccessAt()).isEqualTo(probed.checkedAt());
+    }
+
+    private ProviderStatusService service() {
+        ProviderResult result = new ProviderResult("openlibrary", Map.of(), Map.of(), List.of(), null);
+        ProviderRegistry registry = new ProviderRegistry(List.of(new StubMetadataProvider(result)),
+                new ProviderGovernor(ProviderLimitProps.defaults(), new SimpleMeterRegistry(), callStats, breakers));
+        return new ProviderStatusService(registry, new ProviderKnowledgeBase(), builder.build(),
+                mock(ProviderCredentialService.class), callStats, ProviderHealthProps.defaults(), breakers);
+    }
+}
@@ -8,6 +8,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.rostislav.curiokeep.modules.ModuleService;
 import org.rostislav.curiokeep.modules.contract.ModuleSource;
 import org.rostislav.curiokeep.modules.entities.ModuleDefinitionEntity;
+import org.rostislav.curiokeep.providers.LookupListener;
 import org.rostislav.curiokeep.providers.ProviderConfidence;
 import org.rostislav.curiokeep.providers.ProviderLookupService;
 import org.rostislav.curiokeep.providers.ProviderStatusService;
@@ -16,20 +17,25 @@ import org.rostislav.curiokeep.providers.ProviderKnowledgeBase;
 import org.rostislav.curiokeep.providers.api.dto.LookupResponse;
 import org.rostislav.curiokeep.providers.ProviderResult;
 import org.rostislav.curiokeep.security.SetupModeFilter;
+import org.rostislav.curiokeep.security.SetupState;
 import org.rostislav.curiokeep.user.AppUserRepository;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -62,7 +68,7 @@ class ProviderControllerTest {
     void setUp() {
         when(appUserRepository.existsByIsAdminTrue()).thenReturn(true);
         mockMvc = MockMvcBuilders.standaloneSetup(new ProviderController(moduleService, providerRegistry, providerLookupService, providerKnowledgeBase, providerStatusService, providerCredentialService))
-                .addFilters(new SetupModeFilter(appUserRepository))
+                .addFilters(new SetupModeFilter(new SetupState(appUserRepository)))
                 .build();
     }
 
@@ -91,9 +97,11 @@ class ProviderControllerTest {
                 List.of(result),
                 result,
                 Map.of("title", "Dune"),
-                List.of()
+                List.of(),
+                List.of(),
+                Map.of()
         );
-        when(providerLookupService.lookup(eq(module), any())).thenReturn(response);
+        when(providerLookupService.lookup(eq(module), any(), any(), any(), eq(false))).thenReturn(response);
 
         mockMvc.perform(post("/api/providers/lookup")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -103,4 +111,33 @@ class ProviderControllerTest {
                 .andExpect(jsonPath("$.mergedAttributes.title").value("Dune"))
                 .andExpect(jsonPath("$.results[0].normalizedFields.title").value("Dune"));
     }
+
+    @Test
+    void lookupStreamEmitsResultsBeforeTheFinalResponse() throws Exception {
+        UUID moduleId = UUID.fromString("33333333-3333-3333-3333-333333333333");
+        ModuleDefinitionEntity module = new ModuleDefinitionEntity();
+        module.setId(moduleId);
+        when(moduleService.getById(moduleId)).thenReturn(module);
+
+        ProviderResult result = new ProviderResult("google", Map.of(), Map.of("title", "Dune"), List.of(),
+                new ProviderConfidence(80, "good"));
+        LookupResponse response = new LookupResponse(List.of(result), result, Map.of("title", "Dune"),
+                List.of(), List.of(), Map.of());
+        when(providerLookupService.lookupAsync(eq(module), any(), any(), any(), eq(false), any())).thenAnswer(inv -> {
+            LookupListener listener = inv.getArgument(5);
+            listener.onResult(result);
+            listener.onMerged(Map.of("title", "Dune"));
+            return CompletableFuture.completedFuture(response);
+        });
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/providers/lookup/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"moduleId\":\"" + moduleId + "\",\"identifiers\":[{\"idType\":\"ISBN13\",\"idValue\":\"978\"}]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mvcResult.getResponse().getContentAsString();
+        assertThat(body).containsSubsequence("event:result", "\"providerKey\":\"google\"",
+                "event:merged", "\"title\":\"Dune\"", "event:complete", "\"best\"");
+    }
 }
@@ -0,0 +1,267 @@
+package org.rostislav.curiokeep.providers.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.rostislav.curiokeep.items.entities.ItemIdentifierEntity;
+import org.rostislav.curiokeep.providers.AssetType;
+import org.rostislav.curiokeep.providers.MetadataProvider;
+import org.rostislav.curiokeep.providers.ProviderAsset;
+import org.rostislav.curiokeep.providers.ProviderConfidence;
+import org.rostislav.curiokeep.providers.ProviderResult;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+class ProviderResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ProviderCacheStore store = mock(ProviderCacheStore.class);
+
+    private final ProviderResult result = new ProviderResult(
+            "openlibrary",
+            Map.of("json", "{}"),
+            Map.of("json", "{\"title\":\"Dune\"}"),
+            List.of(new ProviderAsset(AssetType.COVER, URI.create("https://covers.example/dune.jpg"), null, null)),
+            new ProviderConfidence(80, "ISBN match")
+    );
+
+    @Test
+    void secondFetchIsServedFromMemory() {
+        ProviderResponseCache cache = cache();
+        CountingProvider provider = new CountingProvider(Optional.of(result));
+
+        cache.fetch(provider, ItemIdentifierEntity.IdType.ISBN13, "978-0-441-17271-9");
+        Optional<ProviderResult> again = cache.fetch(provider, ItemIdentifierEntity.IdType.ISBN13, "9780441172719");
+
+        assertThat(again).contains(result);
+        assertThat(provider.calls.get()).isEqualTo(1);
+        assertThat(cache.stats().memoryHits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+        verify(store).save(eq(ProviderCacheKey.of("openlibrary", ItemIdentifierEntity.IdType.ISBN13, "9780441172719")),
+                eq(true), any(), any());
+    }
+
+    @Test
+    void emptyAnswersAreCachedAsNegativeEntries() {
+        ProviderResponseCache cache = cache();
+        HttpProvider provider = new HttpProvider();
+        provider.server.expect(ExpectedCount.once(), requestTo("https://provider.example/9780000000000"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertThat(cache.fetch(provider, ItemIdentifierEntity.IdType.ISBN13, "9780000000000")).isEmpty();
+        assertThat(cache.fetch(provider, ItemIdentifierEntity.IdType.ISBN13, "9780000000000")).isEmpty();
+
+        provider.server.verify();
+        verify(store).save(any(), eq(false), isNull(), any());
+    }
+
+    @Test
+    void emptyAnswersAfterFailedRequestsAreNotCached() {
+        ProviderResponseCache cache = cache();
+        HttpProvider provider = new HttpProvider();
+        provider.server.expect(ExpectedCount.twice(), requestTo("https://provider.example/9780000000000"))
+                .andRespond(withServerError());
+
+        assertThat(cache.fetch(provider, ItemIdentifierEntity.IdType.ISBN13, "9780000000000")).isEmpty();
+        assertThat(cache.fetch(provider, ItemIdentifierEntity.IdType.ISBN13, "9780000000000")).isEmpty();
+
+        provider.server.verify();
+        verify(store, never()).save(any(), anyBoolean(), any(), any());
+    }
+
+    @Test
+    void emptyAnswersWithoutRequestsAreNotCached() {
+        ProviderResponseCache cache = cache();
+        CountingProvider provider = new CountingProvider(Optional.empty());
+
+        cache.fetch(provider, ItemIdentifierEntity.IdType.ISBN13, "9780000000000");
+        cache.fetch(provider, ItemIdentifierEntity.IdType.ISBN13, "9780000000000");
+
+        assertThat(provider.calls.get()).isEqualTo(2);
+        verify(store, never()).save(any(), anyBoolean(), any(), any());
+    }
+
+    @Test
+    void persistentTierIsConsultedOnMemoryMiss() throws Exception {
+        ProviderCacheKey key = ProviderCacheKey.of("openlibrary", ItemIdentifierEntity.IdType.ISBN13, "9780441172719");
+        when(store.find(eq(key), any())).thenReturn(Optional.of(new ProviderCacheStore.StoredEntry(
+                true, objectMapper.writeValueAsString(result), Instant.now().plusSeconds(60))));
+        ProviderResponseCache cache = cache();
+        CountingProvider provider = new CountingProvider(Optional.empty());
+
+        Optional<ProviderResult> cached = cache.fetch(provider, ItemIdentifierEntity.IdType.ISBN13, "9780441172719");
+
+        assertThat(cached).contains(result);
+        assertThat(provider.calls.get()).isZero();
+        assertThat(cache.stats().persistentHits()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateProviderDropsMemoryEntries() {
+        ProviderResponseCache cache = cache();
+        CountingProvider provider = new CountingProvider(Optional.of(result));
+
+        cache.fetch(provider, ItemIdentifierEntity.IdType.ISBN13, "9780441172719");
+        cache.invalidateProvider("openlibrary");
+        cache.fetch(provider, ItemIdentifierEntity.IdType.ISBN13, "9780441172719");
+
+        assertThat(provider.calls.get()).isEqualTo(2);
+        verify(store).deleteProvider("openlibrary");
+    }
+
+    @Test
+    void concurrentMissesShareOneProviderCall() throws Exception {
+        ProviderResponseCache cache = cache();
+        CountDownLatch release = new CountDownLatch(1);
+        CountingProvider provider = new CountingProvider(Optional.of(result)) {
+            @Override
+            public Optional<ProviderResult> fetch(ItemIdentifierEntity.IdType idType, String idValue) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.fetch(idType, idValue);
+            }
+        };
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Optional<ProviderResult>>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(executor.submit(() -> cache.fetch(provider, ItemIdentifierEntity.IdType.ISBN13, "9780441172719")));
+            }
+            while (cache.stats().coalesced() < 4) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<Optional<ProviderResult>> f : futures) {
+                assertThat(f.get(5, TimeUnit.SECONDS)).contains(result);
+            }
+        }
+
+        assertThat(provider.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void batchFetchSlicesUncachedIdentifiers() {
+        ProviderResponseCache cache = cache();
+        List<List<String>> batches = new ArrayList<>();
+        CountingProvider provider = new CountingProvider(Optional.of(result)) {
+            @Override
+            public int maxBatchSize() {
+                return 2;
+            }
+
+            @Override
+            public Map<String, ProviderResult> fetchBatch(ItemIdentifierEntity.IdType idType, List<String> idValues) {
+                batches.add(idValues);
+                if (idValues.contains("3")) throw new IllegalStateException("boom");
+                return idValues.contains("1") ? Map.of("1", result) : Map.of();
+            }
+        };
+
+        cache.fetch(provider, ItemIdentifierEntity.IdType.CUSTOM, "0");
+        Map<String, Optional<ProviderResult>> answers = cache.fetchBatch(provider, ItemIdentifierEntity.IdType.CUSTOM,
+                List.of("0", "1", "2", "3"));
+
+        assertThat(batches).containsExactly(List.of("1", "2"), List.of("3"));
+        assertThat(answers).containsOnlyKeys("0", "1", "2");
+        assertThat(answers.get("0")).contains(result);
+        assertThat(answers.get("1")).contains(result);
+        assertThat(answers.get("2")).isEmpty();
+        assertThat(provider.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void rawResponsesAreCappedBeforeCaching() {
+        ProviderCacheProps props = new ProviderCacheProps(null, null, null, null, null,
+                new ProviderCacheProps.RawData(ProviderCacheProps.RawData.Mode.CAPPED, 10));
+        ProviderResponseCache cache = new ProviderResponseCache(store, objectMapper, props, new SimpleMeterRegistry());
+        ProviderResult large = new ProviderResult("openlibrary",
+                Map.of("json", objectMapper.createObjectNode().put("description", "a".repeat(100))),
+                result.normalizedFields(), result.assets(), result.confidence());
+
+        Optional<ProviderResult> cached = cache.fetch(new CountingProvider(Optional.of(large)),
+                ItemIdentifierEntity.IdType.ISBN13, "9780441172719");
+
+        assertThat(cached).isPresent();
+        assertThat(cached.get().rawData()).containsEntry("json", "{\"descript").containsEntry("truncated", true);
+        assertThat(cached.get().normalizedFields()).isEqualTo(result.normalizedFields());
+    }
+
+    private ProviderResponseCache cache() {
+        return new ProviderResponseCache(store, objectMapper, ProviderCacheProps.defaults(), new SimpleMeterRegistry());
+    }
+
+    /** Answers from a (mocked) HTTP endpoint, empty on any error status, the way real providers do. */
+    private class HttpProvider extends CountingProvider {
+        private final RestClient.Builder builder = RestClient.builder().requestInterceptor(ProviderCallTrace.interceptor());
+        private final MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        private final RestClient client = builder.build();
+
+        private HttpProvider() {
+            super(Optional.empty());
+        }
+
+        @Override
+        public Optional<ProviderResult> fetch(ItemIdentifierEntity.IdType idType, String idValue) {
+            return client.get()
+                    .uri("https://provider.example/" + idValue)
+                    .exchange((request, response) ->
+                            response.getStatusCode().is2xxSuccessful() ? Optional.of(result) : Optional.empty());
+        }
+    }
+
+    private static class CountingProvider implements MetadataProvider {
+        private final Optional<ProviderResult> answer;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingProvider(Optional<ProviderResult> answer) {
+            this.answer = answer;
+        }
+
+        @Override
+        public String key() {
+            return "openlibrary";
+        }
+
+        @Override
+        public boolean supports(ItemIdentifierEntity.IdType idType) {
+            return true;
+        }
+
+        @Override
+        public Optional<ProviderResult> fetch(ItemIdentifierEntity.IdType idType, String idValue) {
+            calls.incrementAndGet();
+            return answer;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.rostislav.curiokeep.providers.limits;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.rostislav.curiokeep.providers.limits.ProviderCircuitBreakers.Outcome.FAILURE;
+import static org.rostislav.curiokeep.providers.limits.ProviderCircuitBreakers.Outcome.SLOW;
+import static org.rostislav.curiokeep.providers.limits.ProviderCircuitBreakers.Outcome.SUCCESS;
+
+class ProviderCircuitBreakersTest {
+
+    @Test
+    void opensOnFailureRateAndRejectsImmediately() {
+        ProviderCircuitBreakers breakers = breakers(Duration.ofMinutes(1));
+
+        record(breakers, SUCCESS, FAILURE, FAILURE, SUCCESS);
+
+        assertThat(breakers.snapshot("discogs").state()).isEqualTo(ProviderCircuitBreakers.State.OPEN);
+        assertThat(breakers.openReason("discogs")).hasValueSatisfying(r -> assertThat(r).contains("50% of recent calls failed"));
+        assertThatThrownBy(() -> breakers.acquire("discogs")).isInstanceOf(ProviderCircuitOpenException.class);
+    }
+
+    @Test
+    void opensOnSlowCallRate() {
+        ProviderCircuitBreakers breakers = breakers(Duration.ofMinutes(1));
+
+        record(breakers, SLOW, SLOW, SLOW, SLOW);
+
+        assertThat(breakers.snapshot("discogs").reason()).contains("took over");
+    }
+
+    @Test
+    void halfOpenTrialsCloseOrReopenTheCircuit() throws Exception {
+        ProviderCircuitBreakers breakers = breakers(Duration.ofMillis(20));
+        record(breakers, FAILURE, FAILURE, FAILURE, FAILURE);
+
+        Thread.sleep(30);
+        assertThat(breakers.acquire("discogs")).isTrue();
+        assertThat(breakers.snapshot("discogs").state()).isEqualTo(ProviderCircuitBreakers.State.HALF_OPEN);
+        breakers.complete("discogs", true, FAILURE);
+        assertThat(breakers.snapshot("discogs").state()).isEqualTo(ProviderCircuitBreakers.State.OPEN);
+
+        Thread.sleep(30);
+        for (int i = 0; i < 2; i++) {
+            assertThat(breakers.acquire("discogs")).isTrue();
+            breakers.complete("discogs", true, SUCCESS);
+        }
+        assertThat(breakers.snapshot("discogs").state()).isEqualTo(ProviderCircuitBreakers.State.CLOSED);
+        assertThat(breakers.acquire("discogs")).isFalse();
+    }
+
+    private static void record(ProviderCircuitBreakers breakers, ProviderCircuitBreakers.Outcome... outcomes) {
+        for (ProviderCircuitBreakers.Outcome outcome : outcomes) {
+            boolean trial = breakers.acquire("discogs");
+            breakers.complete("discogs", trial, outcome);
+        }
+    }
+
+    private static ProviderCircuitBreakers breakers(Duration openDuration) {
+        ProviderBreakerProps props = new ProviderBreakerProps(true, 10, 4, 0.5, Duration.ofSeconds(1), 0.8, openDuration, 2);
+        return new ProviderCircuitBreakers(props, new SimpleMeterRegistry());
+    }
+}
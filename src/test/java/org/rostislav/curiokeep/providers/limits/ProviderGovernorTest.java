@@ -0,0 +1,113 @@
+package org.rostislav.curiokeep.providers.limits;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.rostislav.curiokeep.providers.ProviderCallStats;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProviderGovernorTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsRequestsBeyondTheBucketWhenTheWaitIsTooLong() {
+        ProviderGovernor governor = governor(new ProviderLimitProps.Limit(0.1, 1, 1), Duration.ofMillis(50));
+        ClientHttpRequestInterceptor interceptor = governor.interceptor();
+
+        governor.callAs("musicbrainz", () -> call(interceptor, HttpStatus.OK, new HttpHeaders()));
+
+        assertThatThrownBy(() -> governor.callAs("musicbrainz", () -> call(interceptor, HttpStatus.OK, new HttpHeaders())))
+                .isInstanceOf(ProviderRateLimitedException.class);
+        assertThat(meters.get("curiokeep.provider.limiter.rejected").tag("provider", "musicbrainz").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void retryAfterPausesTheProvider() {
+        ProviderGovernor governor = governor(new ProviderLimitProps.Limit(100.0, 10, 4), Duration.ofMillis(50));
+        ClientHttpRequestInterceptor interceptor = governor.interceptor();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "30");
+
+        assertThatThrownBy(() -> governor.callAs("discogs", () -> call(interceptor, HttpStatus.TOO_MANY_REQUESTS, headers)))
+                .isInstanceOf(ProviderRateLimitedException.class);
+
+        assertThatThrownBy(() -> governor.callAs("discogs", () -> call(interceptor, HttpStatus.OK, new HttpHeaders())))
+                .isInstanceOf(ProviderRateLimitedException.class);
+        // Other providers are unaffected.
+        assertThat(governor.callAs("tvmaze", () -> call(interceptor, HttpStatus.OK, new HttpHeaders()))).isEqualTo(200);
+    }
+
+    @Test
+    void swallowedRejectionsAreRethrownToTheCaller() {
+        ProviderGovernor governor = governor(new ProviderLimitProps.Limit(0.1, 1, 1), Duration.ofMillis(10));
+        ClientHttpRequestInterceptor interceptor = governor.interceptor();
+        governor.callAs("comicvine", () -> call(interceptor, HttpStatus.OK, new HttpHeaders()));
+
+        // Like the providers: catch everything and report "no result".
+        assertThatThrownBy(() -> governor.callAs("comicvine", () -> {
+            try {
+                return call(interceptor, HttpStatus.OK, new HttpHeaders());
+            } catch (RuntimeException e) {
+                return -1;
+            }
+        })).isInstanceOf(ProviderRateLimitedException.class);
+    }
+
+    @Test
+    void emptyAnswersAfterServerErrorsAreReportedAsFailures() {
+        ProviderGovernor governor = governor(new ProviderLimitProps.Limit(100.0, 10, 4), Duration.ofMillis(50));
+        ClientHttpRequestInterceptor interceptor = governor.interceptor();
+
+        // Like the providers: a 5xx becomes "no result".
+        assertThatThrownBy(() -> governor.callAs("discogs", () -> {
+            call(interceptor, HttpStatus.BAD_GATEWAY, new HttpHeaders());
+            return Optional.empty();
+        })).isInstanceOf(ProviderCallFailedException.class);
+
+        assertThat(governor.callAs("discogs", () -> {
+            call(interceptor, HttpStatus.NOT_FOUND, new HttpHeaders());
+            return Optional.empty();
+        })).isEmpty();
+    }
+
+    @Test
+    void requestsOutsideAProviderCallPassThrough() {
+        ProviderGovernor governor = governor(new ProviderLimitProps.Limit(0.1, 1, 1), Duration.ofMillis(10));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(call(governor.interceptor(), HttpStatus.OK, new HttpHeaders())).isEqualTo(200);
+        }
+    }
+
+    private ProviderGovernor governor(ProviderLimitProps.Limit limit, Duration maxWait) {
+        return new ProviderGovernor(new ProviderLimitProps(true, limit, maxWait, Map.of()), meters, new ProviderCallStats(),
+                new ProviderCircuitBreakers(ProviderBreakerProps.defaults(), meters));
+    }
+
+    private static int call(ClientHttpRequestInterceptor interceptor, HttpStatus status, HttpHeaders headers) {
+        MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], status);
+        response.getHeaders().putAll(headers);
+        ClientHttpRequestExecution execution = (request, body) -> response;
+        try {
+            return interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("https://example.test/")),
+                    new byte[0], execution).getStatusCode().value();
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.rostislav.curiokeep.security.SetupModeFilter;
+import org.rostislav.curiokeep.security.SetupState;
 import org.rostislav.curiokeep.user.AppUserRepository;
 import org.rostislav.curiokeep.user.entities.AppUserEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,6 +17,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,8 +40,9 @@ class SetupControllerTest {
     @BeforeEach
     void setUp() {
         when(appUserRepository.existsByIsAdminTrue()).thenReturn(false);
-        mockMvc = MockMvcBuilders.standaloneSetup(new SetupController(appUserRepository, passwordEncoder))
-                .addFilters(new SetupModeFilter(appUserRepository))
+        SetupState setupState = new SetupState(appUserRepository);
+        mockMvc = MockMvcBuilders.standaloneSetup(new SetupController(appUserRepository, passwordEncoder, setupState))
+                .addFilters(new SetupModeFilter(setupState))
                 .build();
     }
 
@@ -83,6 +86,22 @@ class SetupControllerTest {
         assertThat(saved.getPasswordHash()).isEqualTo("hashed-secret");
     }
 
+    @Test
+    void setupStateIsLatchedOnceAdminIsCreated() throws Exception {
+        when(passwordEncoder.encode("secret")).thenReturn("hashed-secret");
+
+        mockMvc.perform(post("/api/setup/admin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"admin@example.com\",\"displayName\":\"Admin\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk());
+        clearInvocations(appUserRepository);
+
+        mockMvc.perform(get("/api/setup/status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.setupRequired").value(false));
+        verify(appUserRepository, never()).existsByIsAdminTrue();
+    }
+
     @Test
     void createAdminFailsWhenAlreadyInitialized() throws Exception {
         when(appUserRepository.existsByIsAdminTrue()).thenReturn(true);